@@ -0,0 +1,69 @@
+package me.googas.commands.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import me.googas.commands.arguments.Argument;
+import me.googas.commands.exceptions.ArgumentProviderException;
+import me.googas.commands.exceptions.MissingArgumentException;
+import me.googas.commands.system.CommandManager;
+import me.googas.commands.system.ReflectSystemCommand;
+import me.googas.commands.system.context.CommandContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how the arguments of a command are parsed from its method when it is registered using
+ * {@link Argument#parseArguments(Method)} and how they are provided on each execution using {@link
+ * me.googas.commands.ReflectCommand#getObjects(me.googas.commands.context.EasyCommandContext)}. The
+ * context is created on each invocation as the views cache their strings
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ArgumentsBenchmark {
+
+  @Param({"1", "2", "4", "8"})
+  private int arguments;
+
+  private final MemorySender sender = new MemorySender();
+  private Method method;
+  private CommandManager manager;
+  private ReflectSystemCommand command;
+  private String[] strings;
+
+  @Setup
+  public void setup() {
+    this.method = Fixtures.getMethod(this.arguments);
+    this.manager = Fixtures.createManager();
+    this.command = this.manager.parseCommand(Fixtures.COMMANDS, this.method);
+    this.strings = Fixtures.getStrings(this.arguments);
+  }
+
+  @Benchmark
+  public List<Argument<?>> parseArguments() {
+    return Argument.parseArguments(this.method);
+  }
+
+  @Benchmark
+  public Object[] getObjects() throws MissingArgumentException, ArgumentProviderException {
+    return this.command.getObjects(
+        new CommandContext(
+            this.sender,
+            this.strings,
+            this.manager.getProvidersRegistry(),
+            this.manager.getMessagesProvider()));
+  }
+}
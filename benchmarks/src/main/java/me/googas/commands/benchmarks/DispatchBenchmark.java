@@ -0,0 +1,85 @@
+package me.googas.commands.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import me.googas.commands.system.CommandManager;
+import me.googas.commands.system.ReflectSystemCommand;
+import me.googas.commands.system.SystemCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how a command is found by one of its aliases: as a root command of the manager using
+ * {@link CommandManager#getCommand(String)} and as a subcommand of a parent using {@link
+ * me.googas.commands.EasyCommand#getChildren(String)}. Each invocation looks for the last alias of
+ * a different command so every command of the manager is queried
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DispatchBenchmark {
+
+  @Param({"1", "16", "256"})
+  private int commands;
+
+  @Param({"1", "4", "16"})
+  private int aliases;
+
+  private CommandManager manager;
+  private ReflectSystemCommand parent;
+  private String[] names;
+  private int next;
+
+  @Setup
+  public void setup() {
+    Method method = Fixtures.getMethod(1);
+    this.manager = Fixtures.createManager();
+    this.parent = Fixtures.createCommand(this.manager, method, Collections.singletonList("parent"));
+    this.names = new String[this.commands];
+    for (int i = 0; i < this.commands; i++) {
+      List<String> aliases = Fixtures.getAliases(i, this.aliases);
+      this.manager.register(Fixtures.createCommand(this.manager, method, aliases));
+      this.parent.addChildren(Fixtures.createCommand(this.manager, method, aliases));
+      this.names[i] = aliases.get(aliases.size() - 1);
+    }
+  }
+
+  /**
+   * Get the name of the next command to look for
+   *
+   * @return the name of the command
+   */
+  private String next() {
+    if (this.next == this.names.length) this.next = 0;
+    return this.names[this.next++];
+  }
+
+  @Benchmark
+  public SystemCommand root() {
+    return this.manager.getCommand(this.next());
+  }
+
+  @Benchmark
+  public SystemCommand nested() {
+    return this.parent.getChildren(this.next());
+  }
+
+  @Benchmark
+  public SystemCommand missing() {
+    return this.manager.getCommand("missing");
+  }
+}
@@ -0,0 +1,121 @@
+package me.googas.commands.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import me.googas.commands.context.Tokenizer;
+import me.googas.commands.context.Tokens;
+import me.googas.commands.system.CommandManager;
+import me.googas.commands.system.ReflectSystemCommand;
+import me.googas.commands.system.Result;
+import me.googas.commands.system.SystemCommand;
+import me.googas.commands.system.context.CommandContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the execution of a line from end to end thru the {@link CommandManager} of the system
+ * module the same way that its {@link me.googas.commands.system.CommandListener} does: the line is
+ * tokenized, the command is found, its arguments are provided, the method is invoked and the result
+ * is given to a {@link MemorySender}. Commands are executed directly and as subcommands of a parent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ExecutionBenchmark {
+
+  @Param({"1", "16", "256"})
+  private int commands;
+
+  @Param({"1", "4"})
+  private int aliases;
+
+  @Param({"1", "2", "4", "8"})
+  private int arguments;
+
+  private final MemorySender sender = new MemorySender();
+  private CommandManager manager;
+  private String root;
+  private String nested;
+
+  @Setup
+  public void setup() {
+    Method method = Fixtures.getMethod(this.arguments);
+    this.manager = Fixtures.createManager();
+    ReflectSystemCommand parent =
+        Fixtures.createCommand(this.manager, method, Collections.singletonList("parent"));
+    String name = null;
+    for (int i = 0; i < this.commands; i++) {
+      List<String> aliases = Fixtures.getAliases(i, this.aliases);
+      this.manager.register(Fixtures.createCommand(this.manager, method, aliases));
+      parent.addChildren(Fixtures.createCommand(this.manager, method, aliases));
+      // The command in the middle so the lookup is not always the first or the last one
+      if (i == this.commands / 2) name = aliases.get(aliases.size() - 1);
+    }
+    this.manager.register(parent);
+    String strings = String.join(" ", Fixtures.getStrings(this.arguments));
+    this.root = Fixtures.PREFIX + name + " " + strings;
+    this.nested = Fixtures.PREFIX + parent.getAliases().get(0) + " " + name + " " + strings;
+    this.check(this.root);
+    this.check(this.nested);
+  }
+
+  /**
+   * Check that a line executes successfully so the benchmark does not measure an error
+   *
+   * @param line the line to check
+   * @throws IllegalStateException if the line does not execute successfully
+   */
+  private void check(String line) {
+    Result result = this.execute(line);
+    if (result == null || !result.getMessage().isEmpty()) {
+      throw new IllegalStateException(
+          line + " did not execute successfully: " + (result == null ? null : result.getMessage()));
+    }
+  }
+
+  /**
+   * Execute a line
+   *
+   * @param line the line to execute
+   * @return the result of the execution or null if the command was not found
+   */
+  private Result execute(String line) {
+    Tokens tokens = Tokenizer.tokenize(line, Fixtures.PREFIX);
+    if (tokens == null) return null;
+    SystemCommand command = this.manager.getCommand(tokens.get(0));
+    if (command == null) return null;
+    Result result =
+        command.execute(
+            new CommandContext(
+                this.sender,
+                tokens.view(1),
+                this.manager.getProvidersRegistry(),
+                this.manager.getMessagesProvider()));
+    if (result != null) this.sender.receive(result);
+    return result;
+  }
+
+  @Benchmark
+  public Result root() {
+    return this.execute(this.root);
+  }
+
+  @Benchmark
+  public Result nested() {
+    return this.execute(this.nested);
+  }
+}
@@ -0,0 +1,147 @@
+package me.googas.commands.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.NonNull;
+import me.googas.commands.annotations.Required;
+import me.googas.commands.arguments.Argument;
+import me.googas.commands.providers.registry.ProvidersRegistry;
+import me.googas.commands.system.Command;
+import me.googas.commands.system.CommandManager;
+import me.googas.commands.system.ReflectSystemCommand;
+import me.googas.commands.system.Result;
+import me.googas.commands.system.SystemMessagesProvider;
+
+/**
+ * The objects shared by the benchmarks: command methods with a growing amount of arguments and the
+ * manager of the system module that executes them
+ */
+public final class Fixtures {
+
+  /** The prefix of the lines executed thru the manager */
+  @NonNull public static final String PREFIX = "/";
+  /** The object that contains the command methods */
+  @NonNull public static final Commands COMMANDS = new Commands();
+
+  private Fixtures() {}
+
+  /**
+   * Create a manager of the system module with the default providers. The listener of the manager
+   * is not started so nothing reads {@link System#in} while benchmarking
+   *
+   * @return the new manager
+   */
+  @NonNull
+  public static CommandManager createManager() {
+    SystemMessagesProvider messages = new SystemMessagesProvider();
+    return new CommandManager(Fixtures.PREFIX, new ProvidersRegistry<>(messages), messages, false);
+  }
+
+  /**
+   * Get the command method that requires an amount of arguments
+   *
+   * @param arguments the amount of arguments of the method: 1, 2, 4 or 8
+   * @return the method
+   * @throws IllegalArgumentException if there's no method with the amount of arguments
+   */
+  @NonNull
+  public static Method getMethod(int arguments) {
+    Class<?>[] parameters = new Class<?>[Math.max(0, arguments)];
+    Arrays.fill(parameters, int.class);
+    try {
+      return Commands.class.getMethod("arguments" + arguments, parameters);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalArgumentException(
+          "There's no command method with " + arguments + " arguments", e);
+    }
+  }
+
+  /**
+   * Get the strings given as the arguments of a command
+   *
+   * @param arguments the amount of arguments
+   * @return the strings of the arguments
+   */
+  @NonNull
+  public static String[] getStrings(int arguments) {
+    String[] strings = new String[arguments];
+    for (int i = 0; i < arguments; i++) {
+      strings[i] = String.valueOf(i + 1);
+    }
+    return strings;
+  }
+
+  /**
+   * Get the aliases of a command. Each command has its own aliases so the commands never collide
+   *
+   * @param command the number of the command
+   * @param aliases the amount of aliases of the command
+   * @return the aliases of the command
+   */
+  @NonNull
+  public static List<String> getAliases(int command, int aliases) {
+    List<String> list = new ArrayList<>(aliases);
+    for (int i = 0; i < aliases; i++) {
+      list.add("command" + command + "-" + i);
+    }
+    return list;
+  }
+
+  /**
+   * Create a command using a method of {@link #COMMANDS}
+   *
+   * @param manager the manager of the command
+   * @param method the method of the command
+   * @param aliases the aliases of the command
+   * @return the new command
+   */
+  @NonNull
+  public static ReflectSystemCommand createCommand(
+      @NonNull CommandManager manager, @NonNull Method method, @NonNull List<String> aliases) {
+    return new ReflectSystemCommand(
+        method,
+        Fixtures.COMMANDS,
+        Argument.parseArguments(method),
+        manager,
+        aliases,
+        new ArrayList<>());
+  }
+
+  /** The command methods used in the benchmarks */
+  public static class Commands {
+
+    @Command(aliases = "arguments1")
+    public Result arguments1(@Required(name = "a") int a) {
+      return new Result();
+    }
+
+    @Command(aliases = "arguments2")
+    public Result arguments2(@Required(name = "a") int a, @Required(name = "b") int b) {
+      return new Result();
+    }
+
+    @Command(aliases = "arguments4")
+    public Result arguments4(
+        @Required(name = "a") int a,
+        @Required(name = "b") int b,
+        @Required(name = "c") int c,
+        @Required(name = "d") int d) {
+      return new Result();
+    }
+
+    @Command(aliases = "arguments8")
+    public Result arguments8(
+        @Required(name = "a") int a,
+        @Required(name = "b") int b,
+        @Required(name = "c") int c,
+        @Required(name = "d") int d,
+        @Required(name = "e") int e,
+        @Required(name = "f") int f,
+        @Required(name = "g") int g,
+        @Required(name = "h") int h) {
+      return new Result();
+    }
+  }
+}
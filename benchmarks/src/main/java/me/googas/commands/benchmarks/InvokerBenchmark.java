@@ -0,0 +1,87 @@
+package me.googas.commands.benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import me.googas.commands.invoker.CommandInvoker;
+import me.googas.commands.invoker.InvokerFactory;
+import me.googas.commands.invoker.LambdaInvoker;
+import me.googas.commands.invoker.MethodHandleInvoker;
+import me.googas.commands.result.EasyResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ways to invoke the method of a {@link me.googas.commands.ReflectCommand}: the plain
+ * {@link Method#invoke(Object, Object...)} which was used before the {@link CommandInvoker}, each
+ * one of the invokers and a direct call as the baseline
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InvokerBenchmark {
+
+  @NonNull private final Commands commands = new Commands();
+  private Method method;
+  private CommandInvoker reflect;
+  private CommandInvoker methodHandle;
+  private CommandInvoker lambda;
+  private String string;
+  private int amount;
+
+  @Setup
+  public void setup() throws NoSuchMethodException, IllegalAccessException {
+    this.method = Commands.class.getMethod("echo", String.class, int.class);
+    this.reflect = InvokerFactory.REFLECT.create(this.method, this.commands);
+    this.methodHandle = MethodHandleInvoker.of(this.method, this.commands);
+    this.lambda = LambdaInvoker.of(this.method, this.commands);
+    this.string = "echo";
+    this.amount = 3;
+  }
+
+  @Benchmark
+  public Object direct() {
+    return this.commands.echo(this.string, this.amount);
+  }
+
+  @Benchmark
+  public Object methodInvoke() throws InvocationTargetException, IllegalAccessException {
+    return this.method.invoke(this.commands, new Object[] {this.string, this.amount});
+  }
+
+  @Benchmark
+  public Object reflectInvoker() throws InvocationTargetException, IllegalAccessException {
+    return this.reflect.invoke(this.string, this.amount);
+  }
+
+  @Benchmark
+  public Object methodHandleInvoker() throws InvocationTargetException, IllegalAccessException {
+    return this.methodHandle.invoke(this.string, this.amount);
+  }
+
+  @Benchmark
+  public Object lambdaInvoker() throws InvocationTargetException, IllegalAccessException {
+    return this.lambda.invoke(this.string, this.amount);
+  }
+
+  /** The object that contains the benchmarked command method */
+  public static class Commands {
+
+    @NonNull
+    public EasyResult echo(@NonNull String string, int amount) {
+      return () -> amount > 0 ? string : null;
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package me.googas.commands.benchmarks;
+
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.system.Result;
+import me.googas.commands.system.context.sender.CommandSender;
+
+/**
+ * A sender that keeps the results of its commands in memory instead of printing them like the
+ * {@link me.googas.commands.system.CommandListener} does
+ */
+public class MemorySender implements CommandSender {
+
+  /** The amount of results that the sender has received */
+  @Getter private long received;
+  /** The last result that the sender received */
+  @Getter private Result last;
+
+  /**
+   * Receive the result of a command
+   *
+   * @param result the result of the command
+   */
+  public void receive(@NonNull Result result) {
+    this.received++;
+    this.last = result;
+  }
+}
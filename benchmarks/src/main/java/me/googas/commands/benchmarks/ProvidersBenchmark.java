@@ -0,0 +1,96 @@
+package me.googas.commands.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import me.googas.commands.exceptions.ArgumentProviderException;
+import me.googas.commands.objects.JoinedStrings;
+import me.googas.commands.providers.registry.ProvidersRegistry;
+import me.googas.commands.system.SystemMessagesProvider;
+import me.googas.commands.system.context.CommandContext;
+import me.googas.starbox.time.Time;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ProvidersRegistry#fromString(String, Class,
+ * me.googas.commands.context.EasyCommandContext)} for each one of the providers that the registry
+ * has by default. {@link JoinedStrings} is only provided from many strings so it is measured using
+ * {@link ProvidersRegistry#fromStrings(String[], Class,
+ * me.googas.commands.context.EasyCommandContext)}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProvidersBenchmark {
+
+  @Param({"boolean", "double", "float", "integer", "joined", "long", "string", "time"})
+  private String provider;
+
+  private ProvidersRegistry<CommandContext> registry;
+  private CommandContext context;
+  private Class<?> clazz;
+  private String string;
+  private String[] strings;
+
+  @Setup
+  public void setup() {
+    SystemMessagesProvider messages = new SystemMessagesProvider();
+    this.registry = new ProvidersRegistry<>(messages);
+    this.context = new CommandContext(new MemorySender(), new String[0], this.registry, messages);
+    switch (this.provider) {
+      case "boolean":
+        this.clazz = Boolean.class;
+        this.string = "true";
+        break;
+      case "double":
+        this.clazz = Double.class;
+        this.string = "3.14159";
+        break;
+      case "float":
+        this.clazz = Float.class;
+        this.string = "3.14";
+        break;
+      case "integer":
+        this.clazz = Integer.class;
+        this.string = "1024";
+        break;
+      case "joined":
+        this.clazz = JoinedStrings.class;
+        this.strings = new String[] {"the", "joined", "strings"};
+        break;
+      case "long":
+        this.clazz = Long.class;
+        this.string = "1099511627776";
+        break;
+      case "string":
+        this.clazz = String.class;
+        this.string = "string";
+        break;
+      case "time":
+        this.clazz = Time.class;
+        this.string = "1d2h";
+        break;
+      default:
+        throw new IllegalArgumentException("There's no default provider for " + this.provider);
+    }
+  }
+
+  @Benchmark
+  public Object fromString() throws ArgumentProviderException {
+    if (this.strings != null) {
+      return this.registry.fromStrings(this.strings, this.clazz, this.context);
+    }
+    return this.registry.fromString(this.string, this.clazz, this.context);
+  }
+}
@@ -0,0 +1,532 @@
+package me.googas.commands.benchmarks.jda;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import me.googas.commands.annotations.Parent;
+import me.googas.commands.annotations.Required;
+import me.googas.commands.execution.ExecutionStrategy;
+import me.googas.commands.jda.CommandManager;
+import me.googas.commands.jda.DefaultListenerOptions;
+import me.googas.commands.jda.ResponseDispatcher;
+import me.googas.commands.jda.annotations.Command;
+import me.googas.commands.jda.listener.CommandListener;
+import me.googas.commands.jda.messages.JdaMessagesProvider;
+import me.googas.commands.jda.providers.registry.JdaProvidersRegistry;
+import me.googas.commands.jda.result.Result;
+import me.googas.commands.metrics.LatencyHistogram;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+
+/**
+ * Feeds synthetic {@link MessageReceivedEvent} thru the {@link CommandListener} of a {@link
+ * CommandManager} backed by {@link StandIn} so changes in the listener can be measured without
+ * connecting to Discord. It reports the throughput, the latency percentiles of each {@link Kind} of
+ * message and the bytes allocated per message.
+ *
+ * <p>The options are given as {@code --name=value}:
+ *
+ * <ul>
+ *   <li>{@code messages} the amount of measured messages, 100000 by default
+ *   <li>{@code warmup} the amount of messages sent before measuring, 20000 by default
+ *   <li>{@code rate} the messages sent per second, by default 0 which sends them as fast as
+ *       possible
+ *   <li>{@code mix} the weight of each kind of message, by default {@code
+ *       chatter:50,valid:30,invalid:10,unknown:5,subcommand:5}
+ *   <li>{@code users} the amount of authors of the messages, 1000 by default
+ *   <li>{@code guilds} the amount of guilds where the messages are sent, 16 by default
+ *   <li>{@code strategy} {@code default} to use the strategy of {@link DefaultListenerOptions} or
+ *       {@code caller} to execute the commands in the thread that feeds the events
+ *   <li>{@code dispatcher} whether the responses are sent thru a {@link ResponseDispatcher}, false
+ *       by default
+ * </ul>
+ *
+ * <p>The latency of a command goes from the moment its message is due until its response is given
+ * to the channel, the latency of chatter ends when the listener returns. When there's a rate the
+ * messages are due on a fixed schedule so a listener that falls behind is not hidden by a generator
+ * that waits for it.
+ *
+ * <p>The events are created before measuring and reused, each one with its own channel so a
+ * response is always matched with its message. A message that did not get a response before its
+ * event is reused or the run finishes is counted as unanswered. The allocation is the sum of the
+ * bytes allocated by every thread that is alive at the start and at the end of the run
+ */
+public final class LoadHarness {
+
+  /** The amount of events that are created and reused */
+  private static final int POOL_SIZE = 16384;
+
+  private final int messages;
+  private final int warmup;
+  private final int rate;
+  @NonNull private final int[] weights;
+  private final int users;
+  private final int guilds;
+  @NonNull private final String strategy;
+  private final boolean dispatcher;
+
+  @NonNull private final LatencyHistogram[] latencies = new LatencyHistogram[Kind.values().length];
+
+  @NonNull private final LongAdder unanswered = new LongAdder();
+  private volatile boolean measuring;
+  /** The time in nanoseconds of the last response */
+  private volatile long last;
+
+  /**
+   * Create the harness
+   *
+   * @param options the options of the harness by their name
+   * @throws IllegalArgumentException if an option is not valid
+   */
+  public LoadHarness(@NonNull Map<String, String> options) {
+    this.messages = LoadHarness.getInt(options, "messages", 100000);
+    this.warmup = LoadHarness.getInt(options, "warmup", 20000);
+    this.rate = LoadHarness.getInt(options, "rate", 0);
+    this.weights = Kind.parseMix(options.getOrDefault("mix", Kind.DEFAULT_MIX));
+    this.users = Math.max(1, LoadHarness.getInt(options, "users", 1000));
+    this.guilds = Math.max(1, LoadHarness.getInt(options, "guilds", 16));
+    this.strategy = options.getOrDefault("strategy", "default");
+    this.dispatcher = Boolean.parseBoolean(options.getOrDefault("dispatcher", "false"));
+    if (!this.strategy.equals("default") && !this.strategy.equals("caller")) {
+      throw new IllegalArgumentException("Unknown strategy: " + this.strategy);
+    }
+    for (int i = 0; i < this.latencies.length; i++) {
+      this.latencies[i] = new LatencyHistogram();
+    }
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || arg.indexOf('=') == -1) {
+        throw new IllegalArgumentException("Options must be given as --name=value: " + arg);
+      }
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    new LoadHarness(options).run();
+    // The execution strategy and the dispatcher may leave threads behind
+    System.exit(0);
+  }
+
+  /**
+   * Run the harness and print its report
+   *
+   * @throws InterruptedException if the thread is interrupted while waiting for the responses
+   */
+  public void run() throws InterruptedException {
+    JDA jda = StandIn.of(JDA.class).build();
+    JdaMessagesProvider messagesProvider = new JdaMessagesProvider();
+    DefaultListenerOptions listenerOptions = new DefaultListenerOptions();
+    if (this.strategy.equals("caller"))
+      listenerOptions.setExecutionStrategy(ExecutionStrategy.CALLER);
+    if (this.dispatcher) listenerOptions.setResponseDispatcher(new ResponseDispatcher());
+    CommandManager manager =
+        new CommandManager(
+            new JdaProvidersRegistry(messagesProvider),
+            messagesProvider,
+            () -> messagesProvider,
+            jda,
+            listenerOptions);
+    manager.parseAndRegisterAll(new LoadCommands(), new AdminCommands());
+    CommandListener listener = manager.getListener();
+    Slot[] pool = this.createPool(jda, listenerOptions.getPrefix());
+    this.feed(listener, pool, this.warmup, 0);
+    this.await(pool);
+    for (LatencyHistogram histogram : this.latencies) histogram.reset();
+    this.unanswered.reset();
+    this.measuring = true;
+    long allocated = LoadHarness.getAllocatedBytes();
+    long start = System.nanoTime();
+    this.feed(listener, pool, this.messages, this.warmup);
+    long fed = System.nanoTime();
+    this.await(pool);
+    // Messages that never get a response should not count the time spent waiting for them
+    long elapsed = Math.max(fed, this.last) - start;
+    allocated = LoadHarness.getAllocatedBytes() - allocated;
+    this.measuring = false;
+    this.report(elapsed, allocated);
+  }
+
+  /**
+   * Create the events that are fed to the listener
+   *
+   * @param jda the stand-in of JDA
+   * @param prefix the prefix of the commands
+   * @return the slots of the events
+   */
+  @NonNull
+  private Slot[] createPool(@NonNull JDA jda, @NonNull String prefix) {
+    Random random = new Random(42);
+    int total = 0;
+    for (int weight : this.weights) total += weight;
+    Guild[] guilds = new Guild[this.guilds];
+    for (int i = 0; i < guilds.length; i++) {
+      guilds[i] = StandIn.of(Guild.class).with("getIdLong", 1000L + i).with("getJDA", jda).build();
+    }
+    User[] users = new User[this.users];
+    for (int i = 0; i < users.length; i++) {
+      long id = 100000L + i;
+      users[i] =
+          StandIn.of(User.class)
+              .with("getIdLong", id)
+              .with("getName", "user" + i)
+              .with("getAsTag", "user" + i + "#0001")
+              .with("getAsMention", "<@" + id + ">")
+              .with("getJDA", jda)
+              .build();
+    }
+    Message sent = StandIn.of(Message.class).with("getIdLong", 1L).with("getJDA", jda).build();
+    MessageAction action =
+        StandIn.of(MessageAction.class)
+            .answer(
+                "queue",
+                args -> {
+                  if (args.length > 0 && args[0] != null) {
+                    @SuppressWarnings("unchecked")
+                    Consumer<Object> success = (Consumer<Object>) args[0];
+                    success.accept(sent);
+                  }
+                  return null;
+                })
+            .build();
+    Slot[] pool = new Slot[LoadHarness.POOL_SIZE];
+    for (int i = 0; i < pool.length; i++) {
+      Kind kind = Kind.pick(this.weights, random.nextInt(total));
+      Guild guild = guilds[i % guilds.length];
+      User user = users[random.nextInt(users.length)];
+      Probe probe = new Probe(kind);
+      TextChannel channel =
+          StandIn.of(TextChannel.class)
+              .with("getIdLong", 2000000L + i)
+              .with("getType", ChannelType.TEXT)
+              .with("getGuild", guild)
+              .with("getJDA", jda)
+              .answer("sendMessage", args -> this.respond(probe, action))
+              .answer("sendMessageEmbeds", args -> this.respond(probe, action))
+              .build();
+      Member member =
+          StandIn.of(Member.class)
+              .with("getIdLong", user.getIdLong())
+              .with("getUser", user)
+              .with("getGuild", guild)
+              .with("getEffectiveName", user.getName())
+              .with("getAsMention", user.getAsMention())
+              .with("hasPermission", true)
+              .build();
+      Message message =
+          StandIn.of(Message.class)
+              .with("getIdLong", 3000000L + i)
+              .with("getContentRaw", kind.getContent(prefix))
+              .with("getContentDisplay", kind.getContent(prefix))
+              .with("getAuthor", user)
+              .with("getMember", member)
+              .with("getGuild", guild)
+              .with("getChannel", channel)
+              .with("getTextChannel", channel)
+              .with("getChannelType", ChannelType.TEXT)
+              .with("isFromGuild", true)
+              .answer("isFromType", args -> args[0] == ChannelType.TEXT)
+              .with("getJDA", jda)
+              .build();
+      pool[i] = new Slot(new MessageReceivedEvent(jda, i, message), probe);
+    }
+    return pool;
+  }
+
+  /**
+   * Complete the probe of a channel that is sending a response
+   *
+   * @param probe the probe of the channel
+   * @param action the action returned to the sender
+   * @return the action
+   */
+  @NonNull
+  private MessageAction respond(@NonNull Probe probe, @NonNull MessageAction action) {
+    this.complete(probe, System.nanoTime());
+    return action;
+  }
+
+  /**
+   * Feed events to the listener
+   *
+   * @param listener the listener to feed
+   * @param pool the events to feed
+   * @param count the amount of events to feed
+   * @param offset the amount of events that were already fed
+   */
+  private void feed(
+      @NonNull CommandListener listener, @NonNull Slot[] pool, int count, int offset) {
+    long interval = this.rate > 0 ? TimeUnit.SECONDS.toNanos(1) / this.rate : 0;
+    long begin = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      Slot slot = pool[(offset + i) % pool.length];
+      long due = System.nanoTime();
+      if (interval > 0) {
+        due = begin + i * interval;
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+      }
+      if (slot.probe.pending) this.unanswered.increment();
+      slot.probe.start = due;
+      slot.probe.pending = true;
+      listener.onEvent(slot.event);
+      if (slot.probe.kind == Kind.CHATTER) this.complete(slot.probe, System.nanoTime());
+    }
+  }
+
+  /**
+   * Wait for the responses of the messages that were fed. After ten seconds the messages that did
+   * not get a response are counted as unanswered
+   *
+   * @param pool the events that were fed
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  private void await(@NonNull Slot[] pool) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    for (Slot slot : pool) {
+      while (slot.probe.pending && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      if (slot.probe.pending) {
+        slot.probe.pending = false;
+        this.unanswered.increment();
+      }
+    }
+  }
+
+  /**
+   * Complete a probe recording its latency
+   *
+   * @param probe the probe to complete
+   * @param now the time in nanoseconds when the probe completed
+   */
+  private void complete(@NonNull Probe probe, long now) {
+    if (!probe.pending) return;
+    probe.pending = false;
+    if (this.measuring) {
+      this.latencies[probe.kind.ordinal()].record(now - probe.start);
+      this.last = now;
+    }
+  }
+
+  /**
+   * Print the report of the run
+   *
+   * @param elapsed the nanoseconds that the run took
+   * @param allocated the bytes allocated during the run or a negative number if unknown
+   */
+  private void report(long elapsed, long allocated) {
+    double seconds = elapsed / (double) TimeUnit.SECONDS.toNanos(1);
+    System.out.printf(
+        Locale.ROOT,
+        "messages: %d in %.3f s (strategy: %s, dispatcher: %s, rate: %s)%n",
+        this.messages,
+        seconds,
+        this.strategy,
+        this.dispatcher,
+        this.rate > 0 ? this.rate + "/s" : "unbounded");
+    System.out.printf(Locale.ROOT, "throughput: %.0f messages/s%n", this.messages / seconds);
+    if (allocated >= 0) {
+      System.out.printf(
+          Locale.ROOT, "allocation: %.0f bytes/message%n", allocated / (double) this.messages);
+    } else {
+      System.out.println("allocation: not supported by this virtual machine");
+    }
+    System.out.println("unanswered: " + this.unanswered.sum());
+    System.out.printf(
+        Locale.ROOT,
+        "%-12s %10s %10s %10s %10s %10s %10s (us)%n",
+        "kind",
+        "count",
+        "p50",
+        "p90",
+        "p99",
+        "p99.9",
+        "max");
+    for (Kind kind : Kind.values()) {
+      LatencyHistogram histogram = this.latencies[kind.ordinal()];
+      if (histogram.getCount() == 0) continue;
+      System.out.printf(
+          Locale.ROOT,
+          "%-12s %10d %10d %10d %10d %10d %10d%n",
+          kind.name().toLowerCase(Locale.ROOT),
+          histogram.getCount(),
+          histogram.getPercentile(50, TimeUnit.MICROSECONDS),
+          histogram.getPercentile(90, TimeUnit.MICROSECONDS),
+          histogram.getPercentile(99, TimeUnit.MICROSECONDS),
+          histogram.getPercentile(99.9, TimeUnit.MICROSECONDS),
+          histogram.getMax(TimeUnit.MICROSECONDS));
+    }
+  }
+
+  /**
+   * Get the bytes allocated by the threads that are alive
+   *
+   * @return the allocated bytes or -1 if the virtual machine does not support it
+   */
+  private static long getAllocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (!(bean instanceof com.sun.management.ThreadMXBean)) return -1;
+    long[] allocated =
+        ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(bean.getAllThreadIds());
+    long total = 0;
+    for (long bytes : allocated) {
+      if (bytes > 0) total += bytes;
+    }
+    return total;
+  }
+
+  private static int getInt(@NonNull Map<String, String> options, @NonNull String name, int def) {
+    String value = options.get(name);
+    if (value == null) return def;
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(name + " must be a number: " + value, e);
+    }
+  }
+
+  /** The kinds of messages fed to the listener */
+  public enum Kind {
+    /** A message that is not a command */
+    CHATTER,
+    /** A command with valid arguments */
+    VALID,
+    /** A command with an argument that cannot be provided */
+    INVALID,
+    /** A command that is not registered */
+    UNKNOWN,
+    /** A subcommand of a parent with valid arguments */
+    SUBCOMMAND;
+
+    /** The weights used when there's no mix */
+    static final String DEFAULT_MIX = "chatter:50,valid:30,invalid:10,unknown:5,subcommand:5";
+
+    /**
+     * Get the content of a message of this kind
+     *
+     * @param prefix the prefix of the commands
+     * @return the content of the message
+     */
+    @NonNull
+    String getContent(@NonNull String prefix) {
+      switch (this) {
+        case CHATTER:
+          return "has anyone seen the new patch notes yet?";
+        case VALID:
+          return prefix + "echo 42 hello there";
+        case INVALID:
+          return prefix + "echo forty-two";
+        case UNKNOWN:
+          return prefix + "missing 42";
+        default:
+          return prefix + "admin ping 42";
+      }
+    }
+
+    /**
+     * Parse the weights of each kind
+     *
+     * @param mix the weights as {@code kind:weight} separated by commas
+     * @return the weight of each kind indexed by its ordinal
+     * @throws IllegalArgumentException if the mix is not valid
+     */
+    @NonNull
+    static int[] parseMix(@NonNull String mix) {
+      int[] weights = new int[Kind.values().length];
+      int total = 0;
+      for (String entry : mix.split(",")) {
+        String[] split = entry.split(":");
+        if (split.length != 2) throw new IllegalArgumentException("Invalid mix entry: " + entry);
+        Kind kind = Kind.valueOf(split[0].trim().toUpperCase(Locale.ROOT));
+        weights[kind.ordinal()] = Integer.parseInt(split[1].trim());
+        if (weights[kind.ordinal()] < 0) {
+          throw new IllegalArgumentException("Weights cannot be negative: " + entry);
+        }
+        total += weights[kind.ordinal()];
+      }
+      if (total <= 0) throw new IllegalArgumentException("The mix must have a positive weight");
+      return weights;
+    }
+
+    /**
+     * Pick a kind using its weight
+     *
+     * @param weights the weight of each kind
+     * @param value a value from 0 to the sum of the weights
+     * @return the kind
+     */
+    @NonNull
+    static Kind pick(@NonNull int[] weights, int value) {
+      Kind[] kinds = Kind.values();
+      for (int i = 0; i < kinds.length; i++) {
+        value -= weights[i];
+        if (value < 0) return kinds[i];
+      }
+      return kinds[kinds.length - 1];
+    }
+  }
+
+  /** An event fed to the listener and the probe of its channel */
+  private static final class Slot {
+
+    @NonNull private final MessageReceivedEvent event;
+    @NonNull private final Probe probe;
+
+    private Slot(@NonNull MessageReceivedEvent event, @NonNull Probe probe) {
+      this.event = event;
+      this.probe = probe;
+    }
+  }
+
+  /** Records when the message of a slot was due and whether it is waiting for its response */
+  private static final class Probe {
+
+    @NonNull private final Kind kind;
+    private volatile long start;
+    private volatile boolean pending;
+
+    private Probe(@NonNull Kind kind) {
+      this.kind = kind;
+    }
+  }
+
+  /** The commands executed by the harness */
+  public static class LoadCommands {
+
+    @Command(aliases = "echo")
+    public Result echo(@Required(name = "amount") int amount) {
+      return new Result("echo " + amount);
+    }
+  }
+
+  /** A parent with a subcommand executed by the harness */
+  public static class AdminCommands {
+
+    @Parent
+    @Command(aliases = "admin")
+    public Result admin() {
+      return new Result("admin");
+    }
+
+    @Command(aliases = "ping")
+    public Result ping(@Required(name = "amount") int amount) {
+      return new Result("pong " + amount);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package me.googas.commands.benchmarks.jda;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+
+/**
+ * A local stand-in of a JDA interface created using {@link Proxy}. Methods answer with the values
+ * given by name, the rest answer with a default value: zero or false for primitives, an empty
+ * string for strings, a completed future for futures and another stand-in for the interfaces of JDA
+ * so chained calls like {@code message.delete().queue()} do nothing instead of failing. Methods
+ * that return the type of the stand-in return the stand-in itself so builders can be chained.
+ *
+ * <p>A {@link Long} answer of {@code getIdLong} is also used to answer {@code getId}
+ */
+public final class StandIn implements InvocationHandler {
+
+  @NonNull private final Class<?> type;
+  @NonNull private final Map<String, Answer> answers;
+  /** The stand-ins returned by the methods without an answer for each interface */
+  @NonNull private final Map<Class<?>, Object> chained = new ConcurrentHashMap<>();
+
+  private StandIn(@NonNull Class<?> type, @NonNull Map<String, Answer> answers) {
+    this.type = type;
+    this.answers = answers;
+  }
+
+  /**
+   * Start building a stand-in
+   *
+   * @param type the interface that the stand-in implements
+   * @param <T> the type of the interface
+   * @return the builder of the stand-in
+   */
+  @NonNull
+  public static <T> Builder<T> of(@NonNull Class<T> type) {
+    return new Builder<>(type);
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) {
+    String name = method.getName();
+    if (method.getDeclaringClass() == Object.class) {
+      switch (name) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return "StandIn{" + this.type.getSimpleName() + '}';
+      }
+    }
+    Answer answer = this.answers.get(name);
+    if (answer != null) return answer.answer(args == null ? new Object[0] : args);
+    if (name.equals("getId")) {
+      Answer id = this.answers.get("getIdLong");
+      if (id != null) return Long.toUnsignedString((Long) id.answer(new Object[0]));
+    }
+    return this.getDefault(proxy, method.getReturnType());
+  }
+
+  /**
+   * Get the value of a method without an answer
+   *
+   * @param proxy the stand-in
+   * @param returnType the type returned by the method
+   * @return the default value
+   */
+  private Object getDefault(@NonNull Object proxy, @NonNull Class<?> returnType) {
+    if (returnType == void.class) {
+      return null;
+    } else if (returnType == boolean.class) {
+      return false;
+    } else if (returnType == char.class) {
+      return '\0';
+    } else if (returnType.isPrimitive()) {
+      return this.getZero(returnType);
+    } else if (returnType == String.class) {
+      return "";
+    } else if (returnType == CompletableFuture.class) {
+      return CompletableFuture.completedFuture(null);
+    } else if (returnType.isInstance(proxy)) {
+      return proxy;
+    } else if (returnType.isInterface() && returnType.getName().startsWith("net.dv8tion.jda")) {
+      return this.chained.computeIfAbsent(returnType, type -> StandIn.of(type).build());
+    }
+    return null;
+  }
+
+  private Object getZero(@NonNull Class<?> returnType) {
+    if (returnType == long.class) return 0L;
+    if (returnType == double.class) return 0D;
+    if (returnType == float.class) return 0F;
+    if (returnType == short.class) return (short) 0;
+    if (returnType == byte.class) return (byte) 0;
+    return 0;
+  }
+
+  /** Answers a method of the stand-in */
+  public interface Answer {
+
+    /**
+     * Answer the invocation of a method
+     *
+     * @param args the arguments given to the method
+     * @return the value returned by the method
+     */
+    Object answer(@NonNull Object[] args);
+  }
+
+  /**
+   * Builds a stand-in
+   *
+   * @param <T> the type of the interface of the stand-in
+   */
+  public static final class Builder<T> {
+
+    @NonNull private final Class<T> type;
+    @NonNull private final Map<String, Answer> answers = new HashMap<>();
+
+    private Builder(@NonNull Class<T> type) {
+      this.type = type;
+    }
+
+    /**
+     * Answer a method with a fixed value
+     *
+     * @param method the name of the method
+     * @param value the value returned by the method
+     * @return this same instance
+     */
+    @NonNull
+    public Builder<T> with(@NonNull String method, Object value) {
+      return this.answer(method, args -> value);
+    }
+
+    /**
+     * Answer a method
+     *
+     * @param method the name of the method
+     * @param answer the answer of the method
+     * @return this same instance
+     */
+    @NonNull
+    public Builder<T> answer(@NonNull String method, @NonNull Answer answer) {
+      this.answers.put(method, answer);
+      return this;
+    }
+
+    /**
+     * Build the stand-in
+     *
+     * @return the stand-in
+     */
+    @NonNull
+    public T build() {
+      return this.type.cast(
+          Proxy.newProxyInstance(
+              this.type.getClassLoader(),
+              new Class<?>[] {this.type},
+              new StandIn(this.type, new HashMap<>(this.answers))));
+    }
+  }
+}
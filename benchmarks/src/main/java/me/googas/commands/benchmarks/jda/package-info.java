@@ -0,0 +1,6 @@
+/**
+ * This package contains a load harness for the JDA module that runs without connecting to Discord.
+ * Build the module and run it with "java -cp benchmarks/target/benchmarks.jar
+ * me.googas.commands.benchmarks.jda.LoadHarness"
+ */
+package me.googas.commands.benchmarks.jda;
@@ -0,0 +1,5 @@
+/**
+ * This package contains the JMH benchmarks of the framework. Build the module and run them with
+ * "java -jar benchmarks/target/benchmarks.jar"
+ */
+package me.googas.commands.benchmarks;
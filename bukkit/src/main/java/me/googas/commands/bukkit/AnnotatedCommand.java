@@ -5,20 +5,34 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import lombok.Getter;
 import lombok.NonNull;
+import me.googas.commands.CommandDispatcher;
+import me.googas.commands.CommandIndex;
 import me.googas.commands.ReflectCommand;
 import me.googas.commands.arguments.Argument;
 import me.googas.commands.arguments.SingleArgument;
+import me.googas.commands.arguments.binding.BindingPlan;
 import me.googas.commands.bukkit.annotations.Command;
 import me.googas.commands.bukkit.context.CommandContext;
 import me.googas.commands.bukkit.providers.type.BukkitArgumentProvider;
 import me.googas.commands.bukkit.providers.type.BukkitMultiArgumentProvider;
 import me.googas.commands.bukkit.result.Result;
+import me.googas.commands.bukkit.scheduler.CommandScheduler;
 import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.context.Tokenizer;
+import me.googas.commands.context.TokensView;
 import me.googas.commands.exceptions.ArgumentProviderException;
 import me.googas.commands.exceptions.MissingArgumentException;
+import me.googas.commands.execution.Execution;
+import me.googas.commands.interceptor.InterceptorChain;
+import me.googas.commands.invoker.CommandInvoker;
 import me.googas.commands.messages.EasyMessagesProvider;
+import me.googas.commands.metrics.CommandMetrics;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import me.googas.commands.providers.type.EasyContextualProvider;
 import me.googas.starbox.Strings;
@@ -37,7 +51,14 @@ public class AnnotatedCommand extends EasyBukkitCommand
   @NonNull @Getter private final Method method;
   @NonNull @Getter private final Object object;
   @NonNull @Getter private final List<Argument<?>> arguments;
+  @NonNull @Getter private final List<String> flags;
   @NonNull @Getter private final List<EasyBukkitCommand> children;
+  @NonNull private final CommandIndex<EasyBukkitCommand> childrenIndex;
+  @NonNull @Getter private final CommandInvoker invoker;
+  @NonNull @Getter private final BindingPlan<CommandContext> bindingPlan;
+  @NonNull @Getter private final InterceptorChain<CommandContext> interceptors;
+  @NonNull @Getter private final CommandMetrics metrics;
+  @NonNull private final CommandDispatcher<CommandContext, Result> dispatcher;
 
   /**
    * Create the command
@@ -61,6 +82,40 @@ public class AnnotatedCommand extends EasyBukkitCommand
       @NonNull List<Argument<?>> arguments,
       @NonNull CommandManager manager,
       @NonNull List<EasyBukkitCommand> children) {
+    this(
+        command,
+        method,
+        object,
+        arguments,
+        manager,
+        children,
+        manager.getInvokerFactory().create(method, object));
+  }
+
+  /**
+   * Create the command
+   *
+   * @param command the annotation that will be used to get the name and aliases of the command
+   *     {@link Command#aliases()} the description {@link Command#description()} whether to execute
+   *     the command async {@link Command#async()} and the permission {@link Command#permission()}
+   * @param method the method to execute as the command see more in {@link #getMethod()}
+   * @param object the instance of the object used to invoke the method see more in {@link
+   *     #getObject()}
+   * @param arguments the list of arguments that are used to {@link #getObjects(EasyCommandContext)}
+   *     and invoke the {@link #getMethod()}
+   * @param manager the manager that parsed the command
+   * @param children the list of children commands which can be used with this parent prefix. Learn
+   *     more in {@link me.googas.commands.annotations.Parent}
+   * @param invoker the invoker used to call the method, see more in {@link #getInvoker()}
+   */
+  public AnnotatedCommand(
+      @NonNull Command command,
+      @NonNull Method method,
+      @NonNull Object object,
+      @NonNull List<Argument<?>> arguments,
+      @NonNull CommandManager manager,
+      @NonNull List<EasyBukkitCommand> children,
+      @NonNull CommandInvoker invoker) {
     super(
         command.aliases()[0],
         command.description(),
@@ -76,7 +131,19 @@ public class AnnotatedCommand extends EasyBukkitCommand
     this.method = method;
     this.object = object;
     this.arguments = arguments;
+    this.flags = Arrays.asList(command.flags());
     this.children = children;
+    this.childrenIndex = new CommandIndex<>(children);
+    this.invoker = invoker;
+    this.bindingPlan =
+        new BindingPlan<>(arguments, manager.getProvidersRegistry(), manager.getMessagesProvider());
+    this.interceptors = InterceptorChain.compile(manager.getInterceptors());
+    this.metrics = manager.getMetrics().getMetrics(method, command.aliases()[0]);
+    this.dispatcher =
+        new CommandDispatcher<>(
+            this,
+            (context, value) -> AnnotatedCommand.getResult(value),
+            (context, e) -> this.getResult(e));
     final String permission = command.permission();
     if (!permission.isEmpty()) {
       this.setPermission(permission);
@@ -85,13 +152,18 @@ public class AnnotatedCommand extends EasyBukkitCommand
 
   public @NonNull List<String> reflectTabComplete(
       @NonNull CommandSender sender, @NonNull String[] strings) {
+    TokensView tokens = new TokensView(strings).withFlags(this.flags);
     CommandContext context =
         new CommandContext(
             sender,
-            strings,
+            tokens,
             this.manager.getMessagesProvider(),
             this.manager.getProvidersRegistry());
-    SingleArgument<?> argument = this.getArgument(strings.length - 1);
+    String last = strings[strings.length - 1];
+    if (!this.flags.isEmpty() && Tokenizer.isFlag(last)) {
+      return StringUtil.copyPartialMatches(last, this.flags, new ArrayList<>());
+    }
+    SingleArgument<?> argument = this.getArgument(tokens.getArgumentsLength() - 1);
     if (argument != null) {
       if (argument.getSuggestions(context).size() > 0) {
         return StringUtil.copyPartialMatches(
@@ -130,6 +202,17 @@ public class AnnotatedCommand extends EasyBukkitCommand
     return this.manager.getProvidersRegistry();
   }
 
+  @Override
+  public @NonNull AnnotatedCommand addChildren(@NonNull EasyBukkitCommand command) {
+    this.childrenIndex.add(command);
+    return this;
+  }
+
+  @Override
+  public EasyBukkitCommand getChildren(@NonNull String alias) {
+    return this.childrenIndex.get(alias);
+  }
+
   @Override
   public boolean hasAlias(@NonNull String alias) {
     if (this.getName().equalsIgnoreCase(alias)) return true;
@@ -139,34 +222,140 @@ public class AnnotatedCommand extends EasyBukkitCommand
     return false;
   }
 
+  /**
+   * Execute the command. This does not wait for methods that return a {@link CompletionStage}, if
+   * the stage is not completed yet null is returned, use {@link #executeStage(CommandContext)} to
+   * get its result
+   *
+   * @param context the context of the command
+   * @return the result of the command or null if it is not completed yet
+   */
   @Override
   public Result execute(@NonNull CommandContext context) {
-    CommandSender sender = context.getSender();
+    return CommandDispatcher.getNow(this.executeStage(context));
+  }
+
+  @Override
+  public @NonNull CompletionStage<Result> executeStage(@NonNull CommandContext context) {
+    Result result = this.check(context);
+    if (result != null) {
+      return CompletableFuture.completedFuture(result);
+    }
+    return this.dispatcher.dispatch(context);
+  }
+
+  /**
+   * Execute the command splitting it by the affinity of the command and the one of its providers. A
+   * command is only split when one of its providers must run in another thread than the command:
+   * commands that must run in the thread that owns the sender bind their {@link
+   * ThreadAffinity#ASYNC} providers in {@link CommandManager#getWorkerStrategy()} and then run in
+   * the executor of the sender in {@link CommandManager#getScheduler()}, async commands bind their
+   * {@link ThreadAffinity#MAIN} providers in the thread that owns the sender and then run in the
+   * worker. The rest of commands are executed as in {@link
+   * EasyBukkitCommand#executeByAffinity(CommandContext)}
+   *
+   * @param context the context of the command
+   * @return the future of the result of the command
+   */
+  @Override
+  public @NonNull CompletableFuture<Result> executeByAffinity(@NonNull CommandContext context) {
+    boolean main = this.getAffinity() == ThreadAffinity.MAIN;
+    if (!this.bindingPlan.anyMatch(main ? AnnotatedCommand::isAsync : AnnotatedCommand::isMain)) {
+      return super.executeByAffinity(context);
+    }
+    Result result = this.check(context);
+    if (result != null) {
+      return CompletableFuture.completedFuture(result);
+    }
+    Executor worker = this.manager.getWorkerStrategy().getExecutor(context);
+    CommandScheduler scheduler = this.manager.getScheduler();
+    Executor owner =
+        scheduler.isOwnedByCurrentThread(context.getSender())
+            ? Runnable::run
+            : scheduler.getExecutor(context.getSender());
+    if (main) {
+      return Execution.supply(
+              () ->
+                  CompletableFuture.completedFuture(
+                      new Binding(context).bind(AnnotatedCommand::isAsync)),
+              worker)
+          .thenCompose(
+              bound ->
+                  bound.done
+                      ? CompletableFuture.completedFuture(bound.result)
+                      : Execution.supply(
+                          () ->
+                              bound.bind(provider -> !AnnotatedCommand.isAsync(provider)).invoke(),
+                          scheduler.getExecutor(context.getSender())));
+    }
+    return Execution.supply(
+            () ->
+                CompletableFuture.completedFuture(
+                    new Binding(context).bind(AnnotatedCommand::isMain)),
+            owner)
+        .thenCompose(
+            bound ->
+                bound.done
+                    ? CompletableFuture.completedFuture(bound.result)
+                    : Execution.supply(
+                        () -> bound.bind(provider -> !AnnotatedCommand.isMain(provider)).invoke(),
+                        worker));
+  }
+
+  private static boolean isMain(EasyContextualProvider<?, ?> provider) {
+    return ThreadAffinity.of(provider) == ThreadAffinity.MAIN;
+  }
+
+  private static boolean isAsync(EasyContextualProvider<?, ?> provider) {
+    return ThreadAffinity.of(provider) == ThreadAffinity.ASYNC;
+  }
+
+  /**
+   * Check whether the sender is allowed to execute the command
+   *
+   * @param context the context of the command
+   * @return a result if the sender is not allowed to execute the command else null
+   */
+  private Result check(@NonNull CommandContext context) {
     final String permission = this.getPermission();
     if (permission != null && !permission.isEmpty()) {
-      if (!sender.hasPermission(permission)) {
+      if (!context.getSender().hasPermission(permission)) {
         return new Result(this.manager.getMessagesProvider().notAllowed(context));
       }
     }
-    try {
-      Object object = this.method.invoke(this.getObject(), this.getObjects(context));
-      if (object instanceof Result) {
-        return (Result) object;
-      } else {
-        return null;
-      }
-    } catch (final IllegalAccessException e) {
-      e.printStackTrace();
+    return null;
+  }
+
+  /**
+   * Get the result from the object returned by the method
+   *
+   * @param object the object returned by the method or by its stage
+   * @return the result if the object is a result else null
+   */
+  private static Result getResult(Object object) {
+    return object instanceof Result ? (Result) object : null;
+  }
+
+  /**
+   * Get the result of an exception thrown while executing the method
+   *
+   * @param e the exception thrown
+   * @return the result to give to the sender
+   */
+  @NonNull
+  private Result getResult(@NonNull Exception e) {
+    if (e instanceof IllegalAccessException) {
+      this.log(e);
       return new Result("&cIllegalAccessException, e");
-    } catch (final InvocationTargetException e) {
+    } else if (e instanceof InvocationTargetException) {
       final String message = e.getMessage();
       if (message != null && !message.isEmpty()) {
         return new Result("&c{0}");
       } else {
-        e.printStackTrace();
+        this.log(e);
         return new Result("&cInvocationTargetException, e");
       }
-    } catch (MissingArgumentException | ArgumentProviderException e) {
+    } else {
       return new Result(e.getMessage());
     }
   }
@@ -192,4 +381,62 @@ public class AnnotatedCommand extends EasyBukkitCommand
       return this.reflectTabComplete(sender, strings);
     }
   }
+
+  /**
+   * The objects of an execution that is split between threads. The stages that use it run one after
+   * another so it does not need to be synchronized
+   */
+  private class Binding {
+
+    @NonNull private final CommandContext context;
+    private CommandMetrics metrics;
+    private long start;
+    private Object[] objects;
+    /** Whether the execution already finished and {@link #result} must be given */
+    private boolean done;
+
+    private Result result;
+
+    private Binding(@NonNull CommandContext context) {
+      this.context = context;
+      Object intercepted = AnnotatedCommand.this.interceptors.preDispatch(context);
+      if (intercepted != null) {
+        this.finish(AnnotatedCommand.getResult(intercepted));
+        return;
+      }
+      this.metrics = AnnotatedCommand.this.getMetrics();
+      this.start = this.metrics.start();
+      this.objects = new Object[AnnotatedCommand.this.arguments.size()];
+    }
+
+    /**
+     * Bind the objects of the providers that match a filter
+     *
+     * @param filter the filter of the providers
+     * @return this same instance
+     */
+    @NonNull
+    private Binding bind(@NonNull Predicate<EasyContextualProvider<?, CommandContext>> filter) {
+      if (this.done) return this;
+      try {
+        AnnotatedCommand.this.bindingPlan.bind(this.context, this.objects, filter);
+      } catch (MissingArgumentException | ArgumentProviderException e) {
+        this.finish(
+            AnnotatedCommand.this.dispatcher.fail(this.context, e, this.metrics, this.start));
+      }
+      return this;
+    }
+
+    @NonNull
+    private CompletionStage<Result> invoke() {
+      if (this.done) return CompletableFuture.completedFuture(this.result);
+      return AnnotatedCommand.this.dispatcher.invoke(
+          this.context, this.objects, this.metrics, this.start);
+    }
+
+    private void finish(Result result) {
+      this.result = result;
+      this.done = true;
+    }
+  }
 }
@@ -6,21 +6,31 @@ import java.util.Collection;
 import java.util.List;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+import me.googas.commands.CommandIndex;
+import me.googas.commands.CommandParser;
 import me.googas.commands.EasyCommandManager;
-import me.googas.commands.annotations.Parent;
 import me.googas.commands.arguments.Argument;
 import me.googas.commands.bukkit.annotations.Command;
 import me.googas.commands.bukkit.context.CommandContext;
 import me.googas.commands.bukkit.messages.BukkitMessagesProvider;
 import me.googas.commands.bukkit.messages.MessagesProvider;
 import me.googas.commands.bukkit.result.Result;
+import me.googas.commands.bukkit.scheduler.CommandScheduler;
 import me.googas.commands.bukkit.topic.PluginHelpTopic;
 import me.googas.commands.bukkit.utils.BukkitUtils;
+import me.googas.commands.context.TokensView;
 import me.googas.commands.exceptions.CommandRegistrationException;
+import me.googas.commands.execution.ExecutionStrategy;
+import me.googas.commands.interceptor.CommandInterceptor;
+import me.googas.commands.invoker.CommandInvoker;
+import me.googas.commands.invoker.InvokerFactory;
+import me.googas.commands.metrics.MetricsRegistry;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import me.googas.commands.providers.type.EasyContextualProvider;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
 import org.bukkit.help.HelpMap;
 import org.bukkit.plugin.Plugin;
 
@@ -77,6 +87,44 @@ public class CommandManager implements EasyCommandManager<CommandContext, EasyBu
   @NonNull @Getter private final ProvidersRegistry<CommandContext> providersRegistry;
   @NonNull @Getter private final MessagesProvider messagesProvider;
   @NonNull @Getter private final List<EasyBukkitCommand> commands = new ArrayList<>();
+  @NonNull private final CommandIndex<EasyBukkitCommand> index = new CommandIndex<>(this.commands);
+  @NonNull @Getter @Setter private InvokerFactory invokerFactory = InvokerFactory.COMPILED;
+  /** Parses the commands of objects using their registrar or reflection */
+  @NonNull
+  private final CommandParser<Command, AnnotatedCommand> parser =
+      new CommandParser<>(Command.class, this::create, AnnotatedCommand::addChildren);
+
+  @NonNull @Getter @Setter private MetricsRegistry metrics = MetricsRegistry.DISABLED;
+
+  @NonNull @Getter
+  private final List<CommandInterceptor<CommandContext>> interceptors = new ArrayList<>();
+  /** The strategy used to execute the commands that are not async */
+  @NonNull @Getter @Setter private ExecutionStrategy executionStrategy = ExecutionStrategy.CALLER;
+  /**
+   * The strategy used to execute the async commands. By default they run in {@link
+   * CommandScheduler#getAsync()} of {@link #getScheduler()}
+   */
+  @NonNull @Getter @Setter private ExecutionStrategy asyncStrategy;
+  /**
+   * The strategy of the worker threads used when {@link #isAffinityExecution()} is enabled. The
+   * arguments are parsed in them and the commands that can run in any thread are executed in them
+   */
+  @NonNull @Getter @Setter
+  private ExecutionStrategy workerStrategy =
+      ExecutionStrategy.bounded(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), 1024);
+  /**
+   * The scheduler of the threads that own the senders. By default it is detected using {@link
+   * CommandScheduler#detect(Plugin)} so region threaded servers are supported
+   */
+  @NonNull @Getter @Setter private CommandScheduler scheduler;
+  /**
+   * Whether commands are executed by their {@link ThreadAffinity} and the one of their providers,
+   * see {@link EasyBukkitCommand#runCheckSync(CommandSender, TokensView)}. Commands are only split
+   * between threads when one of their providers declares it must run in another thread. By default
+   * this is disabled and the whole command runs in {@link #getAsyncStrategy()} or {@link
+   * #getExecutionStrategy()}
+   */
+  @Getter @Setter private boolean affinityExecution;
 
   /**
    * Create an instance
@@ -95,6 +143,8 @@ public class CommandManager implements EasyCommandManager<CommandContext, EasyBu
     this.plugin = plugin;
     this.providersRegistry = providersRegistry;
     this.messagesProvider = messagesProvider;
+    this.scheduler = CommandScheduler.detect(plugin);
+    this.asyncStrategy = context -> this.scheduler.getAsync();
   }
 
   /**
@@ -105,55 +155,67 @@ public class CommandManager implements EasyCommandManager<CommandContext, EasyBu
     CommandManager.helpMap.addTopic(new PluginHelpTopic(this.plugin, this, this.messagesProvider));
   }
 
+  /**
+   * Get a command registered in this manager by one of its aliases. The commands are queried using
+   * a {@link CommandIndex}
+   *
+   * @param name the name or alias of the command
+   * @return the command if found else null
+   */
+  public EasyBukkitCommand getCommand(@NonNull String name) {
+    return this.index.get(name);
+  }
+
   @NonNull
   @Override
   public CommandManager register(@NonNull EasyBukkitCommand command) {
     CommandManager.commandMap.register(this.plugin.getName(), command);
-    this.commands.add(command);
+    this.index.add(command);
     return this;
   }
 
   @Override
   public @NonNull Collection<AnnotatedCommand> parseCommands(@NonNull Object object) {
-    List<AnnotatedCommand> commands = new ArrayList<>();
-    AnnotatedCommand parent = null;
-    final Class<?> clazz = object.getClass();
-    for (final Method method : clazz.getDeclaredMethods()) {
-      if (method.isAnnotationPresent(Parent.class) && method.isAnnotationPresent(Command.class)) {
-        parent = this.parseCommand(object, method);
-        commands.add(parent);
-        break;
-      }
-    }
-    for (final Method method : clazz.getDeclaredMethods()) {
-      if (method.isAnnotationPresent(Command.class) && !method.isAnnotationPresent(Parent.class)) {
-        final AnnotatedCommand cmd = this.parseCommand(object, method);
-        if (parent != null) {
-          parent.addChildren(cmd);
-        } else {
-          commands.add(cmd);
-        }
-      }
-    }
-    return commands;
+    return this.parser.parseCommands(object, this.invokerFactory);
   }
 
   @Override
   public @NonNull AnnotatedCommand parseCommand(@NonNull Object object, @NonNull Method method) {
-    if (!Result.class.isAssignableFrom(method.getReturnType())
-        && !method.getReturnType().equals(Void.TYPE)) {
-      throw new IllegalArgumentException(method + " must return void or " + Result.class);
-    }
-    if (!method.isAnnotationPresent(Command.class))
-      throw new IllegalArgumentException(method + " is not annotated with " + Command.class);
-    Command command = method.getAnnotation(Command.class);
+    return this.parser.parseCommand(object, method, this.invokerFactory);
+  }
+
+  /**
+   * Create a command from its method. This is given to the {@link #parser}
+   *
+   * @param command the command annotation of the method
+   * @param method the method of the command
+   * @param object the object that contains the method
+   * @param arguments the arguments of the method
+   * @param invoker the invoker of the method
+   * @return the created command
+   */
+  @NonNull
+  private AnnotatedCommand create(
+      @NonNull Command command,
+      @NonNull Method method,
+      @NonNull Object object,
+      @NonNull List<Argument<?>> arguments,
+      @NonNull CommandInvoker invoker) {
+    CommandParser.checkReturnType(method, Result.class);
     return new AnnotatedCommand(
-        command,
-        method,
-        object,
-        Argument.parseArguments(method.getParameterTypes(), method.getParameterAnnotations()),
-        this,
-        new ArrayList<>());
+        command, method, object, arguments, this, new ArrayList<>(), invoker);
+  }
+
+  /**
+   * Add an interceptor to the commands that are parsed after this call
+   *
+   * @param interceptor the interceptor to add
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addInterceptor(@NonNull CommandInterceptor<CommandContext> interceptor) {
+    this.interceptors.add(interceptor);
+    return this;
   }
 
   @Override
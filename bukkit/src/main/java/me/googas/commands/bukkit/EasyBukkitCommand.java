@@ -2,14 +2,21 @@ package me.googas.commands.bukkit;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
 import lombok.Getter;
 import lombok.NonNull;
 import me.googas.commands.EasyCommand;
 import me.googas.commands.bukkit.context.CommandContext;
 import me.googas.commands.bukkit.result.Result;
+import me.googas.commands.bukkit.scheduler.CommandScheduler;
+import me.googas.commands.context.TokensView;
+import me.googas.commands.execution.Execution;
+import me.googas.commands.execution.ExecutionStrategy;
 import net.md_5.bungee.api.chat.BaseComponent;
-import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.Plugin;
@@ -83,7 +90,7 @@ public abstract class EasyBukkitCommand extends Command
    * This method does the command execution after {@link #runCheckSync(CommandSender, String[])}
    * finishes checking whether to run async or not.
    *
-   * <p>This calls {@link #execute(CommandContext)} and the {@link Result} will be send to the
+   * <p>This calls {@link #executeStage(CommandContext)} and the {@link Result} will be send to the
    * {@link CommandSender} if it is not null with {@link CommandSender#sendMessage(String)} and
    * {@link Result} components
    *
@@ -91,13 +98,35 @@ public abstract class EasyBukkitCommand extends Command
    * @param args the arguments used in the command execution
    */
   public void run(@NonNull CommandSender sender, @NonNull String[] args) {
-    Result result =
-        this.execute(
-            new CommandContext(
-                sender,
-                args,
-                this.manager.getMessagesProvider(),
-                this.manager.getProvidersRegistry()));
+    this.run(sender, new TokensView(args));
+  }
+
+  /**
+   * This method does the command execution after {@link #runCheckSync(CommandSender, TokensView)}
+   * finishes checking whether to run async or not.
+   *
+   * @param sender the executor of the command
+   * @param tokens the view of the arguments used in the command execution
+   */
+  public void run(@NonNull CommandSender sender, @NonNull TokensView tokens) {
+    this.executeStage(this.getContext(sender, tokens))
+        .whenComplete(
+            (result, e) -> {
+              if (e != null) {
+                this.log(e);
+              } else {
+                this.send(sender, result);
+              }
+            });
+  }
+
+  /**
+   * Send the result of the command to the sender
+   *
+   * @param sender the executor of the command
+   * @param result the result of the command execution which might be null
+   */
+  private void send(@NonNull CommandSender sender, Result result) {
     if (result != null) {
       for (BaseComponent component : result.getComponents()) {
         sender.sendMessage(component.toLegacyText());
@@ -105,6 +134,27 @@ public abstract class EasyBukkitCommand extends Command
     }
   }
 
+  /**
+   * Log an exception that the execution of the command completed with in the logger of the plugin
+   *
+   * @param e the exception to log
+   */
+  void log(@NonNull Throwable e) {
+    this.manager
+        .getPlugin()
+        .getLogger()
+        .log(Level.SEVERE, "Could not execute the command " + this.getName(), e);
+  }
+
+  @NonNull
+  private CommandContext getContext(@NonNull CommandSender sender, @NonNull TokensView tokens) {
+    return new CommandContext(
+        sender,
+        tokens.withFlags(this.getFlags()),
+        this.manager.getMessagesProvider(),
+        this.manager.getProvidersRegistry());
+  }
+
   /**
    * Checks if the command should be running async if so it will create the task with {@link
    * org.bukkit.scheduler.BukkitScheduler#runTaskAsynchronously(Plugin, Runnable)} this uses the
@@ -114,12 +164,90 @@ public abstract class EasyBukkitCommand extends Command
    * @param args the arguments used in the command execution
    */
   public void runCheckSync(@NonNull CommandSender sender, @NonNull String[] args) {
-    if (this.async) {
-      Bukkit.getScheduler()
-          .runTaskAsynchronously(this.manager.getPlugin(), () -> this.run(sender, args));
+    this.runCheckSync(sender, new TokensView(args));
+  }
+
+  /**
+   * Checks if the command should be running async. Same as {@link #runCheckSync(CommandSender,
+   * String[])} but using a view of the arguments.
+   *
+   * <p>If {@link CommandManager#isAffinityExecution()} is enabled the command is executed with
+   * {@link #executeByAffinity(CommandContext)} else async commands are executed with {@link
+   * CommandManager#getAsyncStrategy()} and the rest with {@link
+   * CommandManager#getExecutionStrategy()}. The result is always sent to the sender in the thread
+   * that owns it, results that are given in other threads are sent using the executor of the sender
+   * in {@link CommandManager#getScheduler()}
+   *
+   * @param sender the executor of the command
+   * @param tokens the view of the arguments used in the command execution
+   */
+  public void runCheckSync(@NonNull CommandSender sender, @NonNull TokensView tokens) {
+    CommandContext context = this.getContext(sender, tokens);
+    CompletableFuture<Result> future;
+    if (this.manager.isAffinityExecution()) {
+      future = this.executeByAffinity(context);
     } else {
-      this.run(sender, args);
+      future =
+          this.executeAsync(
+              context,
+              this.async ? this.manager.getAsyncStrategy() : this.manager.getExecutionStrategy());
     }
+    future.whenComplete(
+        (result, e) -> {
+          if (e != null) {
+            this.log(e);
+          } else if (this.manager.getScheduler().isOwnedByCurrentThread(sender)) {
+            this.send(sender, result);
+          } else {
+            this.manager
+                .getScheduler()
+                .getExecutor(sender)
+                .execute(() -> this.send(sender, result));
+          }
+        });
+  }
+
+  /**
+   * Get the threads in which the command can be executed. Async commands can run in any thread and
+   * the rest must run in the thread that owns the sender
+   *
+   * @return the affinity of the command
+   */
+  @NonNull
+  public ThreadAffinity getAffinity() {
+    return this.async ? ThreadAffinity.ANY : ThreadAffinity.MAIN;
+  }
+
+  /**
+   * Execute the command by its {@link #getAffinity()}. Commands that must run in the thread that
+   * owns the sender are executed right away if this is called in it else they are scheduled in the
+   * executor of the sender in {@link CommandManager#getScheduler()}, the rest are executed with
+   * {@link CommandManager#getWorkerStrategy()}
+   *
+   * @param context the context of the command
+   * @return the future of the result of the command
+   */
+  @NonNull
+  public CompletableFuture<Result> executeByAffinity(@NonNull CommandContext context) {
+    if (this.getAffinity() == ThreadAffinity.MAIN) {
+      CommandScheduler scheduler = this.manager.getScheduler();
+      CommandSender sender = context.getSender();
+      return Execution.supply(
+          () -> this.executeStage(context),
+          scheduler.isOwnedByCurrentThread(sender) ? Runnable::run : scheduler.getExecutor(sender));
+    }
+    return this.executeAsync(context, this.manager.getWorkerStrategy());
+  }
+
+  @Override
+  public @NonNull CompletionStage<Result> executeStage(@NonNull CommandContext context) {
+    return CompletableFuture.completedFuture(this.execute(context));
+  }
+
+  @Override
+  public @NonNull CompletableFuture<Result> executeAsync(
+      @NonNull CommandContext context, @NonNull ExecutionStrategy strategy) {
+    return Execution.supply(() -> this.executeStage(context), strategy.getExecutor(context));
   }
 
   /**
@@ -136,19 +264,38 @@ public abstract class EasyBukkitCommand extends Command
     return names;
   }
 
+  @Override
+  public @NonNull Collection<String> getAllAliases() {
+    List<String> aliases = new ArrayList<>();
+    aliases.add(this.getName());
+    aliases.addAll(this.getAliases());
+    return aliases;
+  }
+
   @Override
   public boolean execute(
       @NonNull CommandSender sender, @NonNull String alias, String @NonNull [] strings) {
-    if (strings.length >= 1) {
-      EasyBukkitCommand command = this.getChildren(strings[0]);
+    return this.execute(sender, alias, new TokensView(strings));
+  }
+
+  /**
+   * Execute the command or one of its children using a view of the arguments. Children receive a
+   * view of the same arguments so no array is copied
+   *
+   * @param sender the executor of the command
+   * @param alias the alias used to execute the command
+   * @param tokens the view of the arguments used in the command execution
+   * @return true always as the result is sent to the sender
+   */
+  public boolean execute(
+      @NonNull CommandSender sender, @NonNull String alias, @NonNull TokensView tokens) {
+    if (tokens.size() >= 1) {
+      EasyBukkitCommand command = this.getChildren(tokens.get(0));
       if (command != null) {
-        return command.execute(sender, alias, Arrays.copyOfRange(strings, 1, strings.length));
-      } else {
-        this.runCheckSync(sender, strings);
+        return command.execute(sender, alias, tokens.from(1));
       }
-    } else {
-      this.runCheckSync(sender, strings);
     }
+    this.runCheckSync(sender, tokens);
     return true;
   }
 
@@ -0,0 +1,44 @@
+package me.googas.commands.bukkit;
+
+import me.googas.commands.bukkit.providers.type.BukkitArgumentProvider;
+import me.googas.commands.bukkit.providers.type.BukkitExtraArgumentProvider;
+import me.googas.commands.bukkit.providers.type.BukkitMultiArgumentProvider;
+
+/**
+ * The threads in which a part of a command can run. Bukkit state such as players and worlds must
+ * only be accessed in the main thread while parsing strings can be done in any thread and heavy
+ * work should be done in a worker thread. See {@link BukkitArgumentProvider#getAffinity()} and
+ * {@link EasyBukkitCommand#getAffinity()}
+ */
+public enum ThreadAffinity {
+  /** It can run in any thread */
+  ANY,
+  /**
+   * It must run in the thread that owns the sender, the main thread in Bukkit servers or the thread
+   * of the region of the sender in region threaded servers
+   */
+  MAIN,
+  /**
+   * It can run in any thread but it is expensive or blocks, for instance a lookup in a database, so
+   * it should not run in the thread that owns the sender
+   */
+  ASYNC;
+
+  /**
+   * Get the affinity of a provider. Only the bukkit providers can declare an affinity so the rest
+   * of the providers can run in any thread
+   *
+   * @param provider the provider to get the affinity from, it may be null
+   * @return the affinity of the provider
+   */
+  public static ThreadAffinity of(Object provider) {
+    if (provider instanceof BukkitArgumentProvider) {
+      return ((BukkitArgumentProvider<?>) provider).getAffinity();
+    } else if (provider instanceof BukkitMultiArgumentProvider) {
+      return ((BukkitMultiArgumentProvider<?>) provider).getAffinity();
+    } else if (provider instanceof BukkitExtraArgumentProvider) {
+      return ((BukkitExtraArgumentProvider<?>) provider).getAffinity();
+    }
+    return ThreadAffinity.ANY;
+  }
+}
@@ -48,4 +48,13 @@ public @interface Command {
    * @return true if the command has to run the command asynchronously
    */
   boolean async() default false;
+
+  /**
+   * Get the flags that the command declares like {@code -f} or {@code --key}. Declared flags are
+   * not given as arguments, other tokens that look like flags are
+   *
+   * @see me.googas.commands.EasyCommand#getFlags()
+   * @return the flags of the command including their dashes
+   */
+  String[] flags() default {};
 }
@@ -1,20 +1,21 @@
 package me.googas.commands.bukkit.context;
 
-import java.util.Arrays;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.Delegate;
 import me.googas.commands.bukkit.messages.MessagesProvider;
 import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.context.TokensView;
 import me.googas.commands.providers.registry.ProvidersRegistry;
-import me.googas.starbox.Strings;
 import org.bukkit.command.CommandSender;
 
 /** The context of a bukkit command */
 public class CommandContext implements EasyCommandContext {
 
   @NonNull private final CommandSender sender;
-  @NonNull private final String string;
-  @NonNull private final String[] strings;
+  /** The view of the tokens that are the strings of the command */
+  @NonNull @Getter private final TokensView tokens;
+
   @NonNull private final MessagesProvider messagesProvider;
   @NonNull @Delegate private final ProvidersRegistry<CommandContext> registry;
 
@@ -31,9 +32,24 @@ public class CommandContext implements EasyCommandContext {
       @NonNull String[] strings,
       @NonNull MessagesProvider messagesProvider,
       @NonNull ProvidersRegistry<CommandContext> registry) {
+    this(sender, new TokensView(strings), messagesProvider, registry);
+  }
+
+  /**
+   * Create a bukkit context using a view of tokens
+   *
+   * @param sender the sender of the command
+   * @param tokens the view of the tokens that are the strings of the command
+   * @param messagesProvider the messages provider used in this context
+   * @param registry the registry for the command context to use
+   */
+  public CommandContext(
+      @NonNull CommandSender sender,
+      @NonNull TokensView tokens,
+      @NonNull MessagesProvider messagesProvider,
+      @NonNull ProvidersRegistry<CommandContext> registry) {
     this.sender = sender;
-    this.string = Strings.fromArray(strings);
-    this.strings = strings;
+    this.tokens = tokens;
     this.messagesProvider = messagesProvider;
     this.registry = registry;
   }
@@ -47,13 +63,23 @@ public class CommandContext implements EasyCommandContext {
   @NonNull
   @Override
   public String getString() {
-    return this.string;
+    return this.tokens.getString();
   }
 
   @NonNull
   @Override
   public String[] getStrings() {
-    return this.strings;
+    return this.tokens.getStrings();
+  }
+
+  @Override
+  public String getString(int position) {
+    return this.tokens.get(position);
+  }
+
+  @Override
+  public int getStringsLength() {
+    return this.tokens.size();
   }
 
   @NonNull
@@ -70,17 +96,33 @@ public class CommandContext implements EasyCommandContext {
 
   @Override
   public boolean hasFlag(@NonNull String flag) {
-    for (String string : this.strings) {
-      if (string.equalsIgnoreCase(flag)) {
-        return true;
-      }
-    }
-    return false;
+    return this.tokens.hasFlag(flag);
+  }
+
+  @Override
+  public String getFlagValue(@NonNull String flag) {
+    return this.tokens.getFlagValue(flag);
+  }
+
+  @Override
+  public String getArgument(int position) {
+    return this.tokens.getArgument(position);
+  }
+
+  @Override
+  public int getArgumentsLength() {
+    return this.tokens.getArgumentsLength();
+  }
+
+  @NonNull
+  @Override
+  public String[] getArgumentsFrom(int position) {
+    return this.tokens.getArgumentsFrom(position);
   }
 
   @NonNull
   @Override
   public String[] getStringsFrom(int position) {
-    return Arrays.copyOfRange(this.strings, position, this.strings.length);
+    return this.tokens.getStringsFrom(position);
   }
 }
@@ -2,6 +2,8 @@ package me.googas.commands.bukkit.plugin;
 
 import me.googas.commands.bukkit.CommandManager;
 import me.googas.commands.bukkit.messages.BukkitMessagesProvider;
+import me.googas.commands.bukkit.messages.MessagesProvider;
+import me.googas.commands.bukkit.providers.PlayerNameIndex;
 import me.googas.commands.bukkit.providers.registry.BukkitProvidersRegistry;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -11,8 +13,11 @@ public class EasyCommandsBukkit extends JavaPlugin {
   @Override
   public void onEnable() {
     // Create the instance of the manager
+    MessagesProvider messages = new BukkitMessagesProvider();
+    PlayerNameIndex index = new PlayerNameIndex();
     CommandManager manager =
-        new CommandManager(this, new BukkitProvidersRegistry(), new BukkitMessagesProvider());
+        new CommandManager(this, new BukkitProvidersRegistry(messages, index), messages);
+    index.register(this, manager.getScheduler());
     super.onEnable();
   }
 }
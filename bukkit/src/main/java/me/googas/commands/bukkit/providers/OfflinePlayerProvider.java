@@ -2,7 +2,9 @@ package me.googas.commands.bukkit.providers;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import lombok.NonNull;
+import me.googas.commands.bukkit.ThreadAffinity;
 import me.googas.commands.bukkit.context.CommandContext;
 import me.googas.commands.bukkit.providers.type.BukkitArgumentProvider;
 import me.googas.commands.exceptions.ArgumentProviderException;
@@ -12,10 +14,38 @@ import org.bukkit.entity.Player;
 
 /**
  * Provides the command with an offline player. It queries the players that have played in the
- * server
+ * server using a {@link PlayerNameIndex}, if the provider was created without an index every player
+ * from {@link Bukkit#getOfflinePlayers()} is queried. While the index is warming names that are not
+ * in it are looked up using {@link Bukkit#getOfflinePlayer(String)} which may block so the provider
+ * has {@link ThreadAffinity#ASYNC} when it uses an index. Online players are found by the unique id
+ * of the index so the {@link PlayerProvider} is only used without an index
  */
 public class OfflinePlayerProvider implements BukkitArgumentProvider<OfflinePlayer> {
 
+  /** The maximum amount of names that are suggested */
+  private static final int SUGGESTIONS = 100;
+
+  private final PlayerNameIndex index;
+
+  /**
+   * Create the provider
+   *
+   * @param index the index to query the players
+   */
+  public OfflinePlayerProvider(@NonNull PlayerNameIndex index) {
+    this.index = index;
+  }
+
+  /** Create the provider without an index */
+  public OfflinePlayerProvider() {
+    this.index = null;
+  }
+
+  @Override
+  public @NonNull ThreadAffinity getAffinity() {
+    return this.index == null ? ThreadAffinity.MAIN : ThreadAffinity.ASYNC;
+  }
+
   @Override
   public @NonNull Class<OfflinePlayer> getClazz() {
     return OfflinePlayer.class;
@@ -25,6 +55,18 @@ public class OfflinePlayerProvider implements BukkitArgumentProvider<OfflinePlay
   @Override
   public OfflinePlayer fromString(@NonNull String string, @NonNull CommandContext context)
       throws ArgumentProviderException {
+    if (this.index != null) {
+      UUID uniqueId = this.index.getUniqueId(string);
+      if (uniqueId != null) return Bukkit.getOfflinePlayer(uniqueId);
+      if (!this.index.isWarm()) {
+        OfflinePlayer player = OfflinePlayerProvider.lookup(string);
+        if (player.hasPlayedBefore() || player.isOnline()) return player;
+      }
+      // Online players are in the index, the player provider is not used because it must run in
+      // the main thread
+      throw new ArgumentProviderException(
+          context.getMessagesProvider().invalidPlayer(string, context));
+    }
     for (OfflinePlayer player : Bukkit.getOfflinePlayers()) {
       if (player.getName() != null && player.getName().equalsIgnoreCase(string)) {
         return player;
@@ -33,8 +75,15 @@ public class OfflinePlayerProvider implements BukkitArgumentProvider<OfflinePlay
     return context.get(string, Player.class, context);
   }
 
+  @SuppressWarnings("deprecation")
+  @NonNull
+  private static OfflinePlayer lookup(@NonNull String name) {
+    return Bukkit.getOfflinePlayer(name);
+  }
+
   @Override
   public @NonNull List<String> getSuggestions(@NonNull String string, CommandContext context) {
+    if (this.index != null) return this.index.getNames(string, OfflinePlayerProvider.SUGGESTIONS);
     List<String> suggestions = new ArrayList<>();
     for (OfflinePlayer player : Bukkit.getOfflinePlayers()) {
       if (player.getName() != null) suggestions.add(player.getName());
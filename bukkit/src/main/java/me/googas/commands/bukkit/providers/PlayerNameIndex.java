@@ -0,0 +1,175 @@
+package me.googas.commands.bukkit.providers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.bukkit.scheduler.CommandScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Indexes the names of the players that have played in the server ignoring case. The names are kept
+ * sorted so both exact lookups and the names that start with a prefix are found in O(log n) without
+ * loading the data of every player with {@link Bukkit#getOfflinePlayers()}.
+ *
+ * <p>The index is warmed asynchronously when it is registered using {@link #register(Plugin,
+ * CommandScheduler)} and then it is updated every time that a player joins so it notices when a
+ * player changes its name. Until {@link #isWarm()} a name that is not found may belong to a player
+ * that was not loaded yet
+ */
+public class PlayerNameIndex implements Listener {
+
+  /** The names in lower case mapped to the player that has it */
+  @NonNull private final ConcurrentSkipListMap<String, Entry> names = new ConcurrentSkipListMap<>();
+  /** The unique id of the players mapped to their name in lower case */
+  @NonNull private final Map<UUID, String> keys = new ConcurrentHashMap<>();
+  /** Whether every player that has played in the server was loaded */
+  @Getter private volatile boolean warm;
+
+  /**
+   * Register the index as a listener to keep it updated when players join and warm it using the
+   * async executor of the scheduler
+   *
+   * @param plugin the plugin that registers the listener
+   * @param scheduler the scheduler to warm the index asynchronously
+   * @return this same instance
+   */
+  @NonNull
+  public PlayerNameIndex register(@NonNull Plugin plugin, @NonNull CommandScheduler scheduler) {
+    Bukkit.getPluginManager().registerEvents(this, plugin);
+    this.warm(scheduler.getAsync());
+    return this;
+  }
+
+  /**
+   * Add the players that have played in the server to the index. Players that were already added
+   * are not replaced as joining gives a more recent name
+   *
+   * @param executor the executor to load the players in
+   */
+  public void warm(@NonNull Executor executor) {
+    executor.execute(
+        () -> {
+          for (OfflinePlayer player : Bukkit.getOfflinePlayers()) {
+            String name = player.getName();
+            if (name != null) this.putIfAbsent(name, player.getUniqueId());
+          }
+          this.warm = true;
+        });
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPlayerJoin(@NonNull PlayerJoinEvent event) {
+    Player player = event.getPlayer();
+    this.put(player.getName(), player.getUniqueId());
+  }
+
+  /**
+   * Add or update the name of a player. If the player had another name it is removed
+   *
+   * @param name the name of the player
+   * @param uniqueId the unique id of the player
+   */
+  public void put(@NonNull String name, @NonNull UUID uniqueId) {
+    String key = PlayerNameIndex.getKey(name);
+    // Both maps are updated while the key of the player is locked so a warm cannot interleave
+    this.keys.compute(
+        uniqueId,
+        (id, previous) -> {
+          if (previous != null && !previous.equals(key)) {
+            this.names.computeIfPresent(
+                previous, (ignored, entry) -> entry.uniqueId.equals(uniqueId) ? null : entry);
+          }
+          this.names.put(key, new Entry(name, uniqueId));
+          return key;
+        });
+  }
+
+  /**
+   * Add the name of a player if the player is not in the index
+   *
+   * @param name the name of the player
+   * @param uniqueId the unique id of the player
+   */
+  private void putIfAbsent(@NonNull String name, @NonNull UUID uniqueId) {
+    String key = PlayerNameIndex.getKey(name);
+    this.keys.compute(
+        uniqueId,
+        (id, previous) -> {
+          if (previous != null) return previous;
+          this.names.putIfAbsent(key, new Entry(name, uniqueId));
+          return key;
+        });
+  }
+
+  /**
+   * Get the unique id of the player that has a name ignoring case
+   *
+   * @param name the name of the player
+   * @return the unique id of the player or null if no player in the index has the name
+   */
+  public UUID getUniqueId(@NonNull String name) {
+    Entry entry = this.names.get(PlayerNameIndex.getKey(name));
+    return entry == null ? null : entry.uniqueId;
+  }
+
+  /**
+   * Get the names that start with a prefix ignoring case. The names are sorted ignoring case
+   *
+   * @param prefix the prefix of the names
+   * @param limit the maximum amount of names to get
+   * @return the names that start with the prefix
+   */
+  @NonNull
+  public List<String> getNames(@NonNull String prefix, int limit) {
+    String key = PlayerNameIndex.getKey(prefix);
+    NavigableMap<String, Entry> matches =
+        key.isEmpty() ? this.names : this.names.subMap(key, true, key + Character.MAX_VALUE, false);
+    List<String> names = new ArrayList<>(Math.min(limit, 16));
+    for (Entry entry : matches.values()) {
+      if (names.size() >= limit) break;
+      names.add(entry.name);
+    }
+    return names;
+  }
+
+  /**
+   * Get the amount of names in the index
+   *
+   * @return the amount of names
+   */
+  public int size() {
+    return this.names.size();
+  }
+
+  @NonNull
+  private static String getKey(@NonNull String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  /** A name in the index with its case and the player that has it */
+  private static class Entry {
+
+    @NonNull private final String name;
+    @NonNull private final UUID uniqueId;
+
+    private Entry(@NonNull String name, @NonNull UUID uniqueId) {
+      this.name = name;
+      this.uniqueId = uniqueId;
+    }
+  }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import lombok.NonNull;
 import me.googas.commands.bukkit.CommandManager;
+import me.googas.commands.bukkit.ThreadAffinity;
 import me.googas.commands.bukkit.context.CommandContext;
 import me.googas.commands.bukkit.messages.MessagesProvider;
 import me.googas.commands.bukkit.providers.type.BukkitArgumentProvider;
@@ -41,6 +42,11 @@ public class PlayerProvider implements BukkitArgumentProvider<Player> {
     return PlayerProvider.getPlayerNames();
   }
 
+  @Override
+  public @NonNull ThreadAffinity getAffinity() {
+    return ThreadAffinity.MAIN;
+  }
+
   @Override
   public @NonNull Class<Player> getClazz() {
     return Player.class;
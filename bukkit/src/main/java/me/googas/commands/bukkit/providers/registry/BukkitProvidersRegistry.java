@@ -7,6 +7,7 @@ import me.googas.commands.bukkit.providers.CommandContextProvider;
 import me.googas.commands.bukkit.providers.CommandSenderArgumentProvider;
 import me.googas.commands.bukkit.providers.MaterialProvider;
 import me.googas.commands.bukkit.providers.OfflinePlayerProvider;
+import me.googas.commands.bukkit.providers.PlayerNameIndex;
 import me.googas.commands.bukkit.providers.PlayerProvider;
 import me.googas.commands.bukkit.providers.PlayerSenderProvider;
 import me.googas.commands.providers.registry.ProvidersRegistry;
@@ -20,11 +21,30 @@ public class BukkitProvidersRegistry extends ProvidersRegistry<CommandContext> {
    * @param messages the messages providers for the messages sent in the provider
    */
   public BukkitProvidersRegistry(@NonNull MessagesProvider messages) {
+    this(messages, new OfflinePlayerProvider());
+  }
+
+  /**
+   * Create the registry with the default providers using an index of the names of the players for
+   * the {@link OfflinePlayerProvider}
+   *
+   * @param messages the messages providers for the messages sent in the provider
+   * @param index the index of the names of the players, it has to be registered using {@link
+   *     PlayerNameIndex#register(org.bukkit.plugin.Plugin,
+   *     me.googas.commands.bukkit.scheduler.CommandScheduler)}
+   */
+  public BukkitProvidersRegistry(
+      @NonNull MessagesProvider messages, @NonNull PlayerNameIndex index) {
+    this(messages, new OfflinePlayerProvider(index));
+  }
+
+  private BukkitProvidersRegistry(
+      @NonNull MessagesProvider messages, @NonNull OfflinePlayerProvider offlinePlayers) {
     super(messages);
     this.addProvider(new CommandContextProvider());
     this.addProvider(new CommandSenderArgumentProvider());
     this.addProvider(new MaterialProvider(messages));
-    this.addProvider(new OfflinePlayerProvider());
+    this.addProvider(offlinePlayers);
     this.addProvider(new PlayerProvider(messages));
     this.addProvider(new PlayerSenderProvider(messages));
   }
@@ -2,6 +2,7 @@ package me.googas.commands.bukkit.providers.type;
 
 import java.util.List;
 import lombok.NonNull;
+import me.googas.commands.bukkit.ThreadAffinity;
 import me.googas.commands.bukkit.context.CommandContext;
 import me.googas.commands.providers.type.EasyArgumentProvider;
 
@@ -17,4 +18,15 @@ public interface BukkitArgumentProvider<O> extends EasyArgumentProvider<O, Comma
    */
   @NonNull
   List<String> getSuggestions(@NonNull String string, CommandContext context);
+
+  /**
+   * Get the threads in which the provider can run. Providers that access Bukkit state such as
+   * players or worlds must run in the main thread and the ones that block should run in a worker
+   *
+   * @return the affinity of the provider
+   */
+  @NonNull
+  default ThreadAffinity getAffinity() {
+    return ThreadAffinity.ANY;
+  }
 }
@@ -1,5 +1,7 @@
 package me.googas.commands.bukkit.providers.type;
 
+import lombok.NonNull;
+import me.googas.commands.bukkit.ThreadAffinity;
 import me.googas.commands.bukkit.context.CommandContext;
 import me.googas.commands.providers.type.EasyExtraArgumentProvider;
 
@@ -9,4 +11,16 @@ import me.googas.commands.providers.type.EasyExtraArgumentProvider;
  * @param <O> the type of the object to provide
  */
 public interface BukkitExtraArgumentProvider<O>
-    extends EasyExtraArgumentProvider<O, CommandContext> {}
+    extends EasyExtraArgumentProvider<O, CommandContext> {
+
+  /**
+   * Get the threads in which the provider can run. Providers that access Bukkit state such as
+   * players or worlds must run in the main thread
+   *
+   * @return the affinity of the provider
+   */
+  @NonNull
+  default ThreadAffinity getAffinity() {
+    return ThreadAffinity.ANY;
+  }
+}
@@ -2,6 +2,7 @@ package me.googas.commands.bukkit.providers.type;
 
 import java.util.List;
 import lombok.NonNull;
+import me.googas.commands.bukkit.ThreadAffinity;
 import me.googas.commands.bukkit.context.CommandContext;
 import me.googas.commands.providers.type.EasyMultipleArgumentProvider;
 
@@ -17,4 +18,15 @@ public interface BukkitMultiArgumentProvider<O>
    */
   @NonNull
   List<String> getSuggestions(@NonNull CommandContext context);
+
+  /**
+   * Get the threads in which the provider can run. Providers that access Bukkit state such as
+   * players or worlds must run in the main thread
+   *
+   * @return the affinity of the provider
+   */
+  @NonNull
+  default ThreadAffinity getAffinity() {
+    return ThreadAffinity.ANY;
+  }
 }
@@ -0,0 +1,46 @@
+package me.googas.commands.bukkit.scheduler;
+
+import java.util.concurrent.Executor;
+import lombok.Getter;
+import lombok.NonNull;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * The scheduler of a Bukkit server. Every sender is owned by the main thread so the tasks are
+ * batched in a {@link MainThreadExecutor} and the async tasks are run using {@link
+ * org.bukkit.scheduler.BukkitScheduler#runTaskAsynchronously(Plugin, Runnable)}
+ */
+public class BukkitCommandScheduler implements CommandScheduler {
+
+  /** The executor of the main thread */
+  @NonNull @Getter private final MainThreadExecutor global;
+
+  @NonNull private final Executor async;
+
+  /**
+   * Create the scheduler
+   *
+   * @param plugin the plugin that owns the scheduled tasks
+   */
+  public BukkitCommandScheduler(@NonNull Plugin plugin) {
+    this.global = new MainThreadExecutor(plugin);
+    this.async = task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+  }
+
+  @Override
+  public @NonNull Executor getExecutor(@NonNull CommandSender sender) {
+    return this.global;
+  }
+
+  @Override
+  public @NonNull Executor getAsync() {
+    return this.async;
+  }
+
+  @Override
+  public boolean isOwnedByCurrentThread(@NonNull CommandSender sender) {
+    return Bukkit.isPrimaryThread();
+  }
+}
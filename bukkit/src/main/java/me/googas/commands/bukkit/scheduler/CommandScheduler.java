@@ -0,0 +1,74 @@
+package me.googas.commands.bukkit.scheduler;
+
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import lombok.NonNull;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Schedules the parts of a command that must run in a certain thread. In Bukkit servers every
+ * sender is owned by the main thread while in region threaded servers such as Folia each entity and
+ * region is owned by the thread that ticks it and the rest of senders, like the console, are owned
+ * by the global region thread.
+ *
+ * <p>Use {@link #detect(Plugin)} to get the scheduler for the running server or {@link
+ * LocalCommandScheduler} to run commands without a server
+ */
+public interface CommandScheduler {
+
+  /**
+   * Get the scheduler for the running server. If the server is region threaded a {@link
+   * RegionizedCommandScheduler} is used else a {@link BukkitCommandScheduler}
+   *
+   * @param plugin the plugin that owns the scheduled tasks
+   * @return the scheduler for the server
+   */
+  @NonNull
+  static CommandScheduler detect(@NonNull Plugin plugin) {
+    if (RegionizedCommandScheduler.isSupported()) {
+      try {
+        return new RegionizedCommandScheduler(plugin);
+      } catch (ReflectiveOperationException e) {
+        plugin
+            .getLogger()
+            .log(Level.WARNING, "The region schedulers could not be accessed, using Bukkit's", e);
+      }
+    }
+    return new BukkitCommandScheduler(plugin);
+  }
+
+  /**
+   * Get the executor of the thread that owns a sender
+   *
+   * @param sender the sender to get the executor for
+   * @return the executor of the thread that owns the sender
+   */
+  @NonNull
+  Executor getExecutor(@NonNull CommandSender sender);
+
+  /**
+   * Get the executor of the thread that owns the senders that are not in the world such as the
+   * console
+   *
+   * @return the global executor
+   */
+  @NonNull
+  Executor getGlobal();
+
+  /**
+   * Get the executor of the tasks that do not need to run in a thread of the server
+   *
+   * @return the async executor
+   */
+  @NonNull
+  Executor getAsync();
+
+  /**
+   * Get whether the current thread owns a sender, if so the sender can be accessed right away
+   *
+   * @param sender the sender to check
+   * @return true if the current thread owns the sender
+   */
+  boolean isOwnedByCurrentThread(@NonNull CommandSender sender);
+}
@@ -0,0 +1,73 @@
+package me.googas.commands.bukkit.scheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.bukkit.command.CommandSender;
+
+/**
+ * A scheduler that does not need a server. A single thread stands in for the main thread and owns
+ * every sender while the async tasks run in a pool of threads. It is used to execute commands in
+ * tests and benchmarks
+ */
+public class LocalCommandScheduler implements CommandScheduler {
+
+  @NonNull private final ExecutorService global;
+  @NonNull private final ExecutorService async;
+  private volatile Thread thread;
+
+  /** Create the scheduler */
+  public LocalCommandScheduler() {
+    this.global =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "commands-local-main");
+              thread.setDaemon(true);
+              this.thread = thread;
+              return thread;
+            });
+    this.async =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "commands-local-async");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @Override
+  public @NonNull ExecutorService getExecutor(@NonNull CommandSender sender) {
+    return this.global;
+  }
+
+  @Override
+  public @NonNull ExecutorService getGlobal() {
+    return this.global;
+  }
+
+  @Override
+  public @NonNull ExecutorService getAsync() {
+    return this.async;
+  }
+
+  @Override
+  public boolean isOwnedByCurrentThread(@NonNull CommandSender sender) {
+    return Thread.currentThread() == this.thread;
+  }
+
+  /**
+   * Stop the threads of the scheduler waiting for the tasks that were already scheduled
+   *
+   * @param timeout the maximum time to wait
+   * @param unit the unit of the timeout
+   * @return true if every task finished before the timeout
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean shutdown(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+    this.global.shutdown();
+    this.async.shutdown();
+    return this.global.awaitTermination(timeout, unit)
+        && this.async.awaitTermination(timeout, unit);
+  }
+}
@@ -0,0 +1,68 @@
+package me.googas.commands.bukkit.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import lombok.NonNull;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Runs tasks in the main thread of the server. Instead of creating a task in the {@link
+ * org.bukkit.scheduler.BukkitScheduler} for each one, the tasks are queued and a single task drains
+ * the queue in the next tick, this way many commands that finish in the same tick cost a single
+ * scheduled task
+ */
+public class MainThreadExecutor implements Executor {
+
+  @NonNull private final Plugin plugin;
+  @NonNull private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  @NonNull private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  /**
+   * Create the executor
+   *
+   * @param plugin the plugin that owns the scheduled tasks
+   */
+  public MainThreadExecutor(@NonNull Plugin plugin) {
+    this.plugin = plugin;
+  }
+
+  @Override
+  public void execute(@NonNull Runnable task) {
+    this.tasks.add(task);
+    if (this.scheduled.compareAndSet(false, true)) {
+      Bukkit.getScheduler().runTask(this.plugin, this::drain);
+    }
+  }
+
+  /**
+   * Run the tasks that were queued before this call. Tasks queued while draining are left for the
+   * next tick, they already scheduled it, so a task that queues another one cannot keep the main
+   * thread busy
+   */
+  private void drain() {
+    this.scheduled.set(false);
+    int size = this.tasks.size();
+    for (int i = 0; i < size; i++) {
+      Runnable task = this.tasks.poll();
+      if (task == null) break;
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        this.plugin.getLogger().log(Level.SEVERE, "A task in the main thread failed", e);
+      }
+    }
+  }
+
+  /**
+   * Get the amount of tasks waiting for the main thread
+   *
+   * @return the amount of tasks
+   */
+  public int getPending() {
+    return this.tasks.size();
+  }
+}
@@ -0,0 +1,157 @@
+package me.googas.commands.bukkit.scheduler;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.NonNull;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * The scheduler of a region threaded server such as Folia. Entities are scheduled in their own
+ * scheduler, command blocks in the scheduler of their region and the rest of senders in the global
+ * region scheduler, this way commands of senders in different regions run in parallel.
+ *
+ * <p>The API of region threaded servers is not part of Bukkit so the schedulers are accessed using
+ * reflection. The methods are looked up once when the scheduler is created
+ */
+public class RegionizedCommandScheduler implements CommandScheduler {
+
+  /** The class that is only present in region threaded servers */
+  private static final String REGIONIZED_SERVER =
+      "io.papermc.paper.threadedregions.RegionizedServer";
+
+  private static final String SCHEDULERS = "io.papermc.paper.threadedregions.scheduler.";
+
+  @NonNull private final Plugin plugin;
+  @NonNull private final Server server;
+  @NonNull private final Object globalScheduler;
+  @NonNull private final Object regionScheduler;
+  @NonNull private final Object asyncScheduler;
+  @NonNull private final Method globalExecute;
+  @NonNull private final Method regionExecute;
+  @NonNull private final Method asyncRunNow;
+  @NonNull private final Method getEntityScheduler;
+  @NonNull private final Method entityExecute;
+  @NonNull private final Method isOwnedEntity;
+  @NonNull private final Method isOwnedLocation;
+  @NonNull private final Method isGlobalTickThread;
+
+  /** The executor of the global region */
+  @NonNull @Getter private final Executor global;
+  /** The executor of the async scheduler */
+  @NonNull @Getter private final Executor async;
+
+  /**
+   * Create the scheduler
+   *
+   * @param plugin the plugin that owns the scheduled tasks
+   * @throws ReflectiveOperationException if the schedulers of the server could not be accessed
+   */
+  public RegionizedCommandScheduler(@NonNull Plugin plugin) throws ReflectiveOperationException {
+    this.plugin = plugin;
+    this.server = Bukkit.getServer();
+    Class<?> global =
+        Class.forName(RegionizedCommandScheduler.SCHEDULERS + "GlobalRegionScheduler");
+    Class<?> region = Class.forName(RegionizedCommandScheduler.SCHEDULERS + "RegionScheduler");
+    Class<?> async = Class.forName(RegionizedCommandScheduler.SCHEDULERS + "AsyncScheduler");
+    Class<?> entity = Class.forName(RegionizedCommandScheduler.SCHEDULERS + "EntityScheduler");
+    this.globalScheduler = Server.class.getMethod("getGlobalRegionScheduler").invoke(this.server);
+    this.regionScheduler = Server.class.getMethod("getRegionScheduler").invoke(this.server);
+    this.asyncScheduler = Server.class.getMethod("getAsyncScheduler").invoke(this.server);
+    this.globalExecute = global.getMethod("execute", Plugin.class, Runnable.class);
+    this.regionExecute = region.getMethod("execute", Plugin.class, Location.class, Runnable.class);
+    this.asyncRunNow = async.getMethod("runNow", Plugin.class, Consumer.class);
+    this.getEntityScheduler = Entity.class.getMethod("getScheduler");
+    this.entityExecute =
+        entity.getMethod("execute", Plugin.class, Runnable.class, Runnable.class, long.class);
+    this.isOwnedEntity = Server.class.getMethod("isOwnedByCurrentRegion", Entity.class);
+    this.isOwnedLocation = Server.class.getMethod("isOwnedByCurrentRegion", Location.class);
+    this.isGlobalTickThread = Server.class.getMethod("isGlobalTickThread");
+    this.global = task -> this.invoke(this.globalExecute, this.globalScheduler, this.plugin, task);
+    this.async =
+        task ->
+            this.invoke(
+                this.asyncRunNow,
+                this.asyncScheduler,
+                this.plugin,
+                (Consumer<Object>) scheduled -> task.run());
+  }
+
+  /**
+   * Get whether the server is region threaded
+   *
+   * @return true if the server is region threaded
+   */
+  public static boolean isSupported() {
+    try {
+      Class.forName(RegionizedCommandScheduler.REGIONIZED_SERVER);
+      return true;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public @NonNull Executor getExecutor(@NonNull CommandSender sender) {
+    if (sender instanceof Entity) {
+      return task -> this.execute((Entity) sender, task);
+    } else if (sender instanceof BlockCommandSender) {
+      Location location = ((BlockCommandSender) sender).getBlock().getLocation();
+      return task ->
+          this.invoke(this.regionExecute, this.regionScheduler, this.plugin, location, task);
+    }
+    return this.global;
+  }
+
+  @Override
+  public boolean isOwnedByCurrentThread(@NonNull CommandSender sender) {
+    Object owned;
+    if (sender instanceof Entity) {
+      owned = this.invoke(this.isOwnedEntity, this.server, sender);
+    } else if (sender instanceof BlockCommandSender) {
+      owned =
+          this.invoke(
+              this.isOwnedLocation,
+              this.server,
+              ((BlockCommandSender) sender).getBlock().getLocation());
+    } else {
+      owned = this.invoke(this.isGlobalTickThread, this.server);
+    }
+    return Boolean.TRUE.equals(owned);
+  }
+
+  /**
+   * Execute a task in the scheduler of an entity. If the entity was removed the task is executed in
+   * the global region so the execution that is waiting for it can finish
+   *
+   * @param entity the entity that owns the task
+   * @param task the task to execute
+   */
+  private void execute(@NonNull Entity entity, @NonNull Runnable task) {
+    Object scheduler = this.invoke(this.getEntityScheduler, entity);
+    Runnable retired = () -> this.global.execute(task);
+    if (!Boolean.TRUE.equals(
+        this.invoke(this.entityExecute, scheduler, this.plugin, task, retired, 1L))) {
+      retired.run();
+    }
+  }
+
+  private Object invoke(@NonNull Method method, @NonNull Object object, Object... arguments) {
+    try {
+      return method.invoke(object, arguments);
+    } catch (IllegalAccessException e) {
+      throw new RejectedExecutionException(e);
+    } catch (InvocationTargetException e) {
+      throw new RejectedExecutionException(e.getCause());
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package me.googas.commands.bukkit.providers;
+
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PlayerNameIndexTest {
+
+  private final PlayerNameIndex index = new PlayerNameIndex();
+
+  @Test
+  public void findsNamesIgnoringCase() {
+    UUID steve = UUID.randomUUID();
+    this.index.put("Steve", steve);
+    Assert.assertEquals(steve, this.index.getUniqueId("STEVE"));
+    Assert.assertEquals(steve, this.index.getUniqueId("steve"));
+    Assert.assertNull(this.index.getUniqueId("Alex"));
+    Assert.assertFalse(this.index.isWarm());
+  }
+
+  @Test
+  public void removesTheOldNameWhenAPlayerRenames() {
+    UUID uniqueId = UUID.randomUUID();
+    this.index.put("Notch", uniqueId);
+    this.index.put("Jeb", uniqueId);
+    Assert.assertNull(this.index.getUniqueId("Notch"));
+    Assert.assertEquals(uniqueId, this.index.getUniqueId("jeb"));
+    Assert.assertEquals(1, this.index.size());
+  }
+
+  @Test
+  public void keepsANameTakenByAnotherPlayer() {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    this.index.put("Steve", first);
+    this.index.put("Steve", second);
+    // The first player renames but the name now belongs to the second one
+    this.index.put("Alex", first);
+    Assert.assertEquals(second, this.index.getUniqueId("Steve"));
+    Assert.assertEquals(first, this.index.getUniqueId("Alex"));
+  }
+
+  @Test
+  public void suggestsNamesByPrefixInOrder() {
+    for (String name : Arrays.asList("bob", "Bobby", "alice", "BOBBER", "carl")) {
+      this.index.put(name, UUID.randomUUID());
+    }
+    Assert.assertEquals(Arrays.asList("bob", "BOBBER", "Bobby"), this.index.getNames("Bo", 10));
+    Assert.assertEquals(Arrays.asList("bob", "BOBBER"), this.index.getNames("b", 2));
+    Assert.assertEquals(5, this.index.getNames("", 10).size());
+    Assert.assertTrue(this.index.getNames("z", 10).isEmpty());
+  }
+}
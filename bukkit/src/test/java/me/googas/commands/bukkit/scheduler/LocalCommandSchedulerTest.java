@@ -0,0 +1,64 @@
+package me.googas.commands.bukkit.scheduler;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bukkit.command.CommandSender;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalCommandSchedulerTest {
+
+  private static final CommandSender SENDER =
+      (CommandSender)
+          Proxy.newProxyInstance(
+              CommandSender.class.getClassLoader(),
+              new Class<?>[] {CommandSender.class},
+              (proxy, method, args) -> null);
+
+  private final LocalCommandScheduler scheduler = new LocalCommandScheduler();
+
+  @After
+  public void shutdown() throws InterruptedException {
+    this.scheduler.shutdown(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void ownsTheSenderOnlyInTheMainThread() {
+    Assert.assertFalse(this.scheduler.isOwnedByCurrentThread(LocalCommandSchedulerTest.SENDER));
+    CompletableFuture<Boolean> owned =
+        CompletableFuture.supplyAsync(
+            () -> this.scheduler.isOwnedByCurrentThread(LocalCommandSchedulerTest.SENDER),
+            this.scheduler.getExecutor(LocalCommandSchedulerTest.SENDER));
+    Assert.assertTrue(owned.join());
+    CompletableFuture<Boolean> async =
+        CompletableFuture.supplyAsync(
+            () -> this.scheduler.isOwnedByCurrentThread(LocalCommandSchedulerTest.SENDER),
+            this.scheduler.getAsync());
+    Assert.assertFalse(async.join());
+  }
+
+  @Test
+  public void runsGlobalTasksInASingleThread() {
+    CompletableFuture<Thread> first =
+        CompletableFuture.supplyAsync(Thread::currentThread, this.scheduler.getGlobal());
+    CompletableFuture<Thread> second =
+        CompletableFuture.supplyAsync(
+            Thread::currentThread, this.scheduler.getExecutor(LocalCommandSchedulerTest.SENDER));
+    Assert.assertSame(first.join(), second.join());
+    Assert.assertEquals("commands-local-main", first.join().getName());
+  }
+
+  @Test
+  public void waitsForScheduledTasksOnShutdown() throws InterruptedException {
+    AtomicInteger ran = new AtomicInteger();
+    for (int i = 0; i < 10; i++) {
+      this.scheduler.getGlobal().execute(ran::incrementAndGet);
+      this.scheduler.getAsync().execute(ran::incrementAndGet);
+    }
+    Assert.assertTrue(this.scheduler.shutdown(5, TimeUnit.SECONDS));
+    Assert.assertEquals(20, ran.get());
+  }
+}
@@ -5,11 +5,15 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import lombok.Getter;
 import lombok.NonNull;
+import me.googas.commands.CommandDispatcher;
 import me.googas.commands.ReflectCommand;
 import me.googas.commands.arguments.Argument;
 import me.googas.commands.arguments.SingleArgument;
+import me.googas.commands.arguments.binding.BindingPlan;
 import me.googas.commands.bungee.annotations.Command;
 import me.googas.commands.bungee.context.CommandContext;
 import me.googas.commands.bungee.messages.MessagesProvider;
@@ -17,8 +21,11 @@ import me.googas.commands.bungee.providers.type.BungeeArgumentProvider;
 import me.googas.commands.bungee.providers.type.BungeeMultiArgumentProvider;
 import me.googas.commands.bungee.result.Result;
 import me.googas.commands.context.EasyCommandContext;
-import me.googas.commands.exceptions.ArgumentProviderException;
-import me.googas.commands.exceptions.MissingArgumentException;
+import me.googas.commands.context.Tokenizer;
+import me.googas.commands.context.TokensView;
+import me.googas.commands.interceptor.InterceptorChain;
+import me.googas.commands.invoker.CommandInvoker;
+import me.googas.commands.metrics.CommandMetrics;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import me.googas.commands.providers.type.EasyContextualProvider;
 import me.googas.starbox.Strings;
@@ -40,6 +47,12 @@ public class AnnotatedCommand extends BungeeCommand
   @NonNull private final Object object;
   @NonNull private final Method method;
   @NonNull private final List<Argument<?>> arguments;
+  @NonNull @Getter private final List<String> flags;
+  @NonNull @Getter private final CommandInvoker invoker;
+  @NonNull @Getter private final BindingPlan<CommandContext> bindingPlan;
+  @NonNull @Getter private final InterceptorChain<CommandContext> interceptors;
+  @NonNull @Getter private final CommandMetrics metrics;
+  @NonNull private final CommandDispatcher<CommandContext, Result> dispatcher;
 
   /**
    * Create the command
@@ -63,6 +76,40 @@ public class AnnotatedCommand extends BungeeCommand
       @NonNull Object object,
       @NonNull Method method,
       @NonNull List<Argument<?>> arguments) {
+    this(
+        command,
+        children,
+        manager,
+        object,
+        method,
+        arguments,
+        manager.getInvokerFactory().create(method, object));
+  }
+
+  /**
+   * Create the command
+   *
+   * @param command the annotation that will be used to get the name and aliases of the command
+   *     {@link Command#aliases()} whether to execute the command async {@link Command#async()} and
+   *     the permission {@link Command#permission()}
+   * @param children the list of children commands which can be used with this parent prefix. Learn
+   *     more in {@link me.googas.commands.annotations.Parent}
+   * @param manager the manager that parsed the command
+   * @param object the instance of the object used to invoke the method see more in {@link
+   *     #getObject()}
+   * @param method the method to execute as the command see more in {@link #getMethod()}
+   * @param arguments the list of arguments that are used to {@link #getObjects(EasyCommandContext)}
+   *     and invoke the {@link #getMethod()}
+   * @param invoker the invoker used to call the method, see more in {@link #getInvoker()}
+   */
+  public AnnotatedCommand(
+      Command command,
+      @NonNull List<BungeeCommand> children,
+      @NonNull CommandManager manager,
+      @NonNull Object object,
+      @NonNull Method method,
+      @NonNull List<Argument<?>> arguments,
+      @NonNull CommandInvoker invoker) {
     super(
         command.aliases()[0],
         command.permission().isEmpty() ? null : command.permission(),
@@ -74,17 +121,33 @@ public class AnnotatedCommand extends BungeeCommand
     this.object = object;
     this.method = method;
     this.arguments = arguments;
+    this.flags = Arrays.asList(command.flags());
+    this.invoker = invoker;
+    this.bindingPlan =
+        new BindingPlan<>(arguments, manager.getProvidersRegistry(), manager.getMessagesProvider());
+    this.interceptors = InterceptorChain.compile(manager.getInterceptors());
+    this.metrics = manager.getMetrics().getMetrics(method, command.aliases()[0]);
+    this.dispatcher =
+        new CommandDispatcher<>(
+            this,
+            (context, value) -> AnnotatedCommand.getResult(value),
+            (context, e) -> this.getResult(e));
   }
 
   @NonNull
   public List<String> onReflectTabComplete(CommandSender sender, String[] strings) {
+    TokensView tokens = new TokensView(strings).withFlags(this.flags);
     CommandContext context =
         new CommandContext(
             sender,
-            strings,
+            tokens,
             this.manager.getMessagesProvider(),
             this.manager.getProvidersRegistry());
-    SingleArgument<?> argument = this.getArgument(strings.length - 1);
+    String last = strings[strings.length - 1];
+    if (!this.flags.isEmpty() && Tokenizer.isFlag(last)) {
+      return Strings.copyPartials(last, this.flags);
+    }
+    SingleArgument<?> argument = this.getArgument(tokens.getArgumentsLength() - 1);
     if (argument != null) {
       if (argument.getSuggestions(context).size() > 0) {
         return Strings.copyPartials(strings[strings.length - 1], argument.getSuggestions(context));
@@ -115,33 +178,74 @@ public class AnnotatedCommand extends BungeeCommand
     return this.arguments;
   }
 
+  /**
+   * Execute the command. This does not wait for methods that return a {@link CompletionStage}, if
+   * the stage is not completed yet null is returned, use {@link #executeStage(CommandContext)} to
+   * get its result
+   *
+   * @param context the context of the command
+   * @return the result of the command or null if it is not completed yet
+   */
   @Override
   public Result execute(@NonNull CommandContext context) {
-    CommandSender sender = context.getSender();
+    return CommandDispatcher.getNow(this.executeStage(context));
+  }
+
+  @Override
+  public @NonNull CompletionStage<Result> executeStage(@NonNull CommandContext context) {
+    Result result = this.check(context);
+    if (result != null) {
+      return CompletableFuture.completedFuture(result);
+    }
+    return this.dispatcher.dispatch(context);
+  }
+
+  /**
+   * Check whether the sender is allowed to execute the command
+   *
+   * @param context the context of the command
+   * @return a result if the sender is not allowed to execute the command else null
+   */
+  private Result check(@NonNull CommandContext context) {
     final String permission = this.getPermission();
     if (permission != null && !permission.isEmpty()) {
-      if (!sender.hasPermission(permission)) {
+      if (!context.getSender().hasPermission(permission)) {
         return new Result(this.manager.getMessagesProvider().notAllowed(context));
       }
     }
-    try {
-      Object invoke = this.method.invoke(this.object, this.getObjects(context));
-      if (invoke instanceof Result) {
-        return (Result) invoke;
-      }
-      return null;
-    } catch (final IllegalAccessException e) {
-      e.printStackTrace();
+    return null;
+  }
+
+  /**
+   * Get the result from the object returned by the method
+   *
+   * @param object the object returned by the method or by its stage
+   * @return the result if the object is a result else null
+   */
+  private static Result getResult(Object object) {
+    return object instanceof Result ? (Result) object : null;
+  }
+
+  /**
+   * Get the result of an exception thrown while executing the method
+   *
+   * @param e the exception thrown
+   * @return the result to give to the sender
+   */
+  @NonNull
+  private Result getResult(@NonNull Exception e) {
+    if (e instanceof IllegalAccessException) {
+      this.log(e);
       return new Result("&cIllegalAccessException, e");
-    } catch (final InvocationTargetException e) {
+    } else if (e instanceof InvocationTargetException) {
       final String message = e.getMessage();
       if (message != null && !message.isEmpty()) {
         return new Result(e.getMessage());
       } else {
-        e.printStackTrace();
+        this.log(e);
         return new Result("&cInvocationTargetException, e");
       }
-    } catch (MissingArgumentException | ArgumentProviderException e) {
+    } else {
       return new Result(e.getMessage());
     }
   }
@@ -2,15 +2,22 @@ package me.googas.commands.bungee;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
 import lombok.Getter;
 import lombok.NonNull;
+import me.googas.commands.CommandIndex;
 import me.googas.commands.EasyCommand;
 import me.googas.commands.bungee.context.CommandContext;
 import me.googas.commands.bungee.result.Result;
+import me.googas.commands.context.TokensView;
+import me.googas.commands.execution.Execution;
+import me.googas.commands.execution.ExecutionStrategy;
 import me.googas.starbox.Strings;
 import net.md_5.bungee.api.CommandSender;
-import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.plugin.Command;
 import net.md_5.bungee.api.plugin.Plugin;
@@ -37,6 +44,7 @@ public abstract class BungeeCommand extends Command
 
   @NonNull @Getter protected final CommandManager manager;
   @NonNull @Getter private final List<BungeeCommand> children;
+  @NonNull private final CommandIndex<BungeeCommand> childrenIndex;
   protected final boolean async;
 
   /**
@@ -58,6 +66,7 @@ public abstract class BungeeCommand extends Command
       boolean async) {
     super(name);
     this.children = children;
+    this.childrenIndex = new CommandIndex<>(children);
     this.manager = manager;
     this.async = async;
   }
@@ -86,6 +95,7 @@ public abstract class BungeeCommand extends Command
       String... aliases) {
     super(name, permission, aliases);
     this.children = children;
+    this.childrenIndex = new CommandIndex<>(children);
     this.manager = manager;
     this.async = async;
   }
@@ -99,20 +109,39 @@ public abstract class BungeeCommand extends Command
    * @param args the arguments used in the command execution
    */
   public void runCheckSync(@NonNull CommandSender sender, @NonNull String[] args) {
-    if (this.async) {
-      ProxyServer.getInstance()
-          .getScheduler()
-          .runAsync(this.manager.getPlugin(), () -> this.run(sender, args));
-    } else {
-      this.run(sender, args);
-    }
+    this.runCheckSync(sender, new TokensView(args));
+  }
+
+  /**
+   * Checks if the command should be running async. Same as {@link #runCheckSync(CommandSender,
+   * String[])} but using a view of the arguments.
+   *
+   * <p>Async commands are executed with {@link CommandManager#getAsyncStrategy()} and the rest with
+   * {@link CommandManager#getExecutionStrategy()}. Bungee does not have a main thread so the result
+   * is sent to the sender from the thread where the command completes
+   *
+   * @param sender the executor of the command
+   * @param tokens the view of the arguments used in the command execution
+   */
+  public void runCheckSync(@NonNull CommandSender sender, @NonNull TokensView tokens) {
+    this.executeAsync(
+            this.getContext(sender, tokens),
+            this.async ? this.manager.getAsyncStrategy() : this.manager.getExecutionStrategy())
+        .whenComplete(
+            (result, e) -> {
+              if (e != null) {
+                this.log(e);
+              } else {
+                this.send(sender, result);
+              }
+            });
   }
 
   /**
    * This method does the command execution after {@link #runCheckSync(CommandSender, String[])}
    * finishes checking whether to run async or not.
    *
-   * <p>This calls {@link #execute(CommandContext)} and the {@link Result} will be send to the
+   * <p>This calls {@link #executeStage(CommandContext)} and the {@link Result} will be send to the
    * {@link CommandSender} if it is not null with {@link CommandSender#sendMessage(BaseComponent)}
    * and {@link Result} components
    *
@@ -120,13 +149,35 @@ public abstract class BungeeCommand extends Command
    * @param args the arguments used in the command execution
    */
   public void run(@NonNull CommandSender sender, @NonNull String[] args) {
-    Result result =
-        this.execute(
-            new CommandContext(
-                sender,
-                args,
-                this.manager.getMessagesProvider(),
-                this.manager.getProvidersRegistry()));
+    this.run(sender, new TokensView(args));
+  }
+
+  /**
+   * This method does the command execution after {@link #runCheckSync(CommandSender, TokensView)}
+   * finishes checking whether to run async or not.
+   *
+   * @param sender the executor of the command
+   * @param tokens the view of the arguments used in the command execution
+   */
+  public void run(@NonNull CommandSender sender, @NonNull TokensView tokens) {
+    this.executeStage(this.getContext(sender, tokens))
+        .whenComplete(
+            (result, e) -> {
+              if (e != null) {
+                this.log(e);
+              } else {
+                this.send(sender, result);
+              }
+            });
+  }
+
+  /**
+   * Send the result of the command to the sender
+   *
+   * @param sender the executor of the command
+   * @param result the result of the command execution which might be null
+   */
+  private void send(@NonNull CommandSender sender, Result result) {
     if (result != null) {
       for (BaseComponent component : result.getComponents()) {
         sender.sendMessage(component);
@@ -134,6 +185,27 @@ public abstract class BungeeCommand extends Command
     }
   }
 
+  /**
+   * Log an exception that the execution of the command completed with in the logger of the plugin
+   *
+   * @param e the exception to log
+   */
+  void log(@NonNull Throwable e) {
+    this.manager
+        .getPlugin()
+        .getLogger()
+        .log(Level.SEVERE, "Could not execute the command " + this.getName(), e);
+  }
+
+  @NonNull
+  private CommandContext getContext(@NonNull CommandSender sender, @NonNull TokensView tokens) {
+    return new CommandContext(
+        sender,
+        tokens.withFlags(this.getFlags()),
+        this.manager.getMessagesProvider(),
+        this.manager.getProvidersRegistry());
+  }
+
   /**
    * Get the name of the children that have been added inside the command {@link #getChildren()}
    *
@@ -150,21 +222,60 @@ public abstract class BungeeCommand extends Command
 
   @Override
   public void execute(CommandSender sender, String[] strings) {
-    if (strings.length >= 1) {
-      BungeeCommand command = this.getChildren(strings[0]);
+    this.execute(sender, new TokensView(strings));
+  }
+
+  /**
+   * Execute the command or one of its children using a view of the arguments. Children receive a
+   * view of the same arguments so no array is copied
+   *
+   * @param sender the executor of the command
+   * @param tokens the view of the arguments used in the command execution
+   */
+  public void execute(@NonNull CommandSender sender, @NonNull TokensView tokens) {
+    if (tokens.size() >= 1) {
+      BungeeCommand command = this.getChildren(tokens.get(0));
       if (command != null) {
-        command.execute(sender, Arrays.copyOfRange(strings, 1, strings.length));
-      } else {
-        this.runCheckSync(sender, strings);
+        command.execute(sender, tokens.from(1));
+        return;
       }
-    } else {
-      this.runCheckSync(sender, strings);
     }
+    this.runCheckSync(sender, tokens);
   }
 
   @Override
   public abstract Result execute(@NonNull CommandContext context);
 
+  @Override
+  public @NonNull CompletionStage<Result> executeStage(@NonNull CommandContext context) {
+    return CompletableFuture.completedFuture(this.execute(context));
+  }
+
+  @Override
+  public @NonNull CompletableFuture<Result> executeAsync(
+      @NonNull CommandContext context, @NonNull ExecutionStrategy strategy) {
+    return Execution.supply(() -> this.executeStage(context), strategy.getExecutor(context));
+  }
+
+  @Override
+  public @NonNull BungeeCommand addChildren(@NonNull BungeeCommand command) {
+    this.childrenIndex.add(command);
+    return this;
+  }
+
+  @Override
+  public BungeeCommand getChildren(@NonNull String alias) {
+    return this.childrenIndex.get(alias);
+  }
+
+  @Override
+  public @NonNull Collection<String> getAllAliases() {
+    List<String> aliases = new ArrayList<>();
+    aliases.add(this.getName());
+    aliases.addAll(Arrays.asList(this.getAliases()));
+    return aliases;
+  }
+
   @Override
   public boolean hasAlias(@NonNull String alias) {
     if (this.getName().equalsIgnoreCase(alias)) return true;
@@ -6,16 +6,24 @@ import java.util.Collection;
 import java.util.List;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+import me.googas.commands.CommandIndex;
+import me.googas.commands.CommandParser;
 import me.googas.commands.EasyCommandManager;
-import me.googas.commands.annotations.Parent;
 import me.googas.commands.arguments.Argument;
 import me.googas.commands.bungee.annotations.Command;
 import me.googas.commands.bungee.context.CommandContext;
 import me.googas.commands.bungee.messages.BungeeMessagesProvider;
 import me.googas.commands.bungee.messages.MessagesProvider;
 import me.googas.commands.bungee.result.Result;
+import me.googas.commands.execution.ExecutionStrategy;
+import me.googas.commands.interceptor.CommandInterceptor;
+import me.googas.commands.invoker.CommandInvoker;
+import me.googas.commands.invoker.InvokerFactory;
+import me.googas.commands.metrics.MetricsRegistry;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import me.googas.commands.providers.type.EasyContextualProvider;
+import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.plugin.Plugin;
 import net.md_5.bungee.api.plugin.PluginManager;
 
@@ -49,6 +57,24 @@ public class CommandManager implements EasyCommandManager<CommandContext, Bungee
   @NonNull @Getter private final MessagesProvider messagesProvider;
   @NonNull @Getter private final ProvidersRegistry<CommandContext> providersRegistry;
   @NonNull @Getter private final List<BungeeCommand> commands = new ArrayList<>();
+  @NonNull private final CommandIndex<BungeeCommand> index = new CommandIndex<>(this.commands);
+  @NonNull @Getter @Setter private InvokerFactory invokerFactory = InvokerFactory.COMPILED;
+  /** Parses the commands of objects using their registrar or reflection */
+  @NonNull
+  private final CommandParser<Command, AnnotatedCommand> parser =
+      new CommandParser<>(Command.class, this::create, AnnotatedCommand::addChildren);
+
+  @NonNull @Getter @Setter private MetricsRegistry metrics = MetricsRegistry.DISABLED;
+
+  @NonNull @Getter
+  private final List<CommandInterceptor<CommandContext>> interceptors = new ArrayList<>();
+  /** The strategy used to execute the commands that are not async */
+  @NonNull @Getter @Setter private ExecutionStrategy executionStrategy = ExecutionStrategy.CALLER;
+  /**
+   * The strategy used to execute the async commands. By default they run in the asynchronous tasks
+   * of the {@link net.md_5.bungee.api.scheduler.TaskScheduler}
+   */
+  @NonNull @Getter @Setter private ExecutionStrategy asyncStrategy;
 
   /**
    * Create an instance
@@ -67,49 +93,70 @@ public class CommandManager implements EasyCommandManager<CommandContext, Bungee
     this.manager = plugin.getProxy().getPluginManager();
     this.messagesProvider = messagesProvider;
     this.providersRegistry = providersRegistry;
+    this.asyncStrategy =
+        context -> task -> ProxyServer.getInstance().getScheduler().runAsync(plugin, task);
+  }
+
+  /**
+   * Get a command registered in this manager by one of its aliases. The commands are queried using
+   * a {@link CommandIndex}
+   *
+   * @param name the name or alias of the command
+   * @return the command if found else null
+   */
+  public BungeeCommand getCommand(@NonNull String name) {
+    return this.index.get(name);
   }
 
   @Override
   public @NonNull CommandManager register(@NonNull BungeeCommand command) {
     this.manager.registerCommand(this.plugin, command);
-    this.commands.add(command);
+    this.index.add(command);
     return this;
   }
 
   @Override
   public @NonNull Collection<AnnotatedCommand> parseCommands(@NonNull Object object) {
-    List<AnnotatedCommand> commands = new ArrayList<>();
-    AnnotatedCommand parent = null;
-    final Class<?> clazz = object.getClass();
-    for (final Method method : clazz.getDeclaredMethods()) {
-      if (method.isAnnotationPresent(Parent.class) && method.isAnnotationPresent(Command.class)) {
-        parent = this.parseCommand(object, method);
-        commands.add(parent);
-        break;
-      }
-    }
-    for (final Method method : clazz.getDeclaredMethods()) {
-      if (!method.isAnnotationPresent(Parent.class) && method.isAnnotationPresent(Command.class)) {
-        final AnnotatedCommand cmd = this.parseCommand(object, method);
-        if (parent != null) {
-          parent.addChildren(cmd);
-        } else {
-          commands.add(cmd);
-        }
-      }
-    }
-    return commands;
+    return this.parser.parseCommands(object, this.invokerFactory);
   }
 
   @Override
   public @NonNull AnnotatedCommand parseCommand(@NonNull Object object, @NonNull Method method) {
-    if (!Result.class.isAssignableFrom(method.getReturnType())
-        && !method.getReturnType().equals(Void.TYPE)) {
-      throw new IllegalArgumentException(method + " must return void or " + Result.class);
-    }
-    Command command = method.getAnnotation(Command.class);
+    return this.parser.parseCommand(object, method, this.invokerFactory);
+  }
+
+  /**
+   * Create a command from its method. This is given to the {@link #parser}
+   *
+   * @param command the command annotation of the method
+   * @param method the method of the command
+   * @param object the object that contains the method
+   * @param arguments the arguments of the method
+   * @param invoker the invoker of the method
+   * @return the created command
+   */
+  @NonNull
+  private AnnotatedCommand create(
+      @NonNull Command command,
+      @NonNull Method method,
+      @NonNull Object object,
+      @NonNull List<Argument<?>> arguments,
+      @NonNull CommandInvoker invoker) {
+    CommandParser.checkReturnType(method, Result.class);
     return new AnnotatedCommand(
-        command, new ArrayList<>(), this, object, method, Argument.parseArguments(method));
+        command, new ArrayList<>(), this, object, method, arguments, invoker);
+  }
+
+  /**
+   * Add an interceptor to the commands that are parsed after this call
+   *
+   * @param interceptor the interceptor to add
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addInterceptor(@NonNull CommandInterceptor<CommandContext> interceptor) {
+    this.interceptors.add(interceptor);
+    return this;
   }
 
   @Override
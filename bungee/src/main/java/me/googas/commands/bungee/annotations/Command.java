@@ -36,4 +36,13 @@ public @interface Command {
    * @return whether to execute the command async
    */
   boolean async() default false;
+
+  /**
+   * Get the flags that the command declares like {@code -f} or {@code --key}. Declared flags are
+   * not given as arguments, other tokens that look like flags are
+   *
+   * @see me.googas.commands.EasyCommand#getFlags()
+   * @return the flags of the command including their dashes
+   */
+  String[] flags() default {};
 }
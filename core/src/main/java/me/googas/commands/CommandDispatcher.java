@@ -0,0 +1,155 @@
+package me.googas.commands;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import lombok.NonNull;
+import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.exceptions.ArgumentProviderException;
+import me.googas.commands.exceptions.MissingArgumentException;
+import me.googas.commands.execution.Execution;
+import me.googas.commands.interceptor.InterceptorChain;
+import me.googas.commands.metrics.CommandMetrics;
+import me.googas.commands.result.EasyResult;
+
+/**
+ * Dispatches the execution of a {@link ReflectCommand}: gives the context to the interceptors,
+ * binds the parameters, invokes the method, records the metrics and maps what the method returned
+ * or threw to a result. Every implementation of {@link ReflectCommand} uses one so the execution is
+ * the same in each platform, the platform only decides how objects and exceptions become results.
+ *
+ * <p>The execution is always given as a stage, methods that return a {@link CompletionStage} are
+ * not waited for. Synchronous executions use {@link #getNow(CompletionStage)} which never blocks
+ *
+ * @param <C> the type of context of the command
+ * @param <R> the type of result of the command
+ */
+public final class CommandDispatcher<C extends EasyCommandContext, R extends EasyResult> {
+
+  @NonNull private final ReflectCommand<C, ?> command;
+  @NonNull private final BiFunction<C, Object, R> results;
+  @NonNull private final BiFunction<C, Exception, R> errors;
+
+  /**
+   * Create the dispatcher
+   *
+   * @param command the command to dispatch
+   * @param results the function to get the result of the object returned by the method or given by
+   *     an interceptor, it may return null if the object is not a result
+   * @param errors the function to get the result of an exception that the interceptors did not
+   *     handle
+   */
+  public CommandDispatcher(
+      @NonNull ReflectCommand<C, ?> command,
+      @NonNull BiFunction<C, Object, R> results,
+      @NonNull BiFunction<C, Exception, R> errors) {
+    this.command = command;
+    this.results = results;
+    this.errors = errors;
+  }
+
+  /**
+   * Get the result of a stage without waiting for it
+   *
+   * @param stage the stage to get the result from
+   * @param <R> the type of result
+   * @return the result of the stage or null if it is not completed yet
+   * @throws RuntimeException the unwrapped exception if the stage completed exceptionally
+   */
+  public static <R> R getNow(@NonNull CompletionStage<R> stage) {
+    CompletableFuture<R> future = stage.toCompletableFuture();
+    if (!future.isDone()) return null;
+    try {
+      return future.getNow(null);
+    } catch (CompletionException | CancellationException e) {
+      Throwable cause = Execution.unwrap(e);
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw e;
+    }
+  }
+
+  /**
+   * Dispatch the execution of the command
+   *
+   * @param context the context of the command
+   * @return the stage of the result of the command
+   */
+  @NonNull
+  public CompletionStage<R> dispatch(@NonNull C context) {
+    Object intercepted = this.command.getInterceptors().preDispatch(context);
+    if (intercepted != null) {
+      return CompletableFuture.completedFuture(this.results.apply(context, intercepted));
+    }
+    CommandMetrics metrics = this.command.getMetrics();
+    long start = metrics.start();
+    Object[] objects;
+    try {
+      objects = this.command.getObjects(context);
+    } catch (MissingArgumentException | ArgumentProviderException e) {
+      return CompletableFuture.completedFuture(this.fail(context, e, metrics, start));
+    }
+    return this.invoke(context, objects, metrics, start);
+  }
+
+  /**
+   * Invoke the method with parameters that were already bound. This is used by executions that bind
+   * the parameters by themselves, for instance in different threads
+   *
+   * @param context the context of the command
+   * @param objects the objects to invoke the method with
+   * @param metrics the metrics of the command
+   * @param start the time in which the execution started given by {@link CommandMetrics#start()}
+   * @return the stage of the result of the command
+   */
+  @NonNull
+  public CompletionStage<R> invoke(
+      @NonNull C context, @NonNull Object[] objects, @NonNull CommandMetrics metrics, long start) {
+    InterceptorChain<C> interceptors = this.command.getInterceptors();
+    Object object;
+    try {
+      object = this.command.getInvoker().invoke(interceptors.postResolution(context, objects));
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      return CompletableFuture.completedFuture(this.fail(context, e, metrics, start));
+    }
+    if (object instanceof CompletionStage) {
+      return ((CompletionStage<?>) object)
+          .handle(
+              (value, e) -> {
+                if (e == null) {
+                  metrics.success(start);
+                  return this.results.apply(context, interceptors.postInvoke(context, value));
+                }
+                return this.fail(
+                    context, new InvocationTargetException(Execution.unwrap(e)), metrics, start);
+              });
+    }
+    metrics.success(start);
+    return CompletableFuture.completedFuture(
+        this.results.apply(context, interceptors.postInvoke(context, object)));
+  }
+
+  /**
+   * Record a failed execution and get its result giving the interceptors the chance to handle the
+   * exception first
+   *
+   * @param context the context of the command
+   * @param e the exception thrown
+   * @param metrics the metrics of the command
+   * @param start the time in which the execution started given by {@link CommandMetrics#start()}
+   * @return the result to give to the sender
+   */
+  public R fail(
+      @NonNull C context, @NonNull Exception e, @NonNull CommandMetrics metrics, long start) {
+    metrics.failure(start, e);
+    Object handled = this.command.getInterceptors().onError(context, e);
+    if (handled != null) {
+      R result = this.results.apply(context, handled);
+      if (result != null) return result;
+    }
+    return this.errors.apply(context, e);
+  }
+}
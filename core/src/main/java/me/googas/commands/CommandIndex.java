@@ -0,0 +1,171 @@
+package me.googas.commands;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * This index maps the aliases of commands to the commands. Managers use it to get the commands that
+ * are registered and parents use it to get their children, this way getting a command by its alias
+ * does not require to loop thru all the commands calling {@link EasyCommand#hasAlias(String)}.
+ *
+ * <p>The aliases are obtained using {@link EasyCommand#getAllAliases()} and they are case
+ * insensitive. If a command does not give its aliases it will still be found by checking {@link
+ * EasyCommand#hasAlias(String)}. If two commands share an alias the first one that was added is the
+ * one that will be returned.
+ *
+ * <p>The index wraps the collection of commands. Commands should be added using {@link
+ * #add(EasyCommand)} and removed using {@link #remove(EasyCommand)}. If the collection is modified
+ * directly {@link #invalidate()} must be called, a change in the size of the collection is also
+ * noticed the next time that a command is queried.
+ *
+ * <p>The aliases are kept in a snapshot that is never modified once it is published, changes create
+ * a new snapshot which replaces the previous one so queries do not need to synchronize and never
+ * see a partially built index
+ *
+ * @param <T> the type of commands in the index
+ */
+public class CommandIndex<T extends EasyCommand<?, ?>> {
+
+  @NonNull @Getter private final Collection<T> commands;
+  @NonNull private volatile Snapshot<T> snapshot;
+
+  /**
+   * Create the index
+   *
+   * @param commands the collection of commands to index
+   */
+  public CommandIndex(@NonNull Collection<T> commands) {
+    this.commands = commands;
+    this.snapshot = Snapshot.of(commands);
+  }
+
+  /** Create an index with an empty collection of commands */
+  public CommandIndex() {
+    this(new ArrayList<>());
+  }
+
+  /**
+   * Get the key used in the index for an alias
+   *
+   * @param alias the alias to get the key from
+   * @return the key of the alias
+   */
+  @NonNull
+  private static String getKey(@NonNull String alias) {
+    return alias.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Add a command to the collection of commands and to the index
+   *
+   * @param command the command to add
+   */
+  public synchronized void add(@NonNull T command) {
+    this.commands.add(command);
+    Snapshot<T> snapshot = this.snapshot;
+    if (snapshot.size + 1 == this.commands.size()) {
+      this.snapshot = snapshot.with(command, this.commands.size());
+    } else {
+      this.snapshot = Snapshot.of(this.commands);
+    }
+  }
+
+  /**
+   * Remove a command from the collection of commands and from the index
+   *
+   * @param command the command to remove
+   * @return true if the collection contained the command
+   */
+  public synchronized boolean remove(@NonNull T command) {
+    boolean removed = this.commands.remove(command);
+    this.snapshot = Snapshot.of(this.commands);
+    return removed;
+  }
+
+  /** Create the index again from the collection of commands */
+  public synchronized void invalidate() {
+    this.snapshot = Snapshot.of(this.commands);
+  }
+
+  /**
+   * Get a command by one of its aliases
+   *
+   * @param alias the alias of the command
+   * @return the command if one has the alias, null otherwise
+   */
+  public T get(@NonNull String alias) {
+    Snapshot<T> snapshot = this.snapshot;
+    if (snapshot.size != this.commands.size()) {
+      this.invalidate();
+      snapshot = this.snapshot;
+    }
+    T command = snapshot.aliases.get(CommandIndex.getKey(alias));
+    if (command != null) return command;
+    for (T unindexed : snapshot.unindexed) {
+      if (unindexed.hasAlias(alias)) return unindexed;
+    }
+    return null;
+  }
+
+  /**
+   * The aliases of the commands at some point. It is not modified after it is created
+   *
+   * @param <T> the type of commands in the index
+   */
+  private static final class Snapshot<T extends EasyCommand<?, ?>> {
+
+    @NonNull private final Map<String, T> aliases;
+    @NonNull private final List<T> unindexed;
+    /** The size of the collection of commands when the snapshot was created */
+    private final int size;
+
+    private Snapshot(@NonNull Map<String, T> aliases, @NonNull List<T> unindexed, int size) {
+      this.aliases = aliases;
+      this.unindexed = unindexed;
+      this.size = size;
+    }
+
+    @NonNull
+    private static <T extends EasyCommand<?, ?>> Snapshot<T> of(@NonNull Collection<T> commands) {
+      Map<String, T> aliases = new HashMap<>();
+      List<T> unindexed = new ArrayList<>();
+      for (T command : commands) {
+        Snapshot.put(aliases, unindexed, command);
+      }
+      return new Snapshot<>(aliases, unindexed, commands.size());
+    }
+
+    private static <T extends EasyCommand<?, ?>> void put(
+        @NonNull Map<String, T> aliases, @NonNull List<T> unindexed, @NonNull T command) {
+      Collection<String> names = command.getAllAliases();
+      if (names.isEmpty()) {
+        unindexed.add(command);
+      } else {
+        for (String alias : names) {
+          aliases.putIfAbsent(CommandIndex.getKey(alias), command);
+        }
+      }
+    }
+
+    /**
+     * Create a copy of this snapshot with another command
+     *
+     * @param command the command to add
+     * @param size the size of the collection of commands with the command
+     * @return the new snapshot
+     */
+    @NonNull
+    private Snapshot<T> with(@NonNull T command, int size) {
+      Map<String, T> aliases = new HashMap<>(this.aliases);
+      List<T> unindexed = new ArrayList<>(this.unindexed);
+      Snapshot.put(aliases, unindexed, command);
+      return new Snapshot<>(aliases, unindexed, size);
+    }
+  }
+}
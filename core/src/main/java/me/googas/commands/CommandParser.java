@@ -0,0 +1,202 @@
+package me.googas.commands;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import lombok.NonNull;
+import me.googas.commands.annotations.Parent;
+import me.googas.commands.arguments.Argument;
+import me.googas.commands.invoker.CommandInvoker;
+import me.googas.commands.invoker.InvokerFactory;
+import me.googas.commands.registrar.CommandMethod;
+import me.googas.commands.registrar.CommandRegistrar;
+import me.googas.commands.registrar.Registrars;
+
+/**
+ * Parses the commands of an object. If the class of the object has a {@link CommandRegistrar} the
+ * methods, arguments and invokers are taken from it else they are found using reflection. Every
+ * manager uses one so commands are parsed the same way in each platform, the platform only decides
+ * how a command is created from its method.
+ *
+ * <p>If the class has a method annotated with {@link Parent} the rest of the commands are added as
+ * its children
+ *
+ * @param <A> the type of the command annotation of the platform
+ * @param <T> the type of command created
+ */
+public final class CommandParser<A extends Annotation, T extends ReflectCommand<?, ?>> {
+
+  @NonNull private final Class<A> annotation;
+  @NonNull private final Factory<A, T> factory;
+  @NonNull private final BiConsumer<T, T> children;
+
+  /**
+   * Create the parser
+   *
+   * @param annotation the class of the command annotation of the platform
+   * @param factory the factory that creates the commands
+   * @param children the function that adds a command as children of the parent
+   */
+  public CommandParser(
+      @NonNull Class<A> annotation,
+      @NonNull Factory<A, T> factory,
+      @NonNull BiConsumer<T, T> children) {
+    this.annotation = annotation;
+    this.factory = factory;
+    this.children = children;
+  }
+
+  /**
+   * Parse the commands of an object
+   *
+   * @param object the object to parse the commands from
+   * @param invokers the factory of invokers for methods that the registrar cannot call or when
+   *     there's no registrar
+   * @return the parsed commands
+   */
+  @NonNull
+  public List<T> parseCommands(@NonNull Object object, @NonNull InvokerFactory invokers) {
+    CommandRegistrar<?> registrar = Registrars.get(object.getClass());
+    if (registrar != null) return this.parseCommands(object, registrar, invokers);
+    List<T> commands = new ArrayList<>();
+    T parent = null;
+    Method[] methods = object.getClass().getDeclaredMethods();
+    for (Method method : methods) {
+      if (method.isAnnotationPresent(Parent.class) && method.isAnnotationPresent(this.annotation)) {
+        parent = this.parseCommand(object, method, invokers);
+        commands.add(parent);
+        break;
+      }
+    }
+    for (Method method : methods) {
+      if (method.isAnnotationPresent(this.annotation)
+          && !method.isAnnotationPresent(Parent.class)) {
+        this.add(commands, parent, this.parseCommand(object, method, invokers));
+      }
+    }
+    return commands;
+  }
+
+  /**
+   * Parse a command using reflection
+   *
+   * @param object the object that contains the method
+   * @param method the method of the command
+   * @param invokers the factory of the invoker of the method
+   * @return the parsed command
+   * @throws IllegalArgumentException if the method is not annotated with the command annotation
+   */
+  @NonNull
+  public T parseCommand(
+      @NonNull Object object, @NonNull Method method, @NonNull InvokerFactory invokers) {
+    A command = method.getAnnotation(this.annotation);
+    if (command == null) {
+      throw new IllegalArgumentException(method + " is not annotated with " + this.annotation);
+    }
+    return this.factory.create(
+        command, method, object, Argument.parseArguments(method), invokers.create(method, object));
+  }
+
+  /**
+   * Check that a method returns something that a platform can use as its result. The method may
+   * return void, the result of the platform or a {@link CompletionStage} of it which is not waited
+   * for
+   *
+   * @param method the method of the command
+   * @param result the class of the result of the platform
+   * @throws IllegalArgumentException if the method returns anything else
+   */
+  public static void checkReturnType(@NonNull Method method, @NonNull Class<?> result) {
+    Class<?> type = method.getReturnType();
+    if (type == Void.TYPE || result.isAssignableFrom(type)) return;
+    if (CompletionStage.class.isAssignableFrom(type)) {
+      Type generic = method.getGenericReturnType();
+      if (!(generic instanceof ParameterizedType)) return;
+      Type value = ((ParameterizedType) generic).getActualTypeArguments()[0];
+      // Wildcards and type variables cannot be checked until the stage completes
+      if (!(value instanceof Class)
+          || value == Void.class
+          || value == Object.class
+          || result.isAssignableFrom((Class<?>) value)) return;
+    }
+    throw new IllegalArgumentException(
+        method + " must return void, " + result + " or a CompletionStage of it");
+  }
+
+  @NonNull
+  private List<T> parseCommands(
+      @NonNull Object object,
+      @NonNull CommandRegistrar<?> registrar,
+      @NonNull InvokerFactory invokers) {
+    List<T> commands = new ArrayList<>();
+    T parent = null;
+    for (CommandMethod<?> method : registrar.getMethods()) {
+      if (method.isParent() && method.isAnnotated(this.annotation)) {
+        parent = this.parseCommand(object, method, invokers);
+        commands.add(parent);
+        break;
+      }
+    }
+    for (CommandMethod<?> method : registrar.getMethods()) {
+      if (!method.isParent() && method.isAnnotated(this.annotation)) {
+        this.add(commands, parent, this.parseCommand(object, method, invokers));
+      }
+    }
+    return commands;
+  }
+
+  @NonNull
+  private T parseCommand(
+      @NonNull Object object,
+      @NonNull CommandMethod<?> commandMethod,
+      @NonNull InvokerFactory invokers) {
+    Method method = commandMethod.getMethod(object.getClass());
+    return this.factory.create(
+        commandMethod.getAnnotation(object.getClass(), this.annotation),
+        method,
+        object,
+        commandMethod.getArguments(),
+        commandMethod.getInvoker(object, method, invokers));
+  }
+
+  private void add(@NonNull List<T> commands, T parent, @NonNull T command) {
+    if (parent != null) {
+      this.children.accept(parent, command);
+    } else {
+      commands.add(command);
+    }
+  }
+
+  /**
+   * Creates the commands of a platform
+   *
+   * @param <A> the type of the command annotation of the platform
+   * @param <T> the type of command created
+   */
+  public interface Factory<A extends Annotation, T> {
+
+    /**
+     * Create a command
+     *
+     * @param command the command annotation of the method
+     * @param method the method of the command
+     * @param object the object that contains the method
+     * @param arguments the arguments of the method
+     * @param invoker the invoker of the method
+     * @return the created command
+     * @throws IllegalArgumentException if the method cannot be a command in the platform
+     */
+    @NonNull
+    T create(
+        @NonNull A command,
+        @NonNull Method method,
+        @NonNull Object object,
+        @NonNull List<Argument<?>> arguments,
+        @NonNull CommandInvoker invoker);
+  }
+}
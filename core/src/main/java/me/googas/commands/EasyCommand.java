@@ -1,8 +1,13 @@
 package me.googas.commands;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import lombok.NonNull;
 import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.execution.Execution;
+import me.googas.commands.execution.ExecutionStrategy;
 import me.googas.commands.result.EasyResult;
 
 /**
@@ -33,6 +38,35 @@ public interface EasyCommand<C extends EasyCommandContext, T extends EasyCommand
    */
   EasyResult execute(@NonNull C context);
 
+  /**
+   * Execute the command giving a stage that completes with the result. Commands which methods
+   * return a {@link CompletionStage} override this to complete when the stage of the method does
+   * instead of waiting for it. By default this completes with {@link #execute(EasyCommandContext)}
+   *
+   * @param context the context that is required to execute the command
+   * @return the stage of the command execution
+   */
+  @NonNull
+  default CompletionStage<? extends EasyResult> executeStage(@NonNull C context) {
+    return CompletableFuture.completedFuture(this.execute(context));
+  }
+
+  /**
+   * Execute the command in the executor given by a strategy. The command starts running in the
+   * executor and the future completes once the command and the stage that its method may return
+   * complete
+   *
+   * @param context the context that is required to execute the command
+   * @param strategy the strategy that gives the executor where the command runs
+   * @return a future that completes with the result of the command execution or exceptionally if
+   *     the command could not be executed
+   */
+  @NonNull
+  default CompletableFuture<? extends EasyResult> executeAsync(
+      @NonNull C context, @NonNull ExecutionStrategy strategy) {
+    return Execution.supply(() -> this.executeStage(context), strategy.getExecutor(context));
+  }
+
   /**
    * Check if the command can the command be recognized by the given alias. This is used because
    * commands have names and aliases, instead of asking for the name and aliases of the command just
@@ -45,6 +79,30 @@ public interface EasyCommand<C extends EasyCommandContext, T extends EasyCommand
    */
   boolean hasAlias(@NonNull String alias);
 
+  /**
+   * Get all the aliases that the command can be recognized by, including its name. This is used by
+   * {@link CommandIndex} to map the command to each of its aliases. By default this is empty which
+   * means that the index will have to check {@link #hasAlias(String)}
+   *
+   * @return the collection of aliases
+   */
+  @NonNull
+  default Collection<String> getAllAliases() {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Get the flags that the command declares. Declared flags are not arguments so they are skipped
+   * when the parameters of the command are bound, the rest of tokens that look like flags such as
+   * {@code -world} are given as arguments. By default a command declares no flags
+   *
+   * @return the flags including their dashes
+   */
+  @NonNull
+  default Collection<String> getFlags() {
+    return Collections.emptyList();
+  }
+
   /**
    * Add a children that can be used to run in this
    *
@@ -57,7 +115,8 @@ public interface EasyCommand<C extends EasyCommandContext, T extends EasyCommand
   }
 
   /**
-   * Get a children command by an alias
+   * Get a children command by an alias. Implementations should use a {@link CommandIndex} of their
+   * children instead of looping thru them
    *
    * @see EasyCommand#hasAlias(String)
    * @param alias the alias to match the command
@@ -3,9 +3,15 @@ package me.googas.commands;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import lombok.NonNull;
 import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.interceptor.CommandInterceptor;
+import me.googas.commands.interceptor.InterceptorChain;
+import me.googas.commands.invoker.InvokerFactory;
 import me.googas.commands.messages.EasyMessagesProvider;
+import me.googas.commands.metrics.MetricsRegistry;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 
 /**
@@ -59,6 +65,10 @@ public interface EasyCommandManager<C extends EasyCommandContext, T extends Easy
    * Parse the {@link ReflectCommand} from the provided object. This depends on each implementation
    * of the command manager.
    *
+   * <p>If the class of the object has a {@link me.googas.commands.registrar.CommandRegistrar}
+   * generated by the annotation processor the commands are parsed using it, else the methods of the
+   * class are parsed using reflection.
+   *
    * <p>// TODO example from one of the implementations
    *
    * @param object the object to get the commands from
@@ -130,4 +140,36 @@ public interface EasyCommandManager<C extends EasyCommandContext, T extends Easy
    */
   @NonNull
   EasyMessagesProvider<C> getMessagesProvider();
+
+  /**
+   * Get the factory that this manager uses to create the {@link
+   * me.googas.commands.invoker.CommandInvoker} of the parsed {@link ReflectCommand}
+   *
+   * @return the invoker factory
+   */
+  @NonNull
+  InvokerFactory getInvokerFactory();
+
+  /**
+   * Get the registry where the {@link ReflectCommand} parsed by this manager record their metrics.
+   * Commands get their metrics from the registry when they are parsed so it must be set before. By
+   * default metrics are disabled
+   *
+   * @return the metrics registry
+   */
+  @NonNull
+  default MetricsRegistry getMetrics() {
+    return MetricsRegistry.DISABLED;
+  }
+
+  /**
+   * Get the interceptors that the {@link ReflectCommand} parsed by this manager compile in their
+   * {@link InterceptorChain}. Interceptors must be added before the commands are parsed
+   *
+   * @return the interceptors of the manager
+   */
+  @NonNull
+  default List<CommandInterceptor<C>> getInterceptors() {
+    return Collections.emptyList();
+  }
 }
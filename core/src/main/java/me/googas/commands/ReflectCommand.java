@@ -1,17 +1,19 @@
 package me.googas.commands;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
 import lombok.NonNull;
 import me.googas.commands.arguments.Argument;
-import me.googas.commands.arguments.ExtraArgument;
 import me.googas.commands.arguments.MultipleArgument;
 import me.googas.commands.arguments.SingleArgument;
+import me.googas.commands.arguments.binding.BindingPlan;
 import me.googas.commands.context.EasyCommandContext;
 import me.googas.commands.exceptions.ArgumentProviderException;
 import me.googas.commands.exceptions.MissingArgumentException;
+import me.googas.commands.interceptor.InterceptorChain;
+import me.googas.commands.invoker.CommandInvoker;
 import me.googas.commands.messages.EasyMessagesProvider;
+import me.googas.commands.metrics.CommandMetrics;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import me.googas.commands.providers.type.EasyArgumentProvider;
 import me.googas.commands.result.EasyResult;
@@ -39,25 +41,27 @@ public interface ReflectCommand<C extends EasyCommandContext, T extends EasyComm
    */
   static String getArgument(
       @NonNull SingleArgument<?> argument, @NonNull EasyCommandContext context) {
-    String[] strings = context.getStrings();
-    if (strings.length - 1 < argument.getPosition()) {
+    if (context.getArgumentsLength() - 1 < argument.getPosition()) {
       if (!argument.isRequired() & argument.getSuggestions(context).size() > 0) {
         return argument.getSuggestions(context).get(0);
       } else {
         return null;
       }
     } else {
-      return strings[argument.getPosition()];
+      return context.getArgument(argument.getPosition());
     }
   }
 
   /**
-   * Get the objects that should be used in the parameters to invoke {@link #getMethod()}. For each
-   * {@link EasyCommandContext#getStrings()} it will try to get one object, unless the argument in
-   * the position of the string is a {@link MultipleArgument}. Check the {@link #getRegistry()} to
-   * get which classes can be provided as an object.
+   * Get the objects that should be used in the parameters to invoke {@link #getMethod()}. This uses
+   * the {@link #getBindingPlan()} which already knows which provider must be used for each
+   * argument. For each {@link EasyCommandContext#getArgument(int)} it will try to get one object,
+   * unless the argument in the position of the string is a {@link MultipleArgument}. The flags in
+   * {@link #getFlags()} are not arguments so they are skipped, use {@link
+   * EasyCommandContext#hasFlag(String)} to check them. Check the {@link #getRegistry()} to get
+   * which classes can be provided as an object.
    *
-   * @param context the context to get the parameters {@link EasyCommandContext#getStrings()}
+   * @param context the context to get the parameters {@link EasyCommandContext#getArgument(int)}
    * @return the objects to use as parameters in the {@link #getMethod()}
    * @throws ArgumentProviderException if the argument could not be provided, see {@link
    *     ArgumentProviderException}
@@ -68,49 +72,7 @@ public interface ReflectCommand<C extends EasyCommandContext, T extends EasyComm
   @NonNull
   default Object[] getObjects(C context)
       throws MissingArgumentException, ArgumentProviderException {
-    Object[] objects = new Object[this.getArguments().size()];
-    for (int i = 0; i < this.getArguments().size(); i++) {
-      Argument<?> argument = this.getArguments().get(i);
-      if (argument instanceof ExtraArgument<?>) {
-        objects[i] = this.getRegistry().getObject(argument.getClazz(), context);
-      } else if (argument instanceof MultipleArgument<?>) {
-        String[] strings = context.getStringsFrom(((MultipleArgument<?>) argument).getPosition());
-        if (strings.length < ((MultipleArgument<?>) argument).getMinSize()) {
-          throw new MissingArgumentException(
-              this.getMessagesProvider()
-                  .missingStrings(
-                      ((MultipleArgument<?>) argument).getName(),
-                      ((MultipleArgument<?>) argument).getDescription(),
-                      ((MultipleArgument<?>) argument).getPosition(),
-                      ((MultipleArgument<?>) argument).getMinSize(),
-                      ((MultipleArgument<?>) argument).getMinSize() - strings.length,
-                      context));
-        }
-        if (((MultipleArgument<?>) argument).getMaxSize() != -1
-            && ((MultipleArgument<?>) argument).getMaxSize() < strings.length) {
-          i = ((MultipleArgument<?>) argument).getMaxSize();
-        }
-        objects[i] = this.getRegistry().fromStrings(strings, argument.getClazz(), context);
-      } else if (argument instanceof SingleArgument<?>) {
-        String string = ReflectCommand.getArgument((SingleArgument<?>) argument, context);
-        if (string == null && ((SingleArgument<?>) argument).isRequired()) {
-          throw new MissingArgumentException(
-              this.getMessagesProvider()
-                  .missingArgument(
-                      ((SingleArgument<?>) argument).getName(),
-                      ((SingleArgument<?>) argument).getDescription(),
-                      ((SingleArgument<?>) argument).getPosition(),
-                      context));
-        } else if (string == null && !((SingleArgument<?>) argument).isRequired()) {
-          objects[i] = null;
-        } else if (string == null) {
-          objects[i] = null;
-        } else {
-          objects[i] = this.getRegistry().fromString(string, argument.getClazz(), context);
-        }
-      }
-    }
-    return objects;
+    return this.getBindingPlan().bind(context);
   }
 
   /**
@@ -153,6 +115,16 @@ public interface ReflectCommand<C extends EasyCommandContext, T extends EasyComm
   @NonNull
   Object getObject();
 
+  /**
+   * Get the invoker that calls the {@link #getMethod()} using the {@link #getObject()}. This is
+   * created when the command is parsed using {@link EasyCommandManager#getInvokerFactory()} so
+   * there's no need to look up the method each time that the command is executed
+   *
+   * @return the invoker of the command method
+   */
+  @NonNull
+  CommandInvoker getInvoker();
+
   /**
    * Get the {@link List} of the arguments for the command. It is used in {@link #getArgument(int)}
    * therefore in {@link #getObjects(EasyCommandContext)}
@@ -162,6 +134,15 @@ public interface ReflectCommand<C extends EasyCommandContext, T extends EasyComm
   @NonNull
   List<Argument<?>> getArguments();
 
+  /**
+   * Get the binding plan of the command. This is created when the command is parsed using the
+   * {@link #getArguments()}, {@link #getRegistry()} and {@link #getMessagesProvider()}
+   *
+   * @return the binding plan of the command
+   */
+  @NonNull
+  BindingPlan<C> getBindingPlan();
+
   /**
    * Get the registry of providers. Needed to get the objects to pass in the method invoke.
    *
@@ -180,20 +161,43 @@ public interface ReflectCommand<C extends EasyCommandContext, T extends EasyComm
   EasyMessagesProvider<C> getMessagesProvider();
 
   /**
-   * Executes the command and gives a result of its execution
+   * Get the metrics of the command. Commands parsed by a manager get them from the {@link
+   * EasyCommandManager#getMetrics()} of the manager once they are created, by default metrics are
+   * disabled
+   *
+   * @return the metrics of the command
+   */
+  @NonNull
+  default CommandMetrics getMetrics() {
+    return CommandMetrics.DISABLED;
+  }
+
+  /**
+   * Get the interceptors of the command compiled from the {@link
+   * EasyCommandManager#getInterceptors()} of the manager that parsed it
+   *
+   * @return the interceptors of the command
+   */
+  @NonNull
+  default InterceptorChain<C> getInterceptors() {
+    return InterceptorChain.empty();
+  }
+
+  /**
+   * Executes the command and gives a result of its execution using a {@link CommandDispatcher}.
+   * This does not wait for methods that return a {@link java.util.concurrent.CompletionStage}, if
+   * the stage is not completed yet null is returned
    *
    * @param context the context of the command
    * @return the result of the command execution
    */
   @Override
   default EasyResult execute(@NonNull C context) {
-    try {
-      return (EasyResult) this.getMethod().invoke(this.getObject(), this.getObjects(context));
-    } catch (MissingArgumentException
-        | ArgumentProviderException
-        | IllegalAccessException
-        | InvocationTargetException e) {
-      return () -> "Result in error: " + e.getMessage();
-    }
+    return CommandDispatcher.getNow(
+        new CommandDispatcher<C, EasyResult>(
+                this,
+                (current, object) -> object instanceof EasyResult ? (EasyResult) object : null,
+                (current, e) -> () -> "Result in error: " + e.getMessage())
+            .dispatch(context));
   }
 }
@@ -0,0 +1,39 @@
+package me.googas.commands.arguments.binding;
+
+import lombok.NonNull;
+import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.exceptions.ArgumentProviderException;
+import me.googas.commands.exceptions.MissingArgumentException;
+import me.googas.commands.providers.type.EasyContextualProvider;
+
+/**
+ * A binder gets the object for a single parameter of a {@link me.googas.commands.ReflectCommand}.
+ * Binders are created by the {@link BindingPlan} and they already have the provider that they must
+ * use so there's no need to query the {@link
+ * me.googas.commands.providers.registry.ProvidersRegistry}
+ *
+ * @param <C> the type of context that is required to get the object
+ */
+public interface ArgumentBinder<C extends EasyCommandContext> {
+
+  /**
+   * Get the object for the parameter
+   *
+   * @param context the context of the command execution
+   * @return the object to use as parameter
+   * @throws ArgumentProviderException if the argument could not be provided, see {@link
+   *     ArgumentProviderException}
+   * @throws MissingArgumentException if the command is missing the argument, see {@link
+   *     MissingArgumentException}
+   */
+  Object bind(@NonNull C context) throws MissingArgumentException, ArgumentProviderException;
+
+  /**
+   * Get the provider that the binder uses
+   *
+   * @return the provider or null if the binder does not use a provider
+   */
+  default EasyContextualProvider<?, C> getProvider() {
+    return null;
+  }
+}
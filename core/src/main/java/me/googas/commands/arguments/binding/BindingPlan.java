@@ -0,0 +1,162 @@
+package me.googas.commands.arguments.binding;
+
+import java.util.List;
+import java.util.function.Predicate;
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.arguments.Argument;
+import me.googas.commands.arguments.ExtraArgument;
+import me.googas.commands.arguments.MultipleArgument;
+import me.googas.commands.arguments.SingleArgument;
+import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.exceptions.ArgumentProviderException;
+import me.googas.commands.exceptions.MissingArgumentException;
+import me.googas.commands.messages.EasyMessagesProvider;
+import me.googas.commands.providers.registry.ProvidersRegistry;
+import me.googas.commands.providers.type.EasyContextualProvider;
+
+/**
+ * The binding plan is created once a {@link me.googas.commands.ReflectCommand} is parsed. It
+ * contains an {@link ArgumentBinder} for each one of its {@link Argument} with the provider that it
+ * must use already resolved, this way getting the parameters to invoke the command is just a loop
+ * thru the binders.
+ *
+ * <p>If a provider is added to the {@link ProvidersRegistry} after the plan was created the binders
+ * will be created again in the next {@link #bind(EasyCommandContext)}, to know if the registry
+ * changed {@link ProvidersRegistry#getVersion()} is used
+ *
+ * @param <C> the type of context that is required to get the objects
+ */
+public class BindingPlan<C extends EasyCommandContext> {
+
+  @NonNull @Getter private final List<Argument<?>> arguments;
+  @NonNull @Getter private final ProvidersRegistry<C> registry;
+  @NonNull @Getter private final EasyMessagesProvider<C> messagesProvider;
+  @NonNull private volatile ArgumentBinder<C>[] binders;
+  private volatile int version;
+
+  /**
+   * Create the plan
+   *
+   * @param arguments the arguments of the command
+   * @param registry the registry to get the providers for the arguments
+   * @param messagesProvider the messages provider to create the message of {@link
+   *     MissingArgumentException}
+   */
+  public BindingPlan(
+      @NonNull List<Argument<?>> arguments,
+      @NonNull ProvidersRegistry<C> registry,
+      @NonNull EasyMessagesProvider<C> messagesProvider) {
+    this.arguments = arguments;
+    this.registry = registry;
+    this.messagesProvider = messagesProvider;
+    this.version = registry.getVersion();
+    this.binders = this.createBinders();
+  }
+
+  /**
+   * Get the objects that should be used as parameters to invoke the command
+   *
+   * @param context the context of the command execution
+   * @return the objects to use as parameters
+   * @throws ArgumentProviderException if an argument could not be provided, see {@link
+   *     ArgumentProviderException}
+   * @throws MissingArgumentException if the command is missing an argument, see {@link
+   *     MissingArgumentException}
+   */
+  @NonNull
+  public Object[] bind(@NonNull C context)
+      throws MissingArgumentException, ArgumentProviderException {
+    ArgumentBinder<C>[] binders = this.getBinders();
+    Object[] objects = new Object[binders.length];
+    for (int i = 0; i < binders.length; i++) {
+      objects[i] = binders[i].bind(context);
+    }
+    return objects;
+  }
+
+  /**
+   * Get the objects of the parameters which provider matches a filter. The rest of the objects are
+   * kept as they are in the given array, this way the parameters can be bound in different threads
+   *
+   * @param context the context of the command execution
+   * @param objects the array to set the objects in, its length must be the amount of arguments
+   * @param filter the filter of the providers to use
+   * @return the given array
+   * @throws ArgumentProviderException if an argument could not be provided, see {@link
+   *     ArgumentProviderException}
+   * @throws MissingArgumentException if the command is missing an argument, see {@link
+   *     MissingArgumentException}
+   */
+  @NonNull
+  public Object[] bind(
+      @NonNull C context,
+      @NonNull Object[] objects,
+      @NonNull Predicate<EasyContextualProvider<?, C>> filter)
+      throws MissingArgumentException, ArgumentProviderException {
+    ArgumentBinder<C>[] binders = this.getBinders();
+    for (int i = 0; i < binders.length; i++) {
+      if (filter.test(binders[i].getProvider())) objects[i] = binders[i].bind(context);
+    }
+    return objects;
+  }
+
+  /**
+   * Get whether any of the providers of the plan matches a filter
+   *
+   * @param filter the filter of the providers
+   * @return true if the provider of any binder matches the filter
+   */
+  public boolean anyMatch(@NonNull Predicate<EasyContextualProvider<?, C>> filter) {
+    for (ArgumentBinder<C> binder : this.getBinders()) {
+      if (filter.test(binder.getProvider())) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Get the binders of the plan. If the registry changed since the binders were created they will
+   * be created again
+   *
+   * @return the binders of the plan
+   */
+  @NonNull
+  private ArgumentBinder<C>[] getBinders() {
+    int version = this.registry.getVersion();
+    if (version != this.version) {
+      this.binders = this.createBinders();
+      this.version = version;
+    }
+    return this.binders;
+  }
+
+  @NonNull
+  @SuppressWarnings("unchecked")
+  private ArgumentBinder<C>[] createBinders() {
+    ArgumentBinder<C>[] binders = new ArgumentBinder[this.arguments.size()];
+    for (int i = 0; i < binders.length; i++) {
+      Argument<?> argument = this.arguments.get(i);
+      if (argument instanceof ExtraArgument) {
+        binders[i] =
+            new ExtraArgumentBinder<>(
+                (ExtraArgument<?>) argument,
+                this.registry.getExtraArgumentProvider(argument.getClazz()));
+      } else if (argument instanceof MultipleArgument) {
+        binders[i] =
+            new MultipleArgumentBinder<>(
+                (MultipleArgument<?>) argument,
+                this.registry.getMultipleArgumentProvider(argument.getClazz()),
+                this.messagesProvider);
+      } else if (argument instanceof SingleArgument) {
+        binders[i] =
+            new SingleArgumentBinder<>(
+                (SingleArgument<?>) argument,
+                this.registry.getArgumentProvider(argument.getClazz()),
+                this.messagesProvider);
+      } else {
+        binders[i] = context -> null;
+      }
+    }
+    return binders;
+  }
+}
@@ -0,0 +1,40 @@
+package me.googas.commands.arguments.binding;
+
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.arguments.ExtraArgument;
+import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.exceptions.ArgumentProviderException;
+import me.googas.commands.providers.type.EasyExtraArgumentProvider;
+
+/**
+ * Binds an {@link ExtraArgument} using its {@link EasyExtraArgumentProvider}
+ *
+ * @param <C> the type of context that is required to get the object
+ */
+public class ExtraArgumentBinder<C extends EasyCommandContext> implements ArgumentBinder<C> {
+
+  @NonNull private final ExtraArgument<?> argument;
+  @Getter private final EasyExtraArgumentProvider<?, C> provider;
+
+  /**
+   * Create the binder
+   *
+   * @param argument the argument to bind
+   * @param provider the provider of the argument or null if there's no provider for it
+   */
+  public ExtraArgumentBinder(
+      @NonNull ExtraArgument<?> argument, EasyExtraArgumentProvider<?, C> provider) {
+    this.argument = argument;
+    this.provider = provider;
+  }
+
+  @Override
+  public Object bind(@NonNull C context) throws ArgumentProviderException {
+    if (this.provider == null) {
+      throw new ArgumentProviderException(
+          EasyExtraArgumentProvider.class + " was not found for " + this.argument.getClazz());
+    }
+    return this.provider.getObject(context);
+  }
+}
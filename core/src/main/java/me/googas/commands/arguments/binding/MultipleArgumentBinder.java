@@ -0,0 +1,72 @@
+package me.googas.commands.arguments.binding;
+
+import java.util.Arrays;
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.arguments.MultipleArgument;
+import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.exceptions.ArgumentProviderException;
+import me.googas.commands.exceptions.MissingArgumentException;
+import me.googas.commands.messages.EasyMessagesProvider;
+import me.googas.commands.providers.type.EasyMultipleArgumentProvider;
+
+/**
+ * Binds a {@link MultipleArgument} using its {@link EasyMultipleArgumentProvider}. The strings are
+ * obtained using {@link EasyCommandContext#getArgumentsFrom(int)} and if there's more strings than
+ * {@link MultipleArgument#getMaxSize()} the rest will be ignored
+ *
+ * @param <C> the type of context that is required to get the object
+ */
+public class MultipleArgumentBinder<C extends EasyCommandContext> implements ArgumentBinder<C> {
+
+  @NonNull private final MultipleArgument<?> argument;
+  @Getter private final EasyMultipleArgumentProvider<?, C> provider;
+  @NonNull private final EasyMessagesProvider<C> messagesProvider;
+  private final int position;
+  private final int minSize;
+  private final int maxSize;
+
+  /**
+   * Create the binder
+   *
+   * @param argument the argument to bind
+   * @param provider the provider of the argument or null if there's no provider for it
+   * @param messagesProvider the messages provider to create the message of the {@link
+   *     MissingArgumentException}
+   */
+  public MultipleArgumentBinder(
+      @NonNull MultipleArgument<?> argument,
+      EasyMultipleArgumentProvider<?, C> provider,
+      @NonNull EasyMessagesProvider<C> messagesProvider) {
+    this.argument = argument;
+    this.provider = provider;
+    this.messagesProvider = messagesProvider;
+    this.position = argument.getPosition();
+    this.minSize = argument.getMinSize();
+    this.maxSize = argument.getMaxSize();
+  }
+
+  @Override
+  public Object bind(@NonNull C context)
+      throws MissingArgumentException, ArgumentProviderException {
+    String[] strings = context.getArgumentsFrom(this.position);
+    if (strings.length < this.minSize) {
+      throw new MissingArgumentException(
+          this.messagesProvider.missingStrings(
+              this.argument.getName(),
+              this.argument.getDescription(),
+              this.position,
+              this.minSize,
+              this.minSize - strings.length,
+              context));
+    }
+    if (this.maxSize != -1 && this.maxSize < strings.length) {
+      strings = Arrays.copyOf(strings, this.maxSize);
+    }
+    if (this.provider == null) {
+      throw new ArgumentProviderException(
+          EasyMultipleArgumentProvider.class + " was not found for " + this.argument.getClazz());
+    }
+    return this.provider.fromStrings(strings, context);
+  }
+}
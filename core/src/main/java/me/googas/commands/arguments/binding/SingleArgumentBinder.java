@@ -0,0 +1,63 @@
+package me.googas.commands.arguments.binding;
+
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.ReflectCommand;
+import me.googas.commands.arguments.SingleArgument;
+import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.exceptions.ArgumentProviderException;
+import me.googas.commands.exceptions.MissingArgumentException;
+import me.googas.commands.messages.EasyMessagesProvider;
+import me.googas.commands.providers.type.EasyArgumentProvider;
+
+/**
+ * Binds a {@link SingleArgument} using its {@link EasyArgumentProvider}. The string is obtained
+ * using {@link ReflectCommand#getArgument(SingleArgument, EasyCommandContext)}
+ *
+ * @param <C> the type of context that is required to get the object
+ */
+public class SingleArgumentBinder<C extends EasyCommandContext> implements ArgumentBinder<C> {
+
+  @NonNull private final SingleArgument<?> argument;
+  @Getter private final EasyArgumentProvider<?, C> provider;
+  @NonNull private final EasyMessagesProvider<C> messagesProvider;
+
+  /**
+   * Create the binder
+   *
+   * @param argument the argument to bind
+   * @param provider the provider of the argument or null if there's no provider for it
+   * @param messagesProvider the messages provider to create the message of the {@link
+   *     MissingArgumentException}
+   */
+  public SingleArgumentBinder(
+      @NonNull SingleArgument<?> argument,
+      EasyArgumentProvider<?, C> provider,
+      @NonNull EasyMessagesProvider<C> messagesProvider) {
+    this.argument = argument;
+    this.provider = provider;
+    this.messagesProvider = messagesProvider;
+  }
+
+  @Override
+  public Object bind(@NonNull C context)
+      throws MissingArgumentException, ArgumentProviderException {
+    String string = ReflectCommand.getArgument(this.argument, context);
+    if (string == null) {
+      if (this.argument.isRequired()) {
+        throw new MissingArgumentException(
+            this.messagesProvider.missingArgument(
+                this.argument.getName(),
+                this.argument.getDescription(),
+                this.argument.getPosition(),
+                context));
+      }
+      return null;
+    }
+    if (this.provider == null) {
+      throw new ArgumentProviderException(
+          EasyArgumentProvider.class + " was not found for " + this.argument.getClazz());
+    }
+    return this.provider.fromString(string, context);
+  }
+}
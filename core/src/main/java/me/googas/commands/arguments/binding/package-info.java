@@ -0,0 +1,5 @@
+/**
+ * This package contains the binding plans which are used to get the parameters to invoke {@link
+ * me.googas.commands.ReflectCommand}
+ */
+package me.googas.commands.arguments.binding;
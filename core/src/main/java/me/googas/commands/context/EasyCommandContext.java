@@ -2,6 +2,7 @@ package me.googas.commands.context;
 
 import java.util.Arrays;
 import lombok.NonNull;
+import me.googas.commands.exceptions.ArgumentProviderException;
 import me.googas.commands.messages.EasyMessagesProvider;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 
@@ -20,6 +21,77 @@ public interface EasyCommandContext {
    */
   boolean hasFlag(@NonNull String flag);
 
+  /**
+   * Get the value of a flag. The value of a flag is given after an equals sign like {@code
+   * --key=value}
+   *
+   * @param flag the name of the flag including its dashes
+   * @return the value of the flag or null if the command was not executed with the flag or the flag
+   *     does not have a value
+   */
+  default String getFlagValue(@NonNull String flag) {
+    for (String string : this.getStrings()) {
+      if (string.length() > flag.length()
+          && string.charAt(flag.length()) == '='
+          && string.regionMatches(true, 0, flag, 0, flag.length())) {
+        return string.substring(flag.length() + 1);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the value of a flag as an object using the {@link #getRegistry()}
+   *
+   * @param flag the name of the flag including its dashes
+   * @param clazz the class of the object to get
+   * @param <O> the type of the object
+   * @return the object or null if the command was not executed with the flag or the flag does not
+   *     have a value
+   * @throws ArgumentProviderException if the value of the flag could not be provided as the object
+   */
+  @SuppressWarnings("unchecked")
+  default <O> O getFlagValue(@NonNull String flag, @NonNull Class<O> clazz)
+      throws ArgumentProviderException {
+    String value = this.getFlagValue(flag);
+    if (value == null) return null;
+    return (O)
+        ((ProvidersRegistry<EasyCommandContext>) this.getRegistry()).fromString(value, clazz, this);
+  }
+
+  /**
+   * Get the argument in a certain position. Arguments are the strings that are not flags declared
+   * by the command, see {@link me.googas.commands.EasyCommand#getFlags()}
+   *
+   * @param position the position of the argument
+   * @return the argument in the position or null if there's no argument in the position
+   */
+  default String getArgument(int position) {
+    return this.getString(position);
+  }
+
+  /**
+   * Get the amount of arguments in the context. Arguments are the strings that are not flags
+   * declared by the command, see {@link me.googas.commands.EasyCommand#getFlags()}
+   *
+   * @return the amount of arguments
+   */
+  default int getArgumentsLength() {
+    return this.getStringsLength();
+  }
+
+  /**
+   * Get the arguments from a certain position. Arguments are the strings that are not flags
+   * declared by the command, see {@link me.googas.commands.EasyCommand#getFlags()}
+   *
+   * @param position the position to get the arguments from
+   * @return an array of arguments empty if none
+   */
+  @NonNull
+  default String[] getArgumentsFrom(int position) {
+    return this.getStringsFrom(position);
+  }
+
   /**
    * Get the joined strings from a certain position
    *
@@ -31,6 +103,26 @@ public interface EasyCommandContext {
     return Arrays.copyOfRange(this.getStrings(), position, this.getStrings().length);
   }
 
+  /**
+   * Get the string in a certain position
+   *
+   * @param position the position of the string
+   * @return the string in the position or null if there's no string in the position
+   */
+  default String getString(int position) {
+    String[] strings = this.getStrings();
+    return position >= 0 && position < strings.length ? strings[position] : null;
+  }
+
+  /**
+   * Get the amount of strings in the context
+   *
+   * @return the amount of strings
+   */
+  default int getStringsLength() {
+    return this.getStrings().length;
+  }
+
   /**
    * Get the sender of the command
    *
@@ -0,0 +1,120 @@
+package me.googas.commands.context;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import lombok.NonNull;
+
+/**
+ * The flags of a {@link TokensView} and the positions of the tokens that are arguments. It is built
+ * a single time per view using the flags that were marked by the {@link Tokenizer}. Every flag can
+ * be checked but only the flags that the command declares are removed from the arguments
+ */
+final class FlagIndex {
+
+  /** The index used by views that do not contain flags */
+  static final FlagIndex EMPTY = new FlagIndex(Collections.emptyMap(), null);
+
+  /** The flags in lower case mapped to their value or null if they do not have a value */
+  @NonNull private final Map<String, String> flags;
+  /** The positions of the tokens that are not declared flags. Null if every token is positional */
+  private final int[] positional;
+
+  private FlagIndex(@NonNull Map<String, String> flags, int[] positional) {
+    this.flags = flags;
+    this.positional = positional;
+  }
+
+  /**
+   * Build the index of the tokens from a position
+   *
+   * @param tokens the tokens to index
+   * @param from the position of the first token to index
+   * @param declared the keys of the flags that are not arguments, see {@link #getKey(String)}
+   * @return the index of the tokens
+   */
+  @NonNull
+  static FlagIndex of(@NonNull Tokens tokens, int from, @NonNull Set<String> declared) {
+    if (!tokens.hasFlags(from)) return FlagIndex.EMPTY;
+    Map<String, String> flags = new HashMap<>();
+    int[] positional = new int[Math.max(0, tokens.size() - from)];
+    int size = 0;
+    for (int i = from; i < tokens.size(); i++) {
+      if (tokens.isFlag(i)) {
+        String token = tokens.get(i);
+        int equals = token.indexOf('=');
+        String key = FlagIndex.getKey(equals == -1 ? token : token.substring(0, equals));
+        flags.putIfAbsent(key, equals == -1 ? null : token.substring(equals + 1));
+        if (declared.contains(key)) continue;
+      }
+      positional[size++] = i;
+    }
+    if (size == positional.length) return new FlagIndex(flags, null);
+    int[] trimmed = new int[size];
+    System.arraycopy(positional, 0, trimmed, 0, size);
+    return new FlagIndex(flags, trimmed);
+  }
+
+  /**
+   * Get the key used in the index for a flag
+   *
+   * @param flag the flag to get the key from
+   * @return the key of the flag
+   */
+  @NonNull
+  static String getKey(@NonNull String flag) {
+    return flag.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Get whether the flag is in the index
+   *
+   * @param flag the flag to check
+   * @return true if the flag is in the index
+   */
+  boolean contains(@NonNull String flag) {
+    return this.flags.containsKey(FlagIndex.getKey(flag));
+  }
+
+  /**
+   * Get the value of a flag
+   *
+   * @param flag the flag to get the value from
+   * @return the value of the flag or null if the flag is not in the index or does not have a value
+   */
+  String getValue(@NonNull String flag) {
+    return this.flags.get(FlagIndex.getKey(flag));
+  }
+
+  /**
+   * Get whether every token is positional
+   *
+   * @return true if no token was removed from the arguments
+   */
+  boolean isPositional() {
+    return this.positional == null;
+  }
+
+  /**
+   * Get the amount of positional tokens
+   *
+   * @param size the size of the view, used when every token is positional
+   * @return the amount of positional tokens
+   */
+  int getPositionalSize(int size) {
+    return this.positional == null ? size : this.positional.length;
+  }
+
+  /**
+   * Get the position of the token of a positional argument
+   *
+   * @param position the position of the argument
+   * @param offset the offset of the view, used when every token is positional
+   * @return the position of the token
+   */
+  int getPositional(int position, int offset) {
+    return this.positional == null ? offset + position : this.positional[position];
+  }
+}
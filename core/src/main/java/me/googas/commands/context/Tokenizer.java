@@ -0,0 +1,102 @@
+package me.googas.commands.context;
+
+import java.util.BitSet;
+import lombok.NonNull;
+
+/**
+ * Splits command lines into {@link Tokens}. The line is scanned a single time and tokens are
+ * separated by one or more spaces. Lines that do not start with the prefix are rejected before
+ * anything is allocated so listeners can discard messages that are not commands for free.
+ *
+ * <p>While scanning, the tokens that are flags are marked. A flag is a token that starts with a
+ * single dash followed by anything but a digit or a dot like {@code -f}, or with two dashes
+ * followed by a name like {@code --force} or {@code --key=value}. Negative numbers such as {@code
+ * -1} or {@code -.5} are not flags
+ */
+public final class Tokenizer {
+
+  private Tokenizer() {}
+
+  /**
+   * Tokenize a command line that must start with a prefix. The first token is the name of the
+   * command without the prefix, it is empty if the line only has the prefix or there's a space
+   * after it
+   *
+   * @param line the line to tokenize
+   * @param prefix the prefix that the line must start with
+   * @return the tokens of the line or null if the line does not start with the prefix
+   */
+  public static Tokens tokenize(@NonNull CharSequence line, @NonNull String prefix) {
+    int length = line.length();
+    int prefixLength = prefix.length();
+    if (length < prefixLength) return null;
+    for (int i = 0; i < prefixLength; i++) {
+      if (line.charAt(i) != prefix.charAt(i)) return null;
+    }
+    int[] bounds = new int[8];
+    BitSet flags = null;
+    int size = 0;
+    int start = prefixLength;
+    boolean inToken = true;
+    for (int i = prefixLength; i <= length; i++) {
+      boolean space = i == length || line.charAt(i) == ' ';
+      if (inToken && space) {
+        if (size * 2 == bounds.length) {
+          int[] grown = new int[bounds.length * 2];
+          System.arraycopy(bounds, 0, grown, 0, bounds.length);
+          bounds = grown;
+        }
+        bounds[size * 2] = start;
+        bounds[size * 2 + 1] = i;
+        if (Tokenizer.isFlag(line, start, i)) {
+          if (flags == null) flags = new BitSet();
+          flags.set(size);
+        }
+        size++;
+        inToken = false;
+      } else if (!inToken && !space) {
+        start = i;
+        inToken = true;
+      }
+    }
+    return new Tokens(line, bounds, size, flags);
+  }
+
+  /**
+   * Tokenize a command line
+   *
+   * @param line the line to tokenize
+   * @return the tokens of the line
+   */
+  @NonNull
+  public static Tokens tokenize(@NonNull CharSequence line) {
+    return Tokenizer.tokenize(line, "");
+  }
+
+  /**
+   * Get whether a part of a sequence is a flag
+   *
+   * @param sequence the sequence that contains the token
+   * @param start the start of the token
+   * @param end the end of the token
+   * @return true if the token is a flag
+   */
+  public static boolean isFlag(@NonNull CharSequence sequence, int start, int end) {
+    if (end - start < 2 || sequence.charAt(start) != '-') return false;
+    char second = sequence.charAt(start + 1);
+    if (second == '-') {
+      return end - start > 2 && sequence.charAt(start + 2) != '-';
+    }
+    return second != '.' && !Character.isDigit(second);
+  }
+
+  /**
+   * Get whether a string is a flag
+   *
+   * @param string the string to check
+   * @return true if the string is a flag
+   */
+  public static boolean isFlag(@NonNull String string) {
+    return Tokenizer.isFlag(string, 0, string.length());
+  }
+}
@@ -0,0 +1,236 @@
+package me.googas.commands.context;
+
+import java.util.BitSet;
+import lombok.NonNull;
+
+/**
+ * The tokens of a command line. The tokens are not copied from the line, instead the position of
+ * each token is stored and the {@link String} of a token is created only the first time that it is
+ * requested using {@link #get(int)}. Tokens may also be created from an array of strings for
+ * platforms that already split the line like bukkit or bungee.
+ *
+ * <p>To create tokens from a line use {@link Tokenizer#tokenize(CharSequence, String)} and to read
+ * them from a certain position use {@link #view(int)}
+ */
+public final class Tokens {
+
+  /** The line that was tokenized. Null if the tokens were created from an array */
+  private final CharSequence source;
+  /** The start and end of each token in the source. Start in even positions end in odd positions */
+  private final int[] bounds;
+  /** The amount of tokens */
+  private final int size;
+  /** The positions of the tokens that are flags. Null if there are no flags */
+  private final BitSet flags;
+  /** The strings that have been materialized */
+  private String[] strings;
+
+  /**
+   * Create the tokens from a line
+   *
+   * @param source the line that was tokenized
+   * @param bounds the start and end of each token
+   * @param size the amount of tokens
+   * @param flags the positions of the tokens that are flags or null if there are none
+   */
+  Tokens(@NonNull CharSequence source, @NonNull int[] bounds, int size, BitSet flags) {
+    this.source = source;
+    this.bounds = bounds;
+    this.size = size;
+    this.flags = flags;
+  }
+
+  /**
+   * Create the tokens from strings that were already split. The array is not copied
+   *
+   * @param strings the strings to use as tokens
+   */
+  public Tokens(@NonNull String[] strings) {
+    this.source = null;
+    this.bounds = null;
+    this.size = strings.length;
+    this.strings = strings;
+    BitSet flags = null;
+    for (int i = 0; i < strings.length; i++) {
+      if (Tokenizer.isFlag(strings[i])) {
+        if (flags == null) flags = new BitSet();
+        flags.set(i);
+      }
+    }
+    this.flags = flags;
+  }
+
+  /**
+   * Get the amount of tokens
+   *
+   * @return the amount of tokens
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Get the token in certain position. The string of the token is created the first time that it is
+   * requested
+   *
+   * @param index the position of the token
+   * @return the token as a string
+   * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #size()}
+   */
+  @NonNull
+  public String get(int index) {
+    this.checkIndex(index);
+    String[] strings = this.strings;
+    if (strings == null) {
+      strings = new String[this.size];
+      this.strings = strings;
+    }
+    String string = strings[index];
+    if (string == null) {
+      string =
+          this.source.subSequence(this.bounds[index * 2], this.bounds[index * 2 + 1]).toString();
+      strings[index] = string;
+    }
+    return string;
+  }
+
+  /**
+   * Get whether the token in certain position is a flag. See {@link Tokenizer} to know which tokens
+   * are flags
+   *
+   * @param index the position of the token
+   * @return true if the token is a flag
+   */
+  public boolean isFlag(int index) {
+    return this.flags != null && this.flags.get(index);
+  }
+
+  /**
+   * Get whether any token from a position is a flag
+   *
+   * @param from the position of the first token to check
+   * @return true if there's at least a flag
+   */
+  public boolean hasFlags(int from) {
+    return this.flags != null && this.flags.nextSetBit(Math.max(0, from)) != -1;
+  }
+
+  /**
+   * Get the length of a token without creating its string
+   *
+   * @param index the position of the token
+   * @return the length of the token
+   * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #size()}
+   */
+  public int length(int index) {
+    this.checkIndex(index);
+    if (this.source == null) return this.strings[index].length();
+    return this.bounds[index * 2 + 1] - this.bounds[index * 2];
+  }
+
+  /**
+   * Get whether a token is equal to a string ignoring case. This does not create the string of the
+   * token
+   *
+   * @param index the position of the token
+   * @param string the string to compare the token with
+   * @return true if the token is equal to the string ignoring case
+   * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #size()}
+   */
+  public boolean equalsIgnoreCase(int index, @NonNull String string) {
+    this.checkIndex(index);
+    if (this.source == null || this.strings != null && this.strings[index] != null) {
+      return this.strings[index].equalsIgnoreCase(string);
+    }
+    int start = this.bounds[index * 2];
+    int length = this.bounds[index * 2 + 1] - start;
+    if (length != string.length()) return false;
+    for (int i = 0; i < length; i++) {
+      char a = this.source.charAt(start + i);
+      char b = string.charAt(i);
+      if (a != b
+          && Character.toUpperCase(a) != Character.toUpperCase(b)
+          && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get the tokens from a position as an array. The returned array is a new one
+   *
+   * @param from the position of the first token in the array
+   * @return the tokens from the position, empty if the position is not less than {@link #size()}
+   */
+  @NonNull
+  public String[] toArray(int from) {
+    if (from < 0) throw new IndexOutOfBoundsException("Index: " + from + ", Size: " + this.size);
+    if (from >= this.size) return new String[0];
+    String[] array = new String[this.size - from];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = this.get(from + i);
+    }
+    return array;
+  }
+
+  /**
+   * Join the tokens from a position separating them with a single space. If the tokens were created
+   * from a line where every token is separated by a single space the string is taken directly from
+   * the line
+   *
+   * @param from the position of the first token to join
+   * @return the joined tokens, empty if the position is not less than {@link #size()}
+   */
+  @NonNull
+  public String join(int from) {
+    if (from < 0) throw new IndexOutOfBoundsException("Index: " + from + ", Size: " + this.size);
+    if (from >= this.size) return "";
+    if (this.source != null && this.isSingleSpaced(from)) {
+      return this.source
+          .subSequence(this.bounds[from * 2], this.bounds[this.size * 2 - 1])
+          .toString();
+    }
+    StringBuilder builder = new StringBuilder();
+    for (int i = from; i < this.size; i++) {
+      if (i > from) builder.append(' ');
+      builder.append(this.get(i));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Get a view of the tokens from a position
+   *
+   * @param offset the position of the first token in the view
+   * @return the view of the tokens
+   */
+  @NonNull
+  public TokensView view(int offset) {
+    return new TokensView(this, offset);
+  }
+
+  /**
+   * Get whether the tokens from a position are separated by a single space in the source
+   *
+   * @param from the position of the first token
+   * @return true if every token from the position is separated by a single space
+   */
+  private boolean isSingleSpaced(int from) {
+    for (int i = from + 1; i < this.size; i++) {
+      if (this.bounds[i * 2] - this.bounds[i * 2 - 1] != 1) return false;
+    }
+    return true;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Tokens{" + "size=" + this.size + ", string='" + this.join(0) + '\'' + '}';
+  }
+}
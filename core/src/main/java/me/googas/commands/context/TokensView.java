@@ -0,0 +1,233 @@
+package me.googas.commands.context;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A view of {@link Tokens} from a certain position. Contexts use views to give the strings of the
+ * command without copying the tokens: the array from {@link #getStrings()} and the string from
+ * {@link #getString()} are created only the first time that they are requested and then cached.
+ * {@link #getStringsFrom(int)} gives a new array each time so callers may modify it.
+ *
+ * <p>Parents give the context to their children using {@link #from(int)} which shares the same
+ * tokens so a command tree of any depth reads the same buffer.
+ *
+ * <p>The flags in the view are indexed the first time that a flag or an argument is requested.
+ * After that {@link #hasFlag(String)} and {@link #getFlagValue(String)} are a single lookup. Only
+ * the flags declared with {@link #withFlags(Collection)} are removed from the arguments given by
+ * {@link #getArgument(int)}, by default a view declares no flags so a token like {@code -world} is
+ * still an argument
+ */
+public final class TokensView {
+
+  /** The tokens that are being viewed */
+  @NonNull @Getter private final Tokens tokens;
+  /** The position of the first token in the view */
+  @Getter private final int offset;
+  /** The keys of the flags that are not arguments */
+  @NonNull private final Set<String> declared;
+
+  private String[] strings;
+  private String string;
+  private FlagIndex flags;
+
+  /**
+   * Create the view
+   *
+   * @param tokens the tokens to view
+   * @param offset the position of the first token in the view
+   */
+  public TokensView(@NonNull Tokens tokens, int offset) {
+    this(tokens, offset, Collections.emptySet());
+  }
+
+  private TokensView(@NonNull Tokens tokens, int offset, @NonNull Set<String> declared) {
+    if (offset < 0) throw new IllegalArgumentException("Offset cannot be negative: " + offset);
+    this.tokens = tokens;
+    this.offset = offset;
+    this.declared = declared;
+  }
+
+  /**
+   * Create a view of strings that were already split
+   *
+   * @param strings the strings to view
+   */
+  public TokensView(@NonNull String[] strings) {
+    this(new Tokens(strings), 0);
+    this.strings = strings;
+  }
+
+  /**
+   * Get the amount of tokens in the view
+   *
+   * @return the amount of tokens
+   */
+  public int size() {
+    return Math.max(0, this.tokens.size() - this.offset);
+  }
+
+  /**
+   * Get the token in a position of the view
+   *
+   * @param position the position of the token in the view
+   * @return the token or null if there's no token in the position
+   */
+  public String get(int position) {
+    if (position < 0 || position >= this.size()) return null;
+    return this.tokens.get(this.offset + position);
+  }
+
+  /**
+   * Get the tokens in the view as an array. The array is cached and shared by every caller so it
+   * should not be modified, use {@link #getStringsFrom(int)} to get a copy
+   *
+   * @return the tokens as an array
+   */
+  @NonNull
+  public String[] getStrings() {
+    if (this.strings == null) this.strings = this.tokens.toArray(this.offset);
+    return this.strings;
+  }
+
+  /**
+   * Get the tokens from a position of the view as a new array
+   *
+   * @param position the position of the first token in the array
+   * @return the tokens from the position, empty if there's none
+   */
+  @NonNull
+  public String[] getStringsFrom(int position) {
+    if (position < 0) throw new IndexOutOfBoundsException("Position: " + position);
+    if (position >= this.size()) return new String[0];
+    return this.tokens.toArray(this.offset + position);
+  }
+
+  /**
+   * Get a view of the same tokens starting from a position of this view
+   *
+   * @param position the position in this view where the new view starts
+   * @return the new view
+   */
+  @NonNull
+  public TokensView from(int position) {
+    return new TokensView(this.tokens, this.offset + position, this.declared);
+  }
+
+  /**
+   * Get a view of the same tokens in which the given flags are not arguments. The flags are matched
+   * ignoring case and flags with a value like {@code --key=value} are matched using only their name
+   *
+   * @param flags the flags that the command declares including their dashes
+   * @return the new view or this view if no flags are declared
+   */
+  @NonNull
+  public TokensView withFlags(@NonNull Collection<String> flags) {
+    if (flags.isEmpty() && this.declared.isEmpty()) return this;
+    Set<String> declared = new HashSet<>();
+    for (String flag : flags) {
+      declared.add(FlagIndex.getKey(flag));
+    }
+    return new TokensView(this.tokens, this.offset, declared);
+  }
+
+  /**
+   * Get the tokens in the view joined with a single space
+   *
+   * @return the joined tokens
+   */
+  @NonNull
+  public String getString() {
+    if (this.string == null) this.string = this.tokens.join(this.offset);
+    return this.string;
+  }
+
+  /**
+   * Get whether the view contains a flag ignoring case. Flags with a value like {@code --key=value}
+   * are found using only their name. If the given string is not a flag any token that is equal to
+   * it ignoring case is accepted
+   *
+   * @param flag the flag to check
+   * @return true if the view contains the flag
+   */
+  public boolean hasFlag(@NonNull String flag) {
+    if (this.getFlags().contains(flag)) return true;
+    if (Tokenizer.isFlag(flag) && flag.indexOf('=') == -1) return false;
+    for (int i = this.offset; i < this.tokens.size(); i++) {
+      if (this.tokens.equalsIgnoreCase(i, flag)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Get the value of a flag. The value of a flag is given after an equals sign like {@code
+   * --key=value}
+   *
+   * @param flag the name of the flag including its dashes
+   * @return the value of the flag or null if the flag is not in the view or it does not have a
+   *     value
+   */
+  public String getFlagValue(@NonNull String flag) {
+    return this.getFlags().getValue(flag);
+  }
+
+  /**
+   * Get the amount of tokens in the view that are not declared flags
+   *
+   * @return the amount of arguments
+   */
+  public int getArgumentsLength() {
+    return this.getFlags().getPositionalSize(this.size());
+  }
+
+  /**
+   * Get the token in a position ignoring the declared flags in the view
+   *
+   * @param position the position of the argument
+   * @return the argument or null if there's no argument in the position
+   */
+  public String getArgument(int position) {
+    if (position < 0 || position >= this.getArgumentsLength()) return null;
+    return this.tokens.get(this.getFlags().getPositional(position, this.offset));
+  }
+
+  /**
+   * Get the tokens that are not declared flags from a position as an array
+   *
+   * @param position the position of the first argument in the array
+   * @return the arguments from the position, empty if there's none
+   */
+  @NonNull
+  public String[] getArgumentsFrom(int position) {
+    FlagIndex flags = this.getFlags();
+    if (flags.isPositional()) return this.getStringsFrom(position);
+    if (position < 0) throw new IndexOutOfBoundsException("Position: " + position);
+    int size = flags.getPositionalSize(this.size());
+    if (position >= size) return new String[0];
+    String[] arguments = new String[size - position];
+    for (int i = 0; i < arguments.length; i++) {
+      arguments[i] = this.tokens.get(flags.getPositional(position + i, this.offset));
+    }
+    return arguments;
+  }
+
+  /**
+   * Get the index of flags of this view. It is built the first time that it is requested
+   *
+   * @return the index of flags
+   */
+  @NonNull
+  private FlagIndex getFlags() {
+    if (this.flags == null) this.flags = FlagIndex.of(this.tokens, this.offset, this.declared);
+    return this.flags;
+  }
+
+  @Override
+  public String toString() {
+    return "TokensView{" + "offset=" + this.offset + ", string='" + this.getString() + '\'' + '}';
+  }
+}
@@ -0,0 +1,354 @@
+package me.googas.commands.cooldown;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Keeps the cooldowns of users using primitive ids. A cooldown belongs to a user and a scope, the
+ * scope can be the id of a guild, a channel or anything that limits where the cooldown applies, use
+ * {@link #NO_SCOPE} to apply it everywhere.
+ *
+ * <p>The cooldowns are stored in an open addressing table so {@link #getRemaining(long, long)},
+ * {@link #acquire(long, long, long)} and {@link #start(long, long, long)} take constant time and do
+ * not allocate. Expired cooldowns are removed by a hashed timing wheel that is advanced by those
+ * same calls, so the memory used only depends on the cooldowns that are running. Time is measured
+ * with a monotonic clock which by default is {@link System#nanoTime()}.
+ *
+ * <p>Ids that are {@link UUID} such as the ones of Bukkit and Bungee players can be used with
+ * {@link #getId(UUID)}
+ */
+public class CooldownEngine {
+
+  /** The scope of cooldowns that apply everywhere */
+  public static final long NO_SCOPE = 0;
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** The clock used to measure time in nanoseconds */
+  @NonNull @Getter private final LongSupplier clock;
+
+  private final long tickNanos;
+  private final int wheelMask;
+  private final long origin;
+
+  // Table
+  private long[] users;
+  private long[] scopes;
+  private long[] expires;
+  private int size;
+
+  // Wheel, each slot holds triples of user, scope and expiration
+  private long[][] slots;
+  private int[] slotSizes;
+  private long tick;
+
+  /**
+   * Create the engine
+   *
+   * @param clock the monotonic clock used to measure time in nanoseconds
+   * @param tick the time that each slot of the wheel covers
+   * @param unit the unit of the tick
+   * @param wheelSize the amount of slots in the wheel, it is rounded to a power of two
+   */
+  public CooldownEngine(
+      @NonNull LongSupplier clock, long tick, @NonNull TimeUnit unit, int wheelSize) {
+    if (tick <= 0) throw new IllegalArgumentException("Tick must be positive: " + tick);
+    if (wheelSize < 1) throw new IllegalArgumentException("Wheel size must be positive");
+    this.clock = clock;
+    this.tickNanos = unit.toNanos(tick);
+    this.wheelMask = Integer.highestOneBit(Math.min(wheelSize, 1 << 29) * 2 - 1) - 1;
+    this.origin = clock.getAsLong();
+  }
+
+  /**
+   * Create the engine using {@link System#nanoTime()} and a wheel of 64 slots of one second
+   *
+   * @param clock the monotonic clock used to measure time in nanoseconds
+   */
+  public CooldownEngine(@NonNull LongSupplier clock) {
+    this(clock, 1, TimeUnit.SECONDS, 64);
+  }
+
+  /** Create the engine using {@link System#nanoTime()} and a wheel of 64 slots of one second */
+  public CooldownEngine() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * Get the id to use for a user identified by an {@link UUID}. Both halves are mixed so random
+   * uuids do not collide in practice
+   *
+   * @param uuid the uuid of the user
+   * @return the id of the user
+   */
+  public static long getId(@NonNull UUID uuid) {
+    return uuid.getMostSignificantBits() ^ CooldownEngine.mix(uuid.getLeastSignificantBits());
+  }
+
+  /**
+   * Get the time left of the cooldown of a user
+   *
+   * @param user the id of the user
+   * @param scope the scope of the cooldown
+   * @return the time left in milliseconds or 0 if the user is not in cooldown
+   */
+  public synchronized long getRemaining(long user, long scope) {
+    long now = this.clock.getAsLong();
+    this.advance(now);
+    int index = this.indexOf(user, scope);
+    return index == -1 ? 0 : CooldownEngine.toMillis(this.expires[index] - now);
+  }
+
+  /**
+   * Start the cooldown of a user if it is not in cooldown already
+   *
+   * @param user the id of the user
+   * @param scope the scope of the cooldown
+   * @param millis the duration of the cooldown in milliseconds
+   * @return 0 if the cooldown started or the time left in milliseconds of the cooldown that is
+   *     running
+   */
+  public synchronized long acquire(long user, long scope, long millis) {
+    long now = this.clock.getAsLong();
+    this.advance(now);
+    int index = this.indexOf(user, scope);
+    if (index != -1) {
+      long left = CooldownEngine.toMillis(this.expires[index] - now);
+      if (left > 0) return left;
+    }
+    this.put(user, scope, now + TimeUnit.MILLISECONDS.toNanos(millis), now);
+    return 0;
+  }
+
+  /**
+   * Start the cooldown of a user. If the user is in cooldown it is replaced
+   *
+   * @param user the id of the user
+   * @param scope the scope of the cooldown
+   * @param millis the duration of the cooldown in milliseconds
+   */
+  public synchronized void start(long user, long scope, long millis) {
+    if (millis <= 0) return;
+    long now = this.clock.getAsLong();
+    this.advance(now);
+    this.put(user, scope, now + TimeUnit.MILLISECONDS.toNanos(millis), now);
+  }
+
+  /**
+   * Remove the cooldown of a user
+   *
+   * @param user the id of the user
+   * @param scope the scope of the cooldown
+   * @return true if the user was in cooldown
+   */
+  public synchronized boolean reset(long user, long scope) {
+    int index = this.indexOf(user, scope);
+    if (index == -1) return false;
+    this.remove(index);
+    return true;
+  }
+
+  /**
+   * Get the users that are in cooldown in a scope
+   *
+   * @param scope the scope of the cooldowns
+   * @return a new array with the ids of the users
+   */
+  @NonNull
+  public synchronized long[] getUsers(long scope) {
+    long now = this.clock.getAsLong();
+    this.advance(now);
+    if (this.users == null) return new long[0];
+    long[] found = new long[this.size];
+    int amount = 0;
+    for (int i = 0; i < this.users.length; i++) {
+      if (this.expires[i] != CooldownEngine.EMPTY
+          && this.scopes[i] == scope
+          && this.expires[i] - now > 0) {
+        found[amount++] = this.users[i];
+      }
+    }
+    return Arrays.copyOf(found, amount);
+  }
+
+  /**
+   * Get the amount of cooldowns stored. Expired cooldowns are counted until the wheel removes them
+   *
+   * @return the amount of cooldowns stored
+   */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * Advance the wheel to the current time removing the cooldowns that expired. If the wheel was not
+   * advanced for a whole turn each slot is only checked once
+   *
+   * @param now the current time in nanoseconds
+   */
+  private void advance(long now) {
+    if (this.slots == null) return;
+    long current = (now - this.origin) / this.tickNanos;
+    long ticks = Math.min(current - this.tick, this.wheelMask + 1);
+    for (long i = 1; i <= ticks; i++) {
+      this.expire((int) ((this.tick + i) & this.wheelMask), now);
+    }
+    if (current > this.tick) this.tick = current;
+  }
+
+  /**
+   * Remove the cooldowns of a slot that expired. Cooldowns that expire in a later turn of the wheel
+   * stay in the slot
+   *
+   * @param slot the slot to check
+   * @param now the current time in nanoseconds
+   */
+  private void expire(int slot, long now) {
+    long[] entries = this.slots[slot];
+    int size = this.slotSizes[slot];
+    int kept = 0;
+    for (int i = 0; i < size; i += 3) {
+      long user = entries[i];
+      long scope = entries[i + 1];
+      long expires = entries[i + 2];
+      if (expires - now > 0) {
+        entries[kept++] = user;
+        entries[kept++] = scope;
+        entries[kept++] = expires;
+        continue;
+      }
+      int index = this.indexOf(user, scope);
+      // The cooldown may have been replaced by a newer one that is in another slot
+      if (index != -1 && this.expires[index] == expires) this.remove(index);
+    }
+    this.slotSizes[slot] = kept;
+  }
+
+  private void put(long user, long scope, long expires, long now) {
+    if (this.users == null) this.allocate();
+    int index = this.indexOf(user, scope);
+    if (index == -1) {
+      if ((this.size + 1) * 2 > this.users.length) this.resize(this.users.length * 2);
+      index = this.slot(user, scope);
+      while (this.expires[index] != CooldownEngine.EMPTY) {
+        index = (index + 1) & (this.users.length - 1);
+      }
+      this.users[index] = user;
+      this.scopes[index] = scope;
+      this.size++;
+    }
+    this.expires[index] = expires;
+    this.schedule(user, scope, expires, now);
+  }
+
+  private void schedule(long user, long scope, long expires, long now) {
+    long expiresTick = (expires - this.origin + this.tickNanos - 1) / this.tickNanos;
+    // A slot that was already passed in the current tick would wait a whole turn
+    if (expiresTick <= this.tick) expiresTick = this.tick + 1;
+    int slot = (int) (expiresTick & this.wheelMask);
+    long[] entries = this.slots[slot];
+    int size = this.slotSizes[slot];
+    if (size + 3 > entries.length) {
+      long[] grown = new long[Math.max(entries.length * 2, 6)];
+      System.arraycopy(entries, 0, grown, 0, size);
+      entries = grown;
+      this.slots[slot] = entries;
+    }
+    entries[size] = user;
+    entries[size + 1] = scope;
+    entries[size + 2] = expires;
+    this.slotSizes[slot] = size + 3;
+  }
+
+  private int indexOf(long user, long scope) {
+    if (this.users == null) return -1;
+    int mask = this.users.length - 1;
+    int index = this.slot(user, scope);
+    while (this.expires[index] != CooldownEngine.EMPTY) {
+      if (this.users[index] == user && this.scopes[index] == scope) return index;
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Remove an entry of the table shifting back the entries that follow it so probing does not need
+   * tombstones
+   *
+   * @param index the index of the entry to remove
+   */
+  private void remove(int index) {
+    int mask = this.users.length - 1;
+    int hole = index;
+    int next = (hole + 1) & mask;
+    while (this.expires[next] != CooldownEngine.EMPTY) {
+      int home = this.slot(this.users[next], this.scopes[next]);
+      // Move the entry if the hole is between its home and its position
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        this.users[hole] = this.users[next];
+        this.scopes[hole] = this.scopes[next];
+        this.expires[hole] = this.expires[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    this.expires[hole] = CooldownEngine.EMPTY;
+    this.size--;
+  }
+
+  private void allocate() {
+    this.users = new long[CooldownEngine.INITIAL_CAPACITY];
+    this.scopes = new long[CooldownEngine.INITIAL_CAPACITY];
+    this.expires = new long[CooldownEngine.INITIAL_CAPACITY];
+    Arrays.fill(this.expires, CooldownEngine.EMPTY);
+    this.slots = new long[this.wheelMask + 1][];
+    this.slotSizes = new int[this.wheelMask + 1];
+    for (int i = 0; i < this.slots.length; i++) {
+      this.slots[i] = new long[0];
+    }
+    this.tick = (this.clock.getAsLong() - this.origin) / this.tickNanos;
+  }
+
+  private void resize(int capacity) {
+    long[] users = this.users;
+    long[] scopes = this.scopes;
+    long[] expires = this.expires;
+    this.users = new long[capacity];
+    this.scopes = new long[capacity];
+    this.expires = new long[capacity];
+    Arrays.fill(this.expires, CooldownEngine.EMPTY);
+    int mask = capacity - 1;
+    for (int i = 0; i < users.length; i++) {
+      if (expires[i] == CooldownEngine.EMPTY) continue;
+      int index = this.slot(users[i], scopes[i]);
+      while (this.expires[index] != CooldownEngine.EMPTY) {
+        index = (index + 1) & mask;
+      }
+      this.users[index] = users[i];
+      this.scopes[index] = scopes[i];
+      this.expires[index] = expires[i];
+    }
+  }
+
+  private int slot(long user, long scope) {
+    return (int) CooldownEngine.mix(user * 31 + scope) & (this.users.length - 1);
+  }
+
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    return value ^ (value >>> 33);
+  }
+
+  private static long toMillis(long nanos) {
+    if (nanos <= 0) return 0;
+    return (nanos + 999_999) / 1_000_000;
+  }
+}
@@ -0,0 +1,152 @@
+package me.googas.commands.cooldown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Token buckets keyed by primitive ids used to limit how often something can be done. Each bucket
+ * holds up to {@link #getBurst()} tokens and gets a new one every refill period, {@link
+ * #tryAcquire(long)} takes a token if there's any.
+ *
+ * <p>A bucket is a single long, the time at which it would be full again, which is updated with a
+ * compare and set so acquiring is lock free and does not allocate. Buckets live in a table of fixed
+ * size: a bucket that is full again is the same as a new bucket so its slot can be taken by another
+ * id, which means idle ids are evicted without a sweep and the memory used never grows. If every
+ * slot that an id may use belongs to a bucket in use the id is allowed
+ */
+public class TokenBuckets {
+
+  private static final int PROBES = 8;
+  private static final int RETRIES = 4;
+
+  /** The clock used to measure time in nanoseconds */
+  @NonNull @Getter private final LongSupplier clock;
+  /** The maximum amount of tokens of a bucket */
+  @Getter private final int burst;
+
+  private final long interval;
+  private final long tolerance;
+  private final long origin;
+  private final int mask;
+  @NonNull private final AtomicLongArray ids;
+  @NonNull private final AtomicLongArray full;
+
+  /**
+   * Create the buckets
+   *
+   * @param clock the monotonic clock used to measure time in nanoseconds
+   * @param burst the maximum amount of tokens of a bucket
+   * @param refill the time to get a new token
+   * @param unit the unit of the refill time
+   * @param size the amount of buckets in the table, it is rounded to a power of two
+   */
+  public TokenBuckets(
+      @NonNull LongSupplier clock, int burst, long refill, @NonNull TimeUnit unit, int size) {
+    if (burst < 1) throw new IllegalArgumentException("Burst must be at least 1: " + burst);
+    if (refill <= 0) throw new IllegalArgumentException("Refill must be positive: " + refill);
+    if (size < 1) throw new IllegalArgumentException("Size must be positive: " + size);
+    this.clock = clock;
+    this.burst = burst;
+    this.interval = unit.toNanos(refill);
+    this.tolerance = this.interval * burst;
+    // The origin is in the past so that the time of empty slots is already full
+    this.origin = clock.getAsLong() - 1;
+    int capacity = Integer.highestOneBit(Math.min(size, 1 << 29) * 2 - 1);
+    this.mask = capacity - 1;
+    this.ids = new AtomicLongArray(capacity);
+    this.full = new AtomicLongArray(capacity);
+  }
+
+  /**
+   * Create the buckets using {@link System#nanoTime()}
+   *
+   * @param burst the maximum amount of tokens of a bucket
+   * @param refill the time to get a new token
+   * @param unit the unit of the refill time
+   * @param size the amount of buckets in the table, it is rounded to a power of two
+   */
+  public TokenBuckets(int burst, long refill, @NonNull TimeUnit unit, int size) {
+    this(System::nanoTime, burst, refill, unit, size);
+  }
+
+  /**
+   * Take a token from the bucket of an id
+   *
+   * @param id the id of the bucket, it cannot be 0
+   * @return true if there was a token to take
+   */
+  public boolean tryAcquire(long id) {
+    if (id == 0) throw new IllegalArgumentException("Id cannot be 0");
+    long now = this.clock.getAsLong() - this.origin;
+    int start = TokenBuckets.hash(id);
+    for (int retry = 0; retry < TokenBuckets.RETRIES; retry++) {
+      int free = -1;
+      long freeOwner = 0;
+      for (int i = 0; i < TokenBuckets.PROBES; i++) {
+        int slot = (start + i) & this.mask;
+        long owner = this.ids.get(slot);
+        if (owner == id) return this.consume(slot, now);
+        if (free == -1 && (owner == 0 || this.full.get(slot) - now <= 0)) {
+          free = slot;
+          freeOwner = owner;
+        }
+      }
+      if (free == -1) return true;
+      if (this.ids.compareAndSet(free, freeOwner, id)) return this.consume(free, now);
+    }
+    return true;
+  }
+
+  /**
+   * Give back a token to the bucket of an id. This is used to undo {@link #tryAcquire(long)} when
+   * the token was not used, nothing is done if the bucket is already full
+   *
+   * @param id the id of the bucket, it cannot be 0
+   */
+  public void refund(long id) {
+    if (id == 0) throw new IllegalArgumentException("Id cannot be 0");
+    long now = this.clock.getAsLong() - this.origin;
+    int start = TokenBuckets.hash(id);
+    for (int i = 0; i < TokenBuckets.PROBES; i++) {
+      int slot = (start + i) & this.mask;
+      if (this.ids.get(slot) != id) continue;
+      while (true) {
+        long full = this.full.get(slot);
+        if (full - now <= 0 || this.full.compareAndSet(slot, full, full - this.interval)) return;
+      }
+    }
+  }
+
+  /**
+   * Get the amount of buckets that are not full
+   *
+   * @return the amount of buckets in use
+   */
+  public int size() {
+    long now = this.clock.getAsLong() - this.origin;
+    int size = 0;
+    for (int i = 0; i <= this.mask; i++) {
+      if (this.ids.get(i) != 0 && this.full.get(i) - now > 0) size++;
+    }
+    return size;
+  }
+
+  private boolean consume(int slot, long now) {
+    while (true) {
+      long full = this.full.get(slot);
+      long next = (full - now > 0 ? full : now) + this.interval;
+      if (next - now > this.tolerance) return false;
+      if (this.full.compareAndSet(slot, full, next)) return true;
+    }
+  }
+
+  private static int hash(long id) {
+    id ^= id >>> 33;
+    id *= 0xff51afd7ed558ccdL;
+    id ^= id >>> 33;
+    return (int) id;
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * This package contains the {@link me.googas.commands.cooldown.CooldownEngine} which keeps the
+ * cooldowns of the commands of any module and the {@link me.googas.commands.cooldown.TokenBuckets}
+ * used to limit how often commands can be sent
+ */
+package me.googas.commands.cooldown;
@@ -0,0 +1,72 @@
+package me.googas.commands.execution;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.context.EasyCommandContext;
+
+/**
+ * Executes the commands in a fixed pool of threads. The commands that cannot be executed right away
+ * wait in a queue with a limited capacity, once it is full the execution is rejected and the future
+ * of the command completes exceptionally with a {@link
+ * java.util.concurrent.RejectedExecutionException}
+ */
+public class BoundedPoolStrategy implements ExecutionStrategy {
+
+  @NonNull private static final AtomicInteger POOLS = new AtomicInteger();
+
+  /** The pool that executes the commands */
+  @NonNull @Getter private final ThreadPoolExecutor executor;
+
+  /**
+   * Create the strategy
+   *
+   * @param threads the amount of threads in the pool
+   * @param queue the amount of commands that can wait for a thread
+   */
+  public BoundedPoolStrategy(int threads, int queue) {
+    if (threads < 1) throw new IllegalArgumentException("Threads must be at least 1: " + threads);
+    if (queue < 1) throw new IllegalArgumentException("Queue must be at least 1: " + queue);
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queue),
+            BoundedPoolStrategy.getThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @NonNull
+  private static ThreadFactory getThreadFactory() {
+    int pool = BoundedPoolStrategy.POOLS.incrementAndGet();
+    AtomicInteger threads = new AtomicInteger();
+    return runnable -> {
+      Thread thread =
+          new Thread(runnable, "commands-pool-" + pool + "-thread-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  @Override
+  public int getQueueSize() {
+    return this.executor.getQueue().size();
+  }
+
+  /** Stop accepting commands. The commands that were already accepted are still executed */
+  public void shutdown() {
+    this.executor.shutdown();
+  }
+
+  @Override
+  public @NonNull Executor getExecutor(@NonNull EasyCommandContext context) {
+    return this.executor;
+  }
+}
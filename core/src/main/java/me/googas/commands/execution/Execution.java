@@ -0,0 +1,53 @@
+package me.googas.commands.execution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/** Static utilities to execute commands asynchronously */
+public final class Execution {
+
+  private Execution() {}
+
+  /**
+   * Get the stage of a command in an executor
+   *
+   * @param supplier the supplier of the stage of the command, it is called in the executor
+   * @param executor the executor where the command runs
+   * @param <R> the type of result of the command
+   * @return a future that completes when the stage does or exceptionally if the executor rejects
+   *     the command
+   */
+  @NonNull
+  public static <R> CompletableFuture<R> supply(
+      @NonNull Supplier<? extends CompletionStage<? extends R>> supplier,
+      @NonNull Executor executor) {
+    ExecutionTask<R> task = new ExecutionTask<>(supplier);
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.getFuture().completeExceptionally(e);
+    }
+    return task.getFuture();
+  }
+
+  /**
+   * Get the cause of the exceptions that stages use to wrap the exceptions of their actions
+   *
+   * @param throwable the throwable to unwrap
+   * @return the cause of the throwable or the same throwable if it is not a wrapper
+   */
+  @NonNull
+  public static Throwable unwrap(@NonNull Throwable throwable) {
+    while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+        && throwable.getCause() != null) {
+      throwable = throwable.getCause();
+    }
+    return throwable;
+  }
+}
@@ -0,0 +1,70 @@
+package me.googas.commands.execution;
+
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import lombok.NonNull;
+import me.googas.commands.context.EasyCommandContext;
+
+/**
+ * Decides in which {@link Executor} a command is executed by {@link
+ * me.googas.commands.EasyCommand#executeAsync(EasyCommandContext, ExecutionStrategy)}. The
+ * strategies included are:
+ *
+ * <ul>
+ *   <li>{@link #CALLER} which executes the command in the thread that requested the execution
+ *   <li>{@link BoundedPoolStrategy} which executes the commands in a pool of threads with a limited
+ *       queue
+ *   <li>{@link SerialStrategy} which executes the commands of the same key, for instance the same
+ *       sender, one after the other
+ * </ul>
+ */
+public interface ExecutionStrategy {
+
+  /** Executes the command in the thread that requested the execution */
+  ExecutionStrategy CALLER = context -> Runnable::run;
+
+  /**
+   * Create a strategy that executes the commands in a pool of threads
+   *
+   * @param threads the amount of threads in the pool
+   * @param queue the amount of commands that can wait for a thread, when the queue is full the
+   *     execution is rejected
+   * @return the new strategy
+   */
+  @NonNull
+  static BoundedPoolStrategy bounded(int threads, int queue) {
+    return new BoundedPoolStrategy(threads, queue);
+  }
+
+  /**
+   * Create a strategy that executes the commands that share the same key one after the other
+   *
+   * @param key the function to get the key from the context, for instance the sender
+   * @param executor the executor where the commands are executed
+   * @return the new strategy
+   */
+  @NonNull
+  static SerialStrategy serial(
+      @NonNull Function<EasyCommandContext, Object> key, @NonNull Executor executor) {
+    return new SerialStrategy(key, executor);
+  }
+
+  /**
+   * Get the executor for the command execution
+   *
+   * @param context the context of the command that will be executed
+   * @return the executor that will execute the command
+   */
+  @NonNull
+  Executor getExecutor(@NonNull EasyCommandContext context);
+
+  /**
+   * Get the amount of commands that are waiting to be executed. Strategies that do not queue
+   * commands return 0
+   *
+   * @return the amount of commands waiting
+   */
+  default int getQueueSize() {
+    return 0;
+  }
+}
@@ -0,0 +1,67 @@
+package me.googas.commands.execution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The task submitted to the executor of an {@link ExecutionStrategy}. It gets the stage of the
+ * command and completes the future with it
+ *
+ * @param <R> the type of result
+ */
+final class ExecutionTask<R> implements Runnable {
+
+  @NonNull private final Supplier<? extends CompletionStage<? extends R>> supplier;
+  /** The future that is completed when the stage of the command completes */
+  @NonNull @Getter private final CompletableFuture<R> future = new CompletableFuture<>();
+
+  ExecutionTask(@NonNull Supplier<? extends CompletionStage<? extends R>> supplier) {
+    this.supplier = supplier;
+  }
+
+  /**
+   * Complete the future of a task that could not be executed
+   *
+   * @param task the task that was rejected
+   * @param e the reason why the task was rejected
+   */
+  static void reject(@NonNull Runnable task, @NonNull Throwable e) {
+    if (task instanceof ExecutionTask) ((ExecutionTask<?>) task).future.completeExceptionally(e);
+  }
+
+  /**
+   * Run an action once a task finishes. Execution tasks finish when their future completes, other
+   * tasks are finished once they ran so the action runs right away
+   *
+   * @param task the task that ran
+   * @param action the action to run
+   */
+  static void whenFinished(@NonNull Runnable task, @NonNull Runnable action) {
+    if (task instanceof ExecutionTask) {
+      ((ExecutionTask<?>) task).future.whenComplete((result, e) -> action.run());
+    } else {
+      action.run();
+    }
+  }
+
+  @Override
+  public void run() {
+    try {
+      this.supplier
+          .get()
+          .whenComplete(
+              (result, e) -> {
+                if (e != null) {
+                  this.future.completeExceptionally(Execution.unwrap(e));
+                } else {
+                  this.future.complete(result);
+                }
+              });
+    } catch (Throwable e) {
+      this.future.completeExceptionally(e);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package me.googas.commands.execution;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.context.EasyCommandContext;
+
+/**
+ * Executes the commands that share the same key one after the other while commands with different
+ * keys may run at the same time. Using the sender as key makes the commands of each sender run in
+ * the order that they were sent.
+ *
+ * <p>Each key only has an entry while it has commands running or waiting, once the last one
+ * finishes the entry is removed. A command finishes when its stage completes, not when its method
+ * returns, so commands that give a stage that completes later still run one after the other. The
+ * executor where the commands run should be asynchronous as each command submits the next one when
+ * it finishes
+ */
+public class SerialStrategy implements ExecutionStrategy {
+
+  @NonNull private final Function<EasyCommandContext, Object> key;
+  /** The executor where the commands run */
+  @NonNull @Getter private final Executor executor;
+  /** The commands waiting for each key that has a command running */
+  @NonNull
+  private final ConcurrentMap<Object, ArrayDeque<Runnable>> waiting = new ConcurrentHashMap<>();
+
+  /**
+   * Create the strategy
+   *
+   * @param key the function to get the key from the context
+   * @param executor the executor where the commands run
+   */
+  public SerialStrategy(
+      @NonNull Function<EasyCommandContext, Object> key, @NonNull Executor executor) {
+    this.key = key;
+    this.executor = executor;
+  }
+
+  /**
+   * Get the amount of keys that have commands running
+   *
+   * @return the amount of keys
+   */
+  public int size() {
+    return this.waiting.size();
+  }
+
+  /**
+   * Execute a command after the commands of the key finish
+   *
+   * @param key the key of the command
+   * @param task the command to execute
+   */
+  private void execute(@NonNull Object key, @NonNull Runnable task) {
+    boolean[] first = new boolean[1];
+    this.waiting.compute(
+        key,
+        (k, queue) -> {
+          if (queue == null) {
+            first[0] = true;
+            return new ArrayDeque<>();
+          }
+          queue.add(task);
+          return queue;
+        });
+    if (first[0]) this.submit(key, task);
+  }
+
+  /**
+   * Submit a command to the executor, when it finishes the next command of the key is submitted.
+   * Commands submitted by {@link Execution#supply(java.util.function.Supplier, Executor)} finish
+   * when their stage completes. If the executor rejects the command the next one is submitted right
+   * away
+   *
+   * @param key the key of the command
+   * @param task the command to submit or null if there's none
+   */
+  private void submit(@NonNull Object key, Runnable task) {
+    while (task != null) {
+      Runnable current = task;
+      try {
+        this.executor.execute(
+            () -> {
+              try {
+                current.run();
+              } finally {
+                ExecutionTask.whenFinished(current, () -> this.submit(key, this.poll(key)));
+              }
+            });
+        return;
+      } catch (RejectedExecutionException e) {
+        ExecutionTask.reject(current, e);
+        task = this.poll(key);
+      }
+    }
+  }
+
+  /**
+   * Get the next command of a key. If there's none the key is removed
+   *
+   * @param key the key to get the command from
+   * @return the next command or null if there's none
+   */
+  private Runnable poll(@NonNull Object key) {
+    Runnable[] next = new Runnable[1];
+    this.waiting.computeIfPresent(
+        key,
+        (k, queue) -> {
+          next[0] = queue.poll();
+          return next[0] == null ? null : queue;
+        });
+    return next[0];
+  }
+
+  @Override
+  public @NonNull Executor getExecutor(@NonNull EasyCommandContext context) {
+    Object key = this.key.apply(context);
+    return task -> this.execute(key, task);
+  }
+}
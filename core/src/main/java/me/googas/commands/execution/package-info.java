@@ -0,0 +1,6 @@
+/**
+ * This package contains the strategies used to execute commands asynchronously with {@link
+ * me.googas.commands.EasyCommand#executeAsync(me.googas.commands.context.EasyCommandContext,
+ * ExecutionStrategy)}
+ */
+package me.googas.commands.execution;
@@ -0,0 +1,69 @@
+package me.googas.commands.interceptor;
+
+import lombok.NonNull;
+import me.googas.commands.context.EasyCommandContext;
+
+/**
+ * Intercepts the execution of commands. Interceptors are added to the manager and each command
+ * parsed by it compiles them in an {@link InterceptorChain}. They may be used for caching, rate
+ * limiting, auditing, tracing or anything that must run for every command.
+ *
+ * <p>Each stage is a default method that does nothing so an interceptor only overrides the stages
+ * that it needs, the stages that are not overridden are not called at all. The objects returned by
+ * {@link #preDispatch(EasyCommandContext)}, {@link #postInvoke(EasyCommandContext, Object)} and
+ * {@link #onError(EasyCommandContext, Throwable)} are treated as if they were returned by the
+ * method of the command so they should be the result of the module such as {@code
+ * me.googas.commands.bukkit.result.Result}
+ *
+ * @param <C> the type of context of the commands
+ */
+public interface CommandInterceptor<C extends EasyCommandContext> {
+
+  /**
+   * Called before the arguments of the command are provided and after the permission and cooldown
+   * checks of the module
+   *
+   * @param context the context of the command
+   * @return an object to use as the result without executing the command or null to continue
+   */
+  default Object preDispatch(@NonNull C context) {
+    return null;
+  }
+
+  /**
+   * Called after the arguments of the command were provided and before the method is invoked
+   *
+   * @param context the context of the command
+   * @param objects the objects that will be given to the method
+   * @return the objects to give to the method, it may be the same array
+   */
+  @NonNull
+  default Object[] postResolution(@NonNull C context, @NonNull Object[] objects) {
+    return objects;
+  }
+
+  /**
+   * Called after the method was invoked. If the method returns a {@link
+   * java.util.concurrent.CompletionStage} this is called with its value once it completes
+   *
+   * @param context the context of the command
+   * @param object the object returned by the method
+   * @return the object to use as the result
+   */
+  default Object postInvoke(@NonNull C context, Object object) {
+    return object;
+  }
+
+  /**
+   * Called when the command could not be executed because an argument is missing, could not be
+   * provided or the method threw an exception
+   *
+   * @param context the context of the command
+   * @param e the exception, exceptions thrown by the method are wrapped in a {@link
+   *     java.lang.reflect.InvocationTargetException}
+   * @return an object to use as the result or null to let the module handle the exception
+   */
+  default Object onError(@NonNull C context, @NonNull Throwable e) {
+    return null;
+  }
+}
@@ -0,0 +1,173 @@
+package me.googas.commands.interceptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import lombok.NonNull;
+import me.googas.commands.context.EasyCommandContext;
+
+/**
+ * The interceptors of a command compiled in an array for each stage. Only the interceptors that
+ * override a stage are in its array so executing a stage is a loop over a plain array and stages
+ * that no interceptor overrides cost nothing. The interceptors of every stage are called in the
+ * order that they were added
+ *
+ * @param <C> the type of context of the commands
+ */
+public final class InterceptorChain<C extends EasyCommandContext> {
+
+  @SuppressWarnings("rawtypes")
+  private static final InterceptorChain EMPTY = new InterceptorChain<>(new ArrayList<>());
+
+  @NonNull private final CommandInterceptor<C>[] preDispatch;
+  @NonNull private final CommandInterceptor<C>[] postResolution;
+  @NonNull private final CommandInterceptor<C>[] postInvoke;
+  @NonNull private final CommandInterceptor<C>[] onError;
+
+  private InterceptorChain(@NonNull List<? extends CommandInterceptor<C>> interceptors) {
+    this.preDispatch =
+        InterceptorChain.filter(interceptors, "preDispatch", EasyCommandContext.class);
+    this.postResolution =
+        InterceptorChain.filter(
+            interceptors, "postResolution", EasyCommandContext.class, Object[].class);
+    this.postInvoke =
+        InterceptorChain.filter(interceptors, "postInvoke", EasyCommandContext.class, Object.class);
+    this.onError =
+        InterceptorChain.filter(interceptors, "onError", EasyCommandContext.class, Throwable.class);
+  }
+
+  /**
+   * Compile the interceptors
+   *
+   * @param interceptors the interceptors to compile
+   * @param <C> the type of context of the commands
+   * @return the compiled chain
+   */
+  @NonNull
+  public static <C extends EasyCommandContext> InterceptorChain<C> compile(
+      @NonNull Collection<? extends CommandInterceptor<C>> interceptors) {
+    if (interceptors.isEmpty()) return InterceptorChain.empty();
+    return new InterceptorChain<>(new ArrayList<>(interceptors));
+  }
+
+  /**
+   * Get the chain that does not have interceptors
+   *
+   * @param <C> the type of context of the commands
+   * @return the empty chain
+   */
+  @NonNull
+  @SuppressWarnings("unchecked")
+  public static <C extends EasyCommandContext> InterceptorChain<C> empty() {
+    return (InterceptorChain<C>) InterceptorChain.EMPTY;
+  }
+
+  @NonNull
+  @SuppressWarnings("unchecked")
+  private static <C extends EasyCommandContext> CommandInterceptor<C>[] filter(
+      @NonNull List<? extends CommandInterceptor<C>> interceptors,
+      @NonNull String stage,
+      @NonNull Class<?>... parameters) {
+    List<CommandInterceptor<C>> filtered = new ArrayList<>();
+    for (CommandInterceptor<C> interceptor : interceptors) {
+      if (InterceptorChain.overrides(interceptor.getClass(), stage, parameters)) {
+        filtered.add(interceptor);
+      }
+    }
+    return filtered.toArray(new CommandInterceptor[0]);
+  }
+
+  private static boolean overrides(
+      @NonNull Class<?> type, @NonNull String stage, @NonNull Class<?>... parameters) {
+    try {
+      return type.getMethod(stage, parameters).getDeclaringClass() != CommandInterceptor.class;
+    } catch (NoSuchMethodException e) {
+      return true;
+    }
+  }
+
+  /**
+   * Run the pre dispatch stage
+   *
+   * @param context the context of the command
+   * @return the first object given by an interceptor or null if the command must be executed
+   */
+  public Object preDispatch(@NonNull C context) {
+    for (CommandInterceptor<C> interceptor : this.preDispatch) {
+      Object object = interceptor.preDispatch(context);
+      if (object != null) return object;
+    }
+    return null;
+  }
+
+  /**
+   * Run the post resolution stage
+   *
+   * @param context the context of the command
+   * @param objects the objects provided for the method
+   * @return the objects to give to the method
+   */
+  @NonNull
+  public Object[] postResolution(@NonNull C context, @NonNull Object[] objects) {
+    for (CommandInterceptor<C> interceptor : this.postResolution) {
+      objects = interceptor.postResolution(context, objects);
+    }
+    return objects;
+  }
+
+  /**
+   * Run the post invoke stage
+   *
+   * @param context the context of the command
+   * @param object the object returned by the method
+   * @return the object to use as the result
+   */
+  public Object postInvoke(@NonNull C context, Object object) {
+    for (CommandInterceptor<C> interceptor : this.postInvoke) {
+      object = interceptor.postInvoke(context, object);
+    }
+    return object;
+  }
+
+  /**
+   * Run the error stage
+   *
+   * @param context the context of the command
+   * @param e the exception that made the command fail
+   * @return the first object given by an interceptor or null if the module must handle the error
+   */
+  public Object onError(@NonNull C context, @NonNull Throwable e) {
+    for (CommandInterceptor<C> interceptor : this.onError) {
+      Object object = interceptor.onError(context, e);
+      if (object != null) return object;
+    }
+    return null;
+  }
+
+  /**
+   * Get whether the chain does not have interceptors
+   *
+   * @return true if there are no interceptors
+   */
+  public boolean isEmpty() {
+    return this.preDispatch.length == 0
+        && this.postResolution.length == 0
+        && this.postInvoke.length == 0
+        && this.onError.length == 0;
+  }
+
+  @Override
+  public String toString() {
+    return "InterceptorChain{"
+        + "preDispatch="
+        + Arrays.toString(this.preDispatch)
+        + ", postResolution="
+        + Arrays.toString(this.postResolution)
+        + ", postInvoke="
+        + Arrays.toString(this.postInvoke)
+        + ", onError="
+        + Arrays.toString(this.onError)
+        + '}';
+  }
+}
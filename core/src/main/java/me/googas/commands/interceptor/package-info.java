@@ -0,0 +1,6 @@
+/**
+ * This package contains the {@link me.googas.commands.interceptor.CommandInterceptor} which can be
+ * added to the managers to run code in the stages of the execution of the commands and the {@link
+ * me.googas.commands.interceptor.InterceptorChain} that each command compiles from them
+ */
+package me.googas.commands.interceptor;
@@ -0,0 +1,89 @@
+package me.googas.commands.invoker;
+
+import java.lang.reflect.InvocationTargetException;
+import lombok.NonNull;
+
+/**
+ * An invoker is the object that calls the method of a {@link me.googas.commands.ReflectCommand}. It
+ * is created once the command is parsed by an {@link InvokerFactory} this way the lookups required
+ * to call the method are done at registration instead of each time the command is executed
+ *
+ * <p>The exceptions thrown by the invoker are the same ones that {@link
+ * java.lang.reflect.Method#invoke(Object, Object...)} throws so the implementations of commands can
+ * handle them the same way
+ */
+public interface CommandInvoker {
+
+  /**
+   * Invoke the method of the command
+   *
+   * @param objects the objects to use as parameters for the method
+   * @return the object that the method returned or null if it is void
+   * @throws IllegalAccessException if the method cannot be accessed
+   * @throws IllegalArgumentException if the amount or the types of the objects do not match the
+   *     parameters of the method
+   * @throws InvocationTargetException if the method threw an exception. The exception thrown by the
+   *     method can be get using {@link InvocationTargetException#getTargetException()}
+   */
+  Object invoke(@NonNull Object... objects)
+      throws IllegalAccessException, InvocationTargetException;
+
+  /**
+   * Check that the objects can be used as the parameters of a method, the same way that {@link
+   * java.lang.reflect.Method#invoke(Object, Object...)} checks them. Invokers that call the method
+   * directly check the objects before the call so a wrong object is not mistaken with an exception
+   * thrown by the method
+   *
+   * @param parameterTypes the parameter types of the method
+   * @param objects the objects to use as parameters
+   * @throws IllegalArgumentException if the amount of objects is not the amount of parameters, an
+   *     object is not an instance of its parameter type or null is given for a primitive
+   */
+  static void checkArguments(@NonNull Class<?>[] parameterTypes, @NonNull Object[] objects) {
+    if (objects.length != parameterTypes.length) {
+      throw new IllegalArgumentException(
+          "Wrong number of arguments: expected "
+              + parameterTypes.length
+              + " but got "
+              + objects.length);
+    }
+    for (int i = 0; i < objects.length; i++) {
+      Object object = objects[i];
+      Class<?> type = parameterTypes[i];
+      if (object == null) {
+        if (type.isPrimitive()) {
+          throw new IllegalArgumentException(
+              "Argument " + i + " cannot be null for the primitive type " + type);
+        }
+      } else if (!CommandInvoker.box(type).isInstance(object)) {
+        throw new IllegalArgumentException(
+            "Argument type mismatch: argument "
+                + i
+                + " must be "
+                + type.getName()
+                + " but was "
+                + object.getClass().getName());
+      }
+    }
+  }
+
+  /**
+   * Get the wrapper class of a primitive type
+   *
+   * @param type the type to box
+   * @return the wrapper of the type or the same type if it is not primitive
+   */
+  @NonNull
+  static Class<?> box(@NonNull Class<?> type) {
+    if (!type.isPrimitive()) return type;
+    if (type == int.class) return Integer.class;
+    if (type == long.class) return Long.class;
+    if (type == double.class) return Double.class;
+    if (type == float.class) return Float.class;
+    if (type == boolean.class) return Boolean.class;
+    if (type == byte.class) return Byte.class;
+    if (type == short.class) return Short.class;
+    if (type == char.class) return Character.class;
+    return Void.class;
+  }
+}
@@ -0,0 +1,47 @@
+package me.googas.commands.invoker;
+
+import java.lang.reflect.Method;
+import lombok.NonNull;
+
+/**
+ * This factory creates the {@link CommandInvoker} for the methods of {@link
+ * me.googas.commands.ReflectCommand}. The factory can be changed in each {@link
+ * me.googas.commands.EasyCommandManager} to change how the commands are invoked
+ *
+ * <p>{@link #COMPILED} is the default one and {@link #REFLECT} can be used in case the compiled
+ * invokers give any problem
+ */
+public interface InvokerFactory {
+
+  /** Creates invokers that use {@link Method#invoke(Object, Object...)} */
+  @NonNull InvokerFactory REFLECT = ReflectInvoker::new;
+
+  /**
+   * Creates {@link LambdaInvoker} if the method {@link LambdaInvoker#isSupported(Method)} else it
+   * will create a {@link MethodHandleInvoker} and in case that the method cannot be accessed using
+   * a {@link java.lang.invoke.MethodHandle} it will fallback to {@link ReflectInvoker}
+   */
+  @NonNull
+  InvokerFactory COMPILED =
+      (method, object) -> {
+        try {
+          if (LambdaInvoker.isSupported(method)) return LambdaInvoker.of(method, object);
+        } catch (IllegalAccessException ignored) {
+        }
+        try {
+          return MethodHandleInvoker.of(method, object);
+        } catch (IllegalAccessException e) {
+          return new ReflectInvoker(method, object);
+        }
+      };
+
+  /**
+   * Create the invoker for a method
+   *
+   * @param method the method that the invoker has to call
+   * @param object the instance of the object to invoke the method
+   * @return the invoker for the method
+   */
+  @NonNull
+  CommandInvoker create(@NonNull Method method, @NonNull Object object);
+}
@@ -0,0 +1,288 @@
+package me.googas.commands.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import lombok.NonNull;
+
+/**
+ * This invoker uses a functional interface that is implemented by the {@link LambdaMetafactory}.
+ * The implementation calls the method of the command directly, the same as a method reference, so
+ * the JIT can inline it.
+ *
+ * <p>It only works with public methods of public classes which can be seen by the class loader of
+ * the framework and that have up to {@link #MAX_PARAMETERS} parameters. Use {@link
+ * #isSupported(Method)} to check if a method can be invoked by this
+ */
+public final class LambdaInvoker implements CommandInvoker {
+
+  /** The max number of parameters that a method can have to be invoked using this */
+  public static final int MAX_PARAMETERS = 6;
+
+  @NonNull private final Object function;
+  @NonNull private final Class<?>[] parameterTypes;
+  private final int parameters;
+  private final boolean returns;
+
+  private LambdaInvoker(
+      @NonNull Object function, @NonNull Class<?>[] parameterTypes, boolean returns) {
+    this.function = function;
+    this.parameterTypes = parameterTypes;
+    this.parameters = parameterTypes.length;
+    this.returns = returns;
+  }
+
+  /**
+   * Check whether the method can be invoked using this
+   *
+   * @param method the method to check
+   * @return true if the method can be invoked
+   */
+  public static boolean isSupported(@NonNull Method method) {
+    if (method.getParameterCount() > LambdaInvoker.MAX_PARAMETERS
+        || !Modifier.isPublic(method.getModifiers())
+        || !LambdaInvoker.isVisible(method.getDeclaringClass())
+        || !LambdaInvoker.isVisible(method.getReturnType())) {
+      return false;
+    }
+    for (Class<?> parameter : method.getParameterTypes()) {
+      if (!LambdaInvoker.isVisible(parameter)) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Check if a class is public and can be seen from the class loader of this class. The
+   * implementation of the functional interface is defined in that class loader so it must be able
+   * to link the method
+   *
+   * @param clazz the class to check
+   * @return true if the class is visible
+   */
+  private static boolean isVisible(@NonNull Class<?> clazz) {
+    while (clazz.isArray()) clazz = clazz.getComponentType();
+    if (clazz.isPrimitive()) return true;
+    if (!Modifier.isPublic(clazz.getModifiers())) return false;
+    try {
+      return Class.forName(clazz.getName(), false, LambdaInvoker.class.getClassLoader()) == clazz;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Create the invoker for a method
+   *
+   * @param method the method to create the invoker for
+   * @param object the instance of the object to invoke the method
+   * @return the invoker for the method
+   * @throws IllegalAccessException if the method is not {@link #isSupported(Method)} or the
+   *     functional interface could not be implemented
+   */
+  @NonNull
+  public static LambdaInvoker of(@NonNull Method method, @NonNull Object object)
+      throws IllegalAccessException {
+    if (!LambdaInvoker.isSupported(method)) {
+      throw new IllegalAccessException(method + " cannot be invoked using a lambda");
+    }
+    int parameters = method.getParameterCount();
+    boolean returns = method.getReturnType() != Void.TYPE;
+    boolean isStatic = Modifier.isStatic(method.getModifiers());
+    Class<?> type = LambdaInvoker.getInterface(parameters, returns);
+    Class<?>[] erased = new Class<?>[parameters];
+    Arrays.fill(erased, Object.class);
+    MethodType instantiated =
+        MethodType.methodType(method.getReturnType(), method.getParameterTypes()).wrap();
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              returns ? "apply" : "accept",
+              isStatic
+                  ? MethodType.methodType(type)
+                  : MethodType.methodType(type, method.getDeclaringClass()),
+              MethodType.methodType(returns ? Object.class : Void.TYPE, erased),
+              lookup.unreflect(method),
+              returns ? instantiated : instantiated.changeReturnType(Void.TYPE));
+      Object function = isStatic ? site.getTarget().invoke() : site.getTarget().invoke(object);
+      return new LambdaInvoker(function, method.getParameterTypes(), returns);
+    } catch (Throwable e) {
+      IllegalAccessException exception =
+          new IllegalAccessException(method + " could not be linked to a lambda");
+      exception.initCause(e);
+      throw exception;
+    }
+  }
+
+  /**
+   * Get the functional interface for a method
+   *
+   * @param parameters the number of parameters of the method
+   * @param returns whether the method returns an object
+   * @return the functional interface
+   */
+  @NonNull
+  private static Class<?> getInterface(int parameters, boolean returns) {
+    switch (parameters) {
+      case 0:
+        return returns ? Function0.class : Consumer0.class;
+      case 1:
+        return returns ? Function1.class : Consumer1.class;
+      case 2:
+        return returns ? Function2.class : Consumer2.class;
+      case 3:
+        return returns ? Function3.class : Consumer3.class;
+      case 4:
+        return returns ? Function4.class : Consumer4.class;
+      case 5:
+        return returns ? Function5.class : Consumer5.class;
+      case 6:
+        return returns ? Function6.class : Consumer6.class;
+      default:
+        throw new IllegalArgumentException("Unsupported number of parameters: " + parameters);
+    }
+  }
+
+  @Override
+  public Object invoke(@NonNull Object... objects) throws InvocationTargetException {
+    CommandInvoker.checkArguments(this.parameterTypes, objects);
+    try {
+      return this.apply(objects);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  private Object apply(@NonNull Object[] objects) {
+    switch (this.parameters) {
+      case 0:
+        if (this.returns) return ((Function0) this.function).apply();
+        ((Consumer0) this.function).accept();
+        return null;
+      case 1:
+        if (this.returns) return ((Function1) this.function).apply(objects[0]);
+        ((Consumer1) this.function).accept(objects[0]);
+        return null;
+      case 2:
+        if (this.returns) return ((Function2) this.function).apply(objects[0], objects[1]);
+        ((Consumer2) this.function).accept(objects[0], objects[1]);
+        return null;
+      case 3:
+        if (this.returns)
+          return ((Function3) this.function).apply(objects[0], objects[1], objects[2]);
+        ((Consumer3) this.function).accept(objects[0], objects[1], objects[2]);
+        return null;
+      case 4:
+        if (this.returns)
+          return ((Function4) this.function).apply(objects[0], objects[1], objects[2], objects[3]);
+        ((Consumer4) this.function).accept(objects[0], objects[1], objects[2], objects[3]);
+        return null;
+      case 5:
+        if (this.returns)
+          return ((Function5) this.function)
+              .apply(objects[0], objects[1], objects[2], objects[3], objects[4]);
+        ((Consumer5) this.function)
+            .accept(objects[0], objects[1], objects[2], objects[3], objects[4]);
+        return null;
+      case 6:
+        if (this.returns)
+          return ((Function6) this.function)
+              .apply(objects[0], objects[1], objects[2], objects[3], objects[4], objects[5]);
+        ((Consumer6) this.function)
+            .accept(objects[0], objects[1], objects[2], objects[3], objects[4], objects[5]);
+        return null;
+      default:
+        throw new IllegalStateException("Unsupported number of parameters: " + this.parameters);
+    }
+  }
+
+  /** A function with 0 parameters */
+  @FunctionalInterface
+  interface Function0 {
+    Object apply();
+  }
+
+  /** A function with 1 parameters */
+  @FunctionalInterface
+  interface Function1 {
+    Object apply(Object a);
+  }
+
+  /** A function with 2 parameters */
+  @FunctionalInterface
+  interface Function2 {
+    Object apply(Object a, Object b);
+  }
+
+  /** A function with 3 parameters */
+  @FunctionalInterface
+  interface Function3 {
+    Object apply(Object a, Object b, Object c);
+  }
+
+  /** A function with 4 parameters */
+  @FunctionalInterface
+  interface Function4 {
+    Object apply(Object a, Object b, Object c, Object d);
+  }
+
+  /** A function with 5 parameters */
+  @FunctionalInterface
+  interface Function5 {
+    Object apply(Object a, Object b, Object c, Object d, Object e);
+  }
+
+  /** A function with 6 parameters */
+  @FunctionalInterface
+  interface Function6 {
+    Object apply(Object a, Object b, Object c, Object d, Object e, Object f);
+  }
+
+  /** A function with 0 parameters that does not return anything */
+  @FunctionalInterface
+  interface Consumer0 {
+    void accept();
+  }
+
+  /** A function with 1 parameters that does not return anything */
+  @FunctionalInterface
+  interface Consumer1 {
+    void accept(Object a);
+  }
+
+  /** A function with 2 parameters that does not return anything */
+  @FunctionalInterface
+  interface Consumer2 {
+    void accept(Object a, Object b);
+  }
+
+  /** A function with 3 parameters that does not return anything */
+  @FunctionalInterface
+  interface Consumer3 {
+    void accept(Object a, Object b, Object c);
+  }
+
+  /** A function with 4 parameters that does not return anything */
+  @FunctionalInterface
+  interface Consumer4 {
+    void accept(Object a, Object b, Object c, Object d);
+  }
+
+  /** A function with 5 parameters that does not return anything */
+  @FunctionalInterface
+  interface Consumer5 {
+    void accept(Object a, Object b, Object c, Object d, Object e);
+  }
+
+  /** A function with 6 parameters that does not return anything */
+  @FunctionalInterface
+  interface Consumer6 {
+    void accept(Object a, Object b, Object c, Object d, Object e, Object f);
+  }
+}
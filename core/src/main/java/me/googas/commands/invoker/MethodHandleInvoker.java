@@ -0,0 +1,67 @@
+package me.googas.commands.invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * This invoker uses a {@link MethodHandle} which is bound to the object of the command and adapted
+ * to receive the parameters as an array. Unlike {@link Method#invoke(Object, Object...)} the access
+ * checks are done once when the invoker is created and the handle can be inlined by the JIT
+ */
+public class MethodHandleInvoker implements CommandInvoker {
+
+  /** The type that every handle is adapted to */
+  @NonNull
+  private static final MethodType TYPE = MethodType.methodType(Object.class, Object[].class);
+
+  @NonNull @Getter private final MethodHandle handle;
+  @NonNull private final Class<?>[] parameterTypes;
+
+  /**
+   * Create the invoker
+   *
+   * @param handle the handle to invoke. It must be of the type (Object[])Object
+   * @param parameterTypes the parameter types of the method to check the objects before the call
+   */
+  public MethodHandleInvoker(@NonNull MethodHandle handle, @NonNull Class<?>[] parameterTypes) {
+    this.handle = handle;
+    this.parameterTypes = parameterTypes;
+  }
+
+  /**
+   * Create the invoker for a method. If the method is not static the handle will be bound to the
+   * object
+   *
+   * @param method the method to create the invoker for
+   * @param object the instance of the object to invoke the method
+   * @return the invoker for the method
+   * @throws IllegalAccessException if the method cannot be accessed
+   */
+  @NonNull
+  public static MethodHandleInvoker of(@NonNull Method method, @NonNull Object object)
+      throws IllegalAccessException {
+    MethodHandle handle = MethodHandles.lookup().unreflect(method);
+    if (!Modifier.isStatic(method.getModifiers())) {
+      handle = handle.bindTo(object);
+    }
+    return new MethodHandleInvoker(
+        handle.asSpreader(Object[].class, method.getParameterCount()).asType(TYPE),
+        method.getParameterTypes());
+  }
+
+  @Override
+  public Object invoke(@NonNull Object... objects) throws InvocationTargetException {
+    CommandInvoker.checkArguments(this.parameterTypes, objects);
+    try {
+      return this.handle.invokeExact(objects);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package me.googas.commands.invoker;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * This invoker uses {@link Method#invoke(Object, Object...)}. This is the slowest invoker but works
+ * with any method
+ */
+public class ReflectInvoker implements CommandInvoker {
+
+  @NonNull @Getter private final Method method;
+  @NonNull @Getter private final Object object;
+
+  /**
+   * Create the invoker
+   *
+   * @param method the method to invoke
+   * @param object the instance of the object to invoke the method
+   */
+  public ReflectInvoker(@NonNull Method method, @NonNull Object object) {
+    this.method = method;
+    this.object = object;
+  }
+
+  @Override
+  public Object invoke(@NonNull Object... objects)
+      throws IllegalAccessException, InvocationTargetException {
+    return this.method.invoke(this.object, objects);
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the invokers that are used to execute the methods of {@link
+ * me.googas.commands.ReflectCommand}
+ */
+package me.googas.commands.invoker;
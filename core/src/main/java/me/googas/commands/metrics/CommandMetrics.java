@@ -0,0 +1,144 @@
+package me.googas.commands.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The metrics of a command. Commands get the time when they start with {@link #start()} and give it
+ * back with {@link #success(long)} or {@link #failure(long, Throwable)} once they finish. Recording
+ * does not allocate.
+ *
+ * <p>{@link #DISABLED} is used when metrics are not enabled, it does not read the clock nor record
+ * anything
+ */
+public final class CommandMetrics {
+
+  private static final ErrorKind[] KINDS = ErrorKind.values();
+
+  /** The metrics used when metrics are not enabled */
+  @NonNull public static final CommandMetrics DISABLED = new CommandMetrics("disabled", null);
+
+  /** The name of the command */
+  @NonNull @Getter private final String name;
+  /** The latencies of the executions of the command */
+  @NonNull @Getter private final LatencyHistogram latencies = new LatencyHistogram();
+
+  private final LongSupplier clock;
+  @NonNull private final LongAdder invocations = new LongAdder();
+  @NonNull private final LongAdder[] errors = new LongAdder[CommandMetrics.KINDS.length];
+
+  /**
+   * Create the metrics
+   *
+   * @param name the name of the command
+   * @param clock the clock in nanoseconds used to measure the latency or null if the metrics are
+   *     disabled
+   */
+  CommandMetrics(@NonNull String name, LongSupplier clock) {
+    this.name = name;
+    this.clock = clock;
+    for (int i = 0; i < this.errors.length; i++) {
+      this.errors[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Get whether the metrics are recorded
+   *
+   * @return true if the metrics are recorded
+   */
+  public boolean isEnabled() {
+    return this.clock != null;
+  }
+
+  /**
+   * Get the time when an execution starts
+   *
+   * @return the time in nanoseconds or 0 if the metrics are disabled
+   */
+  public long start() {
+    return this.clock == null ? 0 : this.clock.getAsLong();
+  }
+
+  /**
+   * Record an execution that succeeded
+   *
+   * @param start the time given by {@link #start()}
+   */
+  public void success(long start) {
+    if (this.clock == null) return;
+    this.invocations.increment();
+    this.latencies.record(this.clock.getAsLong() - start);
+  }
+
+  /**
+   * Record an execution that failed
+   *
+   * @param start the time given by {@link #start()}
+   * @param e the exception that made the execution fail
+   */
+  public void failure(long start, @NonNull Throwable e) {
+    if (this.clock == null) return;
+    this.invocations.increment();
+    this.errors[ErrorKind.of(e).ordinal()].increment();
+    this.latencies.record(this.clock.getAsLong() - start);
+  }
+
+  /**
+   * Get the amount of times that the command was executed
+   *
+   * @return the amount of executions
+   */
+  public long getInvocations() {
+    return this.invocations.sum();
+  }
+
+  /**
+   * Get the amount of times that the command failed with an error of a kind
+   *
+   * @param kind the kind of the error
+   * @return the amount of errors
+   */
+  public long getErrors(@NonNull ErrorKind kind) {
+    return this.errors[kind.ordinal()].sum();
+  }
+
+  /**
+   * Get the amount of times that the command failed
+   *
+   * @return the amount of errors
+   */
+  public long getErrors() {
+    long errors = 0;
+    for (LongAdder adder : this.errors) {
+      errors += adder.sum();
+    }
+    return errors;
+  }
+
+  /** Remove every recorded value */
+  public void reset() {
+    this.invocations.reset();
+    for (LongAdder adder : this.errors) {
+      adder.reset();
+    }
+    this.latencies.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "CommandMetrics{"
+        + "name='"
+        + this.name
+        + '\''
+        + ", invocations="
+        + this.getInvocations()
+        + ", errors="
+        + this.getErrors()
+        + ", latencies="
+        + this.latencies
+        + '}';
+  }
+}
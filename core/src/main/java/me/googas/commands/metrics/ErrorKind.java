@@ -0,0 +1,36 @@
+package me.googas.commands.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import lombok.NonNull;
+import me.googas.commands.exceptions.ArgumentProviderException;
+import me.googas.commands.exceptions.MissingArgumentException;
+
+/** The kinds of errors that are counted by {@link CommandMetrics} */
+public enum ErrorKind {
+  /** A {@link MissingArgumentException}, the sender did not give a required argument */
+  MISSING_ARGUMENT,
+  /** An {@link ArgumentProviderException}, an argument could not be provided */
+  ARGUMENT_PROVIDER,
+  /** An {@link InvocationTargetException}, the method of the command threw an exception */
+  INVOCATION_TARGET,
+  /** Any other exception such as an {@link IllegalAccessException} */
+  OTHER;
+
+  /**
+   * Get the kind of an exception
+   *
+   * @param e the exception to get the kind from
+   * @return the kind of the exception
+   */
+  @NonNull
+  public static ErrorKind of(@NonNull Throwable e) {
+    if (e instanceof MissingArgumentException) {
+      return ErrorKind.MISSING_ARGUMENT;
+    } else if (e instanceof ArgumentProviderException) {
+      return ErrorKind.ARGUMENT_PROVIDER;
+    } else if (e instanceof InvocationTargetException) {
+      return ErrorKind.INVOCATION_TARGET;
+    }
+    return ErrorKind.OTHER;
+  }
+}
@@ -0,0 +1,154 @@
+package me.googas.commands.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * A histogram of latencies in nanoseconds with buckets that grow logarithmically like an HDR
+ * histogram. Each power of two is split in {@value #SUB_BUCKETS} linear buckets so any value is
+ * recorded with an error lower than 7% and the histogram has a fixed size no matter the range of
+ * the values.
+ *
+ * <p>Recording a value is lock free and does not allocate, the buckets are updated atomically so
+ * values can be recorded from many threads while the histogram is read
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BITS;
+  private static final int BUCKETS =
+      (64 - LatencyHistogram.SUB_BITS) * LatencyHistogram.SUB_BUCKETS;
+
+  @NonNull private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKETS);
+  @NonNull private final LongAdder count = new LongAdder();
+  @NonNull private final LongAdder sum = new LongAdder();
+  @NonNull private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Record a latency
+   *
+   * @param nanos the latency in nanoseconds, negative values are recorded as 0
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    this.counts.incrementAndGet(LatencyHistogram.getIndex(value));
+    this.count.increment();
+    this.sum.add(value);
+    long max = this.max.get();
+    while (value > max && !this.max.compareAndSet(max, value)) {
+      max = this.max.get();
+    }
+  }
+
+  /**
+   * Get the bucket of a value
+   *
+   * @param value the value which must not be negative
+   * @return the index of the bucket
+   */
+  static int getIndex(long value) {
+    if (value < LatencyHistogram.SUB_BUCKETS * 2) return (int) value;
+    int magnitude = 63 - Long.numberOfLeadingZeros(value) - LatencyHistogram.SUB_BITS;
+    return magnitude * LatencyHistogram.SUB_BUCKETS + (int) (value >>> magnitude);
+  }
+
+  /**
+   * Get the highest value that is recorded in a bucket
+   *
+   * @param index the index of the bucket
+   * @return the highest value of the bucket
+   */
+  static long getHighestValue(int index) {
+    if (index < LatencyHistogram.SUB_BUCKETS * 2) return index;
+    int magnitude = index / LatencyHistogram.SUB_BUCKETS - 1;
+    long sub = index % LatencyHistogram.SUB_BUCKETS + LatencyHistogram.SUB_BUCKETS;
+    return ((sub + 1) << magnitude) - 1;
+  }
+
+  /**
+   * Get the amount of values that were recorded
+   *
+   * @return the amount of values
+   */
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  /**
+   * Get the mean of the values
+   *
+   * @param unit the unit to get the mean in
+   * @return the mean or 0 if no value was recorded
+   */
+  public double getMean(@NonNull TimeUnit unit) {
+    long count = this.count.sum();
+    if (count == 0) return 0;
+    return (double) this.sum.sum() / count / unit.toNanos(1);
+  }
+
+  /**
+   * Get the highest value that was recorded
+   *
+   * @param unit the unit to get the value in
+   * @return the highest value
+   */
+  public long getMax(@NonNull TimeUnit unit) {
+    return unit.convert(this.max.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Get the value at a percentile. The value is the highest value of the bucket where the
+   * percentile is, so it is never lower than the real value
+   *
+   * @param percentile the percentile from 0 to 100
+   * @param unit the unit to get the value in
+   * @return the value at the percentile or 0 if no value was recorded
+   */
+  public long getPercentile(double percentile, @NonNull TimeUnit unit) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+    }
+    long[] counts = new long[LatencyHistogram.BUCKETS];
+    long total = 0;
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = this.counts.get(i);
+      total += counts[i];
+    }
+    if (total == 0) return 0;
+    long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= target) {
+        long value = Math.min(LatencyHistogram.getHighestValue(i), this.max.get());
+        return unit.convert(value, TimeUnit.NANOSECONDS);
+      }
+    }
+    return unit.convert(this.max.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /** Remove every recorded value */
+  public void reset() {
+    for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+      this.counts.set(i, 0);
+    }
+    this.count.reset();
+    this.sum.reset();
+    this.max.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyHistogram{"
+        + "count="
+        + this.getCount()
+        + ", mean="
+        + this.getMean(TimeUnit.NANOSECONDS)
+        + ", max="
+        + this.max.get()
+        + '}';
+  }
+}
@@ -0,0 +1,92 @@
+package me.googas.commands.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import lombok.NonNull;
+
+/**
+ * Keeps the {@link CommandMetrics} of each command. The metrics of a command are created the first
+ * time that they are requested and found with a single lookup after that.
+ *
+ * <p>{@link #DISABLED} is the registry that managers use by default, it always gives {@link
+ * CommandMetrics#DISABLED} so commands do not pay for metrics unless they are enabled
+ */
+public class MetricsRegistry {
+
+  /** The registry used when metrics are not enabled */
+  @NonNull public static final MetricsRegistry DISABLED = new MetricsRegistry(null);
+
+  private final LongSupplier clock;
+  @NonNull private final ConcurrentMap<Object, CommandMetrics> metrics = new ConcurrentHashMap<>();
+
+  /**
+   * Create the registry
+   *
+   * @param clock the clock in nanoseconds used to measure the latency or null to disable metrics
+   */
+  public MetricsRegistry(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /** Create the registry using {@link System#nanoTime()} */
+  public MetricsRegistry() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * Get whether the registry records metrics
+   *
+   * @return true if metrics are recorded
+   */
+  public boolean isEnabled() {
+    return this.clock != null;
+  }
+
+  /**
+   * Get the metrics of a command
+   *
+   * @param key the object that identifies the command such as its method
+   * @param name the name of the command
+   * @return the metrics of the command
+   */
+  @NonNull
+  public CommandMetrics getMetrics(@NonNull Object key, @NonNull String name) {
+    if (this.clock == null) return CommandMetrics.DISABLED;
+    CommandMetrics metrics = this.metrics.get(key);
+    if (metrics == null) {
+      metrics = this.metrics.computeIfAbsent(key, object -> new CommandMetrics(name, this.clock));
+    }
+    return metrics;
+  }
+
+  /**
+   * Get the metrics of every command that was executed
+   *
+   * @return an unmodifiable collection of the metrics
+   */
+  @NonNull
+  public Collection<CommandMetrics> getMetrics() {
+    return Collections.unmodifiableCollection(new ArrayList<>(this.metrics.values()));
+  }
+
+  /** Remove the values of every command */
+  public void reset() {
+    for (CommandMetrics metrics : this.metrics.values()) {
+      metrics.reset();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MetricsRegistry{"
+        + "enabled="
+        + this.isEnabled()
+        + ", commands="
+        + this.metrics.size()
+        + '}';
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * This package contains the {@link me.googas.commands.metrics.MetricsRegistry} which keeps the
+ * {@link me.googas.commands.metrics.CommandMetrics} of the commands: how many times they were
+ * executed, how many times they failed and how long they took
+ */
+package me.googas.commands.metrics;
@@ -0,0 +1,210 @@
+package me.googas.commands.objects;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+import lombok.NonNull;
+
+/**
+ * A map of primitive long keys using open addressing so that getting a value does not box the key.
+ * Values cannot be null. This map is not thread safe, users must synchronize its access
+ *
+ * @param <V> the type of values
+ */
+public final class LongMap<V> {
+
+  private long[] keys;
+  private Object[] values;
+  private int size;
+
+  /**
+   * Create the map
+   *
+   * @param capacity the expected amount of entries
+   */
+  public LongMap(int capacity) {
+    int length = Integer.highestOneBit(Math.max(4, Math.min(capacity, 1 << 28)) * 4 - 1);
+    this.keys = new long[length];
+    this.values = new Object[length];
+  }
+
+  /** Create the map */
+  public LongMap() {
+    this(8);
+  }
+
+  /**
+   * Get the value of a key
+   *
+   * @param key the key of the value
+   * @return the value or null if the key is not in the map
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    int index = this.indexOf(key);
+    return index == -1 ? null : (V) this.values[index];
+  }
+
+  /**
+   * Get the value of a key, if the key is not in the map the value is computed and put
+   *
+   * @param key the key of the value
+   * @param function the function to compute the value
+   * @return the value of the key
+   */
+  @NonNull
+  public V computeIfAbsent(long key, @NonNull LongFunction<? extends V> function) {
+    V value = this.get(key);
+    if (value == null) {
+      value = function.apply(key);
+      this.put(key, value);
+    }
+    return value;
+  }
+
+  /**
+   * Put the value of a key
+   *
+   * @param key the key of the value
+   * @param value the value
+   * @return the previous value of the key or null if it was not in the map
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long key, @NonNull V value) {
+    int index = this.indexOf(key);
+    if (index != -1) {
+      V previous = (V) this.values[index];
+      this.values[index] = value;
+      return previous;
+    }
+    if ((this.size + 1) * 2 > this.keys.length) this.resize(this.keys.length * 2);
+    int mask = this.keys.length - 1;
+    index = LongMap.hash(key) & mask;
+    while (this.values[index] != null) {
+      index = (index + 1) & mask;
+    }
+    this.keys[index] = key;
+    this.values[index] = value;
+    this.size++;
+    return null;
+  }
+
+  /**
+   * Remove a key from the map
+   *
+   * @param key the key to remove
+   * @return the value of the key or null if it was not in the map
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(long key) {
+    int index = this.indexOf(key);
+    if (index == -1) return null;
+    V value = (V) this.values[index];
+    int mask = this.keys.length - 1;
+    int hole = index;
+    int next = (hole + 1) & mask;
+    // Shift back the entries that follow so probing does not need tombstones
+    while (this.values[next] != null) {
+      int home = LongMap.hash(this.keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        this.keys[hole] = this.keys[next];
+        this.values[hole] = this.values[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    this.values[hole] = null;
+    this.size--;
+    return value;
+  }
+
+  /**
+   * Get whether a key is in the map
+   *
+   * @param key the key to check
+   * @return true if the key is in the map
+   */
+  public boolean containsKey(long key) {
+    return this.indexOf(key) != -1;
+  }
+
+  /**
+   * Get the amount of entries in the map
+   *
+   * @return the amount of entries
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /** Remove every entry of the map */
+  public void clear() {
+    Arrays.fill(this.values, null);
+    this.size = 0;
+  }
+
+  /**
+   * Perform an action for each entry of the map. The map must not be modified by the action
+   *
+   * @param action the action to perform
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(@NonNull EntryConsumer<? super V> action) {
+    for (int i = 0; i < this.keys.length; i++) {
+      if (this.values[i] != null) action.accept(this.keys[i], (V) this.values[i]);
+    }
+  }
+
+  private int indexOf(long key) {
+    int mask = this.keys.length - 1;
+    int index = LongMap.hash(key) & mask;
+    while (this.values[index] != null) {
+      if (this.keys[index] == key) return index;
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void resize(int length) {
+    long[] keys = this.keys;
+    Object[] values = this.values;
+    this.keys = new long[length];
+    this.values = new Object[length];
+    int mask = length - 1;
+    for (int i = 0; i < keys.length; i++) {
+      if (values[i] == null) continue;
+      int index = LongMap.hash(keys[i]) & mask;
+      while (this.values[index] != null) {
+        index = (index + 1) & mask;
+      }
+      this.keys[index] = keys[i];
+      this.values[index] = values[i];
+    }
+  }
+
+  private static int hash(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    return (int) key;
+  }
+
+  /**
+   * Consumes the entries of the map
+   *
+   * @param <V> the type of values
+   */
+  public interface EntryConsumer<V> {
+    /**
+     * Consume an entry
+     *
+     * @param key the key of the entry
+     * @param value the value of the entry
+     */
+    void accept(long key, @NonNull V value);
+  }
+
+  @Override
+  public String toString() {
+    return "LongMap{" + "size=" + this.size + '}';
+  }
+}
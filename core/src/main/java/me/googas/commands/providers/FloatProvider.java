@@ -44,6 +44,6 @@ public class FloatProvider<T extends EasyCommandContext> implements EasyArgument
 
   @Override
   public boolean provides(@NonNull Class<?> clazz) {
-    return clazz == Double.class || clazz == double.class;
+    return clazz == Float.class || clazz == float.class;
   }
 }
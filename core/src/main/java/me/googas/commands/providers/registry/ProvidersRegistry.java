@@ -1,7 +1,12 @@
 package me.googas.commands.providers.registry;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
 import lombok.NonNull;
 import me.googas.commands.context.EasyCommandContext;
 import me.googas.commands.exceptions.ArgumentProviderException;
@@ -29,11 +34,24 @@ import me.googas.commands.providers.type.EasySimpleArgumentProvider;
  * <p>To add new providers use {@link #addProvider(EasyContextualProvider)} and to get an object you
  * can use {@link #getObject(Class, EasyCommandContext)}, {@link #fromString(String, Class,
  * EasyCommandContext)} or {@link #fromStrings(String[], Class, EasyCommandContext)}
+ *
+ * <p>The providers of each class are indexed the first time that they are queried so later queries
+ * don't have to loop thru all the providers. The index is cleared each time that a provider is
+ * added with {@link #addProvider(EasyContextualProvider)} which means that adding providers
+ * directly to {@link #providers} will not be noticed by the index
  */
 public class ProvidersRegistry<T extends EasyCommandContext> {
 
   /** The providers that must be given with a context */
   protected final List<EasyContextualProvider<?, T>> providers = new ArrayList<>();
+  /**
+   * The version of the registry which changes each time that a provider is added using {@link
+   * #addProvider(EasyContextualProvider)}. It is used to know if the providers that were already
+   * resolved are still valid
+   */
+  @NonNull private final AtomicInteger version = new AtomicInteger();
+  /** The providers of each queried class */
+  @NonNull private final Map<Class<?>, Index<T>> index = new ConcurrentHashMap<>();
 
   /**
    * Create the registry with the default providers
@@ -61,6 +79,46 @@ public class ProvidersRegistry<T extends EasyCommandContext> {
    */
   public void addProvider(@NonNull EasyContextualProvider<?, T> provider) {
     this.providers.add(provider);
+    // The version changes before the index is cleared so an index that was resolved with the
+    // previous providers is never kept
+    this.version.incrementAndGet();
+    this.index.clear();
+  }
+
+  /**
+   * Get the version of the registry. It changes each time that a provider is added
+   *
+   * @return the version of the registry
+   */
+  public int getVersion() {
+    return this.version.get();
+  }
+
+  /**
+   * Get the index of providers for a class. If the class has not been indexed it will be created
+   *
+   * @param clazz the queried class
+   * @return the index of providers for the class
+   */
+  @NonNull
+  private Index<T> getIndex(@NonNull Class<?> clazz) {
+    Index<T> index = this.index.get(clazz);
+    if (index == null) {
+      int version = this.version.get();
+      List<EasyContextualProvider<?, T>> list = new ArrayList<>();
+      for (EasyContextualProvider<?, T> provider : this.providers) {
+        if (provider.provides(clazz)) {
+          list.add(provider);
+        }
+      }
+      index = new Index<>(list);
+      if (version == this.version.get()) {
+        this.index.put(clazz, index);
+        // A provider may have been added after the check, then the index may be outdated
+        if (version != this.version.get()) this.index.remove(clazz, index);
+      }
+    }
+    return index;
   }
 
   /**
@@ -89,24 +147,47 @@ public class ProvidersRegistry<T extends EasyCommandContext> {
    * <p>You can get it with this method with {@link String#getClass()} ()}
    *
    * @param clazz the queried class
-   * @return a list of providers for the queried class
+   * @return a new list of providers for the queried class
    */
   public List<EasyContextualProvider<?, T>> getProviders(@NonNull Class<?> clazz) {
-    List<EasyContextualProvider<?, T>> list = new ArrayList<>();
-    for (EasyContextualProvider<?, T> provider : this.providers) {
-      if (provider.provides(clazz)) {
-        list.add(provider);
-      }
-    }
-    return list;
+    return new ArrayList<>(this.getIndex(clazz).getProviders());
+  }
+
+  /**
+   * Get the first {@link EasyExtraArgumentProvider} that provides the queried class
+   *
+   * @param clazz the queried class
+   * @return the provider if found else null
+   */
+  public EasyExtraArgumentProvider<?, T> getExtraArgumentProvider(@NonNull Class<?> clazz) {
+    return this.getIndex(clazz).getExtraArgumentProvider();
+  }
+
+  /**
+   * Get the first {@link EasyArgumentProvider} that provides the queried class
+   *
+   * @param clazz the queried class
+   * @return the provider if found else null
+   */
+  public EasyArgumentProvider<?, T> getArgumentProvider(@NonNull Class<?> clazz) {
+    return this.getIndex(clazz).getArgumentProvider();
+  }
+
+  /**
+   * Get the first {@link EasyMultipleArgumentProvider} that provides the queried class
+   *
+   * @param clazz the queried class
+   * @return the provider if found else null
+   */
+  public EasyMultipleArgumentProvider<?, T> getMultipleArgumentProvider(@NonNull Class<?> clazz) {
+    return this.getIndex(clazz).getMultipleArgumentProvider();
   }
 
   /**
    * Get the object to use as parameter in the invocation of a command. This object provides an
    * {@link me.googas.commands.arguments.ExtraArgument}
    *
-   * <p>We will get all the providers using {@link #getProviders(Class)} to get a {@link
-   * EasyExtraArgumentProvider}
+   * <p>We will get the provider using {@link #getExtraArgumentProvider(Class)}
    *
    * <p>{@link EasySimpleArgumentProvider#provides(Class)} makes it safe to cast
    *
@@ -117,15 +198,11 @@ public class ProvidersRegistry<T extends EasyCommandContext> {
    *     the object for some reason, see {@link
    *     EasyExtraArgumentProvider#getObject(EasyCommandContext)}
    */
-  @SuppressWarnings("unchecked")
   @NonNull
   public Object getObject(@NonNull Class<?> clazz, @NonNull T context)
       throws ArgumentProviderException {
-    for (EasyContextualProvider<?, T> provider : this.getProviders(clazz)) {
-      if (provider instanceof EasyExtraArgumentProvider) {
-        return ((EasyExtraArgumentProvider<?, T>) provider).getObject(context);
-      }
-    }
+    EasyExtraArgumentProvider<?, T> provider = this.getExtraArgumentProvider(clazz);
+    if (provider != null) return provider.getObject(context);
     throw new ArgumentProviderException(
         EasyExtraArgumentProvider.class + " was not found for " + clazz);
   }
@@ -134,8 +211,7 @@ public class ProvidersRegistry<T extends EasyCommandContext> {
    * Get the object to use as a parameter in the invocation of a command from a string. This object
    * provides a {@link me.googas.commands.arguments.SingleArgument}
    *
-   * <p>We will get all the providers using {@link #getProviders(Class)} to get a {@link
-   * EasyArgumentProvider}
+   * <p>We will get the provider using {@link #getArgumentProvider(Class)}
    *
    * <p>{@link EasySimpleArgumentProvider#provides(Class)} makes it safe to cast
    *
@@ -147,15 +223,11 @@ public class ProvidersRegistry<T extends EasyCommandContext> {
    *     the object for some reason, see {@link EasyArgumentProvider#fromString(String,
    *     EasyCommandContext)}
    */
-  @SuppressWarnings("unchecked")
   @NonNull
   public Object fromString(@NonNull String string, @NonNull Class<?> clazz, @NonNull T context)
       throws ArgumentProviderException {
-    for (EasyContextualProvider<?, T> provider : this.getProviders(clazz)) {
-      if (provider instanceof EasyArgumentProvider) {
-        return ((EasyArgumentProvider<?, T>) provider).fromString(string, context);
-      }
-    }
+    EasyArgumentProvider<?, T> provider = this.getArgumentProvider(clazz);
+    if (provider != null) return provider.fromString(string, context);
     throw new ArgumentProviderException(EasyArgumentProvider.class + " was not found for " + clazz);
   }
 
@@ -163,8 +235,7 @@ public class ProvidersRegistry<T extends EasyCommandContext> {
    * Get the object to use as a parameter in the invocation of a command from strings. This object
    * provides a {@link me.googas.commands.arguments.MultipleArgument}
    *
-   * <p>We will get all the providers using {@link #getProviders(Class)} to get a {@link
-   * EasyMultipleArgumentProvider}
+   * <p>We will get the provider using {@link #getMultipleArgumentProvider(Class)}
    *
    * <p>{@link EasySimpleArgumentProvider#provides(Class)} makes it safe to cast
    *
@@ -176,15 +247,11 @@ public class ProvidersRegistry<T extends EasyCommandContext> {
    *     the object for some reason, see {@link EasyMultipleArgumentProvider#fromStrings(String[],
    *     EasyCommandContext)}
    */
-  @SuppressWarnings("unchecked")
   @NonNull
   public Object fromStrings(@NonNull String[] strings, @NonNull Class<?> clazz, @NonNull T context)
       throws ArgumentProviderException {
-    for (EasyContextualProvider<?, T> provider : this.getProviders(clazz)) {
-      if (provider instanceof EasyMultipleArgumentProvider) {
-        return ((EasyMultipleArgumentProvider<?, T>) provider).fromStrings(strings, context);
-      }
-    }
+    EasyMultipleArgumentProvider<?, T> provider = this.getMultipleArgumentProvider(clazz);
+    if (provider != null) return provider.fromStrings(strings, context);
     throw new ArgumentProviderException(
         EasyMultipleArgumentProvider.class + " was not found for " + clazz);
   }
@@ -241,4 +308,40 @@ public class ProvidersRegistry<T extends EasyCommandContext> {
       throws ArgumentProviderException {
     return clazz.cast(this.fromStrings(strings, clazz, context));
   }
+
+  /**
+   * The providers for a single class. The first provider of each type is kept to not loop thru the
+   * providers each time that an object is requested
+   *
+   * @param <T> the type of context that the providers require
+   */
+  private static class Index<T extends EasyCommandContext> {
+
+    @NonNull @Getter private final List<EasyContextualProvider<?, T>> providers;
+    @Getter private final EasyExtraArgumentProvider<?, T> extraArgumentProvider;
+    @Getter private final EasyArgumentProvider<?, T> argumentProvider;
+    @Getter private final EasyMultipleArgumentProvider<?, T> multipleArgumentProvider;
+
+    @SuppressWarnings("unchecked")
+    private Index(@NonNull List<EasyContextualProvider<?, T>> providers) {
+      EasyExtraArgumentProvider<?, T> extraArgumentProvider = null;
+      EasyArgumentProvider<?, T> argumentProvider = null;
+      EasyMultipleArgumentProvider<?, T> multipleArgumentProvider = null;
+      for (EasyContextualProvider<?, T> provider : providers) {
+        if (extraArgumentProvider == null && provider instanceof EasyExtraArgumentProvider) {
+          extraArgumentProvider = (EasyExtraArgumentProvider<?, T>) provider;
+        }
+        if (argumentProvider == null && provider instanceof EasyArgumentProvider) {
+          argumentProvider = (EasyArgumentProvider<?, T>) provider;
+        }
+        if (multipleArgumentProvider == null && provider instanceof EasyMultipleArgumentProvider) {
+          multipleArgumentProvider = (EasyMultipleArgumentProvider<?, T>) provider;
+        }
+      }
+      this.providers = Collections.unmodifiableList(providers);
+      this.extraArgumentProvider = extraArgumentProvider;
+      this.argumentProvider = argumentProvider;
+      this.multipleArgumentProvider = multipleArgumentProvider;
+    }
+  }
 }
@@ -0,0 +1,199 @@
+package me.googas.commands.registrar;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.arguments.Argument;
+import me.googas.commands.exceptions.CommandRegistrationException;
+import me.googas.commands.invoker.CommandInvoker;
+import me.googas.commands.invoker.InvokerFactory;
+
+/**
+ * A command method of a {@link CommandRegistrar}. It contains what a manager would get using
+ * reflection: the annotations of the method, whether it is a parent and its parsed arguments, and a
+ * direct call to the method that can be used as a {@link CommandInvoker}
+ *
+ * @param <O> the type of the class that contains the method
+ */
+public final class CommandMethod<O> {
+
+  /** The name of the method */
+  @NonNull @Getter private final String name;
+  /** The parameter types of the method */
+  @NonNull private final Class<?>[] parameterTypes;
+  /** The names of the command annotations that are present in the method */
+  @NonNull private final String[] annotations;
+  /** Whether the method is annotated with {@link me.googas.commands.annotations.Parent} */
+  @Getter private final boolean parent;
+  /** The arguments of the method as {@link Argument#parseArguments(Method)} would parse them */
+  @NonNull @Getter private final List<Argument<?>> arguments;
+  /** The direct call to the method. Null if the method cannot be called from the registrar */
+  private final Call<O> call;
+  /** The method and its annotations, looked up once as registrars are shared by every parse */
+  private volatile Resolved resolved;
+
+  /**
+   * Create the command method
+   *
+   * @param name the name of the method
+   * @param parameterTypes the parameter types of the method
+   * @param annotations the names of the command annotations that are present in the method
+   * @param parent whether the method is annotated with {@link
+   *     me.googas.commands.annotations.Parent}
+   * @param arguments the arguments of the method
+   * @param call the direct call to the method or null if it cannot be called from the registrar
+   */
+  public CommandMethod(
+      @NonNull String name,
+      @NonNull Class<?>[] parameterTypes,
+      @NonNull String[] annotations,
+      boolean parent,
+      @NonNull List<Argument<?>> arguments,
+      Call<O> call) {
+    this.name = name;
+    this.parameterTypes = parameterTypes;
+    this.annotations = annotations;
+    this.parent = parent;
+    this.arguments = arguments;
+    this.call = call;
+  }
+
+  /**
+   * Get whether the method is annotated with a command annotation
+   *
+   * @param annotation the class of the command annotation
+   * @return true if the method is annotated with it
+   */
+  public boolean isAnnotated(@NonNull Class<? extends Annotation> annotation) {
+    for (String name : this.annotations) {
+      if (name.equals(annotation.getName())) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Get the method from the class that declares it. The method is looked up the first time and then
+   * reused
+   *
+   * @param clazz the class that declares the method
+   * @return the method
+   * @throws CommandRegistrationException if the class does not declare the method which means that
+   *     the registrar is outdated
+   */
+  @NonNull
+  public Method getMethod(@NonNull Class<?> clazz) {
+    return this.resolve(clazz).method;
+  }
+
+  /**
+   * Get an annotation of the method. The annotations are looked up with the method and then reused
+   *
+   * @param clazz the class that declares the method
+   * @param type the class of the annotation
+   * @param <A> the type of the annotation
+   * @return the annotation or null if the method is not annotated with it
+   * @throws CommandRegistrationException if the class does not declare the method which means that
+   *     the registrar is outdated
+   */
+  public <A extends Annotation> A getAnnotation(@NonNull Class<?> clazz, @NonNull Class<A> type) {
+    for (Annotation annotation : this.resolve(clazz).annotations) {
+      if (type.isInstance(annotation)) return type.cast(annotation);
+    }
+    return null;
+  }
+
+  @NonNull
+  private Resolved resolve(@NonNull Class<?> clazz) {
+    Resolved resolved = this.resolved;
+    if (resolved != null && resolved.method.getDeclaringClass() == clazz) return resolved;
+    try {
+      Method method = clazz.getDeclaredMethod(this.name, this.parameterTypes);
+      resolved = new Resolved(method, method.getDeclaredAnnotations());
+    } catch (NoSuchMethodException e) {
+      throw new CommandRegistrationException(
+          clazz
+              + " does not declare "
+              + this.name
+              + Arrays.toString(this.parameterTypes)
+              + " the registrar may be outdated");
+    }
+    this.resolved = resolved;
+    return resolved;
+  }
+
+  /**
+   * Get the invoker for the method. If the registrar could not call the method directly the invoker
+   * is created using the factory
+   *
+   * @param object the instance of the object used to invoke the method
+   * @param method the method as given by {@link #getMethod(Class)}
+   * @param factory the factory to create the invoker in case the method cannot be called directly
+   * @return the invoker for the method
+   */
+  @NonNull
+  @SuppressWarnings("unchecked")
+  public CommandInvoker getInvoker(
+      @NonNull Object object, @NonNull Method method, @NonNull InvokerFactory factory) {
+    if (this.call == null) return factory.create(method, object);
+    Call<O> call = this.call;
+    O instance = (O) object;
+    Class<?>[] parameterTypes = this.parameterTypes;
+    return objects -> {
+      CommandInvoker.checkArguments(parameterTypes, objects);
+      try {
+        return call.call(instance, objects);
+      } catch (Throwable e) {
+        throw new InvocationTargetException(e);
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "CommandMethod{"
+        + "name='"
+        + this.name
+        + '\''
+        + ", parameterTypes="
+        + Arrays.toString(this.parameterTypes)
+        + ", parent="
+        + this.parent
+        + ", arguments="
+        + this.arguments
+        + '}';
+  }
+
+  /** A method that was looked up with its annotations */
+  private static class Resolved {
+
+    @NonNull private final Method method;
+    @NonNull private final Annotation[] annotations;
+
+    private Resolved(@NonNull Method method, @NonNull Annotation[] annotations) {
+      this.method = method;
+      this.annotations = annotations;
+    }
+  }
+
+  /**
+   * A direct call to a command method
+   *
+   * @param <O> the type of the class that contains the method
+   */
+  public interface Call<O> {
+
+    /**
+     * Call the method
+     *
+     * @param object the instance of the object. Ignored if the method is static
+     * @param objects the parameters of the method
+     * @return the object returned by the method or null if it is void
+     * @throws Throwable anything that the method throws
+     */
+    Object call(O object, @NonNull Object[] objects) throws Throwable;
+  }
+}
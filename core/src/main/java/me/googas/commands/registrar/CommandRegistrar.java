@@ -0,0 +1,34 @@
+package me.googas.commands.registrar;
+
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * A registrar contains the command methods of a class. Registrars are generated at compile time by
+ * the commands annotation processor so managers do not have to look for the methods, parse their
+ * arguments or create their invokers using reflection. To get the registrar of a class use {@link
+ * Registrars#get(Class)}
+ *
+ * <p>The generated registrar of a class is in the same package and its name is the binary name of
+ * the class followed by {@link Registrars#SUFFIX}
+ *
+ * @param <O> the type of the class that contains the command methods
+ */
+public interface CommandRegistrar<O> {
+
+  /**
+   * Get the class that contains the command methods
+   *
+   * @return the class
+   */
+  @NonNull
+  Class<O> getType();
+
+  /**
+   * Get the command methods of the class in the order that they were declared
+   *
+   * @return the list of command methods
+   */
+  @NonNull
+  List<CommandMethod<O>> getMethods();
+}
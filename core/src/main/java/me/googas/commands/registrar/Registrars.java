@@ -0,0 +1,61 @@
+package me.googas.commands.registrar;
+
+import lombok.NonNull;
+
+/**
+ * Finds the {@link CommandRegistrar} generated for a class. The lookup of each class is done once
+ * and cached, if a class does not have a registrar managers fallback to reflection
+ */
+public final class Registrars {
+
+  /** The suffix added to the binary name of a class to get the name of its registrar */
+  @NonNull public static final String SUFFIX = "_CommandRegistrar";
+
+  @NonNull
+  private static final ClassValue<CommandRegistrar<?>> REGISTRARS =
+      new ClassValue<CommandRegistrar<?>>() {
+        @Override
+        protected CommandRegistrar<?> computeValue(Class<?> type) {
+          return Registrars.load(type);
+        }
+      };
+
+  private Registrars() {}
+
+  /**
+   * Get the registrar of a class
+   *
+   * @param clazz the class to get the registrar from
+   * @param <O> the type of the class
+   * @return the registrar or null if the class does not have one
+   */
+  @SuppressWarnings("unchecked")
+  public static <O> CommandRegistrar<O> get(@NonNull Class<O> clazz) {
+    return (CommandRegistrar<O>) Registrars.REGISTRARS.get(clazz);
+  }
+
+  /**
+   * Get the name of the registrar of a class
+   *
+   * @param binaryName the binary name of the class
+   * @return the name of the registrar
+   */
+  @NonNull
+  public static String getName(@NonNull String binaryName) {
+    return binaryName + Registrars.SUFFIX;
+  }
+
+  private static CommandRegistrar<?> load(@NonNull Class<?> clazz) {
+    ClassLoader loader = clazz.getClassLoader();
+    if (loader == null) return null;
+    try {
+      Class<?> registrar = Class.forName(Registrars.getName(clazz.getName()), true, loader);
+      if (!CommandRegistrar.class.isAssignableFrom(registrar)) return null;
+      CommandRegistrar<?> instance =
+          (CommandRegistrar<?>) registrar.getDeclaredConstructor().newInstance();
+      return instance.getType() == clazz ? instance : null;
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the registrars that are generated at compile time by the commands
+ * annotation processor. Managers use them to parse commands without reflection
+ */
+package me.googas.commands.registrar;
@@ -0,0 +1,124 @@
+package me.googas.commands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.result.EasyResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CommandIndexTest {
+
+  @Test
+  public void getsCommandsByAnyAliasIgnoringCase() {
+    CommandIndex<Named> index = new CommandIndex<>();
+    Named command = new Named("tell", "msg");
+    index.add(command);
+    Assert.assertSame(command, index.get("TELL"));
+    Assert.assertSame(command, index.get("Msg"));
+    Assert.assertNull(index.get("say"));
+  }
+
+  @Test
+  public void keepsTheFirstCommandOfAnAlias() {
+    CommandIndex<Named> index = new CommandIndex<>();
+    Named first = new Named("tell");
+    index.add(first);
+    index.add(new Named("tell"));
+    Assert.assertSame(first, index.get("tell"));
+  }
+
+  @Test
+  public void findsCommandsWithoutAliases() {
+    CommandIndex<Named> index = new CommandIndex<>();
+    Named command = new Named(Collections.emptyList(), "hidden");
+    index.add(command);
+    Assert.assertSame(command, index.get("hidden"));
+  }
+
+  @Test
+  public void removesCommands() {
+    CommandIndex<Named> index = new CommandIndex<>();
+    Named tell = new Named("tell");
+    index.add(tell);
+    Assert.assertTrue(index.remove(tell));
+    Assert.assertNull(index.get("tell"));
+  }
+
+  @Test
+  public void noticesChangesOfTheSameSizeOnceInvalidated() {
+    List<Named> commands = new ArrayList<>();
+    CommandIndex<Named> index = new CommandIndex<>(commands);
+    index.add(new Named("tell"));
+    commands.clear();
+    commands.add(new Named("say"));
+    index.invalidate();
+    Assert.assertNull(index.get("tell"));
+    Assert.assertNotNull(index.get("say"));
+  }
+
+  @Test
+  public void noticesCommandsAddedToTheCollection() {
+    List<Named> commands = new ArrayList<>();
+    CommandIndex<Named> index = new CommandIndex<>(commands);
+    Named say = new Named("say");
+    commands.add(say);
+    Assert.assertSame(say, index.get("say"));
+  }
+
+  @Test
+  public void removeThenAddDoesNotLeaveTheIndexStale() {
+    CommandIndex<Named> index = new CommandIndex<>();
+    Named tell = new Named("tell");
+    index.add(tell);
+    index.remove(tell);
+    Named say = new Named("say");
+    index.add(say);
+    Assert.assertNull(index.get("tell"));
+    Assert.assertSame(say, index.get("say"));
+  }
+
+  private static class Named implements EasyCommand<EasyCommandContext, Named> {
+
+    private final List<String> aliases;
+    private final List<String> matches;
+
+    private Named(String... aliases) {
+      this(Arrays.asList(aliases));
+    }
+
+    private Named(List<String> aliases, String... matches) {
+      this.aliases = aliases;
+      this.matches = Arrays.asList(matches);
+    }
+
+    @Override
+    public EasyResult execute(EasyCommandContext context) {
+      return null;
+    }
+
+    @Override
+    public boolean hasAlias(String alias) {
+      for (String name : this.aliases) {
+        if (name.equalsIgnoreCase(alias)) return true;
+      }
+      for (String name : this.matches) {
+        if (name.equalsIgnoreCase(alias)) return true;
+      }
+      return false;
+    }
+
+    @Override
+    public Collection<String> getAllAliases() {
+      return this.aliases;
+    }
+
+    @Override
+    public Collection<Named> getChildren() {
+      return Collections.emptyList();
+    }
+  }
+}
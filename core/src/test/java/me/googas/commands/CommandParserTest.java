@@ -0,0 +1,60 @@
+package me.googas.commands;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CommandParserTest {
+
+  @Test
+  public void acceptsResultsAndStagesOfResults() throws NoSuchMethodException {
+    for (String name :
+        new String[] {"none", "result", "subclass", "future", "wildcard", "raw", "empty"}) {
+      CommandParser.checkReturnType(CommandParserTest.method(name), Result.class);
+    }
+  }
+
+  @Test
+  public void rejectsOtherTypes() throws NoSuchMethodException {
+    for (String name : new String[] {"string", "stageOfString"}) {
+      try {
+        CommandParser.checkReturnType(CommandParserTest.method(name), Result.class);
+        Assert.fail(name + " was accepted");
+      } catch (IllegalArgumentException e) {
+        Assert.assertTrue(e.getMessage(), e.getMessage().contains(name));
+      }
+    }
+  }
+
+  private static Method method(String name) throws NoSuchMethodException {
+    return Methods.class.getDeclaredMethod(name);
+  }
+
+  /** The result of the platform */
+  public static class Result {}
+
+  public static class SubResult extends Result {}
+
+  @SuppressWarnings("rawtypes")
+  public interface Methods {
+    void none();
+
+    Result result();
+
+    SubResult subclass();
+
+    CompletableFuture<SubResult> future();
+
+    CompletionStage<?> wildcard();
+
+    CompletionStage raw();
+
+    CompletionStage<Void> empty();
+
+    String string();
+
+    CompletionStage<String> stageOfString();
+  }
+}
@@ -0,0 +1,63 @@
+package me.googas.commands.context;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlagIndexTest {
+
+  @Test
+  public void marksFlagsButNotNegativeNumbers() {
+    Assert.assertTrue(Tokenizer.isFlag("-f"));
+    Assert.assertTrue(Tokenizer.isFlag("--force"));
+    Assert.assertTrue(Tokenizer.isFlag("--key=value"));
+    Assert.assertFalse(Tokenizer.isFlag("-5"));
+    Assert.assertFalse(Tokenizer.isFlag("-.5"));
+    Assert.assertFalse(Tokenizer.isFlag("--"));
+    Assert.assertFalse(Tokenizer.isFlag("-"));
+  }
+
+  @Test
+  public void keepsUndeclaredFlagsAsArguments() {
+    TokensView view = Tokenizer.tokenize("say hello -world -5").view(1);
+    Assert.assertEquals(3, view.getArgumentsLength());
+    Assert.assertEquals("-world", view.getArgument(1));
+    Assert.assertArrayEquals(new String[] {"hello", "-world", "-5"}, view.getArgumentsFrom(0));
+    Assert.assertTrue(view.hasFlag("-world"));
+  }
+
+  @Test
+  public void removesDeclaredFlagsFromArguments() {
+    TokensView view =
+        Tokenizer.tokenize("ban Steve --silent --time=5 -world")
+            .view(1)
+            .withFlags(Arrays.asList("--SILENT", "--time"));
+    Assert.assertEquals(2, view.getArgumentsLength());
+    Assert.assertEquals("Steve", view.getArgument(0));
+    Assert.assertEquals("-world", view.getArgument(1));
+    Assert.assertNull(view.getArgument(2));
+    Assert.assertArrayEquals(new String[] {"-world"}, view.getArgumentsFrom(1));
+    Assert.assertTrue(view.hasFlag("--silent"));
+    Assert.assertEquals("5", view.getFlagValue("--TIME"));
+    Assert.assertNull(view.getFlagValue("--silent"));
+  }
+
+  @Test
+  public void keepsDeclaredFlagsInChildViews() {
+    TokensView view =
+        Tokenizer.tokenize("parent -f child -f one")
+            .view(0)
+            .withFlags(Collections.singletonList("-f"))
+            .from(2);
+    Assert.assertArrayEquals(new String[] {"child", "one"}, view.getArgumentsFrom(0));
+    TokensView undeclared = view.withFlags(Collections.emptyList());
+    Assert.assertArrayEquals(new String[] {"child", "-f", "one"}, undeclared.getArgumentsFrom(0));
+  }
+
+  @Test
+  public void sharesTheViewWhenNothingIsDeclared() {
+    TokensView view = Tokenizer.tokenize("a -b").view(0);
+    Assert.assertSame(view, view.withFlags(Collections.emptyList()));
+  }
+}
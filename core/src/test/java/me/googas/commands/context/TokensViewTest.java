@@ -0,0 +1,33 @@
+package me.googas.commands.context;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TokensViewTest {
+
+  @Test
+  public void viewsTheTokensFromTheOffset() {
+    TokensView view = Tokenizer.tokenize("parent child one two").view(1);
+    Assert.assertEquals(3, view.size());
+    Assert.assertEquals("child", view.get(0));
+    Assert.assertNull(view.get(3));
+    Assert.assertEquals("child one two", view.getString());
+    Assert.assertArrayEquals(new String[] {"one", "two"}, view.from(1).getStrings());
+  }
+
+  @Test
+  public void givesANewArrayFromEachPosition() {
+    TokensView view = Tokenizer.tokenize("a b c").view(0);
+    String[] strings = view.getStringsFrom(1);
+    Assert.assertArrayEquals(new String[] {"b", "c"}, strings);
+    strings[0] = "changed";
+    Assert.assertArrayEquals(new String[] {"b", "c"}, view.getStringsFrom(1));
+    Assert.assertNotSame(view.getStringsFrom(0), view.getStringsFrom(0));
+    Assert.assertEquals(0, view.getStringsFrom(3).length);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void rejectsNegativePositions() {
+    Tokenizer.tokenize("a b c").view(0).getStringsFrom(-1);
+  }
+}
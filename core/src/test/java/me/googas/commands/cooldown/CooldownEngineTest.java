@@ -0,0 +1,60 @@
+package me.googas.commands.cooldown;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CooldownEngineTest {
+
+  private final AtomicLong now = new AtomicLong();
+  private final CooldownEngine engine = new CooldownEngine(this.now::get, 1, TimeUnit.SECONDS, 4);
+
+  private void advance(long millis) {
+    this.now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  @Test
+  public void acquiresOnlyOnce() {
+    Assert.assertEquals(0, this.engine.acquire(1, CooldownEngine.NO_SCOPE, 5000));
+    Assert.assertEquals(5000, this.engine.acquire(1, CooldownEngine.NO_SCOPE, 5000));
+    this.advance(2000);
+    Assert.assertEquals(3000, this.engine.getRemaining(1, CooldownEngine.NO_SCOPE));
+    Assert.assertEquals(0, this.engine.acquire(1, 10, 5000));
+    Assert.assertEquals(0, this.engine.acquire(2, CooldownEngine.NO_SCOPE, 5000));
+  }
+
+  @Test
+  public void removesExpiredCooldowns() {
+    for (int user = 0; user < 100; user++) {
+      this.engine.start(user, CooldownEngine.NO_SCOPE, 1000 + user * 100);
+    }
+    Assert.assertEquals(100, this.engine.size());
+    this.advance(6000);
+    Assert.assertEquals(49, this.engine.getUsers(CooldownEngine.NO_SCOPE).length);
+    // The wheel has four slots so cooldowns longer than a turn stay until their own turn
+    this.advance(6000);
+    Assert.assertEquals(0, this.engine.getRemaining(99, CooldownEngine.NO_SCOPE));
+    Assert.assertEquals(0, this.engine.size());
+  }
+
+  @Test
+  public void replacesAndResetsCooldowns() {
+    this.engine.start(1, CooldownEngine.NO_SCOPE, 1000);
+    this.engine.start(1, CooldownEngine.NO_SCOPE, 9000);
+    this.advance(1500);
+    Assert.assertEquals(7500, this.engine.getRemaining(1, CooldownEngine.NO_SCOPE));
+    Assert.assertEquals(1, this.engine.size());
+    Assert.assertTrue(this.engine.reset(1, CooldownEngine.NO_SCOPE));
+    Assert.assertFalse(this.engine.reset(1, CooldownEngine.NO_SCOPE));
+    Assert.assertEquals(0, this.engine.acquire(1, CooldownEngine.NO_SCOPE, 1000));
+  }
+
+  @Test
+  public void mixesUuidHalves() {
+    UUID uuid = new UUID(1, 1);
+    Assert.assertNotEquals(0, CooldownEngine.getId(uuid));
+    Assert.assertEquals(CooldownEngine.getId(uuid), CooldownEngine.getId(new UUID(1, 1)));
+  }
+}
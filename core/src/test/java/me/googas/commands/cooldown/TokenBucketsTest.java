@@ -0,0 +1,55 @@
+package me.googas.commands.cooldown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TokenBucketsTest {
+
+  private final AtomicLong now = new AtomicLong();
+  private final TokenBuckets buckets = new TokenBuckets(this.now::get, 3, 1, TimeUnit.SECONDS, 16);
+
+  private void advance(long millis) {
+    this.now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  @Test
+  public void allowsTheBurstAndRefills() {
+    for (int i = 0; i < 3; i++) Assert.assertTrue(this.buckets.tryAcquire(1));
+    Assert.assertFalse(this.buckets.tryAcquire(1));
+    Assert.assertTrue(this.buckets.tryAcquire(2));
+    this.advance(999);
+    Assert.assertFalse(this.buckets.tryAcquire(1));
+    this.advance(1);
+    Assert.assertTrue(this.buckets.tryAcquire(1));
+    Assert.assertFalse(this.buckets.tryAcquire(1));
+  }
+
+  @Test
+  public void refundsTokens() {
+    for (int i = 0; i < 3; i++) Assert.assertTrue(this.buckets.tryAcquire(1));
+    this.buckets.refund(1);
+    Assert.assertTrue(this.buckets.tryAcquire(1));
+    Assert.assertFalse(this.buckets.tryAcquire(1));
+    // A full bucket cannot get more than the burst
+    this.advance(5000);
+    this.buckets.refund(1);
+    this.buckets.refund(2);
+    for (int i = 0; i < 3; i++) Assert.assertTrue(this.buckets.tryAcquire(1));
+    Assert.assertFalse(this.buckets.tryAcquire(1));
+  }
+
+  @Test
+  public void evictsFullBuckets() {
+    for (long id = 1; id <= 32; id++) Assert.assertTrue(this.buckets.tryAcquire(id));
+    Assert.assertTrue(this.buckets.size() <= 32);
+    this.advance(1000);
+    Assert.assertEquals(0, this.buckets.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsTheZeroId() {
+    this.buckets.tryAcquire(0);
+  }
+}
@@ -0,0 +1,65 @@
+package me.googas.commands.execution;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import me.googas.commands.context.EasyCommandContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SerialStrategyTest {
+
+  private static final EasyCommandContext CONTEXT =
+      (EasyCommandContext)
+          Proxy.newProxyInstance(
+              EasyCommandContext.class.getClassLoader(),
+              new Class<?>[] {EasyCommandContext.class},
+              (proxy, method, args) -> null);
+
+  @Test
+  public void waitsForTheStageBeforeTheNextCommand() {
+    SerialStrategy strategy = ExecutionStrategy.serial(context -> "key", Runnable::run);
+    Executor executor = strategy.getExecutor(SerialStrategyTest.CONTEXT);
+    List<String> ran = new ArrayList<>();
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    CompletableFuture<String> first =
+        Execution.supply(
+            () -> {
+              ran.add("first");
+              return pending;
+            },
+            executor);
+    CompletableFuture<String> second =
+        Execution.supply(
+            () -> {
+              ran.add("second");
+              return CompletableFuture.completedFuture("second");
+            },
+            executor);
+    Assert.assertEquals(1, ran.size());
+    Assert.assertFalse(second.isDone());
+    Assert.assertEquals(1, strategy.size());
+    pending.complete("first");
+    Assert.assertEquals("first", first.join());
+    Assert.assertEquals("second", second.join());
+    Assert.assertEquals(2, ran.size());
+    Assert.assertEquals(0, strategy.size());
+  }
+
+  @Test
+  public void runsDifferentKeysAtTheSameTime() {
+    SerialStrategy strategy = ExecutionStrategy.serial(context -> new Object(), Runnable::run);
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    Execution.supply(() -> pending, strategy.getExecutor(SerialStrategyTest.CONTEXT));
+    CompletableFuture<String> other =
+        Execution.supply(
+            () -> CompletableFuture.completedFuture("other"),
+            strategy.getExecutor(SerialStrategyTest.CONTEXT));
+    Assert.assertEquals("other", other.join());
+    Assert.assertEquals(1, strategy.size());
+    pending.complete("done");
+    Assert.assertEquals(0, strategy.size());
+  }
+}
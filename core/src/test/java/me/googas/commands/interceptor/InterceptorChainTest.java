@@ -0,0 +1,89 @@
+package me.googas.commands.interceptor;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import me.googas.commands.context.EasyCommandContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InterceptorChainTest {
+
+  private static final Context CONTEXT =
+      (Context)
+          Proxy.newProxyInstance(
+              Context.class.getClassLoader(),
+              new Class<?>[] {Context.class},
+              (proxy, method, args) -> null);
+
+  private final List<String> calls = new ArrayList<>();
+
+  @Test
+  public void onlyRunsTheOverriddenStages() {
+    CommandInterceptor<Context> first =
+        new CommandInterceptor<Context>() {
+          @Override
+          public Object preDispatch(Context context) {
+            InterceptorChainTest.this.calls.add("first");
+            return null;
+          }
+        };
+    CommandInterceptor<Context> second =
+        new CommandInterceptor<Context>() {
+          @Override
+          public Object preDispatch(Context context) {
+            InterceptorChainTest.this.calls.add("second");
+            return "cached";
+          }
+
+          @Override
+          public Object postInvoke(Context context, Object object) {
+            return object + "!";
+          }
+        };
+    InterceptorChain<Context> chain = InterceptorChain.compile(Arrays.asList(first, second));
+    Assert.assertEquals("cached", chain.preDispatch(InterceptorChainTest.CONTEXT));
+    Assert.assertEquals(Arrays.asList("first", "second"), this.calls);
+    Assert.assertEquals("result!", chain.postInvoke(InterceptorChainTest.CONTEXT, "result"));
+    Object[] objects = new Object[0];
+    Assert.assertSame(objects, chain.postResolution(InterceptorChainTest.CONTEXT, objects));
+    Assert.assertNull(chain.onError(InterceptorChainTest.CONTEXT, new Exception()));
+    Assert.assertFalse(chain.isEmpty());
+  }
+
+  @Test
+  public void stopsAtTheFirstResult() {
+    CommandInterceptor<Context> handled =
+        new CommandInterceptor<Context>() {
+          @Override
+          public Object onError(Context context, Throwable e) {
+            return e.getMessage();
+          }
+        };
+    CommandInterceptor<Context> unreachable =
+        new CommandInterceptor<Context>() {
+          @Override
+          public Object onError(Context context, Throwable e) {
+            throw new AssertionError("Called after a result");
+          }
+        };
+    InterceptorChain<Context> chain = InterceptorChain.compile(Arrays.asList(handled, unreachable));
+    Assert.assertEquals(
+        "failed", chain.onError(InterceptorChainTest.CONTEXT, new Exception("failed")));
+  }
+
+  @Test
+  public void sharesTheEmptyChain() {
+    InterceptorChain<Context> chain = InterceptorChain.compile(Collections.emptyList());
+    Assert.assertSame(InterceptorChain.empty(), chain);
+    Assert.assertTrue(chain.isEmpty());
+    Assert.assertTrue(
+        InterceptorChain.compile(Collections.singletonList(new CommandInterceptor<Context>() {}))
+            .isEmpty());
+  }
+
+  /** A context of a module, the stages that use it are overridden by bridge methods */
+  public interface Context extends EasyCommandContext {}
+}
@@ -0,0 +1,90 @@
+package me.googas.commands.invoker;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InvokerTest {
+
+  private static final Factory[] FACTORIES = {
+    ReflectInvoker::new, MethodHandleInvoker::of, LambdaInvoker::of
+  };
+
+  @Test
+  public void invokesTheMethod() throws Exception {
+    for (Factory factory : InvokerTest.FACTORIES) {
+      CommandInvoker invoker = InvokerTest.create(factory, "add", int.class, String.class);
+      Assert.assertEquals("a1", invoker.invoke(1, "a"));
+    }
+  }
+
+  @Test
+  public void rejectsTheWrongAmountOfArguments() throws Exception {
+    for (Factory factory : InvokerTest.FACTORIES) {
+      CommandInvoker invoker = InvokerTest.create(factory, "add", int.class, String.class);
+      InvokerTest.assertIllegalArgument(invoker, 1);
+    }
+  }
+
+  @Test
+  public void rejectsArgumentsOfTheWrongType() throws Exception {
+    for (Factory factory : InvokerTest.FACTORIES) {
+      CommandInvoker invoker = InvokerTest.create(factory, "add", int.class, String.class);
+      InvokerTest.assertIllegalArgument(invoker, "1", "a");
+    }
+  }
+
+  @Test
+  public void rejectsNullForPrimitives() throws Exception {
+    for (Factory factory : InvokerTest.FACTORIES) {
+      CommandInvoker invoker = InvokerTest.create(factory, "add", int.class, String.class);
+      InvokerTest.assertIllegalArgument(invoker, null, "a");
+    }
+  }
+
+  @Test
+  public void wrapsWhatTheMethodThrows() throws Exception {
+    for (Factory factory : InvokerTest.FACTORIES) {
+      CommandInvoker invoker = InvokerTest.create(factory, "fail", String.class);
+      try {
+        invoker.invoke("message");
+        Assert.fail("Expected an InvocationTargetException from " + factory);
+      } catch (InvocationTargetException e) {
+        Assert.assertTrue(e.getTargetException() instanceof IllegalStateException);
+        Assert.assertEquals("message", e.getTargetException().getMessage());
+      }
+    }
+  }
+
+  private static CommandInvoker create(Factory factory, String name, Class<?>... parameterTypes)
+      throws Exception {
+    Method method = Commands.class.getMethod(name, parameterTypes);
+    return factory.create(method, new Commands());
+  }
+
+  private static void assertIllegalArgument(CommandInvoker invoker, Object... objects)
+      throws Exception {
+    try {
+      invoker.invoke(objects);
+      Assert.fail("Expected an IllegalArgumentException from " + invoker);
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  private interface Factory {
+    CommandInvoker create(Method method, Object object) throws Exception;
+  }
+
+  public static class Commands {
+
+    public String add(int number, String string) {
+      return string + number;
+    }
+
+    public void fail(String message) {
+      throw new IllegalStateException(message);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package me.googas.commands.metrics;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void placesValuesInTheirBucket() {
+    Random random = new Random(7);
+    long[] values = new long[10000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextLong() >>> (1 + random.nextInt(63));
+    }
+    values[0] = 0;
+    values[1] = 31;
+    values[2] = 32;
+    values[3] = Long.MAX_VALUE;
+    for (long value : values) {
+      int index = LatencyHistogram.getIndex(value);
+      long highest = LatencyHistogram.getHighestValue(index);
+      Assert.assertTrue(value + " above " + highest, value <= highest);
+      if (index > 0) {
+        Assert.assertTrue(
+            value + " in " + index, LatencyHistogram.getHighestValue(index - 1) < value);
+      }
+      Assert.assertTrue(value + " error", highest - value <= value / 16);
+    }
+    Assert.assertEquals(31, LatencyHistogram.getIndex(31));
+    Assert.assertEquals(32, LatencyHistogram.getIndex(32));
+    Assert.assertEquals(Long.MAX_VALUE, LatencyHistogram.getHighestValue(959));
+    Assert.assertEquals(959, LatencyHistogram.getIndex(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void getsPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Assert.assertEquals(0, histogram.getPercentile(99, TimeUnit.NANOSECONDS));
+    for (int i = 1; i <= 100; i++) histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+    histogram.record(-5);
+    Assert.assertEquals(101, histogram.getCount());
+    Assert.assertEquals(100, histogram.getMax(TimeUnit.MILLISECONDS));
+    Assert.assertEquals(0, histogram.getPercentile(0, TimeUnit.NANOSECONDS));
+    Assert.assertEquals(100, histogram.getPercentile(100, TimeUnit.MILLISECONDS));
+    long median = histogram.getPercentile(50, TimeUnit.MICROSECONDS);
+    Assert.assertTrue(String.valueOf(median), median >= 50000 && median <= 50000 * 17 / 16);
+    Assert.assertEquals(50, histogram.getMean(TimeUnit.MILLISECONDS), 0.01);
+    histogram.reset();
+    Assert.assertEquals(0, histogram.getCount());
+    Assert.assertEquals(0, histogram.getMax(TimeUnit.NANOSECONDS));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsInvalidPercentiles() {
+    new LatencyHistogram().getPercentile(101, TimeUnit.NANOSECONDS);
+  }
+}
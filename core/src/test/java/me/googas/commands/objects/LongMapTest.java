@@ -0,0 +1,47 @@
+package me.googas.commands.objects;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LongMapTest {
+
+  @Test
+  public void behavesLikeAHashMap() {
+    Random random = new Random(11);
+    LongMap<Long> map = new LongMap<>(2);
+    Map<Long, Long> expected = new HashMap<>();
+    for (int i = 0; i < 100000; i++) {
+      // A small range of keys so they collide and are removed often
+      long key = random.nextInt(512) - 256L;
+      if (random.nextInt(3) == 0) {
+        Assert.assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        Long value = random.nextLong();
+        Assert.assertEquals(expected.put(key, value), map.put(key, value));
+      }
+      Assert.assertEquals(expected.size(), map.size());
+    }
+    for (long key = -256; key < 256; key++) {
+      Assert.assertEquals(expected.get(key), map.get(key));
+      Assert.assertEquals(expected.containsKey(key), map.containsKey(key));
+    }
+    Map<Long, Long> entries = new HashMap<>();
+    map.forEach(entries::put);
+    Assert.assertEquals(expected, entries);
+  }
+
+  @Test
+  public void computesAbsentValues() {
+    LongMap<String> map = new LongMap<>();
+    Assert.assertEquals("1", map.computeIfAbsent(1, Long::toString));
+    Assert.assertEquals("1", map.computeIfAbsent(1, key -> "other"));
+    Assert.assertEquals(1, map.size());
+    map.clear();
+    Assert.assertEquals(0, map.size());
+    Assert.assertNull(map.get(1));
+    Assert.assertEquals("other", map.computeIfAbsent(1, key -> "other"));
+  }
+}
@@ -0,0 +1,32 @@
+package me.googas.commands.providers.registry;
+
+import java.util.List;
+import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.providers.StringProvider;
+import me.googas.commands.providers.type.EasyContextualProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProvidersRegistryTest {
+
+  @Test
+  public void seesProvidersAddedAfterTheIndex() {
+    ProvidersRegistry<EasyCommandContext> registry = new ProvidersRegistry<>();
+    Assert.assertNull(registry.getArgumentProvider(String.class));
+    int version = registry.getVersion();
+    StringProvider<EasyCommandContext> provider = new StringProvider<>();
+    registry.addProvider(provider);
+    Assert.assertNotEquals(version, registry.getVersion());
+    Assert.assertSame(provider, registry.getArgumentProvider(String.class));
+  }
+
+  @Test
+  public void givesACopyOfTheProviders() {
+    ProvidersRegistry<EasyCommandContext> registry = new ProvidersRegistry<>();
+    registry.addProvider(new StringProvider<>());
+    List<EasyContextualProvider<?, EasyCommandContext>> providers =
+        registry.getProviders(String.class);
+    providers.clear();
+    Assert.assertEquals(1, registry.getProviders(String.class).size());
+  }
+}
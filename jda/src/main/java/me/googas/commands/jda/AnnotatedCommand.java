@@ -5,21 +5,29 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
 import lombok.Getter;
 import lombok.NonNull;
+import me.googas.commands.CommandDispatcher;
+import me.googas.commands.CommandIndex;
 import me.googas.commands.ReflectCommand;
 import me.googas.commands.arguments.Argument;
+import me.googas.commands.arguments.binding.BindingPlan;
 import me.googas.commands.context.EasyCommandContext;
-import me.googas.commands.exceptions.ArgumentProviderException;
 import me.googas.commands.exceptions.MissingArgumentException;
 import me.googas.commands.exceptions.type.SimpleException;
 import me.googas.commands.exceptions.type.SimpleRuntimeException;
+import me.googas.commands.interceptor.InterceptorChain;
+import me.googas.commands.invoker.CommandInvoker;
 import me.googas.commands.jda.annotations.Command;
 import me.googas.commands.jda.context.CommandContext;
 import me.googas.commands.jda.permissions.SimplePermission;
 import me.googas.commands.jda.result.Result;
 import me.googas.commands.jda.result.ResultType;
 import me.googas.commands.messages.EasyMessagesProvider;
+import me.googas.commands.metrics.CommandMetrics;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import me.googas.starbox.time.Time;
 import net.dv8tion.jda.api.Permission;
@@ -36,9 +44,18 @@ public class AnnotatedCommand extends EasyJdaCommand
   @NonNull @Getter private final Method method;
   @NonNull @Getter private final Object object;
   @NonNull @Getter private final List<Argument<?>> arguments;
+  @NonNull @Getter private final List<String> flags;
   @NonNull @Getter private final List<String> aliases;
+  @NonNull @Getter private final CommandInvoker invoker;
+  @NonNull @Getter private final BindingPlan<CommandContext> bindingPlan;
+  @NonNull @Getter private final InterceptorChain<CommandContext> interceptors;
+  @NonNull @Getter private final CommandMetrics metrics;
+  @NonNull private final CommandDispatcher<CommandContext, Result> dispatcher;
   @NonNull @Getter private final List<EasyJdaCommand> children = new ArrayList<>();
 
+  @NonNull
+  private final CommandIndex<EasyJdaCommand> childrenIndex = new CommandIndex<>(this.children);
+
   /**
    * Create the command
    *
@@ -58,14 +75,63 @@ public class AnnotatedCommand extends EasyJdaCommand
       @NonNull Method method,
       @NonNull Object object,
       @NonNull List<Argument<?>> arguments) {
+    this(
+        manager,
+        command,
+        method,
+        object,
+        arguments,
+        manager.getInvokerFactory().create(method, object));
+  }
+
+  /**
+   * Create the command
+   *
+   * @param manager the manager that parsed the command
+   * @param command the annotation that will be used to get the name and aliases of the command
+   *     {@link Command#aliases()} whether to exclude the command {@link Command#excluded()} the
+   *     cooldown {@link Command#cooldown()} and the permission {@link Command#permission()}
+   * @param method the method to execute as the command see more in {@link #getMethod()}
+   * @param object the instance of the object used to invoke the method see more in {@link
+   *     #getObject()}
+   * @param arguments the list of arguments that are used to {@link #getObjects(EasyCommandContext)}
+   *     and invoke the {@link #getMethod()}
+   * @param invoker the invoker used to call the method, see more in {@link #getInvoker()}
+   */
+  public AnnotatedCommand(
+      @NonNull CommandManager manager,
+      @NonNull Command command,
+      @NonNull Method method,
+      @NonNull Object object,
+      @NonNull List<Argument<?>> arguments,
+      @NonNull CommandInvoker invoker) {
     super(manager, command.excluded(), Time.of(command.cooldown()));
     this.method = method;
     this.object = object;
     this.arguments = arguments;
+    this.flags = Arrays.asList(command.flags());
     this.aliases = Arrays.asList(command.aliases());
+    this.invoker = invoker;
+    this.bindingPlan =
+        new BindingPlan<>(arguments, manager.getProvidersRegistry(), manager.getMessagesProvider());
+    this.interceptors = InterceptorChain.compile(manager.getInterceptors());
+    this.metrics = manager.getMetrics().getMetrics(method, this.getName());
+    this.dispatcher =
+        new CommandDispatcher<>(
+            this,
+            (context, value) -> this.getResult(value, context),
+            (context, e) -> {
+              this.resetCooldown(context.getSender(), context);
+              return this.getResult(e);
+            });
     if (command.permission() != Permission.UNKNOWN || !command.node().isEmpty()) {
       this.setPermission(new SimplePermission(command.node(), command.permission()));
     }
+    this.setCooldownScope(command.cooldownScope());
+    if (command.cooldownBypass() != Permission.UNKNOWN || !command.cooldownBypassNode().isEmpty()) {
+      this.setCooldownBypass(
+          new SimplePermission(command.cooldownBypassNode(), command.cooldownBypass()));
+    }
   }
 
   @Override
@@ -78,55 +144,113 @@ public class AnnotatedCommand extends EasyJdaCommand
     return this.manager.getMessagesProvider();
   }
 
+  @Override
+  public @NonNull AnnotatedCommand addChildren(@NonNull EasyJdaCommand command) {
+    this.childrenIndex.add(command);
+    return this;
+  }
+
+  @Override
+  public EasyJdaCommand getChildren(@NonNull String alias) {
+    return this.childrenIndex.get(alias);
+  }
+
+  /**
+   * Run the command. This does not wait for methods that return a {@link CompletionStage}, if the
+   * stage is not completed yet null is returned, use {@link #runStage(CommandContext)} to get its
+   * result
+   *
+   * @param context the context of the command
+   * @return the result of the command or null if it is not completed yet
+   */
   @Override
   public Result run(@NonNull CommandContext context) {
+    return CommandDispatcher.getNow(this.runStage(context));
+  }
+
+  @Override
+  @NonNull
+  CompletionStage<Result> runStage(@NonNull CommandContext context) {
+    Result result = this.check(context);
+    if (result != null) {
+      return CompletableFuture.completedFuture(result);
+    }
+    return this.dispatcher.dispatch(context);
+  }
+
+  /**
+   * Check whether the sender is allowed to execute the command
+   *
+   * @param context the context of the command
+   * @return a result if the sender is not allowed to execute the command else null
+   */
+  private Result check(@NonNull CommandContext context) {
     Result result =
         this.manager.getPermissionChecker().checkPermission(context, this.getPermission());
     if (result != null) {
       return result;
     }
-    result = this.checkCooldown(context.getSender(), context);
-    if (result != null) {
+    return this.checkCooldown(context.getSender(), context);
+  }
+
+  /**
+   * Get the result from the object returned by the method
+   *
+   * @param object the object returned by the method or by its stage
+   * @param context the context of the command
+   * @return the result if the object is a result else null
+   */
+  private Result getResult(Object object, @NonNull CommandContext context) {
+    if (object instanceof Result) {
+      Result result = (Result) object;
+      if (result.getSuccess() == null && this.isExcluded()) {
+        result =
+            new Result(
+                result.getType(), result.getDiscordMessage(), result.getMessage(), message -> {});
+      }
       return result;
+    } else {
+      return null;
     }
-    try {
-      Object[] objects = this.getObjects(context);
-      Object object = this.method.invoke(this.object, objects);
-      if (object instanceof Result) {
-        result = (Result) object;
-        if (this.getCooldown().toMillis() > 0) {
-          this.getCooldownUsers()
-              .add(
-                  new CooldownUser(
-                      this.getCooldown().toMillisRound(), context.getSender().getIdLong()));
-        }
-        if (result.getSuccess() == null && this.isExcluded()) {
-          result =
-              new Result(
-                  result.getType(), result.getDiscordMessage(), result.getMessage(), message -> {});
-        }
-        return result;
-      } else {
-        return null;
-      }
-    } catch (final IllegalAccessException e) {
-      e.printStackTrace();
+  }
+
+  /**
+   * Log an exception thrown while executing the method in the logger of the manager
+   *
+   * @param e the exception to log
+   */
+  private void log(@NonNull Throwable e) {
+    this.manager
+        .getLogger()
+        .log(Level.SEVERE, "Could not execute the command " + this.getName(), e);
+  }
+
+  /**
+   * Get the result of an exception thrown while executing the method
+   *
+   * @param e the exception thrown
+   * @return the result to give to the sender
+   */
+  @NonNull
+  private Result getResult(@NonNull Exception e) {
+    if (e instanceof IllegalAccessException) {
+      this.log(e);
       return new Result(ResultType.UNKNOWN, "IllegalAccessException, e");
-    } catch (final InvocationTargetException e) {
-      final String message = e.getTargetException().getMessage();
+    } else if (e instanceof InvocationTargetException) {
+      Throwable target = ((InvocationTargetException) e).getTargetException();
+      final String message = target.getMessage();
       if (message != null && !message.isEmpty()) {
-        if (!(e.getTargetException() instanceof SimpleException)
-            | !(e.getTargetException() instanceof SimpleRuntimeException)) {
-          e.printStackTrace();
+        if (!(target instanceof SimpleException) && !(target instanceof SimpleRuntimeException)) {
+          this.log(e);
         }
         return new Result(ResultType.ERROR, message);
       } else {
-        e.printStackTrace();
+        this.log(e);
         return new Result(ResultType.UNKNOWN, "InvocationTargetException, e");
       }
-    } catch (MissingArgumentException e) {
+    } else if (e instanceof MissingArgumentException) {
       return new Result(ResultType.USAGE, e.getMessage());
-    } catch (ArgumentProviderException e) {
+    } else {
       return new Result(ResultType.ERROR, e.getMessage());
     }
   }
@@ -4,11 +4,17 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.logging.Logger;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+import me.googas.commands.CommandIndex;
+import me.googas.commands.CommandParser;
 import me.googas.commands.EasyCommandManager;
-import me.googas.commands.annotations.Parent;
 import me.googas.commands.arguments.Argument;
+import me.googas.commands.interceptor.CommandInterceptor;
+import me.googas.commands.invoker.CommandInvoker;
+import me.googas.commands.invoker.InvokerFactory;
 import me.googas.commands.jda.annotations.Command;
 import me.googas.commands.jda.context.CommandContext;
 import me.googas.commands.jda.listener.CommandListener;
@@ -16,6 +22,7 @@ import me.googas.commands.jda.messages.MessagesProvider;
 import me.googas.commands.jda.permissions.EasyPermission;
 import me.googas.commands.jda.permissions.PermissionChecker;
 import me.googas.commands.jda.result.Result;
+import me.googas.commands.metrics.MetricsRegistry;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import me.googas.commands.providers.type.EasyContextualProvider;
 import net.dv8tion.jda.api.JDA;
@@ -53,12 +60,25 @@ import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 public class CommandManager implements EasyCommandManager<CommandContext, EasyJdaCommand> {
 
   @NonNull @Getter private final List<EasyJdaCommand> commands = new ArrayList<>();
+  @NonNull private final CommandIndex<EasyJdaCommand> index = new CommandIndex<>(this.commands);
   @NonNull @Getter private final ProvidersRegistry<CommandContext> providersRegistry;
   @NonNull @Getter private final MessagesProvider messagesProvider;
   @NonNull @Getter private final PermissionChecker permissionChecker;
   @NonNull @Getter private final JDA jda;
   @NonNull @Getter private final ListenerOptions listenerOptions;
   @NonNull @Getter private final CommandListener listener;
+  @NonNull @Getter @Setter private InvokerFactory invokerFactory = InvokerFactory.COMPILED;
+  /** Parses the commands of objects using their registrar or reflection */
+  @NonNull
+  private final CommandParser<Command, AnnotatedCommand> parser =
+      new CommandParser<>(Command.class, this::create, AnnotatedCommand::addChildren);
+
+  @NonNull @Getter @Setter private MetricsRegistry metrics = MetricsRegistry.DISABLED;
+  /** The logger where the commands that fail are reported */
+  @NonNull @Getter @Setter private Logger logger = Logger.getLogger(CommandManager.class.getName());
+
+  @NonNull @Getter
+  private final List<CommandInterceptor<CommandContext>> interceptors = new ArrayList<>();
 
   /**
    * Create an instance
@@ -87,58 +107,63 @@ public class CommandManager implements EasyCommandManager<CommandContext, EasyJd
   }
 
   /**
-   * Get the command instance that matches the name. This will loop thru all the {@link #commands}
-   * until one is {@link EasyJdaCommand#hasAlias(String)} = true.
+   * Get the command instance that matches the name. The {@link #commands} are queried using a
+   * {@link CommandIndex} so there's no need to loop thru them
    *
    * @param name the name to match the command
    * @return the instance of the command if found else null
    */
   public EasyJdaCommand getCommand(@NonNull String name) {
-    for (EasyJdaCommand command : this.commands) {
-      if (command.hasAlias(name)) return command;
-    }
-    return null;
+    return this.index.get(name);
   }
 
   @Override
   public @NonNull CommandManager register(@NonNull EasyJdaCommand command) {
-    this.commands.add(command);
+    this.index.add(command);
     return this;
   }
 
   @Override
   public @NonNull List<AnnotatedCommand> parseCommands(@NonNull Object object) {
-    List<AnnotatedCommand> commands = new ArrayList<>();
-    AnnotatedCommand parent = null;
-    final Class<?> clazz = object.getClass();
-    for (final Method method : clazz.getDeclaredMethods()) {
-      if (method.isAnnotationPresent(Parent.class) && method.isAnnotationPresent(Command.class)) {
-        parent = this.parseCommand(object, method);
-        commands.add(parent);
-        break;
-      }
-    }
-    for (final Method method : clazz.getDeclaredMethods()) {
-      if (!method.isAnnotationPresent(Parent.class) && method.isAnnotationPresent(Command.class)) {
-        final AnnotatedCommand cmd = this.parseCommand(object, method);
-        if (parent != null) {
-          parent.addChildren(cmd);
-        } else {
-          commands.add(cmd);
-        }
-      }
-    }
-    return commands;
+    return this.parser.parseCommands(object, this.invokerFactory);
   }
 
   @Override
   public @NonNull AnnotatedCommand parseCommand(@NonNull Object object, @NonNull Method method) {
-    if (!Result.class.isAssignableFrom(method.getReturnType())
-        && !method.getReturnType().equals(Void.TYPE)) {
-      throw new IllegalArgumentException(method + " must return void or " + Result.class);
-    }
-    return new AnnotatedCommand(
-        this, method.getAnnotation(Command.class), method, object, Argument.parseArguments(method));
+    return this.parser.parseCommand(object, method, this.invokerFactory);
+  }
+
+  /**
+   * Create a command from its method. This is given to the {@link #parser}
+   *
+   * @param command the command annotation of the method
+   * @param method the method of the command
+   * @param object the object that contains the method
+   * @param arguments the arguments of the method
+   * @param invoker the invoker of the method
+   * @return the created command
+   */
+  @NonNull
+  private AnnotatedCommand create(
+      @NonNull Command command,
+      @NonNull Method method,
+      @NonNull Object object,
+      @NonNull List<Argument<?>> arguments,
+      @NonNull CommandInvoker invoker) {
+    CommandParser.checkReturnType(method, Result.class);
+    return new AnnotatedCommand(this, command, method, object, arguments, invoker);
+  }
+
+  /**
+   * Add an interceptor to the commands that are parsed after this call
+   *
+   * @param interceptor the interceptor to add
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addInterceptor(@NonNull CommandInterceptor<CommandContext> interceptor) {
+    this.interceptors.add(interceptor);
+    return this;
   }
 
   @Override
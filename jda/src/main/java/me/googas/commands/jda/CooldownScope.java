@@ -0,0 +1,37 @@
+package me.googas.commands.jda;
+
+import lombok.NonNull;
+import me.googas.commands.cooldown.CooldownEngine;
+import me.googas.commands.jda.context.CommandContext;
+import me.googas.commands.jda.context.GuildCommandContext;
+
+/** Where the cooldown of a {@link EasyJdaCommand} applies */
+public enum CooldownScope {
+  /** The cooldown applies everywhere */
+  GLOBAL,
+  /** The cooldown applies in the guild where the command was executed */
+  GUILD,
+  /** The cooldown applies in the channel where the command was executed */
+  CHANNEL;
+
+  /**
+   * Get the scope to use in the {@link CooldownEngine} for a context. Commands executed outside of
+   * a guild use their channel as the scope of {@link #GUILD}
+   *
+   * @param context the context of the command
+   * @return the id of the scope
+   */
+  public long getScope(@NonNull CommandContext context) {
+    switch (this) {
+      case GUILD:
+        if (context instanceof GuildCommandContext) {
+          return ((GuildCommandContext) context).getGuild().getIdLong();
+        }
+        return context.getChannel().getIdLong();
+      case CHANNEL:
+        return context.getChannel().getIdLong();
+      default:
+        return CooldownEngine.NO_SCOPE;
+    }
+  }
+}
@@ -1,19 +1,24 @@
 package me.googas.commands.jda;
 
 import java.awt.*;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
+import me.googas.commands.context.TokensView;
+import me.googas.commands.execution.ExecutionStrategy;
 import me.googas.commands.jda.context.CommandContext;
-import me.googas.commands.jda.messages.MessagesProvider;
+import me.googas.commands.jda.prefix.PrefixStore;
 import me.googas.commands.jda.result.Result;
+import me.googas.commands.jda.result.ResultRenderer;
 import me.googas.commands.jda.result.ResultType;
 import me.googas.starbox.time.Time;
 import me.googas.starbox.time.unit.Unit;
-import net.dv8tion.jda.api.EmbedBuilder;
-import net.dv8tion.jda.api.MessageBuilder;
 import net.dv8tion.jda.api.entities.ChannelType;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
@@ -40,6 +45,17 @@ import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
  *       when the {@link ResultType} is not {@link ResultType#isError()}
  *   <li>{@link #error} the {@link Color} of the {@link net.dv8tion.jda.api.entities.MessageEmbed}
  *       when the {@link ResultType} is {@link ResultType#isError()}
+ *   <li>{@link #executionStrategy} the {@link ExecutionStrategy} used to execute the commands
+ *   <li>{@link #rateLimiter} the {@link RateLimiter} of how often users, channels and guilds can
+ *       send commands
+ *   <li>{@link #responseDispatcher} the {@link ResponseDispatcher} that joins the responses sent to
+ *       the same channel
+ *   <li>{@link #deletionScheduler} the {@link DeletionScheduler} used to delete the messages of the
+ *       commands and results in bulk
+ *   <li>{@link #resultRenderer} the {@link ResultRenderer} that renders the messages of the results
+ *       using templates cached for each type and guild
+ *   <li>{@link #prefixStore} the {@link PrefixStore} of the prefixes of each guild, when it is not
+ *       null {@link #prefix} is not used
  * </ul>
  */
 @Data
@@ -83,6 +99,28 @@ public class DefaultListenerOptions implements ListenerOptions {
    * net.dv8tion.jda.api.entities.User} that execute the command
    */
   private boolean sendErrors = false;
+  /**
+   * The strategy used to execute the commands. Use a {@link StripedExecutionStrategy} to run them
+   * outside of the event thread keyed by guild
+   */
+  @NonNull private ExecutionStrategy executionStrategy = ExecutionStrategy.CALLER;
+  /** The limiter of how often commands can be sent, null to not limit them */
+  private RateLimiter rateLimiter = null;
+  /**
+   * The prefixes of each guild, multiple prefixes and mentions. If it is null every guild uses
+   * {@link #prefix}
+   */
+  private PrefixStore prefixStore = null;
+  /** The dispatcher that joins the responses sent to a channel, null to send each response */
+  private ResponseDispatcher responseDispatcher = null;
+  /**
+   * The scheduler that deletes the commands and results in bulk, null to delete each message by
+   * itself
+   */
+  private DeletionScheduler deletionScheduler = null;
+  /** Renders the messages of the results using cached templates */
+  @NonNull @EqualsAndHashCode.Exclude @ToString.Exclude
+  private final ResultRenderer resultRenderer = new ResultRenderer();
 
   @NonNull
   public DefaultListenerOptions setPrefix(String prefix) {
@@ -109,8 +147,7 @@ public class DefaultListenerOptions implements ListenerOptions {
    * @return the consumer to delete errors
    */
   public Consumer<Message> getErrorDeleteConsumer() {
-    return msg ->
-        msg.delete().queueAfter(this.getToDeleteErrors().toMillisRound(), TimeUnit.MILLISECONDS);
+    return msg -> this.delete(msg, this.getToDeleteErrors().toMillisRound());
   }
 
   /**
@@ -123,49 +160,62 @@ public class DefaultListenerOptions implements ListenerOptions {
    * @return the consumer to delete success
    */
   public Consumer<Message> getSuccessDeleteConsumer() {
-    return msg ->
-        msg.delete().queueAfter(this.getToDeleteSuccess().toMillisRound(), TimeUnit.MILLISECONDS);
+    return msg -> this.delete(msg, this.getToDeleteSuccess().toMillisRound());
+  }
+
+  /**
+   * Delete a message after a delay using the {@link #deletionScheduler} if there's one
+   *
+   * @param message the message to delete
+   * @param millis the delay in milliseconds
+   */
+  private void delete(@NonNull Message message, long millis) {
+    if (this.deletionScheduler != null) {
+      this.deletionScheduler.schedule(message, millis, TimeUnit.MILLISECONDS);
+    } else {
+      message.delete().queueAfter(millis, TimeUnit.MILLISECONDS);
+    }
   }
 
   @Override
   public void preCommand(
       @NonNull MessageReceivedEvent event, @NonNull String commandName, @NonNull String[] strings) {
+    this.deleteCommand(event);
+  }
+
+  @Override
+  public void preCommand(
+      @NonNull MessageReceivedEvent event,
+      @NonNull String commandName,
+      @NonNull TokensView arguments) {
+    this.deleteCommand(event);
+  }
+
+  /**
+   * Delete the message of a command if {@link #deleteCommands} is true
+   *
+   * @param event the event of the message of the command
+   */
+  private void deleteCommand(@NonNull MessageReceivedEvent event) {
     if (this.isDeleteCommands() && event.getChannelType() != ChannelType.PRIVATE) {
-      event.getMessage().delete().queue();
+      if (this.deletionScheduler != null) {
+        this.deletionScheduler.schedule(event.getMessage(), 0, TimeUnit.MILLISECONDS);
+      } else {
+        event.getMessage().delete().queue();
+      }
     }
   }
 
   @Override
   public Message processResult(Result result, @NonNull CommandContext context) {
     if (result != null && result.getDiscordMessage() == null) {
-      MessageBuilder builder = new MessageBuilder();
-      MessagesProvider messagesProvider = context.getMessagesProvider();
-      String thumbnail = messagesProvider.thumbnailUrl(context);
+      if (result.getMessage() == null) return null;
       if (this.isEmbedMessages()) {
-        if (result.getMessage() != null) {
-          EmbedBuilder embedBuilder =
-              new EmbedBuilder()
-                  .setTitle(result.getType().getTitle(messagesProvider, context))
-                  .setDescription(result.getMessage())
-                  .setThumbnail(thumbnail.isEmpty() ? null : thumbnail)
-                  .setFooter(messagesProvider.footer(context))
-                  .setColor(this.getColor(result.getType()));
-          return builder.setEmbed(embedBuilder.build()).build();
-        } else {
-          return null;
-        }
+        return this.resultRenderer.renderEmbed(
+            result.getType(), result.getMessage(), context, this.getColor(result.getType()));
       } else {
-        if (result.getMessage() != null) {
-          return builder
-              .append(
-                  messagesProvider.response(
-                      result.getType().getTitle(messagesProvider, context),
-                      result.getMessage(),
-                      context))
-              .build();
-        } else {
-          return null;
-        }
+        return this.resultRenderer.renderText(
+            result.getType(), result.getMessage(), context, this.getColor(result.getType()));
       }
     } else if (result != null) {
       return result.getDiscordMessage();
@@ -204,8 +254,34 @@ public class DefaultListenerOptions implements ListenerOptions {
             failure -> {});
   }
 
+  /**
+   * Get the main prefix of a guild. If there's a {@link #prefixStore} the guild may have more
+   * prefixes which are given by {@link #getPrefixes(Guild)}
+   *
+   * @param guild the guild where the command was executed or null if it was not executed in one
+   * @return the first prefix of the guild
+   */
   @Override
   public @NonNull String getPrefix(Guild guild) {
-    return this.prefix;
+    return this.getPrefixes(guild).get(0);
+  }
+
+  @Override
+  public @NonNull List<String> getPrefixes(Guild guild) {
+    if (this.prefixStore != null) {
+      return this.prefixStore.getPrefixes(guild == null ? 0 : guild.getIdLong());
+    }
+    return Collections.singletonList(this.prefix);
+  }
+
+  @Override
+  public String getPrefix(@NonNull MessageReceivedEvent event, @NonNull String content) {
+    if (this.prefixStore == null) {
+      return content.startsWith(this.prefix) ? this.prefix : null;
+    }
+    long guild = event.isFromGuild() ? event.getGuild().getIdLong() : 0;
+    return this.prefixStore
+        .getMatcher(guild, event.getJDA().getSelfUser().getIdLong())
+        .match(content);
   }
 }
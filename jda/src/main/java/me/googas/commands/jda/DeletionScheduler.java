@@ -0,0 +1,479 @@
+package me.googas.commands.jda;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import me.googas.commands.objects.LongMap;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+
+/**
+ * Deletes messages after a delay. Instead of scheduling a task for each message, the pending
+ * deletions are kept in a hashed timing wheel and every tick the messages that are due are grouped
+ * by channel and deleted using {@link MessageChannel#purgeMessagesById(long...)}, which uses bulk
+ * deletion when the channel and the permissions of the bot allow it.
+ *
+ * <p>If a journal is given, each deletion is queued and appended to it in batches every tick so the
+ * deletions that were pending when the bot stopped can be restored using {@link #recover(JDA)}. The
+ * journal is only written by the thread that advances the wheel so scheduling a deletion never
+ * waits for the file. The journal is compacted to the pending deletions once most of its lines
+ * belong to messages that were already deleted or when nothing is pending. Errors with the journal
+ * are given to the {@link #logger}
+ */
+public class DeletionScheduler {
+
+  /** The clock used for the time when messages are due in milliseconds since the epoch */
+  @NonNull @Getter private final LongSupplier clock;
+  /** The file where the pending deletions are written or null to not keep them */
+  @Getter private final Path journal;
+  /** The logger used to report errors while deleting or writing the journal */
+  @NonNull @Getter @Setter
+  private Logger logger = Logger.getLogger(DeletionScheduler.class.getName());
+
+  private final long tickMillis;
+  private final int wheelMask;
+  @NonNull private final ScheduledExecutorService scheduler;
+
+  // Wheel, each slot holds triples of channel, message and due time
+  @NonNull private final long[][] slots;
+  @NonNull private final int[] slotSizes;
+  private long tick;
+  private int size;
+
+  @NonNull private final LongMap<Channel> channels = new LongMap<>();
+
+  // Journal, only used while holding the journal lock
+  @NonNull private final Object journalLock = new Object();
+  private BufferedWriter writer;
+  private int journalLines;
+  // Triples of channel, message and due time waiting to be written to the journal
+  @NonNull private long[] queued = new long[0];
+  private int queuedSize;
+
+  /**
+   * Create the scheduler
+   *
+   * @param scheduler the scheduler that advances the wheel
+   * @param clock the clock in milliseconds since the epoch, it must be a wall clock for the journal
+   *     to be valid after a restart
+   * @param tick the time that each slot of the wheel covers
+   * @param unit the unit of the tick
+   * @param wheelSize the amount of slots in the wheel, it is rounded to a power of two
+   * @param journal the file where the pending deletions are written or null to not keep them
+   */
+  public DeletionScheduler(
+      @NonNull ScheduledExecutorService scheduler,
+      @NonNull LongSupplier clock,
+      long tick,
+      @NonNull TimeUnit unit,
+      int wheelSize,
+      Path journal) {
+    if (tick <= 0) throw new IllegalArgumentException("Tick must be positive: " + tick);
+    if (wheelSize < 1) throw new IllegalArgumentException("Wheel size must be positive");
+    this.scheduler = scheduler;
+    this.clock = clock;
+    this.tickMillis = Math.max(1, unit.toMillis(tick));
+    this.wheelMask = Integer.highestOneBit(Math.min(wheelSize, 1 << 20) * 2 - 1) - 1;
+    this.slots = new long[this.wheelMask + 1][];
+    this.slotSizes = new int[this.wheelMask + 1];
+    for (int i = 0; i < this.slots.length; i++) {
+      this.slots[i] = new long[0];
+    }
+    this.journal = journal;
+    this.tick = clock.getAsLong() / this.tickMillis;
+    scheduler.scheduleAtFixedRate(
+        () -> {
+          try {
+            this.advance();
+          } catch (RuntimeException e) {
+            // An exception would cancel the next ticks
+            this.logger.log(Level.SEVERE, "Could not advance the deletions", e);
+          }
+        },
+        this.tickMillis,
+        this.tickMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Create the scheduler using a daemon thread and a wheel of 64 slots of one second
+   *
+   * @param journal the file where the pending deletions are written or null to not keep them
+   */
+  public DeletionScheduler(Path journal) {
+    this(
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "commands-jda-deletions");
+              thread.setDaemon(true);
+              return thread;
+            }),
+        System::currentTimeMillis,
+        1,
+        TimeUnit.SECONDS,
+        64,
+        journal);
+  }
+
+  /** Create the scheduler without a journal */
+  public DeletionScheduler() {
+    this(null);
+  }
+
+  /**
+   * Delete a message after a delay
+   *
+   * @param message the message to delete
+   * @param delay the time to wait before deleting the message
+   * @param unit the unit of the delay
+   */
+  public void schedule(@NonNull Message message, long delay, @NonNull TimeUnit unit) {
+    this.schedule(message.getChannel(), message.getIdLong(), delay, unit);
+  }
+
+  /**
+   * Delete a message after a delay. If the delay is not positive the message is deleted right away
+   *
+   * @param channel the channel of the message
+   * @param message the id of the message to delete
+   * @param delay the time to wait before deleting the message
+   * @param unit the unit of the delay
+   */
+  public void schedule(
+      @NonNull MessageChannel channel, long message, long delay, @NonNull TimeUnit unit) {
+    if (delay <= 0) {
+      this.delete(channel, message);
+      return;
+    }
+    synchronized (this) {
+      long due = this.clock.getAsLong() + unit.toMillis(delay);
+      this.add(channel, message, due);
+      if (this.journal != null) this.queue(channel.getIdLong(), message, due);
+    }
+  }
+
+  /**
+   * Restore the deletions that are in the journal. Messages in channels that cannot be found are
+   * ignored, the ones that were due while the bot was stopped are deleted in the next tick
+   *
+   * @param jda the jda instance used to find the channels
+   * @return the amount of deletions that were restored
+   * @throws IOException if the journal could not be read
+   */
+  public int recover(@NonNull JDA jda) throws IOException {
+    if (this.journal == null) return 0;
+    synchronized (this.journalLock) {
+      int recovered;
+      long[] pending;
+      synchronized (this) {
+        if (!Files.exists(this.journal)) return 0;
+        recovered = this.read(jda);
+        pending = this.getPending();
+        this.queuedSize = 0;
+      }
+      this.compact(pending);
+      return recovered;
+    }
+  }
+
+  private int read(@NonNull JDA jda) throws IOException {
+    int recovered = 0;
+    try (BufferedReader reader = Files.newBufferedReader(this.journal, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] split = line.split(" ");
+        if (split.length != 3) continue;
+        long due;
+        long channelId;
+        long message;
+        try {
+          due = Long.parseLong(split[0]);
+          channelId = Long.parseUnsignedLong(split[1]);
+          message = Long.parseUnsignedLong(split[2]);
+        } catch (NumberFormatException e) {
+          continue;
+        }
+        Channel pending = this.channels.get(channelId);
+        MessageChannel channel = pending == null ? null : pending.channel;
+        if (channel == null) channel = jda.getTextChannelById(channelId);
+        if (channel == null) channel = jda.getPrivateChannelById(channelId);
+        if (channel == null) continue;
+        this.add(channel, message, due);
+        recovered++;
+      }
+    }
+    return recovered;
+  }
+
+  /**
+   * Get the amount of messages waiting to be deleted
+   *
+   * @return the amount of messages
+   */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * Delete the messages that are due and write the queued deletions to the journal. It is called
+   * every tick by the scheduler
+   */
+  public void advance() {
+    List<Channel> due = new ArrayList<>();
+    List<MessageChannel> channels = new ArrayList<>();
+    List<long[]> messages = new ArrayList<>();
+    synchronized (this.journalLock) {
+      long[] queued = null;
+      int queuedSize = 0;
+      long[] pending = null;
+      synchronized (this) {
+        long now = this.clock.getAsLong();
+        long target = now / this.tickMillis;
+        long from = Math.max(this.tick, target - this.wheelMask);
+        for (long tick = from; tick <= target; tick++) {
+          this.collect((int) (tick & this.wheelMask), now, due);
+        }
+        this.tick = target;
+        for (Channel channel : due) {
+          long[] ids = new long[channel.dueSize];
+          System.arraycopy(channel.due, 0, ids, 0, channel.dueSize);
+          channel.dueSize = 0;
+          channels.add(channel.channel);
+          messages.add(ids);
+        }
+        if (this.journal != null) {
+          int lines = this.journalLines + this.queuedSize / 3;
+          if (lines > 0 && (this.size == 0 || lines > 2 * this.size + 64)) {
+            pending = this.getPending();
+          } else if (this.queuedSize > 0) {
+            queued = this.queued;
+            queuedSize = this.queuedSize;
+            this.queued = new long[Math.max(12, queuedSize)];
+          }
+          this.queuedSize = 0;
+        }
+      }
+      if (pending != null) {
+        this.compact(pending);
+      } else if (queued != null) {
+        this.append(queued, queuedSize);
+      }
+    }
+    for (int i = 0; i < channels.size(); i++) {
+      long[] ids = messages.get(i);
+      if (ids.length == 1) {
+        this.delete(channels.get(i), ids[0]);
+      } else {
+        channels.get(i).purgeMessagesById(ids);
+      }
+    }
+  }
+
+  private void delete(@NonNull MessageChannel channel, long message) {
+    channel.deleteMessageById(message).queue(null, fail -> {});
+  }
+
+  private void collect(int slot, long now, @NonNull List<Channel> due) {
+    long[] entries = this.slots[slot];
+    int size = this.slotSizes[slot];
+    int kept = 0;
+    for (int i = 0; i < size; i += 3) {
+      if (entries[i + 2] <= now) {
+        Channel channel = this.channels.get(entries[i]);
+        if (channel.dueSize == 0) due.add(channel);
+        channel.addDue(entries[i + 1]);
+        if (--channel.pending == 0) this.channels.remove(entries[i]);
+        this.size--;
+      } else {
+        entries[kept] = entries[i];
+        entries[kept + 1] = entries[i + 1];
+        entries[kept + 2] = entries[i + 2];
+        kept += 3;
+      }
+    }
+    this.slotSizes[slot] = kept;
+  }
+
+  private void add(@NonNull MessageChannel channel, long message, long due) {
+    long id = channel.getIdLong();
+    this.channels.computeIfAbsent(id, key -> new Channel(channel)).pending++;
+    // Deletions that are already due go to the next tick instead of waiting for a whole round
+    long tick = Math.max(due / this.tickMillis, this.tick + 1);
+    int slot = (int) (tick & this.wheelMask);
+    long[] entries = this.slots[slot];
+    int size = this.slotSizes[slot];
+    if (size + 3 > entries.length) {
+      long[] grown = new long[Math.max(12, entries.length * 2)];
+      System.arraycopy(entries, 0, grown, 0, size);
+      entries = grown;
+      this.slots[slot] = entries;
+    }
+    entries[size] = id;
+    entries[size + 1] = message;
+    entries[size + 2] = due;
+    this.slotSizes[slot] = size + 3;
+    this.size++;
+  }
+
+  private void queue(long channel, long message, long due) {
+    if (this.queuedSize + 3 > this.queued.length) {
+      long[] grown = new long[Math.max(12, this.queued.length * 2)];
+      System.arraycopy(this.queued, 0, grown, 0, this.queuedSize);
+      this.queued = grown;
+    }
+    this.queued[this.queuedSize] = channel;
+    this.queued[this.queuedSize + 1] = message;
+    this.queued[this.queuedSize + 2] = due;
+    this.queuedSize += 3;
+  }
+
+  /**
+   * Get the deletions that are in the wheel
+   *
+   * @return triples of channel, message and due time
+   */
+  @NonNull
+  private long[] getPending() {
+    long[] pending = new long[this.size * 3];
+    int index = 0;
+    for (int slot = 0; slot < this.slots.length; slot++) {
+      System.arraycopy(this.slots[slot], 0, pending, index, this.slotSizes[slot]);
+      index += this.slotSizes[slot];
+    }
+    return pending;
+  }
+
+  /**
+   * Append deletions to the journal
+   *
+   * @param entries triples of channel, message and due time
+   * @param size the amount of longs to write from the entries
+   */
+  private void append(@NonNull long[] entries, int size) {
+    try {
+      if (this.writer == null) {
+        this.writer =
+            Files.newBufferedWriter(
+                this.journal,
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+      }
+      for (int i = 0; i < size; i += 3) {
+        DeletionScheduler.writeLine(this.writer, entries[i], entries[i + 1], entries[i + 2]);
+      }
+      this.writer.flush();
+      this.journalLines += size / 3;
+    } catch (IOException e) {
+      this.logger.log(Level.WARNING, "Could not write to the journal " + this.journal, e);
+    }
+  }
+
+  /**
+   * Replace the journal with the deletions that are pending
+   *
+   * @param entries triples of channel, message and due time
+   */
+  private void compact(@NonNull long[] entries) {
+    try {
+      if (this.writer != null) {
+        this.writer.close();
+        this.writer = null;
+      }
+      Path parent = this.journal.toAbsolutePath().getParent();
+      Path temporary = Files.createTempFile(parent, this.journal.getFileName().toString(), ".tmp");
+      try {
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+          for (int i = 0; i < entries.length; i += 3) {
+            DeletionScheduler.writeLine(writer, entries[i], entries[i + 1], entries[i + 2]);
+          }
+        }
+        Files.move(
+            temporary,
+            this.journal,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+      this.journalLines = entries.length / 3;
+    } catch (IOException e) {
+      this.logger.log(Level.WARNING, "Could not compact the journal " + this.journal, e);
+    }
+  }
+
+  private static void writeLine(
+      @NonNull BufferedWriter writer, long channel, long message, long due) throws IOException {
+    writer.write(due + " " + Long.toUnsignedString(channel) + " " + Long.toUnsignedString(message));
+    writer.newLine();
+  }
+
+  /** Delete the messages that are due and stop the scheduler */
+  public void shutdown() {
+    this.scheduler.shutdown();
+    this.advance();
+    synchronized (this.journalLock) {
+      try {
+        if (this.writer != null) this.writer.close();
+      } catch (IOException e) {
+        this.logger.log(Level.WARNING, "Could not close the journal " + this.journal, e);
+      } finally {
+        this.writer = null;
+      }
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "DeletionScheduler{"
+        + "tick="
+        + this.tickMillis
+        + ", size="
+        + this.size
+        + ", journal="
+        + this.journal
+        + '}';
+  }
+
+  /** A channel that has messages waiting to be deleted */
+  private static class Channel {
+
+    @NonNull private final MessageChannel channel;
+    /** The amount of messages of the channel in the wheel */
+    private int pending;
+    /** The messages that are due in the current tick */
+    @NonNull private long[] due = new long[4];
+
+    private int dueSize;
+
+    private Channel(@NonNull MessageChannel channel) {
+      this.channel = channel;
+    }
+
+    private void addDue(long message) {
+      if (this.dueSize == this.due.length) {
+        long[] grown = new long[this.due.length * 2];
+        System.arraycopy(this.due, 0, grown, 0, this.dueSize);
+        this.due = grown;
+      }
+      this.due[this.dueSize++] = message;
+    }
+  }
+}
@@ -1,13 +1,19 @@
 package me.googas.commands.jda;
 
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import me.googas.commands.EasyCommand;
+import me.googas.commands.context.TokensView;
+import me.googas.commands.cooldown.CooldownEngine;
+import me.googas.commands.execution.Execution;
+import me.googas.commands.execution.ExecutionStrategy;
 import me.googas.commands.jda.context.CommandContext;
 import me.googas.commands.jda.context.GuildCommandContext;
 import me.googas.commands.jda.permissions.EasyPermission;
@@ -30,8 +36,15 @@ public abstract class EasyJdaCommand implements EasyCommand<CommandContext, Easy
 
   @NonNull protected final CommandManager manager;
   @NonNull @Getter private final Time cooldown;
-  @NonNull @Getter private final Set<CooldownUser> cooldownUsers = new HashSet<>();
+  /** The cooldowns of the users that executed the command */
+  @NonNull @Getter private final CooldownEngine cooldowns = new CooldownEngine();
+
   @Getter @Setter private EasyPermission permission;
+  /** Where the cooldown of the command applies */
+  @NonNull @Getter @Setter private CooldownScope cooldownScope = CooldownScope.GLOBAL;
+  /** The permission that allows to ignore the cooldown, null if nobody can ignore it */
+  @Getter @Setter private EasyPermission cooldownBypass;
+
   @Getter @Setter private boolean excluded;
 
   /**
@@ -73,40 +86,89 @@ public abstract class EasyJdaCommand implements EasyCommand<CommandContext, Easy
   }
 
   /**
-   * Check the cooldown of the sender. If there's still an instance of {@link CooldownUser} in
-   * {@link #cooldownUsers} a {@link Result} will be returned therefore the command will not be
-   * executed.
+   * Check the cooldown of the sender. If the sender is still in cooldown in the {@link
+   * #cooldownScope} a {@link Result} will be returned therefore the command will not be executed
+   * else the cooldown starts in the same step so two executions cannot pass the check at the same
+   * time. Senders that have the {@link #cooldownBypass} permission are never in cooldown
    *
    * @param sender the sender of the command to check
    * @param context the context of the command
-   * @return a {@link ResultType#ERROR} if the sender is not allowed to use the command yet else
+   * @return a {@link ResultType#USAGE} if the sender is not allowed to use the command yet else
    *     null
    */
-  public Result checkCooldown(@NonNull User sender, CommandContext context) {
+  public Result checkCooldown(@NonNull User sender, @NonNull CommandContext context) {
     if (this.cooldown.toMillis() > 0) {
-      CooldownUser cooldownUser = this.getCooldownUser(sender);
-      // TODO make them ignore if the user has certain permission
-      if (cooldownUser != null && !cooldownUser.isExpired()) {
+      if (this.cooldownBypass != null
+          && this.manager.getPermissionChecker().hasPermission(context, this.cooldownBypass)) {
+        return null;
+      }
+      long left =
+          this.cooldowns.acquire(
+              sender.getIdLong(),
+              this.cooldownScope.getScope(context),
+              this.cooldown.toMillisRound());
+      if (left > 0) {
         return new Result(
-            ResultType.USAGE,
-            this.manager.getMessagesProvider().cooldown(cooldownUser.getTimeLeftMillis(), context));
+            ResultType.USAGE, this.manager.getMessagesProvider().cooldown(left, context));
       }
     }
     return null;
   }
 
+  /**
+   * Start the cooldown of the sender in the {@link #cooldownScope}. If the sender is in cooldown it
+   * is replaced. {@link #checkCooldown(User, CommandContext)} already starts the cooldown
+   *
+   * @param sender the sender of the command
+   * @param context the context of the command
+   */
+  public void startCooldown(@NonNull User sender, @NonNull CommandContext context) {
+    if (this.cooldown.toMillis() > 0) {
+      this.cooldowns.start(
+          sender.getIdLong(), this.cooldownScope.getScope(context), this.cooldown.toMillisRound());
+    }
+  }
+
+  /**
+   * Remove the cooldown of the sender in the {@link #cooldownScope}. This is used when the
+   * execution fails so the sender does not have to wait to try again
+   *
+   * @param sender the sender of the command
+   * @param context the context of the command
+   */
+  public void resetCooldown(@NonNull User sender, @NonNull CommandContext context) {
+    this.cooldowns.reset(sender.getIdLong(), this.cooldownScope.getScope(context));
+  }
+
+  /**
+   * Get the users that are in cooldown everywhere
+   *
+   * @return a new set with the users in cooldown in the {@link CooldownScope#GLOBAL} scope
+   * @deprecated the cooldowns are kept in {@link #getCooldowns()}
+   */
+  @NonNull
+  @Deprecated
+  public Set<CooldownUser> getCooldownUsers() {
+    Set<CooldownUser> users = new HashSet<>();
+    for (long id : this.cooldowns.getUsers(CooldownEngine.NO_SCOPE)) {
+      long left = this.cooldowns.getRemaining(id, CooldownEngine.NO_SCOPE);
+      if (left > 0) users.add(new CooldownUser(left, id));
+    }
+    return users;
+  }
+
   /**
    * Get an instance of cooldown user. If the user is still in cooldown an instance of {@link
    * CooldownUser} will be returned else null
    *
    * @param sender the sender to get the {@link CooldownUser} if it is on cooldown
-   * @return an instance if the sender is in cooldown
+   * @return an instance if the sender is in cooldown in the {@link CooldownScope#GLOBAL} scope
+   * @deprecated use {@link CooldownEngine#getRemaining(long, long)} from {@link #getCooldowns()}
    */
+  @Deprecated
   public CooldownUser getCooldownUser(@NonNull User sender) {
-    for (CooldownUser user : this.cooldownUsers) {
-      if (user.getId() == sender.getIdLong()) return user;
-    }
-    return null;
+    long left = this.cooldowns.getRemaining(sender.getIdLong(), CooldownEngine.NO_SCOPE);
+    return left > 0 ? new CooldownUser(left, sender.getIdLong()) : null;
   }
 
   /**
@@ -140,41 +202,83 @@ public abstract class EasyJdaCommand implements EasyCommand<CommandContext, Easy
    */
   abstract Result run(@NonNull CommandContext context);
 
+  /**
+   * This is called after {@link #executeStage(CommandContext)} if no children command is executed.
+   * By default this completes with {@link #run(CommandContext)}
+   *
+   * @param context the context to execute this command
+   * @return the stage of the command execution
+   */
+  @NonNull
+  CompletionStage<Result> runStage(@NonNull CommandContext context) {
+    return CompletableFuture.completedFuture(this.run(context));
+  }
+
   @Override
   public Result execute(@NonNull CommandContext context) {
-    @NonNull String[] strings = context.getStrings();
-    if (strings.length >= 1) {
-      EasyJdaCommand command = this.getChildren(strings[0]);
+    if (context.getStringsLength() >= 1) {
+      EasyJdaCommand command = this.getChildren(context.getString(0));
       if (command != null) {
-        @NonNull String[] copy = Arrays.copyOfRange(strings, 1, strings.length);
-        CommandContext childContext;
-        if (context instanceof GuildCommandContext) {
-          childContext =
-              new GuildCommandContext(
-                  context.getMessage(),
-                  context.getSender(),
-                  copy,
-                  context.getChannel(),
-                  context.getMessagesProvider(),
-                  context.getRegistry(),
-                  context.getCommandName());
-        } else {
-          childContext =
-              new CommandContext(
-                  context.getMessage(),
-                  context.getSender(),
-                  copy,
-                  context.getChannel(),
-                  context.getMessagesProvider(),
-                  context.getRegistry(),
-                  command.getName());
-        }
-        return command.execute(childContext);
+        return command.execute(this.getChildContext(context, command));
       }
     }
     return this.run(context);
   }
 
+  @Override
+  public @NonNull CompletionStage<Result> executeStage(@NonNull CommandContext context) {
+    if (context.getStringsLength() >= 1) {
+      EasyJdaCommand command = this.getChildren(context.getString(0));
+      if (command != null) {
+        return command.executeStage(this.getChildContext(context, command));
+      }
+    }
+    return this.runStage(context);
+  }
+
+  @Override
+  public @NonNull CompletableFuture<Result> executeAsync(
+      @NonNull CommandContext context, @NonNull ExecutionStrategy strategy) {
+    return Execution.supply(() -> this.executeStage(context), strategy.getExecutor(context));
+  }
+
+  /**
+   * Get the context to execute a children command
+   *
+   * @param context the context of this command
+   * @param command the children command that will be executed
+   * @return the context for the children command
+   */
+  @NonNull
+  private CommandContext getChildContext(
+      @NonNull CommandContext context, @NonNull EasyJdaCommand command) {
+    TokensView tokens = context.getTokens().from(1).withFlags(command.getFlags());
+    if (context instanceof GuildCommandContext) {
+      return new GuildCommandContext(
+          context.getMessage(),
+          context.getSender(),
+          tokens,
+          context.getChannel(),
+          context.getMessagesProvider(),
+          context.getRegistry(),
+          context.getCommandName());
+    } else {
+      return new CommandContext(
+          context.getMessage(),
+          context.getSender(),
+          tokens,
+          context.getChannel(),
+          context.getMessagesProvider(),
+          context.getRegistry(),
+          command.getName());
+    }
+  }
+
+  @Override
+  public @NonNull Collection<String> getAllAliases() {
+    return this.getAliases();
+  }
+
   @Override
   public boolean hasAlias(@NonNull String alias) {
     for (String name : this.getAliases()) {
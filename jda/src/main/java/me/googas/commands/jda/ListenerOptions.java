@@ -1,7 +1,11 @@
 package me.googas.commands.jda;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 import lombok.NonNull;
+import me.googas.commands.context.TokensView;
+import me.googas.commands.execution.ExecutionStrategy;
 import me.googas.commands.jda.context.CommandContext;
 import me.googas.commands.jda.result.Result;
 import net.dv8tion.jda.api.entities.Guild;
@@ -37,6 +41,26 @@ public interface ListenerOptions {
   void preCommand(
       @NonNull MessageReceivedEvent event, @NonNull String commandName, @NonNull String[] strings);
 
+  /**
+   * Called before the command is executed with the view of its arguments. This is the method that
+   * the {@link me.googas.commands.jda.listener.CommandListener} calls, by default it creates the
+   * strings of the command and gives them to {@link #preCommand(MessageReceivedEvent, String,
+   * String[])} so implementations that do not need them should override this one
+   *
+   * @param event the event that is causing a command to be executed
+   * @param commandName the alias of the {@link EasyJdaCommand} that is going to be executed
+   * @param arguments the view of the arguments after the alias
+   */
+  default void preCommand(
+      @NonNull MessageReceivedEvent event,
+      @NonNull String commandName,
+      @NonNull TokensView arguments) {
+    String[] strings = new String[arguments.size() + 1];
+    strings[0] = commandName;
+    System.arraycopy(arguments.getStrings(), 0, strings, 1, arguments.size());
+    this.preCommand(event, commandName, strings);
+  }
+
   /**
    * Process the result from the command execution, this means providing the {@link
    * me.googas.commands.jda.listener.CommandListener} with a message to send in the {@link
@@ -85,4 +109,75 @@ public interface ListenerOptions {
    */
   @NonNull
   String getPrefix(Guild guild);
+
+  /**
+   * Get every prefix that runs commands inside a {@link Guild}. By default this only has {@link
+   * #getPrefix(Guild)}
+   *
+   * @param guild the guild where the command was executed or null if it was not executed in one
+   * @return the prefixes that run the commands inside the guild, the first one is {@link
+   *     #getPrefix(Guild)}
+   */
+  @NonNull
+  default List<String> getPrefixes(Guild guild) {
+    return Collections.singletonList(this.getPrefix(guild));
+  }
+
+  /**
+   * Get the prefix that a message starts with. This is called for every message so it should not
+   * block. By default the message must start with one of {@link #getPrefixes(Guild)} of the guild
+   * of the event
+   *
+   * @param event the event of the message
+   * @param content the raw content of the message
+   * @return the prefix that the message starts with or null if the message is not a command
+   */
+  default String getPrefix(@NonNull MessageReceivedEvent event, @NonNull String content) {
+    for (String prefix : this.getPrefixes(event.isFromGuild() ? event.getGuild() : null)) {
+      if (content.startsWith(prefix)) return prefix;
+    }
+    return null;
+  }
+
+  /**
+   * Get the strategy used to execute the commands. The result is sent from the thread where the
+   * command completes. By default commands are executed in the thread of the event, use a {@link
+   * StripedExecutionStrategy} to execute them outside of it
+   *
+   * @return the strategy to execute the commands
+   */
+  @NonNull
+  default ExecutionStrategy getExecutionStrategy() {
+    return ExecutionStrategy.CALLER;
+  }
+
+  /**
+   * Get the amount of commands that are waiting to be executed by the {@link
+   * #getExecutionStrategy()}
+   *
+   * @return the amount of commands waiting
+   */
+  default int getQueueDepth() {
+    return this.getExecutionStrategy().getQueueSize();
+  }
+
+  /**
+   * Get the limiter of how often commands can be sent. Messages that are limited are discarded
+   * without a response. By default there's no limit
+   *
+   * @return the limiter or null if commands are not limited
+   */
+  default RateLimiter getRateLimiter() {
+    return null;
+  }
+
+  /**
+   * Get the dispatcher that sends the responses of the commands joining the ones that are sent to
+   * the same channel. By default each response is sent in its own message
+   *
+   * @return the dispatcher or null to send each response by itself
+   */
+  default ResponseDispatcher getResponseDispatcher() {
+    return null;
+  }
 }
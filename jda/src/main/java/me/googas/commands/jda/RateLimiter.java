@@ -0,0 +1,63 @@
+package me.googas.commands.jda;
+
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.cooldown.TokenBuckets;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+
+/**
+ * Limits how often commands can be sent by each user, in each channel and in each guild. The {@link
+ * me.googas.commands.jda.listener.CommandListener} checks it right after the prefix so messages
+ * that are limited are discarded before they are tokenized. A message is allowed only if there's a
+ * token in the bucket of each of its granularities, the granularities which buckets are null are
+ * not limited
+ */
+public class RateLimiter {
+
+  /** The buckets of the users */
+  @Getter private final TokenBuckets users;
+  /** The buckets of the channels */
+  @Getter private final TokenBuckets channels;
+  /** The buckets of the guilds */
+  @Getter private final TokenBuckets guilds;
+
+  /**
+   * Create the limiter
+   *
+   * @param users the buckets of the users or null to not limit users
+   * @param channels the buckets of the channels or null to not limit channels
+   * @param guilds the buckets of the guilds or null to not limit guilds
+   */
+  public RateLimiter(TokenBuckets users, TokenBuckets channels, TokenBuckets guilds) {
+    this.users = users;
+    this.channels = channels;
+    this.guilds = guilds;
+  }
+
+  /**
+   * Take a token for the message of an event. Tokens are only taken if the message is allowed, if a
+   * bucket is empty the tokens taken from the previous ones are given back
+   *
+   * @param event the event of the message
+   * @return true if the message is allowed
+   */
+  public boolean tryAcquire(@NonNull MessageReceivedEvent event) {
+    long user = event.getAuthor().getIdLong();
+    long channel = event.getChannel().getIdLong();
+    if (this.users != null && !this.users.tryAcquire(user)) {
+      return false;
+    }
+    if (this.channels != null && !this.channels.tryAcquire(channel)) {
+      if (this.users != null) this.users.refund(user);
+      return false;
+    }
+    if (this.guilds != null
+        && event.isFromGuild()
+        && !this.guilds.tryAcquire(event.getGuild().getIdLong())) {
+      if (this.users != null) this.users.refund(user);
+      if (this.channels != null) this.channels.refund(channel);
+      return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,332 @@
+package me.googas.commands.jda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.objects.LongMap;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+
+/**
+ * Sends the responses of commands batching the ones that are sent to the same channel. The first
+ * response of a channel waits for a window and every response sent to the channel during it is
+ * joined into as few messages as possible: their contents are joined by line breaks and their
+ * embeds are sent together, never going over {@link Message#MAX_CONTENT_LENGTH}, {@link
+ * Message#MAX_EMBED_COUNT} or {@link MessageEmbed#EMBED_MAX_LENGTH_BOT}. This avoids reaching the
+ * rate limit of a channel when a burst of commands is executed in it.
+ *
+ * <p>A response that has a consumer is never joined because the consumer expects the message of
+ * that single response, it is sent in order with the other responses of the channel.
+ *
+ * <p>The dispatcher keeps the amount of responses that are waiting and the latency from the moment
+ * a response is given to the dispatcher until Discord confirms that it was sent
+ */
+public class ResponseDispatcher {
+
+  /** The time that responses wait for other responses in nanoseconds */
+  @Getter private final long window;
+
+  @NonNull private final ScheduledExecutorService scheduler;
+  @NonNull private final LongSupplier clock;
+  @NonNull private final LongMap<Batch> batches = new LongMap<>();
+  @NonNull private final AtomicLong queueDepth = new AtomicLong();
+  @NonNull private final LongAdder sentMessages = new LongAdder();
+  @NonNull private final LongAdder sentResponses = new LongAdder();
+  @NonNull private final LongAdder latencySum = new LongAdder();
+  @NonNull private final AtomicLong maxLatency = new AtomicLong();
+
+  /**
+   * Create the dispatcher
+   *
+   * @param scheduler the scheduler that sends the batches once their window ends
+   * @param clock the clock in nanoseconds used to measure the window and the latency
+   * @param window the time that responses wait for other responses
+   * @param unit the unit of the window
+   */
+  public ResponseDispatcher(
+      @NonNull ScheduledExecutorService scheduler,
+      @NonNull LongSupplier clock,
+      long window,
+      @NonNull TimeUnit unit) {
+    if (window < 0) throw new IllegalArgumentException("Window cannot be negative: " + window);
+    this.scheduler = scheduler;
+    this.clock = clock;
+    this.window = unit.toNanos(window);
+  }
+
+  /**
+   * Create the dispatcher using a daemon thread as the scheduler
+   *
+   * @param window the time that responses wait for other responses
+   * @param unit the unit of the window
+   */
+  public ResponseDispatcher(long window, @NonNull TimeUnit unit) {
+    this(
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "commands-jda-responses");
+              thread.setDaemon(true);
+              return thread;
+            }),
+        System::nanoTime,
+        window,
+        unit);
+  }
+
+  /** Create the dispatcher with a window of 100 milliseconds */
+  public ResponseDispatcher() {
+    this(100, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Send a response to a channel
+   *
+   * @param channel the channel to send the response to
+   * @param message the message of the response
+   * @param consumer the consumer of the sent message or null if the response can be joined with
+   *     other responses
+   * @param failure the consumer of the error if the message could not be sent
+   */
+  public void send(
+      @NonNull MessageChannel channel,
+      @NonNull Message message,
+      Consumer<Message> consumer,
+      @NonNull Consumer<? super Throwable> failure) {
+    Response response = new Response(message, consumer, failure, this.clock.getAsLong());
+    this.queueDepth.incrementAndGet();
+    synchronized (this) {
+      Batch batch = this.batches.get(channel.getIdLong());
+      if (batch != null) {
+        batch.responses.add(response);
+        return;
+      }
+      batch = new Batch(channel);
+      batch.responses.add(response);
+      this.batches.put(channel.getIdLong(), batch);
+    }
+    long id = channel.getIdLong();
+    this.scheduler.schedule(() -> this.flush(id), this.window, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Send the batch of a channel now
+   *
+   * @param channel the id of the channel
+   */
+  public void flush(long channel) {
+    Batch batch;
+    synchronized (this) {
+      batch = this.batches.remove(channel);
+    }
+    if (batch == null) return;
+    List<Response> group = new ArrayList<>();
+    int contentLength = 0;
+    int embeds = 0;
+    int embedsLength = 0;
+    for (Response response : batch.responses) {
+      if (response.consumer != null) {
+        this.send(batch.channel, group);
+        group.clear();
+        this.send(batch.channel, response);
+        contentLength = embeds = embedsLength = 0;
+        continue;
+      }
+      String content = response.message.getContentRaw();
+      int length = content == null || content.isEmpty() ? 0 : content.length();
+      int joinedLength =
+          contentLength == 0 || length == 0 ? contentLength + length : contentLength + 1 + length;
+      List<MessageEmbed> messageEmbeds = response.message.getEmbeds();
+      int messageEmbedsLength = 0;
+      for (MessageEmbed embed : messageEmbeds) messageEmbedsLength += embed.getLength();
+      if (!group.isEmpty()
+          && (joinedLength > Message.MAX_CONTENT_LENGTH
+              || embeds + messageEmbeds.size() > Message.MAX_EMBED_COUNT
+              || embedsLength + messageEmbedsLength > MessageEmbed.EMBED_MAX_LENGTH_BOT)) {
+        this.send(batch.channel, group);
+        group.clear();
+        joinedLength = length;
+        embeds = embedsLength = 0;
+      }
+      group.add(response);
+      contentLength = joinedLength;
+      embeds += messageEmbeds.size();
+      embedsLength += messageEmbedsLength;
+    }
+    this.send(batch.channel, group);
+  }
+
+  private void send(@NonNull MessageChannel channel, @NonNull List<Response> group) {
+    if (group.isEmpty()) return;
+    if (group.size() == 1) {
+      this.send(channel, group.get(0));
+      return;
+    }
+    StringBuilder content = new StringBuilder();
+    List<MessageEmbed> embeds = new ArrayList<>();
+    for (Response response : group) {
+      String raw = response.message.getContentRaw();
+      if (raw != null && !raw.isEmpty()) {
+        if (content.length() > 0) content.append('\n');
+        content.append(raw);
+      }
+      embeds.addAll(response.message.getEmbeds());
+    }
+    MessageAction action =
+        content.length() == 0
+            ? channel.sendMessageEmbeds(embeds)
+            : channel.sendMessage(content).setEmbeds(embeds);
+    List<Response> responses = new ArrayList<>(group);
+    this.queueDepth.addAndGet(-responses.size());
+    action.queue(
+        sent -> {
+          this.sentMessages.increment();
+          for (Response response : responses) this.complete(response, sent);
+        },
+        fail -> {
+          for (Response response : responses) response.failure.accept(fail);
+        });
+  }
+
+  private void send(@NonNull MessageChannel channel, @NonNull Response response) {
+    this.queueDepth.decrementAndGet();
+    channel
+        .sendMessage(response.message)
+        .queue(
+            sent -> {
+              this.sentMessages.increment();
+              this.complete(response, sent);
+            },
+            response.failure);
+  }
+
+  private void complete(@NonNull Response response, @NonNull Message sent) {
+    long latency = this.clock.getAsLong() - response.time;
+    this.sentResponses.increment();
+    this.latencySum.add(latency);
+    this.maxLatency.accumulateAndGet(latency, Math::max);
+    if (response.consumer != null) {
+      // The error of the consumer is reported like the errors of sending the message
+      try {
+        response.consumer.accept(sent);
+      } catch (RuntimeException e) {
+        response.failure.accept(e);
+      }
+    }
+  }
+
+  /**
+   * Get the amount of responses that are waiting to be sent
+   *
+   * @return the amount of responses waiting
+   */
+  public long getQueueDepth() {
+    return this.queueDepth.get();
+  }
+
+  /**
+   * Get the amount of messages that were sent. It is lower than {@link #getSentResponses()} when
+   * responses are joined
+   *
+   * @return the amount of messages sent
+   */
+  public long getSentMessages() {
+    return this.sentMessages.sum();
+  }
+
+  /**
+   * Get the amount of responses that were sent
+   *
+   * @return the amount of responses sent
+   */
+  public long getSentResponses() {
+    return this.sentResponses.sum();
+  }
+
+  /**
+   * Get the average latency of the responses that were sent
+   *
+   * @param unit the unit to get the latency in
+   * @return the average latency or 0 if no response was sent
+   */
+  public long getAverageLatency(@NonNull TimeUnit unit) {
+    long responses = this.sentResponses.sum();
+    return responses == 0
+        ? 0
+        : unit.convert(this.latencySum.sum() / responses, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Get the highest latency of the responses that were sent
+   *
+   * @param unit the unit to get the latency in
+   * @return the highest latency or 0 if no response was sent
+   */
+  public long getMaxLatency(@NonNull TimeUnit unit) {
+    return unit.convert(this.maxLatency.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /** Send every batch that is waiting and stop the scheduler */
+  public void shutdown() {
+    List<Long> channels = new ArrayList<>();
+    synchronized (this) {
+      this.batches.forEach((channel, batch) -> channels.add(channel));
+    }
+    for (long channel : channels) this.flush(channel);
+    this.scheduler.shutdown();
+  }
+
+  @Override
+  public String toString() {
+    return "ResponseDispatcher{"
+        + "window="
+        + this.window
+        + ", queueDepth="
+        + this.queueDepth.get()
+        + ", sentMessages="
+        + this.sentMessages.sum()
+        + ", sentResponses="
+        + this.sentResponses.sum()
+        + '}';
+  }
+
+  /** The responses that are waiting to be sent to a channel */
+  private static class Batch {
+
+    @NonNull private final MessageChannel channel;
+    @NonNull private final List<Response> responses = new ArrayList<>();
+
+    private Batch(@NonNull MessageChannel channel) {
+      this.channel = channel;
+    }
+  }
+
+  /** A response that is waiting to be sent */
+  private static class Response {
+
+    @NonNull private final Message message;
+    private final Consumer<Message> consumer;
+    @NonNull private final Consumer<? super Throwable> failure;
+    private final long time;
+
+    private Response(
+        @NonNull Message message,
+        Consumer<Message> consumer,
+        @NonNull Consumer<? super Throwable> failure,
+        long time) {
+      this.message = message;
+      this.consumer = consumer;
+      this.failure = failure;
+      this.time = time;
+    }
+  }
+}
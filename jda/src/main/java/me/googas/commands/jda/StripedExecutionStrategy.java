@@ -0,0 +1,180 @@
+package me.googas.commands.jda;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.execution.ExecutionStrategy;
+import me.googas.commands.jda.context.CommandContext;
+import me.googas.commands.jda.context.GuildCommandContext;
+
+/**
+ * Executes the commands in stripes of a single thread each. The stripe of a command is chosen using
+ * the id of its {@link net.dv8tion.jda.api.entities.Guild} or its {@link
+ * net.dv8tion.jda.api.entities.MessageChannel} so the commands of the same guild or channel run in
+ * the order that they were sent while different guilds run in parallel and a slow command does not
+ * stall the event thread of JDA.
+ *
+ * <p>Each stripe has a queue with a bound, once it is full the {@link RejectionPolicy} decides what
+ * to do with the command. The order and the isolation from the event thread are only kept with
+ * {@link RejectionPolicy#ABORT}
+ */
+public class StripedExecutionStrategy implements ExecutionStrategy {
+
+  /** The id used to choose the stripe of a command */
+  @NonNull @Getter private final Key key;
+  /** What to do when the queue of a stripe is full */
+  @NonNull @Getter private final RejectionPolicy rejectionPolicy;
+  /** The amount of commands that can wait in each stripe */
+  @Getter private final int queueBound;
+
+  @NonNull private final ThreadPoolExecutor[] stripes;
+
+  /**
+   * Create the strategy
+   *
+   * @param stripes the amount of stripes, each one has a single thread
+   * @param queueBound the amount of commands that can wait in each stripe
+   * @param key the id used to choose the stripe of a command
+   * @param rejectionPolicy what to do when the queue of a stripe is full
+   */
+  public StripedExecutionStrategy(
+      int stripes, int queueBound, @NonNull Key key, @NonNull RejectionPolicy rejectionPolicy) {
+    if (stripes < 1) throw new IllegalArgumentException("Stripes must be at least 1: " + stripes);
+    if (queueBound < 1) {
+      throw new IllegalArgumentException("Queue bound must be at least 1: " + queueBound);
+    }
+    this.key = key;
+    this.rejectionPolicy = rejectionPolicy;
+    this.queueBound = queueBound;
+    this.stripes = new ThreadPoolExecutor[stripes];
+    for (int i = 0; i < stripes; i++) {
+      String name = "commands-jda-stripe-" + i;
+      this.stripes[i] =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              0,
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(queueBound),
+              runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+              },
+              rejectionPolicy.getHandler());
+    }
+  }
+
+  /**
+   * Create the strategy with a stripe for each available processor and a queue of 256 commands
+   * keyed by guild that rejects the commands when it is full
+   */
+  public StripedExecutionStrategy() {
+    this(Runtime.getRuntime().availableProcessors(), 256, Key.GUILD, RejectionPolicy.ABORT);
+  }
+
+  /**
+   * Get the id of the context that is used to choose the stripe. Commands that are not executed in
+   * a guild use the id of their channel
+   *
+   * @param context the context of the command
+   * @return the id of the context
+   */
+  private long getId(@NonNull EasyCommandContext context) {
+    if (this.key == Key.GUILD && context instanceof GuildCommandContext) {
+      return ((GuildCommandContext) context).getGuild().getIdLong();
+    } else if (context instanceof CommandContext) {
+      return ((CommandContext) context).getChannel().getIdLong();
+    }
+    return 0;
+  }
+
+  /**
+   * Get the stripe of an id
+   *
+   * @param id the id of the guild or channel
+   * @return the stripe that executes the commands of the id
+   */
+  @NonNull
+  private ThreadPoolExecutor getStripe(long id) {
+    // Snowflakes share their low bits so they are mixed before choosing the stripe
+    long hash = id * 0x9E3779B97F4A7C15L;
+    return this.stripes[(int) ((hash >>> 32) % this.stripes.length)];
+  }
+
+  /**
+   * Get the amount of commands waiting in the stripe of a guild or channel
+   *
+   * @param id the id of the guild or channel
+   * @return the amount of commands waiting
+   */
+  public int getQueueSize(long id) {
+    return this.getStripe(id).getQueue().size();
+  }
+
+  /**
+   * Get the amount of stripes
+   *
+   * @return the amount of stripes
+   */
+  public int getStripes() {
+    return this.stripes.length;
+  }
+
+  /** Stop accepting commands. The commands that were already accepted are still executed */
+  public void shutdown() {
+    for (ThreadPoolExecutor stripe : this.stripes) {
+      stripe.shutdown();
+    }
+  }
+
+  @Override
+  public int getQueueSize() {
+    int size = 0;
+    for (ThreadPoolExecutor stripe : this.stripes) {
+      size += stripe.getQueue().size();
+    }
+    return size;
+  }
+
+  @Override
+  public @NonNull Executor getExecutor(@NonNull EasyCommandContext context) {
+    return this.getStripe(this.getId(context));
+  }
+
+  /** The id used to choose the stripe of a command */
+  public enum Key {
+    /** Commands in the same guild run in order, private messages use the channel */
+    GUILD,
+    /** Commands in the same channel run in order */
+    CHANNEL
+  }
+
+  /** What to do with a command when the queue of its stripe is full */
+  public enum RejectionPolicy {
+    /**
+     * The command is not executed and its future completes with a {@link
+     * java.util.concurrent.RejectedExecutionException} which is given to {@link
+     * ListenerOptions#handle(Throwable, CommandContext)}
+     */
+    ABORT(new ThreadPoolExecutor.AbortPolicy()),
+    /**
+     * The command is executed in the thread that received the message. This gives up both
+     * guarantees of the strategy: the command runs before the commands that are still waiting in
+     * its stripe so the order of the guild or channel is lost, and it runs in the event thread of
+     * JDA which stalls every other event while it runs
+     */
+    CALLER_RUNS(new ThreadPoolExecutor.CallerRunsPolicy());
+
+    @NonNull @Getter private final RejectedExecutionHandler handler;
+
+    RejectionPolicy(@NonNull RejectedExecutionHandler handler) {
+      this.handler = handler;
+    }
+  }
+}
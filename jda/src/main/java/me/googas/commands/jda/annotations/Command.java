@@ -6,6 +6,9 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import lombok.NonNull;
 import me.googas.annotations.TimeAmount;
+import me.googas.commands.jda.CooldownScope;
+import me.googas.commands.jda.context.CommandContext;
+import me.googas.commands.jda.permissions.PermissionChecker;
 import net.dv8tion.jda.api.Permission;
 
 /**
@@ -56,5 +59,41 @@ public @interface Command {
   @NonNull
   TimeAmount cooldown() default @TimeAmount();
 
+  /**
+   * Where the cooldown of the command applies
+   *
+   * @return the scope of the cooldown
+   */
+  @NonNull
+  CooldownScope cooldownScope() default CooldownScope.GLOBAL;
+
+  /**
+   * Get the discord permission that allows to ignore the cooldown. If this is left in {@link
+   * Permission#UNKNOWN} and {@link #cooldownBypassNode()} is empty nobody ignores the cooldown
+   *
+   * @return the discord permission to ignore the cooldown
+   */
+  @NonNull
+  Permission cooldownBypass() default Permission.UNKNOWN;
+
+  /**
+   * Get the permission as a string node that allows to ignore the cooldown. Nodes are checked by
+   * {@link PermissionChecker#hasNode(CommandContext, String)} which must be implemented by the
+   * checker of the manager
+   *
+   * @return the string permission to ignore the cooldown
+   */
+  @NonNull
+  String cooldownBypassNode() default "";
+
   boolean excluded() default false;
+
+  /**
+   * Get the flags that the command declares like {@code -f} or {@code --key}. Declared flags are
+   * not given as arguments, other tokens that look like flags are
+   *
+   * @see me.googas.commands.EasyCommand#getFlags()
+   * @return the flags of the command including their dashes
+   */
+  String[] flags() default {};
 }
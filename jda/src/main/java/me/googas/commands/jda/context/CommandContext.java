@@ -1,14 +1,12 @@
 package me.googas.commands.jda.context;
 
-import java.util.Arrays;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 import lombok.experimental.Delegate;
 import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.context.TokensView;
 import me.googas.commands.jda.messages.MessagesProvider;
 import me.googas.commands.providers.registry.ProvidersRegistry;
-import me.googas.starbox.Strings;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.User;
@@ -24,7 +22,8 @@ public class CommandContext implements EasyCommandContext {
   @NonNull private final MessagesProvider messagesProvider;
   @NonNull @Delegate private final ProvidersRegistry<CommandContext> registry;
   @Getter private final String commandName;
-  @NonNull @Setter private String[] strings;
+  /** The view of the tokens that are the strings of the command */
+  @NonNull @Getter private TokensView tokens;
 
   /**
    * Create an instance
@@ -45,9 +44,31 @@ public class CommandContext implements EasyCommandContext {
       @NonNull MessagesProvider messagesProvider,
       @NonNull ProvidersRegistry<CommandContext> registry,
       String commandName) {
+    this(message, sender, new TokensView(args), channel, messagesProvider, registry, commandName);
+  }
+
+  /**
+   * Create an instance using a view of the tokens of the message
+   *
+   * @param message the message where the command was executed
+   * @param sender the sender of the command
+   * @param tokens the view of the tokens that represent the strings sent in the command
+   * @param channel the channel where the command was executed
+   * @param messagesProvider the messages provider for this context
+   * @param registry the registry of the command context
+   * @param commandName the name of the command that is being executed
+   */
+  public CommandContext(
+      @NonNull Message message,
+      @NonNull User sender,
+      @NonNull TokensView tokens,
+      @NonNull MessageChannel channel,
+      @NonNull MessagesProvider messagesProvider,
+      @NonNull ProvidersRegistry<CommandContext> registry,
+      String commandName) {
     this.message = message;
     this.sender = sender;
-    this.strings = args;
+    this.tokens = tokens;
     this.channel = channel;
     this.messagesProvider = messagesProvider;
     this.registry = registry;
@@ -63,13 +84,38 @@ public class CommandContext implements EasyCommandContext {
   @NonNull
   @Override
   public String getString() {
-    return Strings.fromArray(this.strings);
+    return this.tokens.getString();
   }
 
   @NonNull
   @Override
   public String[] getStrings() {
-    return this.strings;
+    return this.tokens.getStrings();
+  }
+
+  /**
+   * Set the strings of the context
+   *
+   * @param strings the new strings of the context
+   */
+  public void setStrings(@NonNull String[] strings) {
+    this.tokens = new TokensView(strings);
+  }
+
+  @Override
+  public String getString(int position) {
+    return this.tokens.get(position);
+  }
+
+  @Override
+  public int getStringsLength() {
+    return this.tokens.size();
+  }
+
+  @NonNull
+  @Override
+  public String[] getStringsFrom(int position) {
+    return this.tokens.getStringsFrom(position);
   }
 
   @NonNull
@@ -86,12 +132,28 @@ public class CommandContext implements EasyCommandContext {
 
   @Override
   public boolean hasFlag(@NonNull String flag) {
-    for (String string : this.strings) {
-      if (string.equalsIgnoreCase(flag)) {
-        return true;
-      }
-    }
-    return false;
+    return this.tokens.hasFlag(flag);
+  }
+
+  @Override
+  public String getFlagValue(@NonNull String flag) {
+    return this.tokens.getFlagValue(flag);
+  }
+
+  @Override
+  public String getArgument(int position) {
+    return this.tokens.getArgument(position);
+  }
+
+  @Override
+  public int getArgumentsLength() {
+    return this.tokens.getArgumentsLength();
+  }
+
+  @NonNull
+  @Override
+  public String[] getArgumentsFrom(int position) {
+    return this.tokens.getArgumentsFrom(position);
   }
 
   @Override
@@ -102,7 +164,7 @@ public class CommandContext implements EasyCommandContext {
         + ", sender="
         + this.sender
         + ", strings="
-        + Arrays.toString(this.strings)
+        + this.tokens
         + ", channel="
         + this.channel
         + '}';
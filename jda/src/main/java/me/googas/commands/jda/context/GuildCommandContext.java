@@ -3,6 +3,7 @@ package me.googas.commands.jda.context;
 import java.util.Objects;
 import lombok.Getter;
 import lombok.NonNull;
+import me.googas.commands.context.TokensView;
 import me.googas.commands.jda.messages.MessagesProvider;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import net.dv8tion.jda.api.entities.Guild;
@@ -48,6 +49,32 @@ public class GuildCommandContext extends CommandContext {
     this.guild = message.getGuild();
   }
 
+  /**
+   * Create an instance using a view of the tokens of the message
+   *
+   * @param message the message that executed the command
+   * @param sender the sender of the command
+   * @param tokens the view of the tokens representing the arguments of the command
+   * @param channel the channel where the command was execute
+   * @param messagesProvider the messages provider for this context
+   * @param registry the registry of this context
+   * @param commandName the name of the command that is being executed
+   */
+  public GuildCommandContext(
+      @NonNull Message message,
+      @NonNull User sender,
+      @NonNull TokensView tokens,
+      @NonNull MessageChannel channel,
+      @NonNull MessagesProvider messagesProvider,
+      ProvidersRegistry<CommandContext> registry,
+      String commandName) {
+    super(message, sender, tokens, channel, messagesProvider, registry, commandName);
+    this.member =
+        Objects.requireNonNull(
+            message.getMember(), "Guild command context must have a valid member");
+    this.guild = message.getGuild();
+  }
+
   @Override
   public String toString() {
     return "GuildCommandContext{" + "member=" + this.member + ", guild=" + this.guild + '}';
@@ -1,12 +1,17 @@
 package me.googas.commands.jda.listener;
 
-import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import lombok.Getter;
 import lombok.NonNull;
+import me.googas.commands.context.Tokenizer;
+import me.googas.commands.context.Tokens;
+import me.googas.commands.context.TokensView;
 import me.googas.commands.jda.CommandManager;
 import me.googas.commands.jda.EasyJdaCommand;
 import me.googas.commands.jda.ListenerOptions;
+import me.googas.commands.jda.RateLimiter;
+import me.googas.commands.jda.ResponseDispatcher;
 import me.googas.commands.jda.context.CommandContext;
 import me.googas.commands.jda.context.GuildCommandContext;
 import me.googas.commands.jda.messages.MessagesProvider;
@@ -50,32 +55,60 @@ public class CommandListener implements EventListener {
    */
   @SubscribeEvent
   public void onMessageReceivedEvent(@NonNull MessageReceivedEvent event) {
-    String[] strings = event.getMessage().getContentRaw().split(" +");
-    String commandName = strings[0];
-    String prefix = listenerOptions.getPrefix(event.getGuild());
-    if (!commandName.startsWith(prefix)) {
+    String content = event.getMessage().getContentRaw();
+    String prefix = this.listenerOptions.getPrefix(event, content);
+    if (prefix == null) {
       return;
     }
-    this.listenerOptions.preCommand(event, commandName, strings);
-    commandName = commandName.substring(prefix.length());
+    RateLimiter rateLimiter = this.listenerOptions.getRateLimiter();
+    if (rateLimiter != null && !rateLimiter.tryAcquire(event)) {
+      return;
+    }
+    Tokens tokens = Tokenizer.tokenize(content, prefix);
+    if (tokens == null) {
+      return;
+    }
+    String commandName = tokens.get(0);
     EasyJdaCommand command = this.manager.getCommand(commandName);
-    CommandContext context =
-        this.getCommandContext(event, strings, command == null ? null : command.getName());
-    Result result = this.getResult(command, commandName, context);
+    CommandContext context = this.getCommandContext(event, tokens, command);
+    // The view is given so the strings are only created if the options use them
+    this.listenerOptions.preCommand(event, prefix + commandName, context.getTokens());
+    this.getResult(command, commandName, context)
+        .whenComplete(
+            (result, fail) -> {
+              if (fail != null) {
+                this.listenerOptions.handle(fail, context);
+              } else {
+                this.sendResult(event, result, context);
+              }
+            });
+  }
+
+  /**
+   * Send the message of the result of a command
+   *
+   * @param event the event where the command was executed from
+   * @param result the result of the command execution
+   * @param context the context of the command execution
+   */
+  private void sendResult(
+      @NonNull MessageReceivedEvent event, Result result, @NonNull CommandContext context) {
     Message response = this.getMessage(result, context);
-    Consumer<Message> consumer = this.getConsumer(result, context);
-    if (response != null) {
-      if (consumer != null && !(event.getMessage() instanceof FakeMessage)) {
-        event
-            .getChannel()
-            .sendMessage(response)
-            .queue(consumer, fail -> this.listenerOptions.handle(fail, context));
-      } else {
-        event
-            .getChannel()
-            .sendMessage(response)
-            .queue(null, fail -> this.listenerOptions.handle(fail, context));
-      }
+    if (response == null) return;
+    Consumer<Message> consumer =
+        event.getMessage() instanceof FakeMessage ? null : this.getConsumer(result, context);
+    ResponseDispatcher dispatcher = this.listenerOptions.getResponseDispatcher();
+    if (dispatcher != null) {
+      dispatcher.send(
+          event.getChannel(),
+          response,
+          consumer,
+          fail -> this.listenerOptions.handle(fail, context));
+    } else {
+      event
+          .getChannel()
+          .sendMessage(response)
+          .queue(consumer, fail -> this.listenerOptions.handle(fail, context));
     }
   }
 
@@ -107,15 +140,17 @@ public class CommandListener implements EventListener {
    * @param command the command
    * @param commandName the name of the command
    * @param context the context of the command
-   * @return the result of the command execution
+   * @return the future result of the command execution
    */
-  private Result getResult(
-      EasyJdaCommand command, @NonNull String commandName, CommandContext context) {
+  @NonNull
+  private CompletableFuture<Result> getResult(
+      EasyJdaCommand command, @NonNull String commandName, @NonNull CommandContext context) {
     if (command != null) {
-      return command.execute(context);
+      return command.executeAsync(context, this.listenerOptions.getExecutionStrategy());
     } else {
-      return new Result(
-          ResultType.ERROR, this.messagesProvider.commandNotFound(commandName, context));
+      return CompletableFuture.completedFuture(
+          new Result(
+              ResultType.ERROR, this.messagesProvider.commandNotFound(commandName, context)));
     }
   }
 
@@ -123,19 +158,21 @@ public class CommandListener implements EventListener {
    * Get the context where the command was executed
    *
    * @param event the event where the command was executed from
-   * @param strings the strings representing the arguments of the command
-   * @param commandName the name of the command
+   * @param tokens the tokens of the message, the first token being the name of the command
+   * @param command the command that was executed or null if it was not found
    * @return the context of the command
    */
   @NonNull
   private CommandContext getCommandContext(
-      @NonNull MessageReceivedEvent event, @NonNull String[] strings, String commandName) {
-    strings = Arrays.copyOfRange(strings, 1, strings.length);
+      @NonNull MessageReceivedEvent event, @NonNull Tokens tokens, EasyJdaCommand command) {
+    String commandName = command == null ? null : command.getName();
+    TokensView view =
+        command == null ? tokens.view(1) : tokens.view(1).withFlags(command.getFlags());
     if (event.getMember() != null) {
       return new GuildCommandContext(
           event.getMessage(),
           event.getAuthor(),
-          strings,
+          view,
           event.getChannel(),
           this.messagesProvider,
           this.manager.getProvidersRegistry(),
@@ -144,7 +181,7 @@ public class CommandListener implements EventListener {
       return new CommandContext(
           event.getMessage(),
           event.getAuthor(),
-          strings,
+          view,
           event.getChannel(),
           this.messagesProvider,
           this.manager.getProvidersRegistry(),
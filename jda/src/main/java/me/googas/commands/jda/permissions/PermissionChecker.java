@@ -6,6 +6,7 @@ import me.googas.commands.jda.messages.MessagesProvider;
 import me.googas.commands.jda.result.Result;
 import me.googas.commands.jda.result.ResultType;
 import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Member;
 
 /** Checks for the permissions of an user when executing a command */
 public interface PermissionChecker {
@@ -36,6 +37,37 @@ public interface PermissionChecker {
     return null;
   }
 
+  /**
+   * Check whether the sender of the command has a permission without giving a result. This is used
+   * for permissions that give an advantage such as {@link
+   * me.googas.commands.jda.EasyJdaCommand#getCooldownBypass()}. The sender has the permission if it
+   * has the discord permission or the node according to {@link #hasNode(CommandContext, String)}
+   *
+   * @param context the context of the command
+   * @param perm the permission to check
+   * @return true if the sender has the permission
+   */
+  default boolean hasPermission(@NonNull CommandContext context, @NonNull EasyPermission perm) {
+    Permission permission = perm.getPermission();
+    Member member = context.getMessage().getMember();
+    if (permission != Permission.UNKNOWN && member != null && member.hasPermission(permission)) {
+      return true;
+    }
+    return !perm.getNode().isEmpty() && this.hasNode(context, perm.getNode());
+  }
+
+  /**
+   * Check whether the sender of the command has a permission node. Nodes depend on the
+   * implementation so checkers that use them must override this
+   *
+   * @param context the context of the command
+   * @param node the node to check
+   * @return this default checker always returns false
+   */
+  default boolean hasNode(@NonNull CommandContext context, @NonNull String node) {
+    return false;
+  }
+
   /**
    * Get the messages provider in case that the {@link #checkPermission(CommandContext,
    * EasyPermission)} has to return a result with a message.
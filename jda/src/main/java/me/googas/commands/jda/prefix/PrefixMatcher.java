@@ -0,0 +1,164 @@
+package me.googas.commands.jda.prefix;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A trie of prefixes. It decides whether a message starts with any of the prefixes by reading the
+ * first characters of the message a single time and only allocates when a prefix matches. If more
+ * than a prefix matches, the longest one is used.
+ *
+ * <p>Mentions are prefixes that may be followed by spaces before the name of the command like
+ * {@code @Bot help}, when a mention matches the spaces after it are included in the matched prefix.
+ * Matchers are immutable so they can be shared between threads
+ */
+public final class PrefixMatcher {
+
+  private static final int TERMINAL = 1;
+  private static final int MENTION = 2;
+
+  /** The prefixes of the matcher */
+  @NonNull @Getter private final Set<String> prefixes;
+
+  @NonNull private final Node root;
+
+  private PrefixMatcher(@NonNull Set<String> prefixes, @NonNull Node root) {
+    this.prefixes = prefixes;
+    this.root = root;
+  }
+
+  /**
+   * Create a matcher
+   *
+   * @param prefixes the prefixes to match
+   * @param mentions the mentions to match
+   * @return the matcher
+   */
+  @NonNull
+  public static PrefixMatcher of(
+      @NonNull Collection<String> prefixes, @NonNull Collection<String> mentions) {
+    Node root = new Node();
+    Set<String> all = new LinkedHashSet<>();
+    for (String prefix : prefixes) {
+      PrefixMatcher.add(root, prefix, PrefixMatcher.TERMINAL);
+      all.add(prefix);
+    }
+    for (String mention : mentions) {
+      PrefixMatcher.add(root, mention, PrefixMatcher.TERMINAL | PrefixMatcher.MENTION);
+      all.add(mention);
+    }
+    return new PrefixMatcher(Collections.unmodifiableSet(all), root);
+  }
+
+  /**
+   * Create a matcher without mentions
+   *
+   * @param prefixes the prefixes to match
+   * @return the matcher
+   */
+  @NonNull
+  public static PrefixMatcher of(@NonNull String... prefixes) {
+    return PrefixMatcher.of(Arrays.asList(prefixes), Collections.emptyList());
+  }
+
+  /**
+   * Get the mentions of a user that may be used as a prefix
+   *
+   * @param id the id of the user
+   * @return the mentions of the user
+   */
+  @NonNull
+  public static Collection<String> getMentions(long id) {
+    String string = Long.toUnsignedString(id);
+    return Arrays.asList("<@" + string + ">", "<@!" + string + ">");
+  }
+
+  private static void add(@NonNull Node root, @NonNull String prefix, int flags) {
+    if (prefix.isEmpty()) throw new IllegalArgumentException("Prefixes cannot be empty");
+    Node node = root;
+    for (int i = 0; i < prefix.length(); i++) {
+      node = node.getOrCreate(prefix.charAt(i));
+    }
+    node.flags |= flags;
+  }
+
+  /**
+   * Get the length of the prefix that a message starts with
+   *
+   * @param content the content of the message
+   * @return the length of the longest prefix that matches or -1 if none does
+   */
+  public int getLength(@NonNull CharSequence content) {
+    Node node = this.root;
+    int matched = -1;
+    int flags = 0;
+    int length = content.length();
+    for (int i = 0; i < length; i++) {
+      node = node.get(content.charAt(i));
+      if (node == null) break;
+      if (node.flags != 0) {
+        matched = i + 1;
+        flags = node.flags;
+      }
+    }
+    if ((flags & PrefixMatcher.MENTION) != 0) {
+      while (matched < length && content.charAt(matched) == ' ') matched++;
+    }
+    return matched;
+  }
+
+  /**
+   * Get the prefix that a message starts with
+   *
+   * @param content the content of the message
+   * @return the longest prefix that matches including the spaces after a mention or null if none
+   *     does
+   */
+  public String match(@NonNull String content) {
+    int length = this.getLength(content);
+    return length == -1 ? null : content.substring(0, length);
+  }
+
+  @Override
+  public String toString() {
+    return "PrefixMatcher{" + "prefixes=" + this.prefixes + '}';
+  }
+
+  /** A node of the trie. The characters are sorted to find the children using a binary search */
+  private static class Node {
+
+    private char[] chars = new char[0];
+    private Node[] children = new Node[0];
+    private int flags;
+
+    private Node get(char c) {
+      if (this.chars.length == 1) return this.chars[0] == c ? this.children[0] : null;
+      int index = Arrays.binarySearch(this.chars, c);
+      return index < 0 ? null : this.children[index];
+    }
+
+    @NonNull
+    private Node getOrCreate(char c) {
+      int index = Arrays.binarySearch(this.chars, c);
+      if (index >= 0) return this.children[index];
+      int insert = -index - 1;
+      char[] chars = new char[this.chars.length + 1];
+      Node[] children = new Node[this.children.length + 1];
+      System.arraycopy(this.chars, 0, chars, 0, insert);
+      System.arraycopy(this.children, 0, children, 0, insert);
+      System.arraycopy(this.chars, insert, chars, insert + 1, this.chars.length - insert);
+      System.arraycopy(this.children, insert, children, insert + 1, this.children.length - insert);
+      Node node = new Node();
+      chars[insert] = c;
+      children[insert] = node;
+      this.chars = chars;
+      this.children = children;
+      return node;
+    }
+  }
+}
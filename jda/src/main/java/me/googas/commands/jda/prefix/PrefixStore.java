@@ -0,0 +1,367 @@
+package me.googas.commands.jda.prefix;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.objects.LongMap;
+
+/**
+ * Stores the prefixes of each guild in memory keyed by the id of the guild so getting the prefixes
+ * of a message does not need a database. Guilds that do not have custom prefixes use the default
+ * ones and share a single {@link PrefixMatcher}, the matchers of the other guilds are built the
+ * first time that they are requested and cached until their prefixes change.
+ *
+ * <p>The prefixes are published in an immutable snapshot so getting a matcher never locks, changes
+ * lock the store, copy the snapshot and replace it. Changes are expected to be rare compared to
+ * messages
+ *
+ * <p>If a file is given the custom prefixes can be loaded from it using {@link #load()} and written
+ * to it using {@link #save()}. Each line of the file has the id of a guild followed by its prefixes
+ * separated by tabs, so prefixes cannot contain tabs or line breaks
+ */
+public class PrefixStore {
+
+  /** Whether the mention of the bot can be used as a prefix */
+  @Getter private final boolean mention;
+  /** The file where the prefixes are saved or null if they are only in memory */
+  @Getter private final Path file;
+
+  @NonNull private final Object saving = new Object();
+  /** The prefixes that are used to match messages, it is never modified once published */
+  @NonNull private volatile Snapshot snapshot;
+
+  /**
+   * Create the store
+   *
+   * @param file the file where the prefixes are saved or null to keep them only in memory
+   * @param mention whether the mention of the bot can be used as a prefix
+   * @param defaults the prefixes used when a guild does not have custom prefixes
+   */
+  public PrefixStore(Path file, boolean mention, @NonNull String... defaults) {
+    this.file = file;
+    this.mention = mention;
+    this.snapshot =
+        new Snapshot(
+            new LongMap<>(), new Prefixes(PrefixStore.validate(Arrays.asList(defaults))), 0);
+  }
+
+  /**
+   * Create a store that keeps the prefixes in memory
+   *
+   * @param defaults the prefixes used when a guild does not have custom prefixes
+   */
+  public PrefixStore(@NonNull String... defaults) {
+    this(null, false, defaults);
+  }
+
+  /**
+   * Get the matcher of a guild
+   *
+   * @param guild the id of the guild or 0 if the message was not sent in a guild
+   * @param self the id of the bot, used to match its mention
+   * @return the matcher of the guild
+   */
+  @NonNull
+  public PrefixMatcher getMatcher(long guild, long self) {
+    Snapshot snapshot = this.snapshot;
+    if (this.mention && snapshot.self != self) {
+      synchronized (this) {
+        if (this.snapshot.self != self) {
+          // The mentions of the matchers change so none of them can be reused
+          LongMap<Prefixes> guilds = new LongMap<>(this.snapshot.guilds.size());
+          this.snapshot.guilds.forEach(
+              (id, prefixes) -> guilds.put(id, new Prefixes(prefixes.prefixes)));
+          this.snapshot = new Snapshot(guilds, new Prefixes(this.snapshot.defaults.prefixes), self);
+        }
+        snapshot = this.snapshot;
+      }
+    }
+    Prefixes prefixes = guild == 0 ? null : snapshot.guilds.get(guild);
+    if (prefixes == null) prefixes = snapshot.defaults;
+    PrefixMatcher matcher = prefixes.matcher;
+    if (matcher == null) {
+      // Two threads may create the same matcher, either one can be kept
+      matcher =
+          PrefixMatcher.of(
+              Arrays.asList(prefixes.prefixes),
+              this.mention ? PrefixMatcher.getMentions(snapshot.self) : Collections.emptyList());
+      prefixes.matcher = matcher;
+    }
+    return matcher;
+  }
+
+  /**
+   * Get the prefixes of a guild
+   *
+   * @param guild the id of the guild or 0 if the message was not sent in a guild
+   * @return an unmodifiable list of the prefixes of the guild
+   */
+  @NonNull
+  public List<String> getPrefixes(long guild) {
+    Snapshot snapshot = this.snapshot;
+    Prefixes prefixes = guild == 0 ? null : snapshot.guilds.get(guild);
+    if (prefixes == null) prefixes = snapshot.defaults;
+    return Collections.unmodifiableList(Arrays.asList(prefixes.prefixes));
+  }
+
+  /**
+   * Get whether a guild has custom prefixes
+   *
+   * @param guild the id of the guild
+   * @return true if the guild has custom prefixes
+   */
+  public boolean hasPrefixes(long guild) {
+    return this.snapshot.guilds.containsKey(guild);
+  }
+
+  /**
+   * Set the custom prefixes of a guild
+   *
+   * @param guild the id of the guild
+   * @param prefixes the new prefixes of the guild
+   * @return this same instance
+   */
+  @NonNull
+  public synchronized PrefixStore setPrefixes(long guild, @NonNull Collection<String> prefixes) {
+    if (guild == 0) throw new IllegalArgumentException("Guild id cannot be 0");
+    LongMap<Prefixes> guilds = this.copy();
+    guilds.put(guild, new Prefixes(PrefixStore.validate(prefixes)));
+    this.publish(guilds, this.snapshot.defaults);
+    return this;
+  }
+
+  /**
+   * Add a custom prefix to a guild. If the guild does not have custom prefixes the default ones are
+   * kept
+   *
+   * @param guild the id of the guild
+   * @param prefix the prefix to add
+   * @return this same instance
+   */
+  @NonNull
+  public synchronized PrefixStore addPrefix(long guild, @NonNull String prefix) {
+    List<String> prefixes = new ArrayList<>(this.getPrefixes(guild));
+    prefixes.add(prefix);
+    return this.setPrefixes(guild, prefixes);
+  }
+
+  /**
+   * Remove a custom prefix from a guild. If no prefix is left the guild uses the default prefixes
+   *
+   * @param guild the id of the guild
+   * @param prefix the prefix to remove
+   * @return this same instance
+   */
+  @NonNull
+  public synchronized PrefixStore removePrefix(long guild, @NonNull String prefix) {
+    List<String> prefixes = new ArrayList<>(this.getPrefixes(guild));
+    if (prefixes.remove(prefix)) {
+      if (prefixes.isEmpty()) {
+        this.reset(guild);
+      } else {
+        this.setPrefixes(guild, prefixes);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Remove the custom prefixes of a guild so it uses the default prefixes
+   *
+   * @param guild the id of the guild
+   * @return this same instance
+   */
+  @NonNull
+  public synchronized PrefixStore reset(long guild) {
+    if (!this.snapshot.guilds.containsKey(guild)) return this;
+    LongMap<Prefixes> guilds = this.copy();
+    guilds.remove(guild);
+    this.publish(guilds, this.snapshot.defaults);
+    return this;
+  }
+
+  /**
+   * Set the prefixes used when a guild does not have custom prefixes
+   *
+   * @param defaults the new default prefixes
+   * @return this same instance
+   */
+  @NonNull
+  public synchronized PrefixStore setDefaults(@NonNull String... defaults) {
+    this.publish(this.snapshot.guilds, new Prefixes(PrefixStore.validate(Arrays.asList(defaults))));
+    return this;
+  }
+
+  /**
+   * Get the amount of guilds that have custom prefixes
+   *
+   * @return the amount of guilds
+   */
+  public int size() {
+    return this.snapshot.guilds.size();
+  }
+
+  /**
+   * Copy the prefixes of the guilds to change them. The matchers that were created are kept
+   *
+   * @return the copy of the prefixes of the guilds
+   */
+  @NonNull
+  private LongMap<Prefixes> copy() {
+    LongMap<Prefixes> guilds = new LongMap<>(this.snapshot.guilds.size() + 1);
+    this.snapshot.guilds.forEach(guilds::put);
+    return guilds;
+  }
+
+  private void publish(@NonNull LongMap<Prefixes> guilds, @NonNull Prefixes defaults) {
+    this.snapshot = new Snapshot(guilds, defaults, this.snapshot.self);
+  }
+
+  /**
+   * Load the custom prefixes from the file. The prefixes of the guilds in the file replace the ones
+   * in memory. Nothing is done if the store does not have a file or it does not exist
+   *
+   * @return this same instance
+   * @throws IOException if the file could not be read
+   */
+  @NonNull
+  public PrefixStore load() throws IOException {
+    if (this.file == null || !Files.exists(this.file)) return this;
+    LongMap<String[]> loaded = new LongMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isEmpty()) continue;
+        String[] split = line.split("\t");
+        if (split.length < 2) throw new IOException("Line without prefixes: " + line);
+        long guild;
+        try {
+          guild = Long.parseUnsignedLong(split[0]);
+        } catch (NumberFormatException e) {
+          throw new IOException("Invalid guild id: " + split[0], e);
+        }
+        if (guild == 0) throw new IOException("Invalid guild id: " + split[0]);
+        loaded.put(guild, PrefixStore.validate(Arrays.asList(split).subList(1, split.length)));
+      }
+    }
+    // The whole file is published at once instead of copying the snapshot for each guild
+    synchronized (this) {
+      LongMap<Prefixes> guilds = this.copy();
+      loaded.forEach((guild, prefixes) -> guilds.put(guild, new Prefixes(prefixes)));
+      this.publish(guilds, this.snapshot.defaults);
+    }
+    return this;
+  }
+
+  /**
+   * Save the custom prefixes to the file. The prefixes are written to a temporary file which then
+   * replaces the file so it is never left half written. Nothing is done if the store does not have
+   * a file
+   *
+   * @return this same instance
+   * @throws IOException if the file could not be written
+   */
+  @NonNull
+  public PrefixStore save() throws IOException {
+    if (this.file == null) return this;
+    synchronized (this.saving) {
+      List<String> lines = new ArrayList<>();
+      this.snapshot.guilds.forEach(
+          (guild, prefixes) ->
+              lines.add(
+                  Long.toUnsignedString(guild) + "\t" + String.join("\t", prefixes.prefixes)));
+      Path parent = this.file.toAbsolutePath().getParent();
+      if (parent != null) Files.createDirectories(parent);
+      Path temporary = Files.createTempFile(parent, this.file.getFileName().toString(), ".tmp");
+      try {
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+          for (String line : lines) {
+            writer.write(line);
+            writer.newLine();
+          }
+        }
+        Files.move(
+            temporary,
+            this.file,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+    }
+    return this;
+  }
+
+  @NonNull
+  private static String[] validate(@NonNull Collection<String> prefixes) {
+    Set<String> set = new LinkedHashSet<>();
+    for (String prefix : prefixes) {
+      if (prefix == null || prefix.isEmpty()) {
+        throw new IllegalArgumentException("Prefixes cannot be null or empty");
+      }
+      if (prefix.indexOf('\t') != -1 || prefix.indexOf('\n') != -1 || prefix.indexOf('\r') != -1) {
+        throw new IllegalArgumentException(
+            "Prefixes cannot contain tabs or line breaks: " + prefix);
+      }
+      set.add(prefix);
+    }
+    if (set.isEmpty()) throw new IllegalArgumentException("There must be at least a prefix");
+    return set.toArray(new String[0]);
+  }
+
+  @Override
+  public String toString() {
+    Snapshot snapshot = this.snapshot;
+    return "PrefixStore{"
+        + "defaults="
+        + Arrays.toString(snapshot.defaults.prefixes)
+        + ", guilds="
+        + snapshot.guilds.size()
+        + ", mention="
+        + this.mention
+        + ", file="
+        + this.file
+        + '}';
+  }
+
+  /** The prefixes of every guild at some point, it is never modified after it is published */
+  private static class Snapshot {
+
+    /** The prefixes of the guilds that have custom prefixes */
+    @NonNull private final LongMap<Prefixes> guilds;
+    /** The prefixes used when a guild does not have custom prefixes */
+    @NonNull private final Prefixes defaults;
+    /** The id of the bot used to create the mentions of the matchers */
+    private final long self;
+
+    private Snapshot(@NonNull LongMap<Prefixes> guilds, @NonNull Prefixes defaults, long self) {
+      this.guilds = guilds;
+      this.defaults = defaults;
+      this.self = self;
+    }
+  }
+
+  /** Some prefixes with their matcher which is created the first time that it is requested */
+  private static class Prefixes {
+
+    @NonNull private final String[] prefixes;
+    private volatile PrefixMatcher matcher;
+
+    private Prefixes(@NonNull String[] prefixes) {
+      this.prefixes = prefixes;
+    }
+  }
+}
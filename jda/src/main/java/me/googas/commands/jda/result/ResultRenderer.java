@@ -0,0 +1,159 @@
+package me.googas.commands.jda.result;
+
+import java.awt.Color;
+import lombok.NonNull;
+import me.googas.commands.jda.context.CommandContext;
+import me.googas.commands.jda.context.GuildCommandContext;
+import me.googas.commands.jda.messages.MessagesProvider;
+import me.googas.commands.objects.LongMap;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.MessageBuilder;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+
+/**
+ * Renders the messages of {@link Result} using templates. The title, thumbnail, footer and color of
+ * a result only depend on its {@link ResultType} and the guild where the command was executed so
+ * they are built once for each type and guild and cached. Rendering an embed copies the template
+ * and only sets the description.
+ *
+ * <p>Each template remembers the {@link MessagesProvider} and {@link Color} that built it, if
+ * either of them is changed the template is built again the next time that it is used. Providers
+ * that change their messages without being replaced should call {@link #invalidate()}
+ */
+public class ResultRenderer {
+
+  @NonNull private final LongMap<Template[]> templates = new LongMap<>();
+
+  /**
+   * Render the message of a result as an embed
+   *
+   * @param type the type of the result
+   * @param message the message of the result
+   * @param context the context of the command execution
+   * @param color the color of the embed
+   * @return the rendered message
+   */
+  @NonNull
+  public Message renderEmbed(
+      @NonNull ResultType type,
+      @NonNull String message,
+      @NonNull CommandContext context,
+      @NonNull Color color) {
+    Template template = this.getTemplate(type, context, color);
+    return new MessageBuilder(new EmbedBuilder(template.embed).setDescription(message).build())
+        .build();
+  }
+
+  /**
+   * Render the message of a result as text
+   *
+   * @param type the type of the result
+   * @param message the message of the result
+   * @param context the context of the command execution
+   * @param color the color used if the template has to be built
+   * @return the rendered message
+   */
+  @NonNull
+  public Message renderText(
+      @NonNull ResultType type,
+      @NonNull String message,
+      @NonNull CommandContext context,
+      @NonNull Color color) {
+    Template template = this.getTemplate(type, context, color);
+    return new MessageBuilder()
+        .append(context.getMessagesProvider().response(template.title, message, context))
+        .build();
+  }
+
+  @NonNull
+  private Template getTemplate(
+      @NonNull ResultType type, @NonNull CommandContext context, @NonNull Color color) {
+    MessagesProvider provider = context.getMessagesProvider();
+    long guild =
+        context instanceof GuildCommandContext
+            ? ((GuildCommandContext) context).getGuild().getIdLong()
+            : 0;
+    Template template;
+    synchronized (this) {
+      Template[] templates = this.templates.get(guild);
+      template = templates == null ? null : templates[type.ordinal()];
+    }
+    if (template != null && template.provider == provider && template.color.equals(color)) {
+      return template;
+    }
+    template = Template.of(type, context, provider, color);
+    synchronized (this) {
+      Template[] templates =
+          this.templates.computeIfAbsent(guild, id -> new Template[ResultType.values().length]);
+      templates[type.ordinal()] = template;
+    }
+    return template;
+  }
+
+  /**
+   * Remove the templates of a guild
+   *
+   * @param guild the id of the guild or 0 for the templates used outside of guilds
+   */
+  public synchronized void invalidate(long guild) {
+    this.templates.remove(guild);
+  }
+
+  /** Remove every template */
+  public synchronized void invalidate() {
+    this.templates.clear();
+  }
+
+  /**
+   * Get the amount of guilds that have templates
+   *
+   * @return the amount of guilds
+   */
+  public synchronized int size() {
+    return this.templates.size();
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "ResultRenderer{" + "guilds=" + this.templates.size() + '}';
+  }
+
+  /** The parts of the message of a result that do not depend on the message */
+  private static class Template {
+
+    @NonNull private final MessagesProvider provider;
+    @NonNull private final Color color;
+    @NonNull private final String title;
+    @NonNull private final MessageEmbed embed;
+
+    private Template(
+        @NonNull MessagesProvider provider,
+        @NonNull Color color,
+        @NonNull String title,
+        @NonNull MessageEmbed embed) {
+      this.provider = provider;
+      this.color = color;
+      this.title = title;
+      this.embed = embed;
+    }
+
+    @NonNull
+    private static Template of(
+        @NonNull ResultType type,
+        @NonNull CommandContext context,
+        @NonNull MessagesProvider provider,
+        @NonNull Color color) {
+      String title = type.getTitle(provider, context);
+      String thumbnail = provider.thumbnailUrl(context);
+      MessageEmbed embed =
+          new EmbedBuilder()
+              .setTitle(title)
+              .setThumbnail(thumbnail.isEmpty() ? null : thumbnail)
+              .setFooter(provider.footer(context))
+              .setColor(color)
+              .build();
+      return new Template(provider, color, title, embed);
+    }
+  }
+}
@@ -4,28 +4,67 @@ import java.lang.ref.SoftReference;
 import java.util.Objects;
 import lombok.NonNull;
 import lombok.experimental.Delegate;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.User;
 
+/**
+ * A message that executes commands in the name of another user. Only the author, member, channel,
+ * guild and id are kept by this object, every other method is given to the original message which
+ * is held by a {@link SoftReference}. If the message was not retrieved, see {@link
+ * #FakeMessage(User, Member, MessageChannel, Guild, long)}, or the reference was cleared those
+ * methods throw a {@link NullPointerException}
+ */
 public class FakeMessage implements Message {
 
   @NonNull private final User user;
 
   private final Member member;
 
+  @NonNull private final MessageChannel channel;
+
+  private final Guild guild;
+
+  private final long id;
+
   @NonNull @Delegate private final SoftReference<Message> message;
 
   public FakeMessage(@NonNull User user, Member member, @NonNull Message message) {
     this.user = user;
     this.member = member;
+    this.channel = message.getChannel();
+    this.guild = message.isFromGuild() ? message.getGuild() : null;
+    this.id = message.getIdLong();
     this.message = new SoftReference<>(message);
   }
 
+  /**
+   * Create a message that was not retrieved. Only the author, member, channel, guild and id are
+   * available, any other method will throw an exception
+   *
+   * @param user the author of the message
+   * @param member the member of the author
+   * @param channel the channel of the message
+   * @param guild the guild of the message or null if it was not sent in a guild
+   * @param id the id of the message
+   */
+  public FakeMessage(
+      @NonNull User user, Member member, @NonNull MessageChannel channel, Guild guild, long id) {
+    this.user = user;
+    this.member = member;
+    this.channel = channel;
+    this.guild = guild;
+    this.id = id;
+    this.message = new SoftReference<>(null);
+  }
+
   @NonNull
   @Delegate(excludes = Author.class)
   public Message validated() {
-    return Objects.requireNonNull(this.message.get(), "Message reference has expired");
+    return Objects.requireNonNull(
+        this.message.get(), "Message reference has expired or it was not retrieved");
   }
 
   @Override
@@ -39,11 +78,40 @@ public class FakeMessage implements Message {
     return this.member;
   }
 
+  @Override
+  @NonNull
+  public MessageChannel getChannel() {
+    return this.channel;
+  }
+
+  @Override
+  @NonNull
+  public Guild getGuild() {
+    if (this.guild == null) throw new IllegalStateException("This message was not sent in a guild");
+    return this.guild;
+  }
+
+  @Override
+  public long getIdLong() {
+    return this.id;
+  }
+
   private interface Author {
     @NonNull
     User getAuthor();
 
     @NonNull
     Member getMember();
+
+    @NonNull
+    MessageChannel getChannel();
+
+    @NonNull
+    Guild getGuild();
+
+    long getIdLong();
+
+    @NonNull
+    String getId();
   }
 }
@@ -0,0 +1,225 @@
+package me.googas.commands.jda.utils.responsive;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+import lombok.NonNull;
+import me.googas.commands.objects.LongMap;
+
+/**
+ * Keeps the {@link ResponsiveMessage} indexed by the id of the message so that a reaction only
+ * costs a lookup. The reactions of each message are indexed by their normalized emoji key, see
+ * {@link #getKey(String)}, and the responses to {@code any} emoji are added to every key.
+ *
+ * <p>Messages expire after a time to live and the oldest messages are removed once the registry
+ * reaches its maximum size so long running bots do not keep every menu that they have sent. If the
+ * reactions of a message change after it is registered the index is built again the next time that
+ * the amount of reactions differs, registering the message again also builds it
+ */
+public class ResponsiveMessageRegistry {
+
+  /** The time that messages are kept in milliseconds */
+  @Getter private final long ttl;
+  /** The maximum amount of messages */
+  @Getter private final int maxSize;
+
+  @NonNull private final LongSupplier clock;
+  @NonNull private final LongMap<Entry> messages = new LongMap<>();
+  /** The entries in the order that they were registered which is also the order they expire */
+  @NonNull private final ArrayDeque<Entry> order = new ArrayDeque<>();
+
+  /**
+   * Create the registry
+   *
+   * @param clock the monotonic clock used to measure time in nanoseconds
+   * @param ttl the time that messages are kept
+   * @param unit the unit of the time to live
+   * @param maxSize the maximum amount of messages
+   */
+  public ResponsiveMessageRegistry(
+      @NonNull LongSupplier clock, long ttl, @NonNull TimeUnit unit, int maxSize) {
+    if (ttl <= 0) throw new IllegalArgumentException("Time to live must be positive: " + ttl);
+    if (maxSize < 1) throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+    this.clock = clock;
+    this.ttl = unit.toMillis(ttl);
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Create the registry using {@link System#nanoTime()}
+   *
+   * @param ttl the time that messages are kept
+   * @param unit the unit of the time to live
+   * @param maxSize the maximum amount of messages
+   */
+  public ResponsiveMessageRegistry(long ttl, @NonNull TimeUnit unit, int maxSize) {
+    this(System::nanoTime, ttl, unit, maxSize);
+  }
+
+  /**
+   * Get the normalized key of an emoji. Emojis written as characters are converted to their code
+   * points like {@code U+1f44d}, which is how reactions identify them, anything else such as the
+   * name of an emote or code points is kept as is as keys are compared ignoring case
+   *
+   * @param unicode the emoji, its code points or the name of the emote
+   * @return the normalized key
+   */
+  @NonNull
+  public static String getKey(@NonNull String unicode) {
+    boolean ascii = true;
+    for (int i = 0; i < unicode.length() && ascii; i++) {
+      if (unicode.charAt(i) > 127) ascii = false;
+    }
+    if (ascii) return unicode;
+    StringBuilder builder = new StringBuilder();
+    unicode
+        .codePoints()
+        .forEach(codePoint -> builder.append("U+").append(Integer.toHexString(codePoint)));
+    return builder.toString();
+  }
+
+  /**
+   * Register a message. If there was a message with the same id it is replaced
+   *
+   * @param message the message to register
+   */
+  public synchronized void register(@NonNull ResponsiveMessage message) {
+    long now = this.clock.getAsLong();
+    Entry entry = new Entry(message, now + TimeUnit.MILLISECONDS.toNanos(this.ttl));
+    Entry previous = this.messages.put(message.getId(), entry);
+    if (previous != null) previous.removed = true;
+    this.order.add(entry);
+    this.evict(now);
+  }
+
+  /**
+   * Get a message by its id
+   *
+   * @param id the id of the message
+   * @return the message or null if it is not registered or expired
+   */
+  public synchronized ResponsiveMessage get(long id) {
+    Entry entry = this.getEntry(id);
+    return entry == null ? null : entry.message;
+  }
+
+  /**
+   * Get the reactions of a message that respond to an emoji
+   *
+   * @param id the id of the message
+   * @param key the key of the emoji, see {@link #getKey(String)}
+   * @return the reactions that respond to the emoji, empty if the message is not registered
+   */
+  @NonNull
+  public synchronized List<ReactionResponse> getReactions(long id, @NonNull String key) {
+    Entry entry = this.getEntry(id);
+    if (entry == null) return Collections.emptyList();
+    return entry.getReactions(key);
+  }
+
+  /**
+   * Remove a message
+   *
+   * @param id the id of the message to remove
+   * @return true if the message was registered
+   */
+  public synchronized boolean remove(long id) {
+    Entry entry = this.messages.remove(id);
+    if (entry == null) return false;
+    entry.removed = true;
+    return true;
+  }
+
+  /**
+   * Get the amount of messages registered
+   *
+   * @return the amount of messages
+   */
+  public synchronized int size() {
+    this.evict(this.clock.getAsLong());
+    return this.messages.size();
+  }
+
+  private Entry getEntry(long id) {
+    this.evict(this.clock.getAsLong());
+    return this.messages.get(id);
+  }
+
+  /**
+   * Remove the messages that expired and the oldest messages over the maximum size
+   *
+   * @param now the current time in nanoseconds
+   */
+  private void evict(long now) {
+    Entry head;
+    while ((head = this.order.peek()) != null) {
+      if (head.removed) {
+        this.order.poll();
+      } else if (head.expires - now <= 0 || this.messages.size() > this.maxSize) {
+        this.order.poll();
+        this.messages.remove(head.message.getId());
+        head.removed = true;
+      } else {
+        break;
+      }
+    }
+    // Entries replaced or removed in the middle of the queue are dropped once they are many
+    if (this.order.size() > this.messages.size() * 2 + 16) {
+      Iterator<Entry> iterator = this.order.iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().removed) iterator.remove();
+      }
+    }
+  }
+
+  private static class Entry {
+
+    @NonNull private final ResponsiveMessage message;
+    private final long expires;
+    private boolean removed;
+    private Map<String, List<ReactionResponse>> index;
+    private List<ReactionResponse> any;
+    private int indexed = -1;
+
+    private Entry(@NonNull ResponsiveMessage message, long expires) {
+      this.message = message;
+      this.expires = expires;
+    }
+
+    @NonNull
+    private List<ReactionResponse> getReactions(@NonNull String key) {
+      if (this.indexed != this.message.getReactions().size()) this.index();
+      List<ReactionResponse> reactions = this.index.get(key);
+      return reactions == null ? this.any : reactions;
+    }
+
+    private void index() {
+      Map<String, List<ReactionResponse>> index = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+      List<ReactionResponse> any = new ArrayList<>();
+      for (ReactionResponse reaction : this.message.getReactions()) {
+        if (reaction.getUnicode().equalsIgnoreCase("any")) {
+          any.add(reaction);
+        } else {
+          index
+              .computeIfAbsent(
+                  ResponsiveMessageRegistry.getKey(reaction.getUnicode()), key -> new ArrayList<>())
+              .add(reaction);
+        }
+      }
+      for (Map.Entry<String, List<ReactionResponse>> entry : index.entrySet()) {
+        entry.getValue().addAll(any);
+        entry.setValue(Collections.unmodifiableList(entry.getValue()));
+      }
+      this.index = index;
+      this.any = Collections.unmodifiableList(any);
+      this.indexed = this.message.getReactions().size();
+    }
+  }
+}
@@ -6,11 +6,12 @@ import lombok.NonNull;
 import me.googas.commands.jda.CommandManager;
 import me.googas.commands.jda.EasyJdaCommand;
 import me.googas.commands.jda.ListenerOptions;
+import me.googas.commands.jda.ResponseDispatcher;
 import me.googas.commands.jda.context.GuildCommandContext;
-import me.googas.commands.jda.result.Result;
 import me.googas.commands.jda.utils.message.FakeMessage;
 import me.googas.commands.jda.utils.responsive.ReactionResponse;
 import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.events.message.react.MessageReactionAddEvent;
 
 public interface CommandReactionResponseMessage extends ReactionResponse {
@@ -41,30 +42,116 @@ public interface CommandReactionResponseMessage extends ReactionResponse {
         "The command " + this.getCommandName() + " seems to not be registered");
   }
 
+  /**
+   * Get the message where this response was added if it is cached. When the message is not cached
+   * it is retrieved asynchronously before executing the command
+   *
+   * @return the cached message or null if it is not cached
+   */
+  default Message getMessage() {
+    return null;
+  }
+
+  /**
+   * Get whether the command needs the message where the reaction was added. If it does not, the
+   * command is executed with a {@link FakeMessage} that only knows the author, channel, guild and
+   * id of the message so it does not have to be retrieved
+   *
+   * @return true if the message must be given to the command
+   */
+  default boolean isMessageRequired() {
+    return true;
+  }
+
   @Override
   default boolean onReaction(@NonNull MessageReactionAddEvent event) {
-    if (event.getUser() == null) return true;
-    Message message = event.getChannel().retrieveMessageById(event.getMessageIdLong()).complete();
-    CommandManager manager = this.getCommandManager();
-    String name = this.getCommandName();
-    GuildCommandContext context =
-        new GuildCommandContext(
-            new FakeMessage(event.getUser(), event.getMember(), message),
-            event.getUser(),
-            this.getArguments(),
+    User user = event.getUser();
+    if (user == null) return true;
+    FakeMessage unretrieved =
+        new FakeMessage(
+            user,
+            event.getMember(),
             event.getChannel(),
-            manager.getMessagesProvider(),
-            manager.getProvidersRegistry(),
-            name);
-    Result result = this.getCommand().execute(context);
-    if (result != null) {
-      ListenerOptions options = this.getCommandManager().getListenerOptions();
-      Message resultMessage = options.processResult(result, context);
-      Consumer<Message> consumer = options.processConsumer(result, context);
-      if (resultMessage != null) {
-        context.getChannel().sendMessage(resultMessage).queue(consumer);
-      }
+            event.isFromGuild() ? event.getGuild() : null,
+            event.getMessageIdLong());
+    if (!this.isMessageRequired()) {
+      this.execute(event, unretrieved);
+      return false;
+    }
+    Message message = this.getMessage();
+    if (message != null && message.getIdLong() == event.getMessageIdLong()) {
+      this.execute(event, new FakeMessage(user, event.getMember(), message));
+    } else {
+      event
+          .getChannel()
+          .retrieveMessageById(event.getMessageIdLong())
+          .queue(
+              retrieved -> this.execute(event, new FakeMessage(user, event.getMember(), retrieved)),
+              fail ->
+                  this.getCommandManager()
+                      .getListenerOptions()
+                      .handle(fail, this.getContext(event, unretrieved)));
     }
     return false;
   }
+
+  /**
+   * Execute the command and send its result. The command is executed using the {@link
+   * ListenerOptions#getExecutionStrategy()} of the manager so this does not block the thread of the
+   * event
+   *
+   * @param event the event of the reaction that executes the command
+   * @param message the message to give to the command
+   */
+  default void execute(@NonNull MessageReactionAddEvent event, @NonNull FakeMessage message) {
+    ListenerOptions options = this.getCommandManager().getListenerOptions();
+    GuildCommandContext context = this.getContext(event, message);
+    this.getCommand()
+        .executeAsync(context, options.getExecutionStrategy())
+        .whenComplete(
+            (result, fail) -> {
+              if (fail != null) {
+                options.handle(fail, context);
+                return;
+              }
+              if (result == null) return;
+              Message response = options.processResult(result, context);
+              Consumer<Message> consumer = options.processConsumer(result, context);
+              if (response == null) return;
+              ResponseDispatcher dispatcher = options.getResponseDispatcher();
+              if (dispatcher != null) {
+                dispatcher.send(
+                    context.getChannel(),
+                    response,
+                    consumer,
+                    error -> options.handle(error, context));
+              } else {
+                context
+                    .getChannel()
+                    .sendMessage(response)
+                    .queue(consumer, error -> options.handle(error, context));
+              }
+            });
+  }
+
+  /**
+   * Get the context to execute the command
+   *
+   * @param event the event of the reaction that executes the command
+   * @param message the message to give to the command
+   * @return the context of the command
+   */
+  @NonNull
+  default GuildCommandContext getContext(
+      @NonNull MessageReactionAddEvent event, @NonNull FakeMessage message) {
+    CommandManager manager = this.getCommandManager();
+    return new GuildCommandContext(
+        message,
+        message.getAuthor(),
+        this.getArguments(),
+        event.getChannel(),
+        manager.getMessagesProvider(),
+        manager.getProvidersRegistry(),
+        this.getCommandName());
+  }
 }
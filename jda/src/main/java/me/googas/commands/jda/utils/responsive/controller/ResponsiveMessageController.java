@@ -1,15 +1,19 @@
 package me.googas.commands.jda.utils.responsive.controller;
 
 import java.util.Collection;
-import java.util.Set;
 import lombok.NonNull;
 import me.googas.commands.jda.utils.responsive.ReactionResponse;
 import me.googas.commands.jda.utils.responsive.ResponsiveMessage;
+import me.googas.commands.jda.utils.responsive.ResponsiveMessageRegistry;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.MessageReaction;
 import net.dv8tion.jda.api.events.message.react.MessageReactionAddEvent;
 
-/** The controller to use the responsive messages */
+/**
+ * The controller to use the responsive messages. Controllers that give a {@link
+ * ResponsiveMessageRegistry} in {@link #getRegistry()} find messages and their reactions with a
+ * lookup, the rest check every message in {@link #getResponsiveMessages(Guild)}
+ */
 public interface ResponsiveMessageController {
 
   /**
@@ -20,21 +24,41 @@ public interface ResponsiveMessageController {
   default void onMessageReactionAdd(MessageReactionAddEvent event) {
     if (event.getUser() != null
         && (!event.getUser().isBot() || event.getUser().isBot() && this.acceptBots())) {
+      ResponsiveMessageRegistry registry = this.getRegistry();
+      if (registry != null) {
+        this.onReaction(
+            event,
+            registry.getReactions(
+                event.getMessageIdLong(),
+                this.getIdentificationFromReaction(event.getReactionEmote())));
+        return;
+      }
       ResponsiveMessage responsiveMessage =
           this.getResponsiveMessage(event.getGuild(), event.getMessageIdLong());
       if (responsiveMessage != null) {
-        Set<ReactionResponse> reactions =
+        this.onReaction(
+            event,
             responsiveMessage.getReactions(
-                this.getIdentificationFromReaction(event.getReactionEmote()));
-        if (!reactions.isEmpty()) {
-          boolean removed = false;
-          for (ReactionResponse reaction : reactions) {
-            boolean remove = reaction.onReaction(event);
-            if (remove && !removed) {
-              event.getReaction().removeReaction(event.getUser()).queue();
-              removed = true;
-            }
-          }
+                this.getIdentificationFromReaction(event.getReactionEmote())));
+      }
+    }
+  }
+
+  /**
+   * Run the reactions that respond to the emoji of the event
+   *
+   * @param event the event of a reaction being added to a message
+   * @param reactions the reactions that respond to the emoji
+   */
+  default void onReaction(
+      @NonNull MessageReactionAddEvent event, @NonNull Collection<ReactionResponse> reactions) {
+    if (!reactions.isEmpty()) {
+      boolean removed = false;
+      for (ReactionResponse reaction : reactions) {
+        boolean remove = reaction.onReaction(event);
+        if (remove && !removed) {
+          event.getReaction().removeReaction(event.getUser()).queue();
+          removed = true;
         }
       }
     }
@@ -48,6 +72,8 @@ public interface ResponsiveMessageController {
    * @return the message if found else null
    */
   default ResponsiveMessage getResponsiveMessage(Guild guild, long messageId) {
+    ResponsiveMessageRegistry registry = this.getRegistry();
+    if (registry != null) return registry.get(messageId);
     for (ResponsiveMessage message : this.getResponsiveMessages(guild)) {
       if (message != null && message.getId() == messageId) {
         return message;
@@ -78,9 +104,22 @@ public interface ResponsiveMessageController {
    * @param message the message to remove
    */
   default void removeMessage(Guild guild, @NonNull ResponsiveMessage message) {
+    ResponsiveMessageRegistry registry = this.getRegistry();
+    if (registry != null) registry.remove(message.getId());
     this.getResponsiveMessages(guild).remove(message);
   }
 
+  /**
+   * Get the registry that indexes the responsive messages of this controller. Messages must be
+   * {@link ResponsiveMessageRegistry#register(ResponsiveMessage)} to respond. By default there's no
+   * registry
+   *
+   * @return the registry or null if messages are found using {@link #getResponsiveMessages(Guild)}
+   */
+  default ResponsiveMessageRegistry getRegistry() {
+    return null;
+  }
+
   /**
    * Whether or not bots can use this responsive message
    *
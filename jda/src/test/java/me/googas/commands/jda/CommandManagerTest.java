@@ -0,0 +1,93 @@
+package me.googas.commands.jda;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import me.googas.commands.jda.annotations.Command;
+import me.googas.commands.jda.context.CommandContext;
+import me.googas.commands.jda.messages.JdaMessagesProvider;
+import me.googas.commands.jda.messages.MessagesProvider;
+import me.googas.commands.jda.permissions.PermissionChecker;
+import me.googas.commands.jda.providers.registry.JdaProvidersRegistry;
+import me.googas.commands.jda.result.Result;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.entities.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CommandManagerTest {
+
+  private final MessagesProvider messages = new JdaMessagesProvider();
+  private final JdaProvidersRegistry registry = new JdaProvidersRegistry(this.messages);
+  private final CommandManager manager =
+      new CommandManager(
+          this.registry,
+          this.messages,
+          (PermissionChecker) () -> this.messages,
+          CommandManagerTest.proxy(JDA.class),
+          new DefaultListenerOptions());
+
+  @Test
+  public void runsCommandsThatReturnAStage() {
+    StageCommands commands = new StageCommands();
+    this.manager.parseAndRegister(commands);
+    EasyJdaCommand command = this.manager.getCommand("later");
+    Assert.assertNotNull(command);
+    CompletionStage<Result> stage = command.executeStage(this.context("later"));
+    // The stage of the method is not waited for
+    Assert.assertFalse(stage.toCompletableFuture().isDone());
+    commands.pending.complete(new Result("done"));
+    Assert.assertEquals("done", stage.toCompletableFuture().join().getMessage());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsStagesOfOtherTypes() {
+    this.manager.parseCommands(new WrongCommands());
+  }
+
+  private CommandContext context(String name) {
+    return new CommandContext(
+        CommandManagerTest.proxy(Message.class),
+        CommandManagerTest.proxy(User.class),
+        new String[0],
+        CommandManagerTest.proxy(MessageChannel.class),
+        this.messages,
+        this.registry,
+        name);
+  }
+
+  /**
+   * Create an object of an interface which methods return 1 for longs and null for the rest
+   *
+   * @param type the interface
+   * @param <T> the type of the interface
+   * @return the object
+   */
+  private static <T> T proxy(Class<T> type) {
+    return type.cast(
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> method.getReturnType() == long.class ? 1L : null));
+  }
+
+  public static class StageCommands {
+
+    private final CompletableFuture<Result> pending = new CompletableFuture<>();
+
+    @Command(aliases = "later")
+    public CompletionStage<Result> later() {
+      return this.pending;
+    }
+  }
+
+  public static class WrongCommands {
+
+    @Command(aliases = "wrong")
+    public CompletionStage<String> wrong() {
+      return CompletableFuture.completedFuture("wrong");
+    }
+  }
+}
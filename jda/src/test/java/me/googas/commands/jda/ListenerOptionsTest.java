@@ -0,0 +1,65 @@
+package me.googas.commands.jda;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import me.googas.commands.context.Tokens;
+import me.googas.commands.jda.context.CommandContext;
+import me.googas.commands.jda.result.Result;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ListenerOptionsTest {
+
+  private final MessageReceivedEvent event =
+      new MessageReceivedEvent(
+          ListenerOptionsTest.proxy(JDA.class), 1, ListenerOptionsTest.proxy(Message.class));
+  private String[] strings;
+
+  private final ListenerOptions options =
+      new ListenerOptions() {
+        @Override
+        public void preCommand(MessageReceivedEvent event, String commandName, String[] strings) {
+          ListenerOptionsTest.this.strings = strings;
+        }
+
+        @Override
+        public Message processResult(Result result, CommandContext context) {
+          return null;
+        }
+
+        @Override
+        public Consumer<Message> processConsumer(Result result, CommandContext context) {
+          return null;
+        }
+
+        @Override
+        public void handle(Throwable fail, CommandContext context) {}
+
+        @Override
+        public String getPrefix(Guild guild) {
+          return "!";
+        }
+      };
+
+  @Test
+  public void givesTheStringsOfTheViewToTheArrayMethod() {
+    Tokens tokens = new Tokens(new String[] {"ban", "Steve", "griefing"});
+    this.options.preCommand(this.event, "!ban", tokens.view(1));
+    Assert.assertEquals(Arrays.asList("!ban", "Steve", "griefing"), Arrays.asList(this.strings));
+    this.options.preCommand(this.event, "!ban", tokens.view(3));
+    Assert.assertEquals(Arrays.asList("!ban"), Arrays.asList(this.strings));
+  }
+
+  private static <T> T proxy(Class<T> type) {
+    return type.cast(
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> method.getReturnType() == long.class ? 1L : null));
+  }
+}
@@ -0,0 +1,139 @@
+package me.googas.commands.jda;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResponseDispatcherTest {
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  // The window is long so batches are only sent when they are flushed
+  private final ResponseDispatcher dispatcher =
+      new ResponseDispatcher(this.scheduler, System::nanoTime, 1, TimeUnit.HOURS);
+  /** The contents of the messages sent to the channel in order */
+  private final List<String> sent = new ArrayList<>();
+
+  private final MessageChannel channel =
+      (MessageChannel)
+          Proxy.newProxyInstance(
+              MessageChannel.class.getClassLoader(),
+              new Class<?>[] {MessageChannel.class},
+              (proxy, method, args) -> {
+                switch (method.getName()) {
+                  case "getIdLong":
+                    return 1L;
+                  case "sendMessage":
+                    return this.action(
+                        args[0] instanceof Message
+                            ? ((Message) args[0]).getContentRaw()
+                            : args[0].toString());
+                  default:
+                    throw new UnsupportedOperationException(method.toString());
+                }
+              });
+
+  @After
+  public void shutdown() {
+    this.scheduler.shutdownNow();
+  }
+
+  @Test
+  public void joinsResponsesWithoutConsumer() {
+    for (String content : Arrays.asList("a", "b", "c")) {
+      this.dispatcher.send(this.channel, ResponseDispatcherTest.message(content), null, fail -> {});
+    }
+    Assert.assertEquals(3, this.dispatcher.getQueueDepth());
+    this.dispatcher.flush(1);
+    Assert.assertEquals(Collections.singletonList("a\nb\nc"), this.sent);
+    Assert.assertEquals(0, this.dispatcher.getQueueDepth());
+    Assert.assertEquals(1, this.dispatcher.getSentMessages());
+    Assert.assertEquals(3, this.dispatcher.getSentResponses());
+  }
+
+  @Test
+  public void sendsResponsesWithConsumerAlone() {
+    List<String> consumed = new ArrayList<>();
+    Consumer<Message> consumer = message -> consumed.add(message.getContentRaw());
+    this.dispatcher.send(this.channel, ResponseDispatcherTest.message("a"), null, fail -> {});
+    this.dispatcher.send(this.channel, ResponseDispatcherTest.message("b"), consumer, fail -> {});
+    this.dispatcher.send(this.channel, ResponseDispatcherTest.message("c"), null, fail -> {});
+    this.dispatcher.send(this.channel, ResponseDispatcherTest.message("d"), null, fail -> {});
+    this.dispatcher.send(this.channel, ResponseDispatcherTest.message("e"), consumer, fail -> {});
+    this.dispatcher.flush(1);
+    Assert.assertEquals(Arrays.asList("a", "b", "c\nd", "e"), this.sent);
+    Assert.assertEquals(Arrays.asList("b", "e"), consumed);
+    Assert.assertEquals(5, this.dispatcher.getSentResponses());
+  }
+
+  @Test
+  public void reportsTheErrorsOfConsumers() {
+    List<Throwable> failures = new ArrayList<>();
+    RuntimeException exception = new RuntimeException();
+    this.dispatcher.send(
+        this.channel,
+        ResponseDispatcherTest.message("a"),
+        message -> {
+          throw exception;
+        },
+        failures::add);
+    this.dispatcher.flush(1);
+    Assert.assertEquals(Collections.singletonList(exception), failures);
+  }
+
+  /**
+   * Create the action that sends a message which completes right away
+   *
+   * @param content the content of the message
+   * @return the action
+   */
+  private MessageAction action(String content) {
+    return (MessageAction)
+        Proxy.newProxyInstance(
+            MessageAction.class.getClassLoader(),
+            new Class<?>[] {MessageAction.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "setEmbeds":
+                  return proxy;
+                case "queue":
+                  this.sent.add(content);
+                  @SuppressWarnings("unchecked")
+                  Consumer<Object> success = (Consumer<Object>) args[0];
+                  success.accept(ResponseDispatcherTest.message(content));
+                  return null;
+                default:
+                  throw new UnsupportedOperationException(method.toString());
+              }
+            });
+  }
+
+  private static Message message(String content) {
+    return (Message)
+        Proxy.newProxyInstance(
+            Message.class.getClassLoader(),
+            new Class<?>[] {Message.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "getContentRaw":
+                case "toString":
+                  return content;
+                case "getEmbeds":
+                  return Collections.emptyList();
+                default:
+                  throw new UnsupportedOperationException(method.toString());
+              }
+            });
+  }
+}
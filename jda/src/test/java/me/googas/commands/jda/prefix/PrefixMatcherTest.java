@@ -0,0 +1,42 @@
+package me.googas.commands.jda.prefix;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrefixMatcherTest {
+
+  @Test
+  public void matchesTheLongestPrefix() {
+    PrefixMatcher matcher = PrefixMatcher.of("!", "!!", "bot ");
+    Assert.assertEquals("!!", matcher.match("!!help"));
+    Assert.assertEquals("!", matcher.match("!help"));
+    Assert.assertEquals("bot ", matcher.match("bot help"));
+    Assert.assertNull(matcher.match("bo help"));
+    Assert.assertNull(matcher.match("help"));
+    Assert.assertEquals(-1, matcher.getLength(""));
+  }
+
+  @Test
+  public void includesTheSpacesAfterAMention() {
+    PrefixMatcher matcher =
+        PrefixMatcher.of(Collections.singletonList("!"), PrefixMatcher.getMentions(42));
+    Assert.assertEquals("<@42>  ", matcher.match("<@42>  help"));
+    Assert.assertEquals("<@!42>", matcher.match("<@!42>help"));
+    Assert.assertEquals("!", matcher.match("! help"));
+    Assert.assertNull(matcher.match("<@43> help"));
+  }
+
+  @Test
+  public void keepsThePrefixesInOrder() {
+    PrefixMatcher matcher = PrefixMatcher.of(Arrays.asList("b", "a", "b"), Arrays.asList("c"));
+    Assert.assertEquals(
+        Arrays.asList("b", "a", "c"), Arrays.asList(matcher.getPrefixes().toArray()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsEmptyPrefixes() {
+    PrefixMatcher.of("!", "");
+  }
+}
@@ -0,0 +1,66 @@
+package me.googas.commands.jda.prefix;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrefixStoreTest {
+
+  @Test
+  public void usesTheDefaultsWithoutCustomPrefixes() {
+    PrefixStore store = new PrefixStore("!", "?");
+    PrefixMatcher matcher = store.getMatcher(1, 0);
+    Assert.assertSame(matcher, store.getMatcher(2, 0));
+    Assert.assertSame(matcher, store.getMatcher(0, 0));
+    Assert.assertEquals(Arrays.asList("!", "?"), store.getPrefixes(1));
+    Assert.assertFalse(store.hasPrefixes(1));
+  }
+
+  @Test
+  public void changesTheMatcherOfAGuild() {
+    PrefixStore store = new PrefixStore("!");
+    store.setPrefixes(1, Collections.singletonList("$"));
+    PrefixMatcher matcher = store.getMatcher(1, 0);
+    Assert.assertEquals("$", matcher.match("$help"));
+    Assert.assertNull(matcher.match("!help"));
+    Assert.assertSame(matcher, store.getMatcher(1, 0));
+    store.addPrefix(1, "%");
+    Assert.assertNotSame(matcher, store.getMatcher(1, 0));
+    Assert.assertEquals(Arrays.asList("$", "%"), store.getPrefixes(1));
+    store.removePrefix(1, "$").removePrefix(1, "%");
+    Assert.assertFalse(store.hasPrefixes(1));
+    Assert.assertEquals("!", store.getMatcher(1, 0).match("!help"));
+  }
+
+  @Test
+  public void matchesTheMentionOfTheBot() {
+    PrefixStore store = new PrefixStore(null, true, "!");
+    Assert.assertEquals("<@7> ", store.getMatcher(1, 7).match("<@7> help"));
+    // The matchers are rebuilt if the bot changes
+    Assert.assertNull(store.getMatcher(1, 8).match("<@7> help"));
+    Assert.assertEquals("<@!8>", store.getMatcher(1, 8).match("<@!8>help"));
+  }
+
+  @Test
+  public void savesAndLoadsTheCustomPrefixes() throws IOException {
+    Path file = Files.createTempDirectory("prefixes").resolve("prefixes.tsv");
+    new PrefixStore(file, false, "!")
+        .setPrefixes(1, Arrays.asList("$", "%"))
+        .setPrefixes(-1, Collections.singletonList("?"))
+        .save();
+    PrefixStore store = new PrefixStore(file, false, "!").load();
+    Assert.assertEquals(2, store.size());
+    Assert.assertEquals(Arrays.asList("$", "%"), store.getPrefixes(1));
+    Assert.assertEquals(Collections.singletonList("?"), store.getPrefixes(-1));
+    Assert.assertEquals(Collections.singletonList("!"), store.getPrefixes(2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsPrefixesWithTabs() {
+    new PrefixStore("!").setPrefixes(1, Collections.singletonList("a\tb"));
+  }
+}
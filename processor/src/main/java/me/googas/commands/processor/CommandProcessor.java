@@ -0,0 +1,151 @@
+package me.googas.commands.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import me.googas.commands.registrar.Registrars;
+
+/**
+ * Generates a {@link me.googas.commands.registrar.CommandRegistrar} for each class that has methods
+ * annotated with the {@code Command} annotation of any of the modules. The registrar contains the
+ * arguments of each method parsed from {@link me.googas.commands.annotations.Required}, {@link
+ * me.googas.commands.annotations.Optional} and {@link me.googas.commands.annotations.Multiple} and
+ * a direct call to the method, so managers can skip reflection when the commands are parsed.
+ *
+ * <p>Private classes cannot be referenced by the registrar so they are skipped and parsed using
+ * reflection. Private methods are included in the registrar but without a direct call, the manager
+ * will create their invokers instead
+ */
+public class CommandProcessor extends AbstractProcessor {
+
+  /** The names of the command annotations of each module */
+  static final List<String> COMMANDS =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              "me.googas.commands.bukkit.annotations.Command",
+              "me.googas.commands.bungee.annotations.Command",
+              "me.googas.commands.jda.annotations.Command",
+              "me.googas.commands.system.Command"));
+
+  /** The binary names of the classes which registrar was already generated */
+  private final Set<String> generated = new HashSet<>();
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return new HashSet<>(CommandProcessor.COMMANDS);
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+    Set<TypeElement> types = new LinkedHashSet<>();
+    for (TypeElement annotation : annotations) {
+      for (Element element : round.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() == ElementKind.METHOD) {
+          types.add((TypeElement) element.getEnclosingElement());
+        }
+      }
+    }
+    for (TypeElement type : types) {
+      String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+      if (!this.generated.add(binaryName)) continue;
+      if (!CommandProcessor.isAccessible(type)) {
+        this.processingEnv
+            .getMessager()
+            .printMessage(
+                Diagnostic.Kind.NOTE,
+                type + " cannot be accessed by a registrar, its commands will use reflection",
+                type);
+        continue;
+      }
+      this.write(type, binaryName);
+    }
+    return false;
+  }
+
+  /**
+   * Write the registrar of a class
+   *
+   * @param type the class to write the registrar for
+   * @param binaryName the binary name of the class
+   */
+  private void write(TypeElement type, String binaryName) {
+    List<ExecutableElement> methods = new ArrayList<>();
+    for (Element element : type.getEnclosedElements()) {
+      if (element.getKind() == ElementKind.METHOD
+          && !CommandProcessor.getCommands(element).isEmpty()) {
+        methods.add((ExecutableElement) element);
+      }
+    }
+    String name = Registrars.getName(binaryName);
+    try {
+      JavaFileObject file = this.processingEnv.getFiler().createSourceFile(name, type);
+      try (Writer writer = file.openWriter()) {
+        writer.write(new RegistrarWriter(this.processingEnv, type, name, methods).write());
+      }
+    } catch (IOException e) {
+      this.processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR, "Could not write the registrar " + name + ": " + e, type);
+    }
+  }
+
+  /**
+   * Get the names of the command annotations that are present in an element
+   *
+   * @param element the element to get the annotations from
+   * @return the names of the command annotations
+   */
+  static List<String> getCommands(Element element) {
+    List<String> commands = new ArrayList<>();
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      String name =
+          ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+      if (CommandProcessor.COMMANDS.contains(name)) commands.add(name);
+    }
+    return commands;
+  }
+
+  /**
+   * Get whether a class can be referenced from another class in its package
+   *
+   * @param type the class to check
+   * @return true if the class and the classes that enclose it are not private, local or anonymous
+   */
+  private static boolean isAccessible(TypeElement type) {
+    Element element = type;
+    while (element instanceof TypeElement) {
+      TypeElement current = (TypeElement) element;
+      if (current.getModifiers().contains(Modifier.PRIVATE)) return false;
+      if (current.getNestingKind() == NestingKind.LOCAL
+          || current.getNestingKind() == NestingKind.ANONYMOUS) {
+        return false;
+      }
+      element = current.getEnclosingElement();
+    }
+    return true;
+  }
+}
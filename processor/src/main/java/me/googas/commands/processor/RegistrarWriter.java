@@ -0,0 +1,292 @@
+package me.googas.commands.processor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import me.googas.commands.annotations.Multiple;
+import me.googas.commands.annotations.Optional;
+import me.googas.commands.annotations.Parent;
+import me.googas.commands.annotations.Required;
+
+/**
+ * Writes the source of the registrar of a class. The arguments are parsed the same way that {@link
+ * me.googas.commands.arguments.Argument#parseArguments(java.lang.reflect.Method)} parses them at
+ * runtime so both give the same result
+ */
+class RegistrarWriter {
+
+  private static final String ARGUMENTS = "me.googas.commands.arguments.";
+  private static final String REGISTRAR = "me.googas.commands.registrar.";
+
+  private final Elements elements;
+  private final Types types;
+  private final TypeElement type;
+  private final String name;
+  private final List<ExecutableElement> methods;
+  private final StringBuilder builder = new StringBuilder();
+
+  /**
+   * Create the writer
+   *
+   * @param environment the environment of the processor
+   * @param type the class to write the registrar for
+   * @param name the binary name of the registrar
+   * @param methods the command methods of the class
+   */
+  RegistrarWriter(
+      ProcessingEnvironment environment,
+      TypeElement type,
+      String name,
+      List<ExecutableElement> methods) {
+    this.elements = environment.getElementUtils();
+    this.types = environment.getTypeUtils();
+    this.type = type;
+    this.name = name;
+    this.methods = methods;
+  }
+
+  /**
+   * Write the source of the registrar
+   *
+   * @return the source of the registrar
+   */
+  String write() {
+    PackageElement pkg = this.elements.getPackageOf(this.type);
+    String simpleName = this.name;
+    if (!pkg.isUnnamed()) {
+      String packageName = pkg.getQualifiedName().toString();
+      simpleName = this.name.substring(packageName.length() + 1);
+      this.builder.append("package ").append(packageName).append(";\n\n");
+    }
+    String typeName = this.type.getQualifiedName().toString();
+    this.builder
+        .append(
+            "/** Generated by {@link me.googas.commands.processor.CommandProcessor} for {@link ")
+        .append(typeName)
+        .append("} */\n")
+        .append("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"cast\"})\n")
+        .append("public final class ")
+        .append(simpleName)
+        .append(" implements ")
+        .append(RegistrarWriter.REGISTRAR)
+        .append("CommandRegistrar<")
+        .append(typeName)
+        .append("> {\n\n")
+        .append("  private final java.util.List<")
+        .append(RegistrarWriter.REGISTRAR)
+        .append("CommandMethod<")
+        .append(typeName)
+        .append(">> methods =\n      java.util.Arrays.asList(");
+    for (int i = 0; i < this.methods.size(); i++) {
+      if (i > 0) this.builder.append(",");
+      this.builder.append("\n          ");
+      this.writeMethod(typeName, this.methods.get(i));
+    }
+    this.builder
+        .append(");\n\n")
+        .append("  @Override\n")
+        .append("  public java.lang.Class<")
+        .append(typeName)
+        .append("> getType() {\n")
+        .append("    return ")
+        .append(typeName)
+        .append(".class;\n")
+        .append("  }\n\n")
+        .append("  @Override\n")
+        .append("  public java.util.List<")
+        .append(RegistrarWriter.REGISTRAR)
+        .append("CommandMethod<")
+        .append(typeName)
+        .append(">> getMethods() {\n")
+        .append("    return this.methods;\n")
+        .append("  }\n")
+        .append("}\n");
+    return this.builder.toString();
+  }
+
+  private void writeMethod(String typeName, ExecutableElement method) {
+    List<? extends VariableElement> parameters = method.getParameters();
+    this.builder
+        .append("new ")
+        .append(RegistrarWriter.REGISTRAR)
+        .append("CommandMethod<")
+        .append(typeName)
+        .append(">(\n              ")
+        .append(this.elements.getConstantExpression(method.getSimpleName().toString()))
+        .append(",\n              new java.lang.Class<?>[] {");
+    for (int i = 0; i < parameters.size(); i++) {
+      if (i > 0) this.builder.append(", ");
+      this.builder.append(this.getTypeName(parameters.get(i).asType())).append(".class");
+    }
+    this.builder.append("},\n              new java.lang.String[] {");
+    List<String> commands = CommandProcessor.getCommands(method);
+    for (int i = 0; i < commands.size(); i++) {
+      if (i > 0) this.builder.append(", ");
+      this.builder.append(this.elements.getConstantExpression(commands.get(i)));
+    }
+    this.builder
+        .append("},\n              ")
+        .append(RegistrarWriter.getAnnotation(method, Parent.class.getName()) != null)
+        .append(",\n              java.util.Arrays.<")
+        .append(RegistrarWriter.ARGUMENTS)
+        .append("Argument<?>>asList(");
+    int position = 0;
+    for (int i = 0; i < parameters.size(); i++) {
+      if (i > 0) this.builder.append(",");
+      this.builder.append("\n                  ");
+      position = this.writeArgument(parameters.get(i), position);
+    }
+    this.builder.append("),\n              ");
+    this.writeCall(typeName, method);
+    this.builder.append(")");
+  }
+
+  /**
+   * Write an argument
+   *
+   * @param parameter the parameter of the argument
+   * @param position the position of the argument
+   * @return the position of the next argument
+   */
+  private int writeArgument(VariableElement parameter, int position) {
+    String clazz = this.getTypeName(parameter.asType()) + ".class";
+    AnnotationMirror required = RegistrarWriter.getAnnotation(parameter, Required.class.getName());
+    AnnotationMirror optional = RegistrarWriter.getAnnotation(parameter, Optional.class.getName());
+    AnnotationMirror annotation = required != null ? required : optional;
+    if (annotation == null) {
+      this.builder
+          .append("new ")
+          .append(RegistrarWriter.ARGUMENTS)
+          .append("ExtraArgument<>(")
+          .append(clazz)
+          .append(")");
+      return position;
+    }
+    Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+        this.elements.getElementValuesWithDefaults(annotation);
+    AnnotationMirror multiple = RegistrarWriter.getAnnotation(parameter, Multiple.class.getName());
+    this.builder
+        .append("new ")
+        .append(RegistrarWriter.ARGUMENTS)
+        .append(multiple != null ? "MultipleArgument" : "SingleArgument")
+        .append("<>(")
+        .append(this.elements.getConstantExpression(RegistrarWriter.getValue(values, "name")))
+        .append(", ")
+        .append(
+            this.elements.getConstantExpression(RegistrarWriter.getValue(values, "description")))
+        .append(", java.util.Arrays.<java.lang.String>asList(");
+    List<?> suggestions = (List<?>) RegistrarWriter.getValue(values, "suggestions");
+    for (int i = 0; i < suggestions.size(); i++) {
+      if (i > 0) this.builder.append(", ");
+      this.builder.append(
+          this.elements.getConstantExpression(((AnnotationValue) suggestions.get(i)).getValue()));
+    }
+    this.builder.append("), ").append(clazz).append(", ");
+    if (multiple != null) {
+      Map<? extends ExecutableElement, ? extends AnnotationValue> multipleValues =
+          this.elements.getElementValuesWithDefaults(multiple);
+      int min = (Integer) RegistrarWriter.getValue(multipleValues, "min");
+      int max = (Integer) RegistrarWriter.getValue(multipleValues, "max");
+      this.builder
+          .append("true, ")
+          .append(position)
+          .append(", ")
+          .append(min)
+          .append(", ")
+          .append(max)
+          .append(")");
+      // The same position that Argument#parseArguments gives after a multiple argument
+      return min;
+    }
+    this.builder.append(required != null).append(", ").append(position).append(")");
+    return position + 1;
+  }
+
+  /**
+   * Write the direct call to the method or null if the registrar cannot access it
+   *
+   * @param typeName the name of the class that contains the method
+   * @param method the method to call
+   */
+  private void writeCall(String typeName, ExecutableElement method) {
+    if (method.getModifiers().contains(Modifier.PRIVATE)) {
+      this.builder.append("null");
+      return;
+    }
+    boolean isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+    this.builder.append("(object, objects) -> ");
+    if (isVoid) this.builder.append("{ ");
+    this.builder
+        .append(method.getModifiers().contains(Modifier.STATIC) ? typeName : "object")
+        .append(".")
+        .append(method.getSimpleName())
+        .append("(");
+    List<? extends VariableElement> parameters = method.getParameters();
+    for (int i = 0; i < parameters.size(); i++) {
+      if (i > 0) this.builder.append(", ");
+      this.builder
+          .append("(")
+          .append(this.getTypeName(parameters.get(i).asType()))
+          .append(") objects[")
+          .append(i)
+          .append("]");
+    }
+    this.builder.append(")");
+    if (isVoid) this.builder.append("; return null; }");
+  }
+
+  /**
+   * Get the name of the erasure of a type as it would be written in source
+   *
+   * @param mirror the type to get the name from
+   * @return the name of the type
+   */
+  private String getTypeName(TypeMirror mirror) {
+    TypeMirror erasure = this.types.erasure(mirror);
+    if (erasure.getKind().isPrimitive()) {
+      return erasure.getKind().name().toLowerCase(Locale.ROOT);
+    } else if (erasure.getKind() == TypeKind.ARRAY) {
+      return this.getTypeName(((ArrayType) erasure).getComponentType()) + "[]";
+    } else if (erasure.getKind() == TypeKind.DECLARED) {
+      return ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().toString();
+    }
+    return "java.lang.Object";
+  }
+
+  private static AnnotationMirror getAnnotation(Element element, String name) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      if (((TypeElement) mirror.getAnnotationType().asElement())
+          .getQualifiedName()
+          .contentEquals(name)) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  private static Object getValue(
+      Map<? extends ExecutableElement, ? extends AnnotationValue> values, String name) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+        values.entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue().getValue();
+      }
+    }
+    throw new IllegalArgumentException("The annotation does not have the value " + name);
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the annotation processor that generates the {@link
+ * me.googas.commands.registrar.CommandRegistrar} of the classes that contain commands
+ */
+package me.googas.commands.processor;
@@ -0,0 +1,155 @@
+package me.googas.commands.processor;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import me.googas.commands.arguments.Argument;
+import me.googas.commands.invoker.InvokerFactory;
+import me.googas.commands.registrar.CommandMethod;
+import me.googas.commands.registrar.CommandRegistrar;
+import me.googas.commands.registrar.Registrars;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CommandProcessorTest {
+
+  // The system module is not a dependency of the processor so its annotation is declared here
+  private static final String ANNOTATION =
+      "package me.googas.commands.system;\n"
+          + "import java.lang.annotation.*;\n"
+          + "@Target(ElementType.METHOD)\n"
+          + "@Retention(RetentionPolicy.RUNTIME)\n"
+          + "public @interface Command {\n"
+          + "  String[] aliases();\n"
+          + "}\n";
+
+  private static final String COMMANDS =
+      "package sample;\n"
+          + "import java.util.List;\n"
+          + "import me.googas.commands.annotations.*;\n"
+          + "import me.googas.commands.context.EasyCommandContext;\n"
+          + "import me.googas.commands.system.Command;\n"
+          + "public class Commands {\n"
+          + "  @Parent\n"
+          + "  @Command(aliases = \"parent\")\n"
+          + "  public void parent() {}\n"
+          + "  @Command(aliases = \"ban\")\n"
+          + "  public String ban(\n"
+          + "      EasyCommandContext context,\n"
+          + "      @Required(name = \"player\", description = \"who\") String player,\n"
+          + "      @Optional(name = \"time\", suggestions = {\"5\", \"10\"}) int time,\n"
+          + "      @Multiple(min = 2) @Required(name = \"reason\") String[] reason) {\n"
+          + "    return player + time + String.join(\" \", reason);\n"
+          + "  }\n"
+          + "  @Command(aliases = \"hidden\")\n"
+          + "  private static long hidden(@Required List<String> values) {\n"
+          + "    return values.size();\n"
+          + "  }\n"
+          + "  public void notACommand(String value) {}\n"
+          + "}\n";
+
+  @Test
+  public void generatesTheSameArgumentsAsReflection() throws Exception {
+    ClassLoader loader = CommandProcessorTest.compile();
+    Class<?> clazz = loader.loadClass("sample.Commands");
+    Class<? extends Annotation> command =
+        loader.loadClass("me.googas.commands.system.Command").asSubclass(Annotation.class);
+    CommandRegistrar<?> registrar = Registrars.get(clazz);
+    Assert.assertNotNull(registrar);
+    Assert.assertSame(clazz, registrar.getType());
+    List<String> names = new ArrayList<>();
+    for (CommandMethod<?> commandMethod : registrar.getMethods()) {
+      names.add(commandMethod.getName());
+      Method method = commandMethod.getMethod(clazz);
+      Assert.assertEquals(
+          Argument.parseArguments(method).toString(), commandMethod.getArguments().toString());
+      Assert.assertEquals(method.getName().equals("parent"), commandMethod.isParent());
+      Assert.assertTrue(commandMethod.isAnnotated(command));
+      Assert.assertNotNull(commandMethod.getAnnotation(clazz, command));
+    }
+    Assert.assertEquals(Arrays.asList("parent", "ban", "hidden"), names);
+  }
+
+  @Test
+  public void callsPublicMethodsDirectly() throws Exception {
+    Class<?> clazz = CommandProcessorTest.compile().loadClass("sample.Commands");
+    CommandRegistrar<?> registrar = Registrars.get(clazz);
+    Object instance = clazz.getDeclaredConstructor().newInstance();
+    // The factory must not be used for methods that the registrar can call
+    InvokerFactory unused =
+        (method, object) -> {
+          throw new AssertionError("Not a direct call " + method);
+        };
+    CommandMethod<?> ban = registrar.getMethods().get(1);
+    Object result =
+        ban.getInvoker(instance, ban.getMethod(clazz), unused)
+            .invoke(new Object[] {null, "Steve", 5, new String[] {"too", "loud"}});
+    Assert.assertEquals("Steve5too loud", result);
+    // Private methods cannot be called by the registrar so their invoker comes from the factory
+    CommandMethod<?> hidden = registrar.getMethods().get(2);
+    Object fallback =
+        hidden
+            .getInvoker(instance, hidden.getMethod(clazz), (method, object) -> objects -> "factory")
+            .invoke(new Object[] {Collections.singletonList("a")});
+    Assert.assertEquals("factory", fallback);
+  }
+
+  /**
+   * Compile the sample commands running the processor
+   *
+   * @return the class loader of the compiled classes
+   */
+  private static ClassLoader compile() throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    Path output = Files.createTempDirectory("commands-processor");
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    JavaCompiler.CompilationTask task =
+        compiler.getTask(
+            null,
+            null,
+            diagnostics,
+            Arrays.asList(
+                "-d",
+                output.toString(),
+                "-s",
+                output.toString(),
+                "-classpath",
+                System.getProperty("java.class.path")),
+            null,
+            Arrays.asList(
+                CommandProcessorTest.source(
+                    "me.googas.commands.system.Command", CommandProcessorTest.ANNOTATION),
+                CommandProcessorTest.source("sample.Commands", CommandProcessorTest.COMMANDS)));
+    task.setProcessors(Collections.singletonList(new CommandProcessor()));
+    Assert.assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+    Assert.assertTrue(
+        Files.exists(output.resolve("sample").resolve("Commands_CommandRegistrar.class")));
+    return new URLClassLoader(
+        new URL[] {output.toUri().toURL()}, CommandProcessorTest.class.getClassLoader());
+  }
+
+  private static JavaFileObject source(String name, String content) {
+    return new SimpleJavaFileObject(
+        URI.create("string:///" + name.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+        JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return content;
+      }
+    };
+  }
+}
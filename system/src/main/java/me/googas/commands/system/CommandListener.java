@@ -1,9 +1,11 @@
 package me.googas.commands.system;
 
-import java.util.Arrays;
 import java.util.Scanner;
+import java.util.logging.Level;
 import lombok.Getter;
 import lombok.NonNull;
+import me.googas.commands.context.Tokenizer;
+import me.googas.commands.context.Tokens;
 import me.googas.commands.system.context.CommandContext;
 import me.googas.commands.system.context.sender.ConsoleCommandSender;
 
@@ -35,23 +37,31 @@ public class CommandListener extends Thread {
   public void run() {
     while (true) {
       if (this.scanner.hasNextLine()) {
-        String line = this.scanner.nextLine().trim();
-        String[] split = line.split(" ");
-        String name = split[0];
-        if (!name.startsWith(this.prefix)) continue;
-        SystemCommand command = this.manager.getCommand(name.substring(1));
+        Tokens tokens = Tokenizer.tokenize(this.scanner.nextLine().trim(), this.prefix);
+        if (tokens == null) continue;
+        String name = tokens.get(0);
+        SystemCommand command = this.manager.getCommand(name);
         if (command != null) {
-          Result result =
-              command.execute(
+          command
+              .executeAsync(
                   new CommandContext(
                       ConsoleCommandSender.INSTANCE,
-                      Arrays.copyOfRange(split, 1, split.length),
+                      tokens.view(1).withFlags(command.getFlags()),
                       this.manager.getProvidersRegistry(),
-                      this.manager.getMessagesProvider()));
-          String message = result.getMessage();
-          if (!message.isEmpty()) System.out.println(message);
+                      this.manager.getMessagesProvider()),
+                  this.manager.getExecutionStrategy())
+              .whenComplete(
+                  (result, e) -> {
+                    if (e != null) {
+                      this.manager
+                          .getLogger()
+                          .log(Level.SEVERE, "Could not execute the command " + name, e);
+                    } else if (result != null && !result.getMessage().isEmpty()) {
+                      System.out.println(result.getMessage());
+                    }
+                  });
         } else {
-          System.out.println("Command " + name + " could not be found");
+          System.out.println("Command " + this.prefix + name + " could not be found");
         }
       }
     }
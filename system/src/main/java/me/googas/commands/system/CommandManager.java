@@ -5,11 +5,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.logging.Logger;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+import me.googas.commands.CommandIndex;
+import me.googas.commands.CommandParser;
 import me.googas.commands.EasyCommandManager;
-import me.googas.commands.annotations.Parent;
 import me.googas.commands.arguments.Argument;
+import me.googas.commands.execution.ExecutionStrategy;
+import me.googas.commands.interceptor.CommandInterceptor;
+import me.googas.commands.invoker.CommandInvoker;
+import me.googas.commands.invoker.InvokerFactory;
+import me.googas.commands.metrics.MetricsRegistry;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import me.googas.commands.system.context.CommandContext;
 
@@ -34,9 +42,24 @@ import me.googas.commands.system.context.CommandContext;
 public class CommandManager implements EasyCommandManager<CommandContext, SystemCommand> {
 
   @NonNull @Getter private final List<SystemCommand> commands = new ArrayList<>();
+  @NonNull private final CommandIndex<SystemCommand> index = new CommandIndex<>(this.commands);
   @NonNull @Getter private final ProvidersRegistry<CommandContext> providersRegistry;
   @NonNull @Getter private final MessagesProvider messagesProvider;
   @NonNull @Getter private final CommandListener listener;
+  @NonNull @Getter @Setter private InvokerFactory invokerFactory = InvokerFactory.COMPILED;
+  /** Parses the commands of objects using their registrar or reflection */
+  @NonNull
+  private final CommandParser<Command, ReflectSystemCommand> parser =
+      new CommandParser<>(Command.class, this::create, ReflectSystemCommand::addChildren);
+
+  @NonNull @Getter @Setter private MetricsRegistry metrics = MetricsRegistry.DISABLED;
+  /** The logger where the commands that fail are reported */
+  @NonNull @Getter @Setter private Logger logger = Logger.getLogger(CommandManager.class.getName());
+
+  @NonNull @Getter
+  private final List<CommandInterceptor<CommandContext>> interceptors = new ArrayList<>();
+  /** The strategy used to execute the commands read by the {@link #listener} */
+  @NonNull @Getter @Setter private ExecutionStrategy executionStrategy = ExecutionStrategy.CALLER;
 
   /**
    * Create the command manager
@@ -51,71 +74,95 @@ public class CommandManager implements EasyCommandManager<CommandContext, System
       @NonNull String prefix,
       @NonNull ProvidersRegistry<CommandContext> providersRegistry,
       @NonNull MessagesProvider messagesProvider) {
+    this(prefix, providersRegistry, messagesProvider, true);
+  }
+
+  /**
+   * Create the command manager
+   *
+   * @param prefix the prefix that will differentiate commands from other types of messages
+   * @param providersRegistry the providers registry to provide the array of {@link Object} to
+   *     invoke {@link ReflectSystemCommand} using reflection or to be used in {@link
+   *     CommandContext}
+   * @param messagesProvider the messages provider for messages of providers
+   * @param listen whether to start the {@link #listener} to read commands from {@link System#in}
+   */
+  public CommandManager(
+      @NonNull String prefix,
+      @NonNull ProvidersRegistry<CommandContext> providersRegistry,
+      @NonNull MessagesProvider messagesProvider,
+      boolean listen) {
     this.providersRegistry = providersRegistry;
     this.messagesProvider = messagesProvider;
     this.listener = new CommandListener(this, prefix);
-    this.listener.start();
+    if (listen) this.listener.start();
   }
 
   /**
-   * Get a command by one of its aliases
+   * Get a command by one of its aliases. The commands are queried using a {@link CommandIndex}
    *
    * @param name the name or aliases to check if the command has
    * @return the command that {@link SystemCommand#hasAlias(String)} matches the parameter name or
    *     null if none matches
    */
   public SystemCommand getCommand(@NonNull String name) {
-    for (SystemCommand command : this.commands) {
-      if (command.hasAlias(name)) return command;
-    }
-    return null;
+    return this.index.get(name);
   }
 
   @Override
   public @NonNull CommandManager register(@NonNull SystemCommand command) {
-    this.commands.add(command);
+    this.index.add(command);
     return this;
   }
 
   @Override
   public @NonNull List<ReflectSystemCommand> parseCommands(@NonNull Object object) {
-    List<ReflectSystemCommand> commands = new ArrayList<>();
-    ReflectSystemCommand parent = null;
-    final Class<?> clazz = object.getClass();
-    for (final Method method : clazz.getDeclaredMethods()) {
-      if (method.isAnnotationPresent(Parent.class) && method.isAnnotationPresent(Command.class)) {
-        parent = this.parseCommand(object, method);
-        commands.add(parent);
-        break;
-      }
-    }
-    for (final Method method : clazz.getDeclaredMethods()) {
-      if (method.isAnnotationPresent(Command.class) && !method.isAnnotationPresent(Parent.class)) {
-        final ReflectSystemCommand cmd = this.parseCommand(object, method);
-        if (parent != null) {
-          parent.addChildren(cmd);
-        } else {
-          commands.add(cmd);
-        }
-      }
-    }
-    return commands;
+    return this.parser.parseCommands(object, this.invokerFactory);
   }
 
   @Override
   public @NonNull ReflectSystemCommand parseCommand(
       @NonNull Object object, @NonNull Method method) {
-    Command annotation = method.getAnnotation(Command.class);
-    if (annotation == null)
-      throw new IllegalArgumentException(
-          method + " does not contain the annotation " + Command.class);
+    return this.parser.parseCommand(object, method, this.invokerFactory);
+  }
+
+  /**
+   * Create a command from its method. This is given to the {@link #parser}
+   *
+   * @param command the command annotation of the method
+   * @param method the method of the command
+   * @param object the object that contains the method
+   * @param arguments the arguments of the method
+   * @param invoker the invoker of the method
+   * @return the created command
+   */
+  @NonNull
+  private ReflectSystemCommand create(
+      @NonNull Command command,
+      @NonNull Method method,
+      @NonNull Object object,
+      @NonNull List<Argument<?>> arguments,
+      @NonNull CommandInvoker invoker) {
     return new ReflectSystemCommand(
         method,
         object,
-        Argument.parseArguments(method),
+        arguments,
         this,
-        Arrays.asList(annotation.aliases()),
-        new ArrayList<>());
+        Arrays.asList(command.aliases()),
+        new ArrayList<>(),
+        invoker);
+  }
+
+  /**
+   * Add an interceptor to the commands that are parsed after this call
+   *
+   * @param interceptor the interceptor to add
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addInterceptor(@NonNull CommandInterceptor<CommandContext> interceptor) {
+    this.interceptors.add(interceptor);
+    return this;
   }
 
   @Override
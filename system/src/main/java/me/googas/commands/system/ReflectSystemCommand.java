@@ -2,18 +2,26 @@ package me.googas.commands.system;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
 import lombok.Getter;
 import lombok.NonNull;
+import me.googas.commands.CommandDispatcher;
+import me.googas.commands.CommandIndex;
 import me.googas.commands.ReflectCommand;
 import me.googas.commands.arguments.Argument;
+import me.googas.commands.arguments.binding.BindingPlan;
 import me.googas.commands.context.EasyCommandContext;
-import me.googas.commands.exceptions.ArgumentProviderException;
-import me.googas.commands.exceptions.MissingArgumentException;
+import me.googas.commands.interceptor.InterceptorChain;
+import me.googas.commands.invoker.CommandInvoker;
 import me.googas.commands.messages.EasyMessagesProvider;
+import me.googas.commands.metrics.CommandMetrics;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import me.googas.commands.system.context.CommandContext;
-import me.googas.commands.system.context.sender.CommandSender;
 import me.googas.starbox.Strings;
 
 /**
@@ -28,9 +36,16 @@ public class ReflectSystemCommand
   @NonNull @Getter private final Method method;
   @NonNull @Getter private final Object object;
   @NonNull @Getter private final List<Argument<?>> arguments;
+  @NonNull @Getter private final List<String> flags;
   @NonNull @Getter private final CommandManager manager;
   @NonNull @Getter private final List<String> aliases;
   @NonNull @Getter private final List<SystemCommand> children;
+  @NonNull private final CommandIndex<SystemCommand> childrenIndex;
+  @NonNull @Getter private final CommandInvoker invoker;
+  @NonNull @Getter private final BindingPlan<CommandContext> bindingPlan;
+  @NonNull @Getter private final InterceptorChain<CommandContext> interceptors;
+  @NonNull @Getter private final CommandMetrics metrics;
+  @NonNull private final CommandDispatcher<CommandContext, Result> dispatcher;
 
   /**
    * Create the command
@@ -52,12 +67,60 @@ public class ReflectSystemCommand
       @NonNull CommandManager manager,
       @NonNull List<String> aliases,
       @NonNull List<SystemCommand> children) {
+    this(
+        method,
+        object,
+        arguments,
+        manager,
+        aliases,
+        children,
+        manager.getInvokerFactory().create(method, object));
+  }
+
+  /**
+   * Create the command
+   *
+   * @param method the method to execute as the command see more in {@link #getMethod()}
+   * @param object the instance of the object used to invoke the method see more in {@link
+   *     #getObject()}
+   * @param arguments the list of arguments that are used to {@link #getObjects(EasyCommandContext)}
+   *     and invoke the {@link #getMethod()}
+   * @param manager the manager that parsed the command
+   * @param aliases the aliases that match the command for its execution
+   * @param children the list of children commands which can be used with this parent prefix. Learn
+   *     more in {@link me.googas.commands.annotations.Parent}
+   * @param invoker the invoker used to call the method, see more in {@link #getInvoker()}
+   */
+  public ReflectSystemCommand(
+      @NonNull Method method,
+      @NonNull Object object,
+      @NonNull List<Argument<?>> arguments,
+      @NonNull CommandManager manager,
+      @NonNull List<String> aliases,
+      @NonNull List<SystemCommand> children,
+      @NonNull CommandInvoker invoker) {
     this.method = method;
     this.object = object;
     this.arguments = arguments;
+    Command command = method.getAnnotation(Command.class);
+    this.flags = command == null ? Collections.emptyList() : Arrays.asList(command.flags());
     this.manager = manager;
     this.aliases = aliases;
     this.children = children;
+    this.childrenIndex = new CommandIndex<>(children);
+    this.invoker = invoker;
+    this.bindingPlan =
+        new BindingPlan<>(arguments, manager.getProvidersRegistry(), manager.getMessagesProvider());
+    this.interceptors = InterceptorChain.compile(manager.getInterceptors());
+    this.metrics =
+        manager
+            .getMetrics()
+            .getMetrics(method, aliases.isEmpty() ? method.getName() : aliases.get(0));
+    this.dispatcher =
+        new CommandDispatcher<>(
+            this,
+            (context, value) -> ReflectSystemCommand.getResult(value),
+            (context, e) -> this.getResult(e));
   }
 
   @Override
@@ -65,28 +128,63 @@ public class ReflectSystemCommand
     return SystemCommand.super.execute(context);
   }
 
+  /**
+   * Run the command. This does not wait for methods that return a {@link CompletionStage}, if the
+   * stage is not completed yet null is returned, use {@link #runStage(CommandContext)} to get its
+   * result
+   *
+   * @param context the context of the command
+   * @return the result of the command or null if it is not completed yet
+   */
   @Override
   public Result run(@NonNull CommandContext context) {
-    CommandSender sender = context.getSender();
-    try {
-      Object object = this.method.invoke(this.getObject(), this.getObjects(context));
-      if (object instanceof Result) {
-        return (Result) object;
-      } else {
-        return null;
-      }
-    } catch (final IllegalAccessException e) {
-      e.printStackTrace();
+    return CommandDispatcher.getNow(this.runStage(context));
+  }
+
+  @Override
+  public @NonNull CompletionStage<Result> runStage(@NonNull CommandContext context) {
+    return this.dispatcher.dispatch(context);
+  }
+
+  /**
+   * Get the result from the object returned by the method
+   *
+   * @param object the object returned by the method or by its stage
+   * @return the result if the object is a result else null
+   */
+  private static Result getResult(Object object) {
+    return object instanceof Result ? (Result) object : null;
+  }
+
+  /**
+   * Log an exception thrown while executing the method in the logger of the manager
+   *
+   * @param e the exception to log
+   */
+  private void log(@NonNull Throwable e) {
+    this.manager.getLogger().log(Level.SEVERE, "Could not execute the command " + this.method, e);
+  }
+
+  /**
+   * Get the result of an exception thrown while executing the method
+   *
+   * @param e the exception thrown
+   * @return the result to give to the sender
+   */
+  @NonNull
+  private Result getResult(@NonNull Exception e) {
+    if (e instanceof IllegalAccessException) {
+      this.log(e);
       return new Result("IllegalAccessException, e");
-    } catch (final InvocationTargetException e) {
+    } else if (e instanceof InvocationTargetException) {
       final String message = e.getMessage();
       if (message != null && !message.isEmpty()) {
         return new Result("{0}");
       } else {
-        e.printStackTrace();
+        this.log(e);
         return new Result("InvocationTargetException, e");
       }
-    } catch (MissingArgumentException | ArgumentProviderException e) {
+    } else {
       return new Result(e.getMessage());
     }
   }
@@ -108,6 +206,22 @@ public class ReflectSystemCommand
     return this.getManager().getMessagesProvider();
   }
 
+  @Override
+  public @NonNull ReflectSystemCommand addChildren(@NonNull SystemCommand command) {
+    this.childrenIndex.add(command);
+    return this;
+  }
+
+  @Override
+  public SystemCommand getChildren(@NonNull String alias) {
+    return this.childrenIndex.get(alias);
+  }
+
+  @Override
+  public @NonNull Collection<String> getAllAliases() {
+    return this.aliases;
+  }
+
   @Override
   public boolean hasAlias(@NonNull String alias) {
     for (String name : this.getAliases()) {
@@ -1,9 +1,12 @@
 package me.googas.commands.system;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import lombok.NonNull;
 import me.googas.commands.EasyCommand;
+import me.googas.commands.execution.Execution;
+import me.googas.commands.execution.ExecutionStrategy;
 import me.googas.commands.system.context.CommandContext;
 
 /**
@@ -41,18 +44,54 @@ public interface SystemCommand extends EasyCommand<CommandContext, SystemCommand
 
   @Override
   default Result execute(@NonNull CommandContext context) {
-    @NonNull String[] strings = context.getStrings();
-    if (strings.length >= 1) {
-      SystemCommand command = this.getChildren(strings[0]);
+    if (context.getStringsLength() >= 1) {
+      SystemCommand command = this.getChildren(context.getString(0));
       if (command != null) {
         return command.execute(
             new CommandContext(
                 context.getSender(),
-                Arrays.copyOfRange(strings, 1, strings.length),
+                context.getTokens().from(1).withFlags(command.getFlags()),
                 context.getRegistry(),
                 context.getMessagesProvider()));
       }
     }
     return this.run(context);
   }
+
+  /**
+   * Execute the command giving a stage. This will run after {@link #executeStage(CommandContext)}
+   * does not find any children to execute, by default it completes with {@link
+   * #run(CommandContext)}
+   *
+   * @param context the context to run the command
+   * @return the stage of the command execution
+   */
+  @NonNull
+  default CompletionStage<Result> runStage(@NonNull CommandContext context) {
+    return CompletableFuture.completedFuture(this.run(context));
+  }
+
+  @Override
+  @NonNull
+  default CompletionStage<Result> executeStage(@NonNull CommandContext context) {
+    if (context.getStringsLength() >= 1) {
+      SystemCommand command = this.getChildren(context.getString(0));
+      if (command != null) {
+        return command.executeStage(
+            new CommandContext(
+                context.getSender(),
+                context.getTokens().from(1).withFlags(command.getFlags()),
+                context.getRegistry(),
+                context.getMessagesProvider()));
+      }
+    }
+    return this.runStage(context);
+  }
+
+  @Override
+  @NonNull
+  default CompletableFuture<Result> executeAsync(
+      @NonNull CommandContext context, @NonNull ExecutionStrategy strategy) {
+    return Execution.supply(() -> this.executeStage(context), strategy.getExecutor(context));
+  }
 }
@@ -3,10 +3,10 @@ package me.googas.commands.system.context;
 import lombok.Getter;
 import lombok.NonNull;
 import me.googas.commands.context.EasyCommandContext;
+import me.googas.commands.context.TokensView;
 import me.googas.commands.providers.registry.ProvidersRegistry;
 import me.googas.commands.system.MessagesProvider;
 import me.googas.commands.system.context.sender.CommandSender;
-import me.googas.starbox.Strings;
 
 /**
  * This context to execute {@link me.googas.commands.system.SystemCommand} that does not include
@@ -16,10 +16,11 @@ import me.googas.starbox.Strings;
 public class CommandContext implements EasyCommandContext {
 
   @NonNull @Getter private final CommandSender sender;
-  @NonNull @Getter private final String[] strings;
+  /** The view of the tokens that are the strings of the command */
+  @NonNull @Getter private final TokensView tokens;
+
   @NonNull @Getter private final ProvidersRegistry<CommandContext> registry;
   @NonNull @Getter private final MessagesProvider messagesProvider;
-  @NonNull @Getter final String string;
 
   /**
    * Create the command context
@@ -37,18 +38,82 @@ public class CommandContext implements EasyCommandContext {
       @NonNull String[] strings,
       @NonNull ProvidersRegistry<CommandContext> registry,
       @NonNull MessagesProvider messagesProvider) {
+    this(sender, new TokensView(strings), registry, messagesProvider);
+  }
+
+  /**
+   * Create the command context using a view of the tokens of the input
+   *
+   * @param sender the static instance of {@link
+   *     me.googas.commands.system.context.sender.ConsoleCommandSender#INSTANCE}
+   * @param tokens the view of the tokens read from the {@link
+   *     me.googas.commands.system.CommandListener}
+   * @param registry the registry to parse {@link Object} array to run {@link
+   *     me.googas.commands.system.SystemCommand}
+   * @param messagesProvider the messages provider for messages of providers
+   */
+  public CommandContext(
+      @NonNull CommandSender sender,
+      @NonNull TokensView tokens,
+      @NonNull ProvidersRegistry<CommandContext> registry,
+      @NonNull MessagesProvider messagesProvider) {
     this.sender = sender;
-    this.strings = strings;
-    this.string = Strings.fromArray(strings);
+    this.tokens = tokens;
     this.registry = registry;
     this.messagesProvider = messagesProvider;
   }
 
+  @NonNull
+  @Override
+  public String getString() {
+    return this.tokens.getString();
+  }
+
+  @NonNull
+  @Override
+  public String[] getStrings() {
+    return this.tokens.getStrings();
+  }
+
+  @Override
+  public String getString(int position) {
+    return this.tokens.get(position);
+  }
+
+  @Override
+  public int getStringsLength() {
+    return this.tokens.size();
+  }
+
+  @NonNull
+  @Override
+  public String[] getStringsFrom(int position) {
+    return this.tokens.getStringsFrom(position);
+  }
+
   @Override
   public boolean hasFlag(@NonNull String flag) {
-    for (String string : this.strings) {
-      if (string.equalsIgnoreCase(flag)) return true;
-    }
-    return false;
+    return this.tokens.hasFlag(flag);
+  }
+
+  @Override
+  public String getFlagValue(@NonNull String flag) {
+    return this.tokens.getFlagValue(flag);
+  }
+
+  @Override
+  public String getArgument(int position) {
+    return this.tokens.getArgument(position);
+  }
+
+  @Override
+  public int getArgumentsLength() {
+    return this.tokens.getArgumentsLength();
+  }
+
+  @NonNull
+  @Override
+  public String[] getArgumentsFrom(int position) {
+    return this.tokens.getArgumentsFrom(position);
   }
 }